@@ -0,0 +1,12 @@
+package org.infinispan.client.hotrod;
+
+/**
+ * A key marshalled once by {@link RemoteCache#marshallKey(Object)}, which can be used instead of the key itself so that
+ * it is neither marshalled nor hashed again on each operation.
+ *
+ * @since 9.0
+ */
+public interface MarshalledKey<K> {
+
+   K getKey();
+}
@@ -14,6 +14,7 @@
  */
 public enum ProtocolVersion {
 
+   PROTOCOL_VERSION_27(2, 7),
    PROTOCOL_VERSION_26(2, 6),
    PROTOCOL_VERSION_25(2, 5),
    PROTOCOL_VERSION_24(2, 4),
@@ -5,6 +5,7 @@
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.infinispan.commons.api.BasicCache;
 import org.infinispan.commons.util.CloseableIterator;
@@ -193,6 +194,19 @@
     */
    CloseableIterator<Entry<Object, MetadataValue<Object>>> retrieveEntriesWithMetadata(Set<Integer> segments, int batchSize);
 
+   /**
+    * Retrieve entries from the servers in parallel: each server iterates over the segments it primarily owns, instead
+    * of a single server retrieving the entries of the whole cluster. The returned stream is parallel, and has to be
+    * closed if its entries are not all consumed, to end the iterations still running on the servers.
+    *
+    * @param filterConverterFactory Factory name for the KeyValueFilterConverter or null for no filtering.
+    * @param filterConverterParams  Parameters to the KeyValueFilterConverter
+    * @param segments               The segments to iterate. If null all segments will be iterated. An empty set will filter out all entries.
+    * @param batchSize              The number of entries transferred from each server at a time.
+    * @return a parallel stream of the entries
+    */
+   Stream<Entry<Object, Object>> retrieveEntriesInParallel(String filterConverterFactory, Object[] filterConverterParams, Set<Integer> segments, int batchSize);
+
    /**
     * Returns the {@link VersionedValue} associated to the supplied key param, or null if it doesn't exist.
     *
@@ -206,6 +220,38 @@
     */
    MetadataValue<V> getWithMetadata(K key);
 
+   /**
+    * Marshalls the key once, so that its marshalled form and its hash can be reused by the operations on a frequently
+    * accessed key.  The returned handle can be passed to the methods taking an {@link Object} key, such as
+    * {@link #get(Object)}, {@link #containsKey(Object)} and {@link #remove(Object)}, as well as to the overloads taking
+    * a {@link MarshalledKey}.  It must only be used with the caches of the {@link RemoteCacheManager} which created it.
+    *
+    * @param key the key to marshall
+    * @return a handle holding the marshalled form of the key
+    */
+   MarshalledKey<K> marshallKey(K key);
+
+   /**
+    * Same as {@link #put(Object, Object)}, with a key marshalled by {@link #marshallKey(Object)}.
+    */
+   V put(MarshalledKey<K> key, V value);
+
+   /**
+    * Same as {@link #put(Object, Object, long, TimeUnit, long, TimeUnit)}, with a key marshalled by
+    * {@link #marshallKey(Object)}.
+    */
+   V put(MarshalledKey<K> key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit);
+
+   /**
+    * Same as {@link #replaceWithVersion(Object, Object, long)}, with a key marshalled by {@link #marshallKey(Object)}.
+    */
+   boolean replaceWithVersion(MarshalledKey<K> key, V newValue, long version);
+
+   /**
+    * Same as {@link #getWithMetadata(Object)}, with a key marshalled by {@link #marshallKey(Object)}.
+    */
+   MetadataValue<V> getWithMetadata(MarshalledKey<K> key);
+
    /**
     * @throws UnsupportedOperationException
     */
@@ -345,6 +391,18 @@
     */
    public Map<K, V> getAll(Set<? extends K> keys);
 
+   /**
+    * Retrieves the entries for the provided keys like {@link #getAll(Set)}, but lazily: the entries are transferred
+    * from the servers as the iterator is consumed, at most {@code batchSize} at a time, so that neither the client
+    * nor the servers need to hold all of them in memory.  An entry is not returned if it was not found in the cache.
+    * The iterator must be closed if it is not consumed entirely.
+    *
+    * @param keys      The keys to find values for
+    * @param batchSize The number of entries transferred from the server at a time.
+    * @return Iterator for the entries
+    */
+   CloseableIterator<Entry<K, V>> retrieveAll(Set<? extends K> keys, int batchSize);
+
    /**
     * Returns the HotRod protocol version supported by this RemoteCache implementation
     */
@@ -385,7 +443,8 @@
    CacheTopologyInfo getCacheTopologyInfo();
 
    /**
-    * Returns a cache where values are manipulated using {@link java.io.InputStream} and {@link java.io.OutputStream}
+    * Returns a cache where values are manipulated using {@link java.io.InputStream} and {@link java.io.OutputStream},
+    * or {@link java.nio.ByteBuffer}s
     */
    StreamingRemoteCache<K> streaming();
 }
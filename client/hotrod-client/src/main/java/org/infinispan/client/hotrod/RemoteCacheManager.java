@@ -288,6 +288,7 @@ private <K, V> RemoteCache<K, V> createRemoteCache(String cacheName, Boolean for
    private <K, V> RemoteCacheImpl<K, V> createRemoteCache(String cacheName) {
       switch (configuration.nearCache().mode()) {
          case INVALIDATED:
+         case INVALIDATED_BLOOM_FILTER:
             return new InvalidatedNearRemoteCache<>(this, cacheName,
                createNearCacheService(configuration.nearCache()));
          case DISABLED:
@@ -304,8 +305,9 @@ private void startRemoteCache(RemoteCacheHolder remoteCacheHolder) {
       RemoteCacheImpl<?, ?> remoteCache = remoteCacheHolder.remoteCache;
       OperationsFactory operationsFactory = new OperationsFactory(
               transportFactory, remoteCache.getName(), remoteCacheHolder.forceReturnValue, codec, listenerNotifier,
-            asyncExecutorService, configuration.clientIntelligence());
-      remoteCache.init(marshaller, asyncExecutorService, operationsFactory, configuration.keySizeEstimate(), configuration.valueSizeEstimate());
+            configuration.clientIntelligence(), configuration.compressionThreshold());
+      remoteCache.init(marshaller, asyncExecutorService, operationsFactory, configuration.keySizeEstimate(), configuration.valueSizeEstimate(),
+            configuration.marshalledKeyCacheSize());
    }
 
    @Override
@@ -2,10 +2,17 @@
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
  * StreamingRemoteCache implements streaming versions of most {@link RemoteCache} methods
+ * <p>
+ * It also reads and writes whole values in {@link ByteBuffer}s, which avoids the intermediate copies of the values
+ * when the application handles opaque binary values: the values written are the remaining bytes of the given
+ * buffers, which may be pooled or direct, and the values read are returned as read-only buffers, read directly into a
+ * destination buffer when one is given.  As with the streams, the marshaller is ignored.
  *
  * @author Tristan Tarrant
  * @since 9.0
@@ -21,6 +28,81 @@
     */
    <T extends InputStream & VersionedMetadata> T get(K key);
 
+   /**
+    * Retrieves the value of the specified key in its raw binary form.
+    *
+    * @param key key to use
+    * @return a read-only buffer with the value, or {@code null} if the key is not mapped
+    */
+   ByteBuffer getBuffer(K key);
+
+   /**
+    * Retrieves the value of the specified key in its raw binary form, reading it directly into the given buffer.  If
+    * the value fits in the remaining bytes of the destination, it is written at its position, which is advanced, and
+    * a read-only slice of the destination with the value is returned.  Otherwise the destination is not modified and
+    * the value is returned in a newly allocated read-only buffer.
+    *
+    * @param key         key to use
+    * @param destination buffer to read the value into, e.g. a pooled or direct buffer
+    * @return a read-only buffer with the value, or {@code null} if the key is not mapped
+    */
+   ByteBuffer get(K key, ByteBuffer destination);
+
+   /**
+    * Asynchronous version of {@link #getBuffer(Object)}.
+    */
+   CompletableFuture<ByteBuffer> getBufferAsync(K key);
+
+   /**
+    * Asynchronous version of {@link #get(Object, ByteBuffer)}.  The destination must not be used until the returned
+    * future is completed.
+    */
+   CompletableFuture<ByteBuffer> getAsync(K key, ByteBuffer destination);
+
+   /**
+    * Stores the remaining bytes of the buffer as the raw value of the key.  The buffer position is not modified, and
+    * the buffer may be reused once the method returns.
+    *
+    * @param key   key to use
+    * @param value buffer with the value, e.g. a pooled or direct buffer
+    */
+   void put(K key, ByteBuffer value);
+
+   /**
+    * An overloaded form of {@link #put(Object, ByteBuffer)}, which takes in lifespan parameters.
+    *
+    * @param key      key to use
+    * @param value    buffer with the value
+    * @param lifespan lifespan of the entry.  Negative values are interpreted as unlimited lifespan.
+    * @param lifespanUnit     unit of measurement for the lifespan
+    */
+   void put(K key, ByteBuffer value, long lifespan, TimeUnit lifespanUnit);
+
+   /**
+    * An overloaded form of {@link #put(Object, ByteBuffer)}, which takes in lifespan and maxIdle parameters.
+    *
+    * @param key      key to use
+    * @param value    buffer with the value
+    * @param lifespan lifespan of the entry
+    * @param lifespanUnit {@link java.util.concurrent.TimeUnit} for lifespan
+    * @param maxIdle the maximum amount of time this key is allowed
+    *                           to be idle for before it is considered as expired
+    * @param maxIdleUnit {@link java.util.concurrent.TimeUnit} for maxIdle
+    */
+   void put(K key, ByteBuffer value, long lifespan, TimeUnit lifespanUnit, long maxIdle, TimeUnit maxIdleUnit);
+
+   /**
+    * Asynchronous version of {@link #put(Object, ByteBuffer)}.  The buffer must not be modified until the returned
+    * future is completed.
+    */
+   CompletableFuture<Void> putAsync(K key, ByteBuffer value);
+
+   /**
+    * Asynchronous version of {@link #put(Object, ByteBuffer, long, TimeUnit, long, TimeUnit)}.  The buffer must not
+    * be modified until the returned future is completed.
+    */
+   CompletableFuture<Void> putAsync(K key, ByteBuffer value, long lifespan, TimeUnit lifespanUnit, long maxIdle, TimeUnit maxIdleUnit);
+
    /**
     * Initiates a streaming put operation. It is up to the application to write to the returned {@link OutputStream}
     * and close it when there is no more data to write. The marshaller is ignored, i.e. all data will be written in its
@@ -135,6 +135,11 @@ public SecurityConfigurationBuilder security() {
       return builder.security();
    }
 
+   @Override
+   public StatisticsConfigurationBuilder statistics() {
+      return builder.statistics();
+   }
+
    @Override
    public ConfigurationBuilder tcpNoDelay(boolean tcpNoDelay) {
       return builder.tcpNoDelay(tcpNoDelay);
@@ -165,6 +170,21 @@ public ConfigurationBuilder maxRetries(int retriesPerServer) {
       return builder.maxRetries(retriesPerServer);
    }
 
+   @Override
+   public ConfigurationBuilder multiplexedConnections(int multiplexedConnections) {
+      return builder.multiplexedConnections(multiplexedConnections);
+   }
+
+   @Override
+   public ConfigurationBuilder marshalledKeyCacheSize(int marshalledKeyCacheSize) {
+      return builder.marshalledKeyCacheSize(marshalledKeyCacheSize);
+   }
+
+   @Override
+   public ConfigurationBuilder compressionThreshold(int compressionThreshold) {
+      return builder.compressionThreshold(compressionThreshold);
+   }
+
    @Override
    public ConfigurationBuilder withProperties(Properties properties) {
       return builder.withProperties(properties);
@@ -46,19 +46,26 @@ public class Configuration {
    private final Class<? extends TransportFactory> transportFactory;
    private final int valueSizeEstimate;
    private final int maxRetries;
+   private final int multiplexedConnections;
+   private final int marshalledKeyCacheSize;
+   private final int compressionThreshold;
    private final NearCacheConfiguration nearCache;
+   private final StatisticsConfiguration statistics;
    private final List<ClusterConfiguration> clusters;
 
    Configuration(ExecutorFactoryConfiguration asyncExecutorFactory, Class<? extends FailoverRequestBalancingStrategy> balancingStrategyClass, FailoverRequestBalancingStrategy balancingStrategy, ClassLoader classLoader,
          ClientIntelligence clientIntelligence, ConnectionPoolConfiguration connectionPool, int connectionTimeout, Class<? extends ConsistentHash>[] consistentHashImpl, boolean forceReturnValues, int keySizeEstimate,
          Marshaller marshaller, Class<? extends Marshaller> marshallerClass,
          ProtocolVersion protocolVersion, List<ServerConfiguration> servers, int socketTimeout, SecurityConfiguration security, boolean tcpNoDelay, boolean tcpKeepAlive,
-         Class<? extends TransportFactory> transportFactory, int valueSizeEstimate, int maxRetries, NearCacheConfiguration nearCache,
-         List<ClusterConfiguration> clusters) {
+         Class<? extends TransportFactory> transportFactory, int valueSizeEstimate, int maxRetries, int multiplexedConnections,
+         int marshalledKeyCacheSize, int compressionThreshold, NearCacheConfiguration nearCache, StatisticsConfiguration statistics, List<ClusterConfiguration> clusters) {
       this.asyncExecutorFactory = asyncExecutorFactory;
       this.balancingStrategyClass = balancingStrategyClass;
       this.balancingStrategy = balancingStrategy;
       this.maxRetries = maxRetries;
+      this.multiplexedConnections = multiplexedConnections;
+      this.marshalledKeyCacheSize = marshalledKeyCacheSize;
+      this.compressionThreshold = compressionThreshold;
       this.classLoader = new WeakReference<ClassLoader>(classLoader);
       this.clientIntelligence = clientIntelligence;
       this.connectionPool = connectionPool;
@@ -77,6 +84,7 @@ public class Configuration {
       this.transportFactory = transportFactory;
       this.valueSizeEstimate = valueSizeEstimate;
       this.nearCache = nearCache;
+      this.statistics = statistics;
       this.clusters = clusters;
    }
 
@@ -185,6 +193,22 @@ public int maxRetries() {
       return maxRetries;
    }
 
+   public int multiplexedConnections() {
+      return multiplexedConnections;
+   }
+
+   public int marshalledKeyCacheSize() {
+      return marshalledKeyCacheSize;
+   }
+
+   public int compressionThreshold() {
+      return compressionThreshold;
+   }
+
+   public StatisticsConfiguration statistics() {
+      return statistics;
+   }
+
    @Override
    public String toString() {
       return "Configuration [asyncExecutorFactory=" + asyncExecutorFactory + ", balancingStrategyClass=" + balancingStrategyClass + ", balancingStrategy=" + balancingStrategy
@@ -193,7 +217,7 @@ public String toString() {
             + forceReturnValues + ", keySizeEstimate=" + keySizeEstimate + ", marshallerClass=" + marshallerClass + ", marshaller=" + marshaller + ", protocolVersion="
             + protocolVersion + ", servers=" + servers + ", socketTimeout=" + socketTimeout + ", security=" + security + ", tcpNoDelay=" + tcpNoDelay + ", tcpKeepAlive=" + tcpKeepAlive
             + ", transportFactory=" + transportFactory + ", valueSizeEstimate=" + valueSizeEstimate + ", maxRetries=" + maxRetries
-            + "nearCache=" + nearCache + "]";
+            + ", multiplexedConnections=" + multiplexedConnections + ", marshalledKeyCacheSize=" + marshalledKeyCacheSize + ", compressionThreshold=" + compressionThreshold + ", nearCache=" + nearCache + ", statistics=" + statistics + "]";
    }
 
    public Properties properties() {
@@ -227,6 +251,13 @@ public Properties properties() {
       properties.setProperty(ConfigurationProperties.TRANSPORT_FACTORY, transportFactory().getName());
       properties.setProperty(ConfigurationProperties.VALUE_SIZE_ESTIMATE, Integer.toString(valueSizeEstimate()));
       properties.setProperty(ConfigurationProperties.MAX_RETRIES, Integer.toString(maxRetries()));
+      properties.setProperty(ConfigurationProperties.MULTIPLEXED_CONNECTIONS, Integer.toString(multiplexedConnections()));
+      properties.setProperty(ConfigurationProperties.MARSHALLED_KEY_CACHE_SIZE, Integer.toString(marshalledKeyCacheSize()));
+      properties.setProperty(ConfigurationProperties.COMPRESSION_THRESHOLD, Integer.toString(compressionThreshold()));
+      properties.setProperty(ConfigurationProperties.STATISTICS, Boolean.toString(statistics().enabled()));
+      properties.setProperty(ConfigurationProperties.JMX, Boolean.toString(statistics().jmxEnabled()));
+      properties.setProperty(ConfigurationProperties.JMX_DOMAIN, statistics().jmxDomain());
+      properties.setProperty(ConfigurationProperties.JMX_NAME, statistics().jmxName());
 
       properties.setProperty("exhaustedAction", Integer.toString(connectionPool().exhaustedAction().ordinal()));
       properties.setProperty("maxActive", Integer.toString(connectionPool().maxActive()));
@@ -17,6 +17,7 @@
 import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHash;
 import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHashV2;
 import org.infinispan.client.hotrod.impl.consistenthash.SegmentConsistentHash;
+import org.infinispan.client.hotrod.impl.protocol.VersionUtils;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
 import org.infinispan.client.hotrod.impl.transport.tcp.FailoverRequestBalancingStrategy;
 import org.infinispan.client.hotrod.impl.transport.tcp.RoundRobinBalancingStrategy;
@@ -67,7 +68,11 @@ public class ConfigurationBuilder implements ConfigurationChildBuilder, Builder<
    private Class<? extends TransportFactory> transportFactory = TcpTransportFactory.class;
    private int valueSizeEstimate = ConfigurationProperties.DEFAULT_VALUE_SIZE;
    private int maxRetries = ConfigurationProperties.DEFAULT_MAX_RETRIES;
+   private int multiplexedConnections = ConfigurationProperties.DEFAULT_MULTIPLEXED_CONNECTIONS;
+   private int marshalledKeyCacheSize = ConfigurationProperties.DEFAULT_MARSHALLED_KEY_CACHE_SIZE;
+   private int compressionThreshold = ConfigurationProperties.DEFAULT_COMPRESSION_THRESHOLD;
    private final NearCacheConfigurationBuilder nearCache;
+   private final StatisticsConfigurationBuilder statistics;
 
    private final List<ClusterConfigurationBuilder> clusters = new ArrayList<ClusterConfigurationBuilder>();
 
@@ -77,6 +82,7 @@ public ConfigurationBuilder() {
       this.asyncExecutorFactory = new ExecutorFactoryConfigurationBuilder(this);
       this.security = new SecurityConfigurationBuilder(this);
       this.nearCache = new NearCacheConfigurationBuilder(this);
+      this.statistics = new StatisticsConfigurationBuilder(this);
    }
 
    @Override
@@ -239,6 +245,11 @@ public SecurityConfigurationBuilder security() {
       return security;
    }
 
+   @Override
+   public StatisticsConfigurationBuilder statistics() {
+      return statistics;
+   }
+
    @Override
    public ConfigurationBuilder socketTimeout(int socketTimeout) {
       this.socketTimeout = socketTimeout;
@@ -281,6 +292,24 @@ public ConfigurationBuilder maxRetries(int maxRetries) {
       return this;
    }
 
+   @Override
+   public ConfigurationBuilder multiplexedConnections(int multiplexedConnections) {
+      this.multiplexedConnections = multiplexedConnections;
+      return this;
+   }
+
+   @Override
+   public ConfigurationBuilder marshalledKeyCacheSize(int marshalledKeyCacheSize) {
+      this.marshalledKeyCacheSize = marshalledKeyCacheSize;
+      return this;
+   }
+
+   @Override
+   public ConfigurationBuilder compressionThreshold(int compressionThreshold) {
+      this.compressionThreshold = compressionThreshold;
+      return this;
+   }
+
    @Override
    public ConfigurationBuilder withProperties(Properties properties) {
       TypedProperties typed = TypedProperties.toTypedProperties(properties);
@@ -320,8 +349,12 @@ public ConfigurationBuilder withProperties(Properties properties) {
       }
       this.valueSizeEstimate(typed.getIntProperty(ConfigurationProperties.VALUE_SIZE_ESTIMATE, valueSizeEstimate, true));
       this.maxRetries(typed.getIntProperty(ConfigurationProperties.MAX_RETRIES, maxRetries, true));
+      this.multiplexedConnections(typed.getIntProperty(ConfigurationProperties.MULTIPLEXED_CONNECTIONS, multiplexedConnections, true));
+      this.marshalledKeyCacheSize(typed.getIntProperty(ConfigurationProperties.MARSHALLED_KEY_CACHE_SIZE, marshalledKeyCacheSize, true));
+      this.compressionThreshold(typed.getIntProperty(ConfigurationProperties.COMPRESSION_THRESHOLD, compressionThreshold, true));
       this.security.ssl().withProperties(properties);
       this.security.authentication().withProperties(properties);
+      this.statistics.withStatisticsProperties(properties);
       return this;
    }
 
@@ -331,9 +364,27 @@ public void validate() {
       asyncExecutorFactory.validate();
       security.validate();
       nearCache.validate();
+      statistics.validate();
       if (maxRetries < 0) {
          throw log.invalidMaxRetries(maxRetries);
       }
+      if (multiplexedConnections < 0) {
+         throw log.invalidMultiplexedConnections(multiplexedConnections);
+      }
+      if (multiplexedConnections > 0 && security.authentication().create().enabled()) {
+         throw log.multiplexedConnectionsWithAuthentication();
+      }
+      if (marshalledKeyCacheSize < 0) {
+         throw log.invalidMarshalledKeyCacheSize(marshalledKeyCacheSize);
+      }
+      if (nearCache.create().mode().bloomFilter()
+            && !VersionUtils.isVersionGreaterOrEquals(protocolVersion.toString(), ProtocolVersion.PROTOCOL_VERSION_26.toString())) {
+         throw log.nearCacheBloomFilterRequiresProtocolVersion(protocolVersion.toString());
+      }
+      if (compressionThreshold >= 0
+            && !VersionUtils.isVersionGreaterOrEquals(protocolVersion.toString(), ProtocolVersion.PROTOCOL_VERSION_27.toString())) {
+         throw log.compressionRequiresProtocolVersion(protocolVersion.toString());
+      }
       Set<String> clusterNameSet = new HashSet<String>(clusters.size());
       for (ClusterConfigurationBuilder clusterConfigBuilder : clusters) {
          if (!clusterNameSet.add(clusterConfigBuilder.getClusterName())) {
@@ -362,7 +413,7 @@ public Configuration create() {
 
       return new Configuration(asyncExecutorFactory.create(), balancingStrategyClass, balancingStrategy, classLoader == null ? null : classLoader.get(), clientIntelligence, connectionPool.create(), connectionTimeout,
             consistentHashImpl, forceReturnValues, keySizeEstimate, marshaller, marshallerClass, protocolVersion, servers, socketTimeout, security.create(), tcpNoDelay, tcpKeepAlive, transportFactory,
-            valueSizeEstimate, maxRetries, nearCache.create(), serverClusterConfigs);
+            valueSizeEstimate, maxRetries, multiplexedConnections, marshalledKeyCacheSize, compressionThreshold, nearCache.create(), statistics.create(), serverClusterConfigs);
    }
 
    @Override
@@ -404,7 +455,11 @@ public ConfigurationBuilder read(Configuration template) {
       this.transportFactory = template.transportFactory();
       this.valueSizeEstimate = template.valueSizeEstimate();
       this.maxRetries = template.maxRetries();
+      this.multiplexedConnections = template.multiplexedConnections();
+      this.marshalledKeyCacheSize = template.marshalledKeyCacheSize();
+      this.compressionThreshold = template.compressionThreshold();
       this.nearCache.read(template.nearCache());
+      this.statistics.read(template.statistics());
       return this;
    }
 }
@@ -150,6 +150,11 @@ public interface ConfigurationChildBuilder {
     */
    SecurityConfigurationBuilder security();
 
+   /**
+    * Configures the client side statistics, disabled by default
+    */
+   StatisticsConfigurationBuilder statistics();
+
    /**
     * Affects TCP NODELAY on the TCP stack. Defaults to enabled
     */
@@ -182,6 +187,30 @@ public interface ConfigurationChildBuilder {
     */
    ConfigurationBuilder maxRetries(int maxRetries);
 
+   /**
+    * Sets the number of connections opened to each server over which the asynchronous operations are multiplexed.
+    * Requests sent over these connections don't wait for the previous responses, which are matched to their requests
+    * using the message id, so {@link org.infinispan.client.hotrod.RemoteCache#getAsync(Object)} and
+    * {@link org.infinispan.client.hotrod.RemoteCache#putAsync(Object, Object)} never block a thread while waiting for
+    * the server. Zero, the default, runs the asynchronous operations in the async executor using the connection pool.
+    */
+   ConfigurationBuilder multiplexedConnections(int multiplexedConnections);
+
+   /**
+    * Sets the maximum number of marshalled keys kept by each cache, so that the keys used again are not marshalled
+    * again. Only keys of immutable types are cached: strings, primitive wrappers and UUIDs. Zero, the default,
+    * disables the cache. Other keys can be marshalled once with
+    * {@link org.infinispan.client.hotrod.RemoteCache#marshallKey(Object)}.
+    */
+   ConfigurationBuilder marshalledKeyCacheSize(int marshalledKeyCacheSize);
+
+   /**
+    * Sets the minimum length in bytes of the marshalled values compressed before they are sent to the server. The
+    * servers compress the values they send back in the same way, depending on their own configuration. A negative
+    * value, the default, disables the compression. Requires protocol version 2.7 or later.
+    */
+   ConfigurationBuilder compressionThreshold(int compressionThreshold);
+
    /**
     * Configures this builder using the specified properties
     */
@@ -4,10 +4,25 @@ public class NearCacheConfiguration {
    // TODO: Consider an option to configure key equivalence function for near cache (e.g. for byte arrays)
    private final NearCacheMode mode;
    private final int maxEntries;
+   private final NearCacheStorage storage;
+   private final long maxMemory;
+   private final long bloomFilterUpdateInterval;
 
    public NearCacheConfiguration(NearCacheMode mode, int maxEntries) {
+      this(mode, maxEntries, NearCacheStorage.HEAP, -1);
+   }
+
+   public NearCacheConfiguration(NearCacheMode mode, int maxEntries, NearCacheStorage storage, long maxMemory) {
+      this(mode, maxEntries, storage, maxMemory, NearCacheConfigurationBuilder.DEFAULT_BLOOM_FILTER_UPDATE_INTERVAL);
+   }
+
+   public NearCacheConfiguration(NearCacheMode mode, int maxEntries, NearCacheStorage storage, long maxMemory,
+                                 long bloomFilterUpdateInterval) {
       this.mode = mode;
       this.maxEntries = maxEntries;
+      this.storage = storage;
+      this.maxMemory = maxMemory;
+      this.bloomFilterUpdateInterval = bloomFilterUpdateInterval;
    }
 
    public int maxEntries() {
@@ -18,11 +33,33 @@ public NearCacheMode mode() {
       return mode;
    }
 
+   public NearCacheStorage storage() {
+      return storage;
+   }
+
+   /**
+    * @return the maximum number of bytes used by an {@link NearCacheStorage#OFF_HEAP} near cache, or -1 if unbounded
+    */
+   public long maxMemory() {
+      return maxMemory;
+   }
+
+   /**
+    * @return the milliseconds between two updates of the bloom filter of a {@link NearCacheMode#INVALIDATED_BLOOM_FILTER}
+    * near cache
+    */
+   public long bloomFilterUpdateInterval() {
+      return bloomFilterUpdateInterval;
+   }
+
    @Override
    public String toString() {
       return "NearCacheConfiguration{" +
             "mode=" + mode +
             ", maxEntries=" + maxEntries +
+            ", storage=" + storage +
+            ", maxMemory=" + maxMemory +
+            ", bloomFilterUpdateInterval=" + bloomFilterUpdateInterval +
             '}';
    }
 }
@@ -7,9 +7,13 @@
 public class NearCacheConfigurationBuilder extends AbstractConfigurationChildBuilder
       implements Builder<NearCacheConfiguration> {
    private static final Log log = LogFactory.getLog(NearCacheConfigurationBuilder.class);
+   static final long DEFAULT_BLOOM_FILTER_UPDATE_INTERVAL = 1000;
 
    private NearCacheMode mode = NearCacheMode.DISABLED;
    private Integer maxEntries = null; // undefined
+   private NearCacheStorage storage = NearCacheStorage.HEAP;
+   private long maxMemory = -1;
+   private long bloomFilterUpdateInterval = DEFAULT_BLOOM_FILTER_UPDATE_INTERVAL;
 
    protected NearCacheConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -25,21 +29,56 @@ public NearCacheConfigurationBuilder mode(NearCacheMode mode) {
       return this;
    }
 
+   /**
+    * Where the near cache entries are stored, {@link NearCacheStorage#HEAP} by default.
+    */
+   public NearCacheConfigurationBuilder storage(NearCacheStorage storage) {
+      this.storage = storage;
+      return this;
+   }
+
+   /**
+    * The maximum number of bytes of native memory used by an {@link NearCacheStorage#OFF_HEAP} near cache,
+    * including the per entry overhead. Least recently used entries are evicted when the limit is exceeded.
+    * Defaults to -1, which means the near cache is only bounded by {@link #maxEntries(int)}.
+    */
+   public NearCacheConfigurationBuilder maxMemory(long maxMemory) {
+      this.maxMemory = maxMemory;
+      return this;
+   }
+
+   /**
+    * The milliseconds between two updates of the bloom filter of a {@link NearCacheMode#INVALIDATED_BLOOM_FILTER} near
+    * cache, 1000 by default. A shorter interval caches new keys sooner, but sends the filter more often.
+    */
+   public NearCacheConfigurationBuilder bloomFilterUpdateInterval(long bloomFilterUpdateInterval) {
+      this.bloomFilterUpdateInterval = bloomFilterUpdateInterval;
+      return this;
+   }
+
    @Override
    public void validate() {
       if (mode.enabled() && maxEntries == null)
          throw log.nearCacheMaxEntriesUndefined();
+      if (mode.enabled() && maxMemory > 0 && !storage.offHeap())
+         throw log.nearCacheMaxMemoryRequiresOffHeap();
+      if (mode.bloomFilter() && (maxEntries == null || maxEntries <= 0))
+         throw log.nearCacheBloomFilterRequiresMaxEntries();
    }
 
    @Override
    public NearCacheConfiguration create() {
-      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries);
+      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries, storage, maxMemory,
+            bloomFilterUpdateInterval);
    }
 
    @Override
    public Builder<?> read(NearCacheConfiguration template) {
       mode = template.mode();
       maxEntries = template.maxEntries();
+      storage = template.storage();
+      maxMemory = template.maxMemory();
+      bloomFilterUpdateInterval = template.bloomFilterUpdateInterval();
       return this;
    }
 }
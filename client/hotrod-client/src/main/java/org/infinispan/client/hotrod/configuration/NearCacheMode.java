@@ -19,14 +19,26 @@ public enum NearCacheMode {
     * server-side, invalidation messages will be sent to clients to remove
     * them from the near cache.
     */
-   INVALIDATED;
+   INVALIDATED,
+
+   /**
+    * Like {@link #INVALIDATED}, but the client periodically sends the server a bloom filter of the keys in its near
+    * cache, and the server only sends the invalidation messages of the keys in the filter. A key read from the server
+    * is only added to the near cache once the server has a filter with it, so it may take a few reads and up to
+    * {@link NearCacheConfiguration#bloomFilterUpdateInterval()} to cache a key. Requires protocol version 2.6.
+    */
+   INVALIDATED_BLOOM_FILTER;
 
    public boolean enabled() {
       return this != DISABLED;
    }
 
    public boolean invalidated() {
-      return this == INVALIDATED;
+      return this == INVALIDATED || this == INVALIDATED_BLOOM_FILTER;
+   }
+
+   public boolean bloomFilter() {
+      return this == INVALIDATED_BLOOM_FILTER;
    }
 
 }
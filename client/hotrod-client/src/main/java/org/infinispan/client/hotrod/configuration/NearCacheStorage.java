@@ -0,0 +1,26 @@
+package org.infinispan.client.hotrod.configuration;
+
+/**
+ * Decides where the entries of the client-side near cache are stored.
+ *
+ * @since 9.0
+ */
+public enum NearCacheStorage {
+
+   /**
+    * Entries are stored deserialized in the Java heap.
+    */
+   HEAP,
+
+   /**
+    * Keys and values are stored serialized in native memory, outside of the
+    * Java heap, and values are only deserialized when read. This keeps large
+    * near caches out of the reach of the garbage collector.
+    */
+   OFF_HEAP;
+
+   public boolean offHeap() {
+      return this == OFF_HEAP;
+   }
+
+}
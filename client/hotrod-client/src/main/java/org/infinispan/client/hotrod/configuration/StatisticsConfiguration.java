@@ -0,0 +1,58 @@
+package org.infinispan.client.hotrod.configuration;
+
+import java.util.List;
+
+import org.infinispan.client.hotrod.statistics.ClientStatisticsListener;
+
+/**
+ * Configures the client side statistics.
+ *
+ * @since 9.0
+ */
+public class StatisticsConfiguration {
+   private final boolean enabled;
+   private final boolean jmxEnabled;
+   private final String jmxDomain;
+   private final String jmxName;
+   private final List<ClientStatisticsListener> listeners;
+
+   StatisticsConfiguration(boolean enabled, boolean jmxEnabled, String jmxDomain, String jmxName,
+                           List<ClientStatisticsListener> listeners) {
+      this.enabled = enabled;
+      this.jmxEnabled = jmxEnabled;
+      this.jmxDomain = jmxDomain;
+      this.jmxName = jmxName;
+      this.listeners = listeners;
+   }
+
+   public boolean enabled() {
+      return enabled;
+   }
+
+   public boolean jmxEnabled() {
+      return jmxEnabled;
+   }
+
+   public String jmxDomain() {
+      return jmxDomain;
+   }
+
+   public String jmxName() {
+      return jmxName;
+   }
+
+   public List<ClientStatisticsListener> listeners() {
+      return listeners;
+   }
+
+   @Override
+   public String toString() {
+      return "StatisticsConfiguration{" +
+            "enabled=" + enabled +
+            ", jmxEnabled=" + jmxEnabled +
+            ", jmxDomain='" + jmxDomain + '\'' +
+            ", jmxName='" + jmxName + '\'' +
+            ", listeners=" + listeners +
+            '}';
+   }
+}
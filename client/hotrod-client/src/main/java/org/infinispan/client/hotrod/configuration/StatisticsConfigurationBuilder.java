@@ -0,0 +1,133 @@
+package org.infinispan.client.hotrod.configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.infinispan.client.hotrod.impl.ConfigurationProperties;
+import org.infinispan.client.hotrod.impl.TypedProperties;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.client.hotrod.statistics.ClientStatisticsListener;
+import org.infinispan.commons.configuration.Builder;
+
+/**
+ * Configures the client side statistics: operation durations by cache, response times, connection wait times and
+ * retries by server, and near cache hits.
+ *
+ * @since 9.0
+ */
+public class StatisticsConfigurationBuilder extends AbstractConfigurationChildBuilder
+      implements Builder<StatisticsConfiguration> {
+   private static final Log log = LogFactory.getLog(StatisticsConfigurationBuilder.class, Log.class);
+
+   private boolean enabled = ConfigurationProperties.DEFAULT_STATISTICS;
+   private boolean jmxEnabled = ConfigurationProperties.DEFAULT_JMX;
+   private String jmxDomain = ConfigurationProperties.DEFAULT_JMX_DOMAIN;
+   private String jmxName = ConfigurationProperties.DEFAULT_JMX_NAME;
+   private final List<ClientStatisticsListener> listeners = new ArrayList<>();
+
+   StatisticsConfigurationBuilder(ConfigurationBuilder builder) {
+      super(builder);
+   }
+
+   /**
+    * Enables the collection of the statistics.  Disabled by default.
+    */
+   public StatisticsConfigurationBuilder enable() {
+      return enabled(true);
+   }
+
+   public StatisticsConfigurationBuilder disable() {
+      return enabled(false);
+   }
+
+   public StatisticsConfigurationBuilder enabled(boolean enabled) {
+      this.enabled = enabled;
+      return this;
+   }
+
+   /**
+    * Exposes the statistics through JMX, with a {@link org.infinispan.client.hotrod.statistics.RemoteCacheManagerMXBean}
+    * for the servers and a {@link org.infinispan.client.hotrod.statistics.RemoteCacheClientStatisticsMXBean} for each
+    * cache.  Has no effect unless the statistics are enabled.
+    */
+   public StatisticsConfigurationBuilder jmxEnable() {
+      return jmxEnabled(true);
+   }
+
+   public StatisticsConfigurationBuilder jmxDisable() {
+      return jmxEnabled(false);
+   }
+
+   public StatisticsConfigurationBuilder jmxEnabled(boolean jmxEnabled) {
+      this.jmxEnabled = jmxEnabled;
+      return this;
+   }
+
+   /**
+    * The JMX domain of the MBeans, {@code org.infinispan} by default.
+    */
+   public StatisticsConfigurationBuilder jmxDomain(String jmxDomain) {
+      this.jmxDomain = jmxDomain;
+      return this;
+   }
+
+   /**
+    * The name of the {@link org.infinispan.client.hotrod.RemoteCacheManager} in the names of the MBeans,
+    * {@code Default} by default.  Each manager of the same JVM must have a different name.
+    */
+   public StatisticsConfigurationBuilder jmxName(String jmxName) {
+      this.jmxName = jmxName;
+      return this;
+   }
+
+   /**
+    * Adds a listener that receives each measurement as it is taken.
+    */
+   public StatisticsConfigurationBuilder addListener(ClientStatisticsListener listener) {
+      this.listeners.add(listener);
+      return this;
+   }
+
+   StatisticsConfigurationBuilder withStatisticsProperties(Properties properties) {
+      TypedProperties typed = TypedProperties.toTypedProperties(properties);
+      enabled(typed.getBooleanProperty(ConfigurationProperties.STATISTICS, enabled, true));
+      jmxEnabled(typed.getBooleanProperty(ConfigurationProperties.JMX, jmxEnabled, true));
+      jmxDomain(typed.getProperty(ConfigurationProperties.JMX_DOMAIN, jmxDomain, true));
+      jmxName(typed.getProperty(ConfigurationProperties.JMX_NAME, jmxName, true));
+      return this;
+   }
+
+   @Override
+   public void validate() {
+      if (enabled && jmxEnabled) {
+         try {
+            new ObjectName(jmxDomain, "name", ObjectName.quote(jmxName));
+         } catch (MalformedObjectNameException | NullPointerException e) {
+            throw log.invalidStatisticsJmxDomain(jmxDomain);
+         }
+      }
+   }
+
+   @Override
+   public StatisticsConfiguration create() {
+      return new StatisticsConfiguration(enabled, jmxEnabled, jmxDomain, jmxName,
+            Collections.unmodifiableList(new ArrayList<>(listeners)));
+   }
+
+   @Override
+   public StatisticsConfigurationBuilder read(StatisticsConfiguration template) {
+      this.enabled = template.enabled();
+      this.jmxEnabled = template.jmxEnabled();
+      this.jmxDomain = template.jmxDomain();
+      this.jmxName = template.jmxName();
+      this.listeners.clear();
+      this.listeners.addAll(template.listeners());
+      return this;
+   }
+}
@@ -47,6 +47,13 @@ public class ConfigurationProperties {
    public static final String SSL_PROTOCOL = "infinispan.client.hotrod.ssl_protocol";
    public static final String SSL_CONTEXT = "infinispan.client.hotrod.ssl_context";
    public static final String MAX_RETRIES = "infinispan.client.hotrod.max_retries";
+   public static final String MULTIPLEXED_CONNECTIONS = "infinispan.client.hotrod.multiplexed_connections";
+   public static final String MARSHALLED_KEY_CACHE_SIZE = "infinispan.client.hotrod.marshalled_key_cache_size";
+   public static final String COMPRESSION_THRESHOLD = "infinispan.client.hotrod.compression_threshold";
+   public static final String STATISTICS = "infinispan.client.hotrod.statistics";
+   public static final String JMX = "infinispan.client.hotrod.jmx";
+   public static final String JMX_DOMAIN = "infinispan.client.hotrod.jmx_domain";
+   public static final String JMX_NAME = "infinispan.client.hotrod.jmx_name";
    public static final String USE_AUTH = "infinispan.client.hotrod.use_auth";
    public static final String SASL_MECHANISM = "infinispan.client.hotrod.sasl_mechanism";
    public static final String AUTH_CALLBACK_HANDLER = "infinispan.client.hotrod.auth_callback_handler";
@@ -67,6 +74,13 @@ public class ConfigurationProperties {
    public static final int DEFAULT_SO_TIMEOUT = 60000;
    public static final int DEFAULT_CONNECT_TIMEOUT = 60000;
    public static final int DEFAULT_MAX_RETRIES = 10;
+   public static final int DEFAULT_MULTIPLEXED_CONNECTIONS = 0;
+   public static final int DEFAULT_MARSHALLED_KEY_CACHE_SIZE = 0;
+   public static final int DEFAULT_COMPRESSION_THRESHOLD = -1;
+   public static final boolean DEFAULT_STATISTICS = false;
+   public static final boolean DEFAULT_JMX = false;
+   public static final String DEFAULT_JMX_DOMAIN = "org.infinispan";
+   public static final String DEFAULT_JMX_NAME = "Default";
 
    private final TypedProperties props;
 
@@ -172,6 +186,34 @@ public int getMaxRetries() {
       return props.getIntProperty(MAX_RETRIES, DEFAULT_MAX_RETRIES);
    }
 
+   public int getMultiplexedConnections() {
+      return props.getIntProperty(MULTIPLEXED_CONNECTIONS, DEFAULT_MULTIPLEXED_CONNECTIONS);
+   }
+
+   public int getMarshalledKeyCacheSize() {
+      return props.getIntProperty(MARSHALLED_KEY_CACHE_SIZE, DEFAULT_MARSHALLED_KEY_CACHE_SIZE);
+   }
+
+   public int getCompressionThreshold() {
+      return props.getIntProperty(COMPRESSION_THRESHOLD, DEFAULT_COMPRESSION_THRESHOLD);
+   }
+
+   public boolean getStatistics() {
+      return props.getBooleanProperty(STATISTICS, DEFAULT_STATISTICS);
+   }
+
+   public boolean getJmx() {
+      return props.getBooleanProperty(JMX, DEFAULT_JMX);
+   }
+
+   public String getJmxDomain() {
+      return props.getProperty(JMX_DOMAIN, DEFAULT_JMX_DOMAIN);
+   }
+
+   public String getJmxName() {
+      return props.getProperty(JMX_NAME, DEFAULT_JMX_NAME);
+   }
+
    /**
     * Is version previous to, and not including, 1.2?
     */
@@ -1,11 +1,13 @@
 package org.infinispan.client.hotrod.impl;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.impl.statistics.CacheStatistics;
 import org.infinispan.client.hotrod.near.NearCacheService;
 
 /**
@@ -32,11 +34,16 @@ public V get(Object key) {
 
    @Override
    public VersionedValue<V> getVersioned(K key) {
-      VersionedValue<V> nearValue = nearcache.get(key);
+      VersionedValue<V> nearValue = nearcache.get(unwrapKey(key));
+      CacheStatistics statistics = operationsFactory.getCacheStatistics();
+      if (statistics != null) {
+         statistics.nearCacheRead(nearValue != null);
+      }
       if (nearValue == null) {
+         long readStart = nearcache.remoteReadStarted();
          VersionedValue<V> remoteValue = super.getVersioned(key);
          if (remoteValue != null)
-            nearcache.putIfAbsent(key, remoteValue);
+            nearcache.putIfAbsent(unwrapKey(key), remoteValue, readStart);
 
          return remoteValue;
       }
@@ -45,12 +52,24 @@ public VersionedValue<V> getVersioned(K key) {
    }
 
    @Override
-   public V put(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
-      V ret = super.put(key, value, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
-      nearcache.remove(key); // Eager invalidation to avoid race
+   V putInternal(Object key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
+      V ret = super.putInternal(key, value, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
+      nearcache.remove(unwrapKey(key)); // Eager invalidation to avoid race
       return ret;
    }
 
+   @Override
+   public CompletableFuture<V> putAsync(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdle, TimeUnit maxIdleUnit) {
+      return super.putAsync(key, value, lifespan, lifespanUnit, maxIdle, maxIdleUnit)
+            .whenComplete((ret, t) -> nearcache.remove(unwrapKey(key)));
+   }
+
+   @Override
+   public CompletableFuture<V> getAsync(K key) {
+      // The near cache stores versioned values, so misses have to go through getVersioned
+      return CompletableFuture.supplyAsync(() -> get(key), getExecutorService());
+   }
+
    @Override
    public void putAll(Map<? extends K, ? extends V> map, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
       super.putAll(map, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
@@ -66,9 +85,9 @@ public V replace(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxI
    }
 
    @Override
-   public boolean replaceWithVersion(K key, V newValue, long version, long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
-      boolean replaced = super.replaceWithVersion(key, newValue, version, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
-      if (replaced) nearcache.remove(key);
+   boolean replaceWithVersionInternal(Object key, V newValue, long version, long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
+      boolean replaced = super.replaceWithVersionInternal(key, newValue, version, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+      if (replaced) nearcache.remove(unwrapKey(key));
       return replaced;
    }
 
@@ -83,7 +102,7 @@ public V remove(Object key) {
    @Override
    public boolean removeWithVersion(K key, long version) {
       boolean removed = super.removeWithVersion(key, version);
-      if (removed) nearcache.remove(key); // Eager invalidation to avoid race
+      if (removed) nearcache.remove(unwrapKey(key)); // Eager invalidation to avoid race
       return removed;
    }
 
@@ -93,10 +112,9 @@ public void clear() {
       nearcache.clear(); // Clear near cache too
    }
 
-   @SuppressWarnings("unchecked")
    void invalidateNearCacheIfNeeded(boolean hasForceReturnValue, Object key, Object prev) {
       if (!hasForceReturnValue || prev != null)
-         nearcache.remove((K) key);
+         nearcache.remove(unwrapKey(key));
    }
 
    @Override
@@ -0,0 +1,52 @@
+package org.infinispan.client.hotrod.impl;
+
+import org.infinispan.client.hotrod.MarshalledKey;
+import org.infinispan.commons.hash.Hash;
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.util.Util;
+
+/**
+ * Keeps the marshalled form of a key, and its hash with {@link MurmurHash3}, which the consistent hashes of the
+ * protocol versions 2.0 and later use to route it.
+ *
+ * @since 9.0
+ */
+public final class MarshalledKeyImpl<K> implements MarshalledKey<K> {
+   private final K key;
+   private final byte[] bytes;
+   private final Marshaller marshaller;
+   private final int normalizedHash;
+
+   public MarshalledKeyImpl(K key, byte[] bytes, Marshaller marshaller) {
+      this.key = key;
+      this.bytes = bytes;
+      this.marshaller = marshaller;
+      this.normalizedHash = Util.getNormalizedHash(bytes, MurmurHash3.getInstance());
+   }
+
+   @Override
+   public K getKey() {
+      return key;
+   }
+
+   public byte[] getBytes() {
+      return bytes;
+   }
+
+   /**
+    * @return whether the key was marshalled with the given marshaller, i.e. whether its bytes can be sent as is
+    */
+   public boolean isMarshalledWith(Marshaller marshaller) {
+      return this.marshaller == marshaller;
+   }
+
+   public int getNormalizedHash(Hash hash) {
+      return hash == MurmurHash3.getInstance() ? normalizedHash : Util.getNormalizedHash(bytes, hash);
+   }
+
+   @Override
+   public String toString() {
+      return "MarshalledKey{key=" + key + ", bytes=" + Util.printArray(bytes, true) + '}';
+   }
+}
@@ -10,13 +10,18 @@
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.infinispan.client.hotrod.CacheTopologyInfo;
 import org.infinispan.client.hotrod.Flag;
+import org.infinispan.client.hotrod.MarshalledKey;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.ProtocolVersion;
 import org.infinispan.client.hotrod.RemoteCache;
@@ -28,7 +33,9 @@
 import org.infinispan.client.hotrod.exceptions.HotRodClientException;
 import org.infinispan.client.hotrod.exceptions.RemoteCacheManagerNotStartedException;
 import org.infinispan.client.hotrod.filter.Filters;
+import org.infinispan.client.hotrod.impl.iteration.PartitionedRemoteSpliterator;
 import org.infinispan.client.hotrod.impl.iteration.RemoteCloseableIterator;
+import org.infinispan.client.hotrod.impl.iteration.RemoteGetAllIterator;
 import org.infinispan.client.hotrod.impl.operations.AddClientListenerOperation;
 import org.infinispan.client.hotrod.impl.operations.BulkGetKeysOperation;
 import org.infinispan.client.hotrod.impl.operations.BulkGetOperation;
@@ -51,10 +58,12 @@
 import org.infinispan.client.hotrod.impl.operations.ReplaceOperation;
 import org.infinispan.client.hotrod.impl.operations.SizeOperation;
 import org.infinispan.client.hotrod.impl.operations.StatsOperation;
+import org.infinispan.client.hotrod.impl.protocol.VersionUtils;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.CollectionFactory;
 import org.infinispan.query.dsl.Query;
 
 /**
@@ -74,6 +83,8 @@
    private int estimateKeySize;
    private int estimateValueSize;
    private volatile boolean hasCompatibility;
+   // Marshalled form of the immutable keys, null if disabled
+   private ConcurrentMap<Object, byte[]> marshalledKeys;
 
    private final Runnable clear = this::clear;
 
@@ -86,11 +97,16 @@ public RemoteCacheImpl(RemoteCacheManager rcm, String name) {
    }
 
    public void init(Marshaller marshaller, ExecutorService executorService, OperationsFactory operationsFactory, int estimateKeySize, int estimateValueSize) {
+      init(marshaller, executorService, operationsFactory, estimateKeySize, estimateValueSize, 0);
+   }
+
+   public void init(Marshaller marshaller, ExecutorService executorService, OperationsFactory operationsFactory, int estimateKeySize, int estimateValueSize, int marshalledKeyCacheSize) {
       this.marshaller = marshaller;
       this.executorService = executorService;
       this.operationsFactory = operationsFactory;
       this.estimateKeySize = estimateKeySize;
       this.estimateValueSize = estimateValueSize;
+      this.marshalledKeys = marshalledKeyCacheSize > 0 ? CollectionFactory.makeBoundedConcurrentMap(marshalledKeyCacheSize) : null;
    }
 
    public OperationsFactory getOperationsFactory() {
@@ -124,6 +140,18 @@ public boolean replaceWithVersion(K key, V newValue, long version, int lifespanS
 
    @Override
    public boolean replaceWithVersion(K key, V newValue, long version, long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
+      return replaceWithVersionInternal(key, newValue, version, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+   }
+
+   @Override
+   public boolean replaceWithVersion(MarshalledKey<K> key, V newValue, long version) {
+      return replaceWithVersionInternal(key, newValue, version, 0, TimeUnit.SECONDS, 0, TimeUnit.SECONDS);
+   }
+
+   /**
+    * @param key a {@code K} or a {@link MarshalledKey}
+    */
+   boolean replaceWithVersionInternal(Object key, V newValue, long version, long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
       assertRemoteCacheManagerIsStarted();
       ReplaceIfUnmodifiedOperation op = operationsFactory.newReplaceIfUnmodifiedOperation(
          compatKeyIfNeeded(key), obj2bytes(key, true), obj2bytes(newValue, false), lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, version);
@@ -188,6 +216,18 @@ public CloseableIterator<Entry<Object, MetadataValue<Object>>> retrieveEntriesWi
       return remoteCloseableIterator;
    }
 
+   @Override
+   public Stream<Entry<Object, Object>> retrieveEntriesInParallel(String filterConverterFactory, Object[] filterConverterParams, Set<Integer> segments, int batchSize) {
+      assertRemoteCacheManagerIsStarted();
+      if (segments != null && segments.isEmpty()) {
+         return Stream.empty();
+      }
+      byte[][] params = marshallParams(filterConverterParams);
+      PartitionedRemoteSpliterator<Object> spliterator = new PartitionedRemoteSpliterator<>(operationsFactory,
+            filterConverterFactory, params, segments, batchSize, false);
+      return StreamSupport.stream(spliterator, true).onClose(spliterator::close);
+   }
+
    @Override
    public VersionedValue<V> getVersioned(K key) {
       assertRemoteCacheManagerIsStarted();
@@ -205,6 +245,18 @@ public VersionedValue<V> getVersioned(K key) {
 
    @Override
    public MetadataValue<V> getWithMetadata(K key) {
+      return getWithMetadataInternal(key);
+   }
+
+   @Override
+   public MetadataValue<V> getWithMetadata(MarshalledKey<K> key) {
+      return getWithMetadataInternal(key);
+   }
+
+   /**
+    * @param key a {@code K} or a {@link MarshalledKey}
+    */
+   MetadataValue<V> getWithMetadataInternal(Object key) {
       assertRemoteCacheManagerIsStarted();
       GetWithMetadataOperation<V> op = operationsFactory.newGetWithMetadataOperation(
          compatKeyIfNeeded(key), obj2bytes(key, true));
@@ -260,6 +312,23 @@ public ServerStatistics stats() {
 
    @Override
    public V put(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
+      return putInternal(key, value, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
+   }
+
+   @Override
+   public V put(MarshalledKey<K> key, V value) {
+      return putInternal(key, value, defaultLifespan, TimeUnit.MILLISECONDS, defaultMaxIdleTime, TimeUnit.MILLISECONDS);
+   }
+
+   @Override
+   public V put(MarshalledKey<K> key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
+      return putInternal(key, value, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
+   }
+
+   /**
+    * @param key a {@code K} or a {@link MarshalledKey}, whose bytes are sent and whose hash routes the operation
+    */
+   V putInternal(Object key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
       assertRemoteCacheManagerIsStarted();
       if (trace) {
          log.tracef("About to add (K,V): (%s, %s) lifespan:%d, maxIdle:%d", key, value, lifespan, maxIdleTime);
@@ -269,8 +338,25 @@ public V put(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleT
       return op.execute();
    }
 
-   K compatKeyIfNeeded(Object key) {
-      return hasCompatibility ? (K) key : null;
+   /**
+    * @return the object to route the key with: the key itself in compatibility mode, as the servers hash the
+    * unmarshalled keys, otherwise the key handle if it has a precomputed hash, or {@code null} to hash the key bytes
+    */
+   Object compatKeyIfNeeded(Object key) {
+      if (hasCompatibility) {
+         return unwrapKey(key);
+      }
+      return key instanceof MarshalledKeyImpl && ((MarshalledKeyImpl<?>) key).isMarshalledWith(marshaller) ? key : null;
+   }
+
+   @SuppressWarnings("unchecked")
+   K unwrapKey(Object key) {
+      return key instanceof MarshalledKeyImpl ? ((MarshalledKeyImpl<K>) key).getKey() : (K) key;
+   }
+
+   @Override
+   public MarshalledKey<K> marshallKey(K key) {
+      return new MarshalledKeyImpl<>(key, obj2bytes(key, true), marshaller);
    }
 
    @Override
@@ -292,12 +378,12 @@ public V replace(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxI
    @Override
    public CompletableFuture<V> putAsync(final K key, final V value, final long lifespan, final TimeUnit lifespanUnit, final long maxIdle, final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
-      int flags = operationsFactory.flags();
-      return CompletableFuture.supplyAsync(() -> {
-         if (flags != 0)
-            operationsFactory.setFlags(flags);
-         return put(key, value, lifespan, lifespanUnit, maxIdle, maxIdleUnit);
-      }, executorService);
+      if (trace) {
+         log.tracef("About to add (K,V): (%s, %s) lifespan:%d, maxIdle:%d", key, value, lifespan, maxIdle);
+      }
+      PutOperation<V> op = operationsFactory.newPutKeyValueOperation(compatKeyIfNeeded(key),
+         obj2bytes(key, true), obj2bytes(value, false), lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+      return op.executeAsync(executorService);
    }
 
    @Override
@@ -374,6 +460,24 @@ public Map<K, V> getAll(Set<? extends K> keys) {
       return Collections.unmodifiableMap(result);
    }
 
+   @Override
+   public CloseableIterator<Entry<K, V>> retrieveAll(Set<? extends K> keys, int batchSize) {
+      assertRemoteCacheManagerIsStarted();
+      if (batchSize <= 0) {
+         throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+      }
+      if (trace) {
+         log.tracef("About to retrieve all entries (%s) by batches of %d", keys, batchSize);
+      }
+      Set<byte[]> byteKeys = new HashSet<>(keys.size());
+      for (K key : keys) {
+         byteKeys.add(obj2bytes(key, true));
+      }
+      boolean streaming = VersionUtils.isVersionGreaterOrEquals(remoteCacheManager.getConfiguration().version().toString(),
+            ProtocolVersion.PROTOCOL_VERSION_26.toString());
+      return new RemoteGetAllIterator<>(operationsFactory, byteKeys, batchSize, streaming);
+   }
+
    @Override
    public Map<K, V> getBulk() {
       return getBulk(0);
@@ -484,7 +588,12 @@ public RemoteCache<K, V> withFlags(Flag... flags) {
    @Override
    public CompletableFuture<V> getAsync(final K key) {
       assertRemoteCacheManagerIsStarted();
-      return CompletableFuture.supplyAsync(() -> get(key), executorService);
+      GetOperation<V> gco = operationsFactory.newGetKeyOperation(compatKeyIfNeeded(key), obj2bytes(key, true));
+      return gco.executeAsync(executorService);
+   }
+
+   ExecutorService getExecutorService() {
+      return executorService;
    }
 
    public PingOperation.PingResult ping() {
@@ -492,8 +601,37 @@ public PingOperation.PingResult ping() {
    }
 
    byte[] obj2bytes(Object o, boolean isKey) {
+      if (isKey) {
+         if (o instanceof MarshalledKeyImpl) {
+            MarshalledKeyImpl<?> marshalledKey = (MarshalledKeyImpl<?>) o;
+            if (marshalledKey.isMarshalledWith(marshaller)) {
+               return marshalledKey.getBytes();
+            }
+            o = marshalledKey.getKey();
+         }
+         if (marshalledKeys != null && isImmutable(o)) {
+            byte[] bytes = marshalledKeys.get(o);
+            if (bytes == null) {
+               bytes = marshall(o, estimateKeySize);
+               // The bytes are shared, which is safe as the operations never modify them
+               marshalledKeys.put(o, bytes);
+            }
+            return bytes;
+         }
+      }
+      return marshall(o, isKey ? estimateKeySize : estimateValueSize);
+   }
+
+   private static boolean isImmutable(Object o) {
+      Class<?> type = o.getClass();
+      return type == String.class || type == Integer.class || type == Long.class || type == UUID.class
+            || type == Short.class || type == Byte.class || type == Character.class || type == Boolean.class
+            || type == Double.class || type == Float.class;
+   }
+
+   private byte[] marshall(Object o, int estimatedSize) {
       try {
-         return marshaller.objectToByteBuffer(o, isKey ? estimateKeySize : estimateValueSize);
+         return marshaller.objectToByteBuffer(o, estimatedSize);
       } catch (IOException ioe) {
          throw new HotRodClientException(
                "Unable to marshall object of type [" + o.getClass().getName() + "]", ioe);
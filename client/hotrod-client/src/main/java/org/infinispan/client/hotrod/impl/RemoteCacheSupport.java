@@ -129,7 +129,6 @@ public V put(K key, V value, long lifespan, TimeUnit unit) {
       return put(key, value, lifespan, unit, defaultMaxIdleTime, MILLISECONDS);
    }
 
-
    @Override
    public CompletableFuture<V> putIfAbsentAsync(K key, V value) {
       return putIfAbsentAsync(key, value, defaultLifespan, MILLISECONDS, defaultMaxIdleTime, MILLISECONDS);
@@ -2,11 +2,15 @@
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.infinispan.client.hotrod.StreamingRemoteCache;
 import org.infinispan.client.hotrod.VersionedMetadata;
+import org.infinispan.client.hotrod.impl.operations.GetBufferOperation;
 import org.infinispan.client.hotrod.impl.operations.GetStreamOperation;
+import org.infinispan.client.hotrod.impl.operations.PutBufferOperation;
 import org.infinispan.client.hotrod.impl.operations.PutStreamOperation;
 
 /**
@@ -29,6 +33,59 @@ public <T extends InputStream & VersionedMetadata> T get(K key) {
       return (T)op.execute();
    }
 
+   @Override
+   public ByteBuffer getBuffer(K key) {
+      return get(key, null);
+   }
+
+   @Override
+   public ByteBuffer get(K key, ByteBuffer destination) {
+      return newGetBufferOperation(key, destination).execute();
+   }
+
+   @Override
+   public CompletableFuture<ByteBuffer> getBufferAsync(K key) {
+      return getAsync(key, null);
+   }
+
+   @Override
+   public CompletableFuture<ByteBuffer> getAsync(K key, ByteBuffer destination) {
+      return newGetBufferOperation(key, destination).executeAsync(cache.getExecutorService());
+   }
+
+   private GetBufferOperation newGetBufferOperation(K key, ByteBuffer destination) {
+      return cache.operationsFactory.newGetBufferOperation(cache.compatKeyIfNeeded(key), cache.obj2bytes(key, true), destination);
+   }
+
+   @Override
+   public void put(K key, ByteBuffer value) {
+      put(key, value, -1, TimeUnit.SECONDS, -1, TimeUnit.SECONDS);
+   }
+
+   @Override
+   public void put(K key, ByteBuffer value, long lifespan, TimeUnit unit) {
+      put(key, value, lifespan, unit, -1, TimeUnit.SECONDS);
+   }
+
+   @Override
+   public void put(K key, ByteBuffer value, long lifespan, TimeUnit lifespanUnit, long maxIdle, TimeUnit maxIdleUnit) {
+      newPutBufferOperation(key, value, lifespan, lifespanUnit, maxIdle, maxIdleUnit).execute();
+   }
+
+   @Override
+   public CompletableFuture<Void> putAsync(K key, ByteBuffer value) {
+      return putAsync(key, value, -1, TimeUnit.SECONDS, -1, TimeUnit.SECONDS);
+   }
+
+   @Override
+   public CompletableFuture<Void> putAsync(K key, ByteBuffer value, long lifespan, TimeUnit lifespanUnit, long maxIdle, TimeUnit maxIdleUnit) {
+      return newPutBufferOperation(key, value, lifespan, lifespanUnit, maxIdle, maxIdleUnit).executeAsync(cache.getExecutorService());
+   }
+
+   private PutBufferOperation newPutBufferOperation(K key, ByteBuffer value, long lifespan, TimeUnit lifespanUnit, long maxIdle, TimeUnit maxIdleUnit) {
+      return cache.operationsFactory.newPutBufferOperation(cache.compatKeyIfNeeded(key), cache.obj2bytes(key, true), value, lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+   }
+
    @Override
    public OutputStream put(K key) {
       return put(key, -1, TimeUnit.SECONDS, -1, TimeUnit.SECONDS);
@@ -18,6 +18,7 @@
 import org.infinispan.client.hotrod.configuration.Configuration;
 import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHash;
 import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHashFactory;
+import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHashV2;
 import org.infinispan.client.hotrod.impl.consistenthash.SegmentConsistentHash;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.logging.Log;
@@ -104,6 +105,11 @@ public Optional<SocketAddress> getHashAwareServer(Object key, byte[] cacheName)
       if (isTopologyValid(cacheName)) {
          ConsistentHash consistentHash = consistentHashes.get(new WrappedByteArray(cacheName));
          if (consistentHash != null) {
+            if (key instanceof MarshalledKeyImpl && !(consistentHash instanceof SegmentConsistentHash
+                  || consistentHash instanceof ConsistentHashV2)) {
+               // Other implementations only know the marshalled keys
+               key = ((MarshalledKeyImpl<?>) key).getBytes();
+            }
             server = Optional.of(consistentHash.getServer(key));
             if (trace) {
                log.tracef("Using consistent hash for determining the server: " + server);
@@ -9,6 +9,7 @@
 import java.util.SortedMap;
 import java.util.TreeMap;
 
+import org.infinispan.client.hotrod.impl.MarshalledKeyImpl;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.hash.Hash;
 import org.infinispan.commons.hash.MurmurHash3;
@@ -119,6 +120,9 @@ public void setHash(Hash hash) {
 
    @Override
    public final int getNormalizedHash(Object object) {
+      if (object instanceof MarshalledKeyImpl) {
+         return ((MarshalledKeyImpl<?>) object).getNormalizedHash(hash);
+      }
       return Util.getNormalizedHash(object, hash);
    }
 
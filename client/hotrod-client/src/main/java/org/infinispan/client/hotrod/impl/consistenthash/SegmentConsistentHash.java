@@ -9,6 +9,7 @@
 import java.util.Set;
 import java.util.stream.IntStream;
 
+import org.infinispan.client.hotrod.impl.MarshalledKeyImpl;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.hash.Hash;
@@ -56,6 +57,9 @@ public int getSegment(Object key) {
 
    @Override
    public int getNormalizedHash(Object object) {
+      if (object instanceof MarshalledKeyImpl) {
+         return ((MarshalledKeyImpl<?>) object).getNormalizedHash(hash);
+      }
       return Util.getNormalizedHash(object, hash);
    }
 
@@ -0,0 +1,156 @@
+package org.infinispan.client.hotrod.impl.iteration;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.infinispan.client.hotrod.impl.operations.OperationsFactory;
+
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * Splits a remote iteration into one iteration per server, each restricted to the segments the server primarily owns,
+ * so that the servers iterate over their own entries in parallel instead of one server pulling all of them from the
+ * cluster.  Each split iterates over the entries of one or more servers, and the iterations fail over to another
+ * server like {@link RemoteCloseableIterator} does, resuming from the segments not finished yet.
+ * <p>
+ * When the segments of the cache are not known, e.g. without {@code HASH_DISTRIBUTION_AWARE} client intelligence, the
+ * entries are iterated by a single iteration that cannot be split.
+ * <p>
+ * The iterations are started lazily and ended once exhausted.  {@link #close()} ends the iterations still running, it
+ * has to be called when the entries are not all consumed.
+ *
+ * @since 9.0
+ */
+@NotThreadSafe
+public class PartitionedRemoteSpliterator<E> implements Spliterator<Entry<Object, E>>, AutoCloseable {
+
+   private final OperationsFactory operationsFactory;
+   private final String filterConverterFactory;
+   private final byte[][] filterParams;
+   private final int batchSize;
+   private final boolean metadata;
+   private final List<Partition> partitions;
+   // The iterations started by this spliterator and its splits, which are not ended yet
+   private final Set<RemoteCloseableIterator<E>> openIterators;
+   private int from;
+   private int to;
+   private RemoteCloseableIterator<E> current;
+
+   public PartitionedRemoteSpliterator(OperationsFactory operationsFactory, String filterConverterFactory,
+                                       byte[][] filterParams, Set<Integer> segments, int batchSize,
+                                       boolean metadata) {
+      this.operationsFactory = operationsFactory;
+      this.filterConverterFactory = filterConverterFactory;
+      this.filterParams = filterParams;
+      this.batchSize = batchSize;
+      this.metadata = metadata;
+      this.partitions = partition(operationsFactory, segments);
+      this.openIterators = ConcurrentHashMap.newKeySet();
+      this.from = 0;
+      this.to = partitions.size();
+   }
+
+   private PartitionedRemoteSpliterator(PartitionedRemoteSpliterator<E> parent, int from, int to) {
+      this.operationsFactory = parent.operationsFactory;
+      this.filterConverterFactory = parent.filterConverterFactory;
+      this.filterParams = parent.filterParams;
+      this.batchSize = parent.batchSize;
+      this.metadata = parent.metadata;
+      this.partitions = parent.partitions;
+      this.openIterators = parent.openIterators;
+      this.from = from;
+      this.to = to;
+   }
+
+   private static List<Partition> partition(OperationsFactory operationsFactory, Set<Integer> segments) {
+      Map<SocketAddress, Set<Integer>> segmentsByServer = operationsFactory.getPrimarySegmentsByServer(segments);
+      if (segmentsByServer == null) {
+         return Collections.singletonList(new Partition(null, segments));
+      }
+      List<Partition> partitions = new ArrayList<>(segmentsByServer.size());
+      segmentsByServer.forEach((server, serverSegments) -> partitions.add(new Partition(server, serverSegments)));
+      return partitions;
+   }
+
+   @Override
+   public boolean tryAdvance(Consumer<? super Entry<Object, E>> action) {
+      while (true) {
+         if (current == null) {
+            if (from >= to) {
+               return false;
+            }
+            current = start(partitions.get(from++));
+         }
+         if (current.hasNext()) {
+            action.accept(current.next());
+            return true;
+         }
+         end(current);
+         current = null;
+      }
+   }
+
+   private RemoteCloseableIterator<E> start(Partition partition) {
+      RemoteCloseableIterator<E> iterator = new RemoteCloseableIterator<>(operationsFactory, filterConverterFactory,
+            filterParams, partition.segments, batchSize, metadata, partition.server);
+      iterator.start();
+      openIterators.add(iterator);
+      return iterator;
+   }
+
+   private void end(RemoteCloseableIterator<E> iterator) {
+      openIterators.remove(iterator);
+      iterator.close();
+   }
+
+   @Override
+   public Spliterator<Entry<Object, E>> trySplit() {
+      // Only the partitions not started yet can be handed to another split
+      if (to - from < 2) {
+         return null;
+      }
+      int middle = (from + to) >>> 1;
+      PartitionedRemoteSpliterator<E> split = new PartitionedRemoteSpliterator<>(this, middle, to);
+      to = middle;
+      return split;
+   }
+
+   @Override
+   public long estimateSize() {
+      return Long.MAX_VALUE;
+   }
+
+   @Override
+   public int characteristics() {
+      return NONNULL;
+   }
+
+   /**
+    * Ends the iterations started by this spliterator and its splits which are still running.
+    */
+   @Override
+   public void close() {
+      Collection<RemoteCloseableIterator<E>> iterators = new ArrayList<>(openIterators);
+      openIterators.removeAll(iterators);
+      iterators.forEach(RemoteCloseableIterator::close);
+   }
+
+   private static final class Partition {
+      final SocketAddress server;
+      final Set<Integer> segments;
+
+      Partition(SocketAddress server, Set<Integer> segments) {
+         this.server = server;
+         this.segments = segments;
+      }
+   }
+}
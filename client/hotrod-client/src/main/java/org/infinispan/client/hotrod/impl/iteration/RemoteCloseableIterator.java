@@ -1,5 +1,6 @@
 package org.infinispan.client.hotrod.impl.iteration;
 
+import java.net.SocketAddress;
 import java.util.LinkedList;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
@@ -40,6 +41,8 @@
    private final int batchSize;
    private final boolean metadata;
 
+   // The server to start the iteration on, until it fails
+   private SocketAddress server;
    private KeyTracker segmentKeyTracker;
    private Transport transport;
    private String iterationId;
@@ -49,6 +52,16 @@
 
    public RemoteCloseableIterator(OperationsFactory operationsFactory, String filterConverterFactory,
                                   byte[][] filterParams, Set<Integer> segments, int batchSize, boolean metadata) {
+      this(operationsFactory, filterConverterFactory, filterParams, segments, batchSize, metadata, null);
+   }
+
+   /**
+    * @param server the server to start the iteration on, or {@code null} to let the balancing strategy pick one
+    */
+   public RemoteCloseableIterator(OperationsFactory operationsFactory, String filterConverterFactory,
+                                  byte[][] filterParams, Set<Integer> segments, int batchSize, boolean metadata,
+                                  SocketAddress server) {
+      this.server = server;
       this.filterConverterFactory = filterConverterFactory;
       this.filterParams = filterParams;
       this.segments = segments;
@@ -111,6 +124,7 @@ private void fetch() {
 
       } catch (TransportException | RemoteIllegalLifecycleStateException e) {
          log.warnf(e, "Error reaching the server during iteration");
+         server = null;
          startInternal(segmentKeyTracker.missedSegments());
          fetch();
       }
@@ -120,7 +134,7 @@ private IterationStartResponse startInternal(Set<Integer> segments) {
       if (log.isDebugEnabled()) {
          log.debugf("Starting iteration with segments %s", segments);
       }
-      IterationStartOperation iterationStartOperation = operationsFactory.newIterationStartOperation(filterConverterFactory, filterParams, segments, batchSize, metadata);
+      IterationStartOperation iterationStartOperation = operationsFactory.newIterationStartOperation(filterConverterFactory, filterParams, segments, batchSize, metadata, server);
       IterationStartResponse startResponse = iterationStartOperation.execute();
       this.transport = startResponse.getTransport();
       if (log.isDebugEnabled()) {
@@ -0,0 +1,93 @@
+package org.infinispan.client.hotrod.impl.iteration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.infinispan.client.hotrod.impl.operations.OperationsFactory;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.Closeables;
+
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * Iterates over the entries of a set of keys, reading at most {@code batchSize} values from the servers at a time.
+ * <p>
+ * With protocol 2.6 or later, the keys of each server are sent in a single streaming request (see
+ * {@link org.infinispan.client.hotrod.impl.operations.GetAllStreamOperation}), one server after the other.  With older
+ * protocols, the keys are fetched with a getAll request per batch.
+ *
+ * @since 9.0
+ */
+@NotThreadSafe
+public class RemoteGetAllIterator<K, V> implements CloseableIterator<Entry<K, V>> {
+
+   private final OperationsFactory operationsFactory;
+   private final Iterator<Set<byte[]>> keyGroups;
+   private final int batchSize;
+   private final boolean streaming;
+   private CloseableIterator<Entry<K, V>> current;
+   private boolean closed;
+
+   public RemoteGetAllIterator(OperationsFactory operationsFactory, Set<byte[]> keys, int batchSize, boolean streaming) {
+      this.operationsFactory = operationsFactory;
+      this.batchSize = batchSize;
+      this.streaming = streaming;
+      Collection<Set<byte[]>> groups = streaming ? operationsFactory.groupKeysByOwner(keys) : split(keys, batchSize);
+      this.keyGroups = groups.iterator();
+   }
+
+   private static Collection<Set<byte[]>> split(Set<byte[]> keys, int batchSize) {
+      List<Set<byte[]>> batches = new ArrayList<>(keys.size() / batchSize + 1);
+      Set<byte[]> batch = null;
+      for (byte[] key : keys) {
+         if (batch == null || batch.size() == batchSize) {
+            batch = new HashSet<>();
+            batches.add(batch);
+         }
+         batch.add(key);
+      }
+      return batches;
+   }
+
+   @Override
+   public boolean hasNext() {
+      while (current == null || !current.hasNext()) {
+         if (current != null) {
+            current.close();
+            current = null;
+         }
+         if (closed || !keyGroups.hasNext()) {
+            return false;
+         }
+         Set<byte[]> keys = keyGroups.next();
+         if (!keys.isEmpty()) {
+            current = streaming ? operationsFactory.<K, V>newGetAllStreamOperation(keys, batchSize).execute() :
+                  Closeables.iterator(operationsFactory.<K, V>newGetAllOperation(keys).execute().entrySet().iterator());
+         }
+      }
+      return true;
+   }
+
+   @Override
+   public Entry<K, V> next() {
+      if (!hasNext()) {
+         throw new NoSuchElementException();
+      }
+      return current.next();
+   }
+
+   @Override
+   public void close() {
+      closed = true;
+      if (current != null) {
+         current.close();
+         current = null;
+      }
+   }
+}
@@ -2,15 +2,25 @@
 
 import java.net.SocketAddress;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
+import org.infinispan.client.hotrod.exceptions.RemoteIllegalLifecycleStateException;
+import org.infinispan.client.hotrod.exceptions.RemoteNodeSuspectException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
 import org.infinispan.client.hotrod.impl.VersionedOperationResponse;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
 import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.infinispan.client.hotrod.impl.statistics.ClientStatistics;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.MultiplexedTransport;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
 
 import net.jcip.annotations.Immutable;
 
@@ -22,6 +32,9 @@
  */
 @Immutable
 public abstract class AbstractKeyOperation<T> extends RetryOnFailureOperation<T> {
+   private static final Log log = LogFactory.getLog(AbstractKeyOperation.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
    protected final Object key;
    protected final byte[] keyBytes;
 
@@ -35,16 +48,102 @@ protected AbstractKeyOperation(Codec codec, TransportFactory transportFactory,
    @Override
    protected Transport getTransport(int retryCount, Set<SocketAddress> failedServers) {
       if (retryCount == 0) {
-         return transportFactory.getTransport(key == null ? keyBytes : key, failedServers, cacheName);
+         Object routingKey = key == null ? keyBytes : key;
+         return isReadOnly() ? transportFactory.getReadTransport(routingKey, failedServers, cacheName)
+               : transportFactory.getTransport(routingKey, failedServers, cacheName);
       } else {
          return transportFactory.getTransport(failedServers, cacheName);
       }
    }
 
-   protected short sendKeyOperation(byte[] key, Transport transport, byte opCode, byte opRespCode) {
-      // 1) write [header][key length][key]
+   /**
+    * @return {@code true} if the operation only reads the key, so that any owner of the key can execute it
+    */
+   protected boolean isReadOnly() {
+      return false;
+   }
+
+   /**
+    * Executes the operation without blocking the caller thread.  The operation runs in the given executor, unless it
+    * can be multiplexed (see {@link #executeMultiplexed(MultiplexedOperation, Executor)}).
+    */
+   public CompletableFuture<T> executeAsync(Executor executor) {
+      return CompletableFuture.supplyAsync(this::execute, executor);
+   }
+
+   /**
+    * Sends the operation over the multiplexed connections if they are enabled, so no thread waits for the response.
+    * If the request fails because of the connection or the server, it is executed again in the given executor, which
+    * retries on the other servers as {@link #execute()} does.  The returned future is completed in the executor, so
+    * the callbacks don't run in the event loop, unless the executor rejects the task: the future is then completed in
+    * the event loop, and exceptionally if the request should have been retried.
+    */
+   protected CompletableFuture<T> executeMultiplexed(MultiplexedOperation<T> operation, Executor executor) {
+      MultiplexedTransport multiplexedTransport = transportFactory.getMultiplexedTransport();
+      if (multiplexedTransport == null) {
+         return CompletableFuture.supplyAsync(this::execute, executor);
+      }
+      CompletableFuture<T> result = new CompletableFuture<>();
+      ClientStatistics statistics = transportFactory.getStatistics();
+      long start = statistics == null ? 0 : System.nanoTime();
+      multiplexedTransport.execute(key == null ? keyBytes : key, isReadOnly(), cacheName, operation).whenComplete((value, t) -> {
+         try {
+            executor.execute(() -> complete(result, value, t, true, statistics, start));
+         } catch (RejectedExecutionException e) {
+            // Nothing may be thrown back into the decoder of the event loop, and the retry would block it
+            if (trace) {
+               log.tracef(e, "Completing the operation in the event loop");
+            }
+            complete(result, value, t, false, statistics, start);
+         }
+      });
+      return result;
+   }
+
+   private void complete(CompletableFuture<T> result, T value, Throwable t, boolean retry, ClientStatistics statistics,
+                         long start) {
+      if (t == null) {
+         if (statistics != null) {
+            statistics.operationCompleted(cacheName, getClass(), System.nanoTime() - start, true);
+         }
+         result.complete(value);
+      } else if (retry && (t instanceof TransportException || t instanceof RemoteIllegalLifecycleStateException
+            || t instanceof RemoteNodeSuspectException)) {
+         if (statistics != null) {
+            // The execution records the operation itself
+            statistics.requestRetried(cacheName, getClass(), failedServer(t), t);
+         }
+         try {
+            result.complete(execute());
+         } catch (Throwable retryException) {
+            result.completeExceptionally(retryException);
+         }
+      } else {
+         if (statistics != null) {
+            statistics.operationCompleted(cacheName, getClass(), System.nanoTime() - start, false);
+         }
+         result.completeExceptionally(t);
+      }
+   }
+
+   private static SocketAddress failedServer(Throwable t) {
+      if (t instanceof TransportException) {
+         return ((TransportException) t).getServerAddress();
+      } else if (t instanceof RemoteIllegalLifecycleStateException) {
+         return ((RemoteIllegalLifecycleStateException) t).getServerAddress();
+      }
+      return null;
+   }
+
+   protected HeaderParams writeKeyRequest(byte[] key, Transport transport, byte opCode) {
       HeaderParams params = writeHeader(transport, opCode);
       transport.writeArray(key);
+      return params;
+   }
+
+   protected short sendKeyOperation(byte[] key, Transport transport, byte opCode, byte opRespCode) {
+      // 1) write [header][key length][key]
+      HeaderParams params = writeKeyRequest(key, transport, opCode);
       transport.flush();
 
       // 2) now read the header
@@ -42,7 +42,7 @@ protected AbstractKeyValueOperation(Codec codec, TransportFactory transportFacto
    }
 
    //[header][key length][key][lifespan][max idle][value length][value]
-   protected short sendPutOperation(Transport transport, short opCode, byte opRespCode) {
+   protected HeaderParams writePutRequest(Transport transport, short opCode) {
       // 1) write header
       HeaderParams params = writeHeader(transport, opCode);
 
@@ -50,6 +50,11 @@ protected short sendPutOperation(Transport transport, short opCode, byte opRespC
       transport.writeArray(keyBytes);
       codec.writeExpirationParams(transport, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
       transport.writeArray(value);
+      return params;
+   }
+
+   protected short sendPutOperation(Transport transport, short opCode, byte opRespCode) {
+      HeaderParams params = writePutRequest(transport, opCode);
       transport.flush();
 
       // 3) now read header
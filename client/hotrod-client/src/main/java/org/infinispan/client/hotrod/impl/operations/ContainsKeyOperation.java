@@ -24,6 +24,11 @@ public ContainsKeyOperation(Codec codec, TransportFactory transportFactory, Obje
       super(codec, transportFactory, key, keyBytes,cacheName, topologyId, flags, clientIntelligence);
    }
 
+   @Override
+   protected boolean isReadOnly() {
+      return true;
+   }
+
    @Override
    protected Boolean executeOperation(Transport transport) {
       boolean containsKey = false;
@@ -21,7 +21,7 @@
  * @since 7.2
  */
 @Immutable
-public class GetAllOperation<K, V> extends RetryOnFailureOperation<Map<K, V>> {
+public class GetAllOperation<K, V> extends RetryOnFailureOperation<Map<K, V>> implements MultiplexedOperation<Map<K, V>> {
 
    public GetAllOperation(Codec codec, TransportFactory transportFactory,
                           Set<byte[]> keys, byte[] cacheName, AtomicInteger topologyId,
@@ -34,14 +34,25 @@ public GetAllOperation(Codec codec, TransportFactory transportFactory,
 
    @Override
    protected Map<K, V> executeOperation(Transport transport) {
+      HeaderParams params = writeRequest(transport);
+      transport.flush();
+
+      short status = readHeaderAndValidate(transport, params);
+      return readResponse(transport, status);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
       HeaderParams params = writeHeader(transport, GET_ALL_REQUEST);
       transport.writeVInt(keys.size());
       for (byte[] key : keys) {
          transport.writeArray(key);
       }
-      transport.flush();
+      return params;
+   }
 
-      short status = readHeaderAndValidate(transport, params);
+   @Override
+   public Map<K, V> readResponse(Transport transport, short status) {
       int size = transport.readVInt();
       Map<K, V> result = new HashMap<K, V>(size);
       for (int i = 0; i < size; ++i) {
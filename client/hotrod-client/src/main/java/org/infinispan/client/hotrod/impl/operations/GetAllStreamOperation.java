@@ -0,0 +1,141 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.configuration.ClientIntelligence;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.commons.util.CloseableIterator;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * Streaming variant of {@link GetAllOperation}: the server answers with a sequence of responses of at most
+ * {@code batchSize} entries each, terminated by an empty response, and reads the next entries only once the previous
+ * ones have been written.  The entries are read from the connection as the returned iterator is consumed, so neither
+ * side holds all the values at once.
+ * <p>
+ * The connection stays borrowed until the iterator is exhausted or closed.  Closing it early drops the connection, as
+ * the server is still writing entries to it.
+ *
+ * @since 9.0
+ */
+@Immutable
+public class GetAllStreamOperation<K, V> extends RetryOnFailureOperation<CloseableIterator<Entry<K, V>>> {
+
+   private final Set<byte[]> keys;
+   private final int batchSize;
+
+   public GetAllStreamOperation(Codec codec, TransportFactory transportFactory, Set<byte[]> keys, int batchSize,
+                                byte[] cacheName, AtomicInteger topologyId, int flags,
+                                ClientIntelligence clientIntelligence) {
+      super(codec, transportFactory, cacheName, topologyId, flags, clientIntelligence);
+      this.keys = keys;
+      this.batchSize = batchSize;
+   }
+
+   //[header][key count][keys][batch size]
+   @Override
+   protected CloseableIterator<Entry<K, V>> executeOperation(Transport transport) {
+      HeaderParams params = writeHeader(transport, GET_ALL_STREAM_REQUEST);
+      transport.writeVInt(keys.size());
+      for (byte[] key : keys) {
+         transport.writeArray(key);
+      }
+      transport.writeVInt(batchSize);
+      transport.flush();
+
+      EntryIterator iterator = new EntryIterator(transport, params);
+      // Errors before the first entries can still be retried
+      iterator.readResponse();
+      transport.setBusy(!iterator.finished);
+      return iterator;
+   }
+
+   @Override
+   protected Transport getTransport(int retryCount, Set<SocketAddress> failedServers) {
+      return transportFactory.getTransport(keys.iterator().next(), failedServers, cacheName);
+   }
+
+   @NotThreadSafe
+   private class EntryIterator implements CloseableIterator<Entry<K, V>> {
+      private final Transport transport;
+      private final HeaderParams params;
+      private short status;
+      // Entries left in the current response
+      private int remaining;
+      private boolean finished;
+
+      EntryIterator(Transport transport, HeaderParams params) {
+         this.transport = transport;
+         this.params = params;
+      }
+
+      //[header][entry count][key 1][value 1]...[key N][value N]
+      void readResponse() {
+         status = readHeaderAndValidate(transport, params);
+         remaining = transport.readVInt();
+         finished = remaining == 0;
+      }
+
+      @Override
+      public boolean hasNext() {
+         if (remaining == 0 && !finished) {
+            try {
+               readResponse();
+            } catch (RuntimeException e) {
+               abort();
+               throw e;
+            }
+            if (finished) {
+               release();
+            }
+         }
+         return remaining > 0;
+      }
+
+      @Override
+      public Entry<K, V> next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         try {
+            K key = codec.readUnmarshallByteArray(transport, status);
+            V value = codec.readUnmarshallByteArray(transport, status);
+            remaining--;
+            return new SimpleImmutableEntry<>(key, value);
+         } catch (RuntimeException e) {
+            abort();
+            throw e;
+         }
+      }
+
+      @Override
+      public void close() {
+         if (!finished) {
+            abort();
+         }
+      }
+
+      private void abort() {
+         finished = true;
+         remaining = 0;
+         // The rest of the response would have to be read before sending another request
+         transportFactory.invalidateTransport(transport.getRemoteSocketAddress(), transport);
+         release();
+      }
+
+      private void release() {
+         transport.setBusy(false);
+         transportFactory.releaseTransport(transport);
+      }
+   }
+}
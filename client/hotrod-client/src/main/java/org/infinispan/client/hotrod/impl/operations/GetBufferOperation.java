@@ -0,0 +1,73 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.configuration.ClientIntelligence;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Get operation returning the raw value in a read-only {@link ByteBuffer}, without unmarshalling it.  If a destination
+ * buffer is given and the value fits in it, the value is read directly into it and the result is a slice of it.
+ *
+ * @since 9.0
+ */
+@Immutable
+public class GetBufferOperation extends AbstractKeyOperation<ByteBuffer> implements MultiplexedOperation<ByteBuffer> {
+   private final ByteBuffer destination;
+
+   public GetBufferOperation(Codec codec, TransportFactory transportFactory,
+                             Object key, byte[] keyBytes, byte[] cacheName, AtomicInteger topologyId, int flags,
+                             ClientIntelligence clientIntelligence, ByteBuffer destination) {
+      super(codec, transportFactory, key, keyBytes, cacheName, topologyId, flags, clientIntelligence);
+      this.destination = destination;
+   }
+
+   @Override
+   protected boolean isReadOnly() {
+      return true;
+   }
+
+   @Override
+   protected ByteBuffer executeOperation(Transport transport) {
+      short status = sendKeyOperation(keyBytes, transport, GET_REQUEST, GET_RESPONSE);
+      return readResponse(transport, status);
+   }
+
+   @Override
+   public CompletableFuture<ByteBuffer> executeAsync(Executor executor) {
+      return executeMultiplexed(this, executor);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
+      return writeKeyRequest(keyBytes, transport, GET_REQUEST);
+   }
+
+   @Override
+   public ByteBuffer readResponse(Transport transport, short status) {
+      if (!HotRodConstants.isSuccess(status)) {
+         return null;
+      }
+      int size = transport.readVInt();
+      if (destination == null || size > destination.remaining()) {
+         return ByteBuffer.wrap(transport.readByteArray(size)).asReadOnlyBuffer();
+      }
+      // The destination position only moves once the whole value is read, as the response may be read again
+      ByteBuffer value = destination.duplicate();
+      int start = value.position();
+      value.limit(start + size);
+      transport.readByteArray(value, size);
+      destination.position(start + size);
+      value.position(start);
+      return value.slice().asReadOnlyBuffer();
+   }
+}
@@ -1,9 +1,12 @@
 package org.infinispan.client.hotrod.impl.operations;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
@@ -17,7 +20,7 @@
  * @since 4.1
  */
 @Immutable
-public class GetOperation<V> extends AbstractKeyOperation<V> {
+public class GetOperation<V> extends AbstractKeyOperation<V> implements MultiplexedOperation<V> {
 
    public GetOperation(Codec codec, TransportFactory transportFactory,
                        Object key, byte[] keyBytes, byte[] cacheName, AtomicInteger topologyId, int flags,
@@ -25,15 +28,35 @@ public GetOperation(Codec codec, TransportFactory transportFactory,
       super(codec, transportFactory, key, keyBytes, cacheName, topologyId, flags, clientIntelligence);
    }
 
+   @Override
+   protected boolean isReadOnly() {
+      return true;
+   }
+
    @Override
    public V executeOperation(Transport transport) {
-      V result = null;
       short status = sendKeyOperation(keyBytes, transport, GET_REQUEST, GET_RESPONSE);
+      return readResponse(transport, status);
+   }
+
+   @Override
+   public CompletableFuture<V> executeAsync(Executor executor) {
+      return executeMultiplexed(this, executor);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
+      return writeKeyRequest(keyBytes, transport, GET_REQUEST);
+   }
+
+   @Override
+   public V readResponse(Transport transport, short status) {
+      V result = null;
       if (HotRodConstants.isNotExist(status)) {
          result = null;
       } else {
          if (HotRodConstants.isSuccess(status)) {
-            result = codec.readUnmarshallByteArray(transport, status);
+            result = codec.readUnmarshallValue(transport, status, flags);
          }
       }
       return result;
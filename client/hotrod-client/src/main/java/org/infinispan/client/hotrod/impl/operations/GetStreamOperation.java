@@ -32,6 +32,11 @@ public GetStreamOperation(Codec codec, TransportFactory transportFactory,
       retryable = true;
    }
 
+   @Override
+   protected boolean isReadOnly() {
+      return true;
+   }
+
    @Override
    public T executeOperation(Transport transport) {
       HeaderParams params = writeHeader(transport, GET_STREAM_REQUEST);
@@ -33,6 +33,11 @@ public GetWithMetadataOperation(Codec codec, TransportFactory transportFactory,
       super(codec, transportFactory, key, keyBytes, cacheName, topologyId, flags, clientIntelligence);
    }
 
+   @Override
+   protected boolean isReadOnly() {
+      return true;
+   }
+
    @Override
    protected MetadataValue<V> executeOperation(Transport transport) {
       short status = sendKeyOperation(keyBytes, transport, GET_WITH_METADATA, GET_WITH_METADATA_RESPONSE);
@@ -57,7 +62,7 @@ protected MetadataValue<V> executeOperation(Transport transport) {
          if (trace) {
             log.tracef("Received version: %d", version);
          }
-         V value = codec.readUnmarshallByteArray(transport, status);
+         V value = codec.readUnmarshallValue(transport, status, flags);
          result = new MetadataValueImpl<V>(creation, lifespan, lastUsed, maxIdle, version, value);
       }
       return result;
@@ -34,6 +34,11 @@ public GetWithVersionOperation(Codec codec, TransportFactory transportFactory, O
       super(codec, transportFactory, key, keyBytes, cacheName, topologyId, flags, clientIntelligence);
    }
 
+   @Override
+   protected boolean isReadOnly() {
+      return true;
+   }
+
    @Override
    protected VersionedValue<V> executeOperation(Transport transport) {
       short status = sendKeyOperation(keyBytes, transport, GET_WITH_VERSION, GET_WITH_VERSION_RESPONSE);
@@ -45,7 +50,7 @@ protected VersionedValue<V> executeOperation(Transport transport) {
          if (trace) {
             log.tracef("Received version: %d", version);
          }
-         V value = codec.readUnmarshallByteArray(transport, status);
+         V value = codec.readUnmarshallValue(transport, status, flags);
          result = new VersionedValueImpl<V>(version, value);
       }
       return result;
@@ -26,10 +26,11 @@ public class IterationStartOperation extends RetryOnFailureOperation<IterationSt
    private final int batchSize;
    private final TransportFactory transportFactory;
    private final boolean metadata;
+   private final SocketAddress server;
 
    IterationStartOperation(Codec codec, int flags, ClientIntelligence clientIntelligence, byte[] cacheName, AtomicInteger topologyId,
                            String filterConverterFactory, byte[][] filterParameters, Set<Integer> segments,
-                           int batchSize, TransportFactory transportFactory, boolean metadata) {
+                           int batchSize, TransportFactory transportFactory, boolean metadata, SocketAddress server) {
       super(codec, transportFactory, cacheName, topologyId, flags, clientIntelligence);
       this.filterConverterFactory = filterConverterFactory;
       this.filterParameters = filterParameters;
@@ -37,10 +38,15 @@ public class IterationStartOperation extends RetryOnFailureOperation<IterationSt
       this.batchSize = batchSize;
       this.transportFactory = transportFactory;
       this.metadata = metadata;
+      this.server = server;
    }
 
    @Override
    protected Transport getTransport(int retryCount, Set<SocketAddress> failedServers) {
+      // Start the iteration on the requested server, unless it already failed
+      if (server != null && (failedServers == null || !failedServers.contains(server))) {
+         return transportFactory.getAddressTransport(server);
+      }
       return transportFactory.getTransport(failedServers, cacheName);
    }
 
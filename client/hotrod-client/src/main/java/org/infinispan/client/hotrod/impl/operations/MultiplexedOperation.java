@@ -0,0 +1,26 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+
+/**
+ * Operation that can be sent over a multiplexed connection: the request is written without waiting for the responses
+ * of the previous requests, and the response is read by the event loop of the connection once it has arrived.
+ *
+ * @since 9.0
+ * @see org.infinispan.client.hotrod.impl.transport.netty.MultiplexedTransport
+ */
+public interface MultiplexedOperation<T> {
+
+   /**
+    * Writes the header and the body of the request, without flushing the transport.
+    *
+    * @return the header parameters, whose message id identifies the response
+    */
+   HeaderParams writeRequest(Transport transport);
+
+   /**
+    * Reads the body of the response, once its header was read and validated.
+    */
+   T readResponse(Transport transport, short status);
+}
@@ -1,8 +1,13 @@
 package org.infinispan.client.hotrod.impl.operations;
 
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -11,12 +16,17 @@
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.event.ClientListenerNotifier;
+import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHash;
+import org.infinispan.client.hotrod.impl.consistenthash.SegmentConsistentHash;
 import org.infinispan.client.hotrod.impl.iteration.KeyTracker;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.impl.query.RemoteQuery;
+import org.infinispan.client.hotrod.impl.statistics.CacheStatistics;
+import org.infinispan.client.hotrod.impl.statistics.ClientStatistics;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.commons.io.ValueCompression;
 
 import net.jcip.annotations.Immutable;
 
@@ -45,14 +55,23 @@ public class OperationsFactory implements HotRodConstants {
 
    private final String cacheName;
 
-   private final ExecutorService executorService;
-
    private final ClientIntelligence clientIntelligence;
 
+   private final int compressionThreshold;
+
+   public OperationsFactory(TransportFactory transportFactory, String cacheName, boolean forceReturnValue, Codec
+           codec, ClientListenerNotifier listenerNotifier, ClientIntelligence clientIntelligence) {
+      this(transportFactory, cacheName, forceReturnValue, codec, listenerNotifier, clientIntelligence, -1);
+   }
+
+   /**
+    * @param compressionThreshold the minimum length of the values to compress, a negative threshold disables the
+    *                             compression of values
+    */
    public OperationsFactory(TransportFactory transportFactory, String cacheName, boolean forceReturnValue, Codec
-           codec, ClientListenerNotifier listenerNotifier, ExecutorService executorService, ClientIntelligence clientIntelligence) {
+           codec, ClientListenerNotifier listenerNotifier, ClientIntelligence clientIntelligence,
+           int compressionThreshold) {
       this.transportFactory = transportFactory;
-      this.executorService = executorService;
       this.cacheNameBytes = RemoteCacheManager.cacheNameBytes(cacheName);
       this.cacheName = cacheName;
       this.topologyId = transportFactory != null
@@ -62,6 +81,7 @@ public OperationsFactory(TransportFactory transportFactory, String cacheName, bo
       this.codec = codec;
       this.listenerNotifier = listenerNotifier;
       this.clientIntelligence = clientIntelligence;
+      this.compressionThreshold = compressionThreshold;
    }
 
    public ClientListenerNotifier getListenerNotifier() {
@@ -72,41 +92,69 @@ public byte[] getCacheName() {
       return cacheNameBytes;
    }
 
+   /**
+    * @return the client statistics of the cache, or {@code null} if the statistics are disabled
+    */
+   public CacheStatistics getCacheStatistics() {
+      ClientStatistics statistics = transportFactory == null ? null : transportFactory.getStatistics();
+      return statistics == null ? null : statistics.cache(cacheNameBytes);
+   }
+
    public <V> GetOperation<V> newGetKeyOperation(Object key, byte[] keyBytes) {
       return new GetOperation<>(
-            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(), clientIntelligence);
+            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, valueFlags(flags()), clientIntelligence);
    }
 
    public <K, V> GetAllParallelOperation<K, V> newGetAllOperation(Set<byte[]> keys) {
       return new GetAllParallelOperation<>(codec, transportFactory, keys, cacheNameBytes, topologyId, flags(),
-            clientIntelligence, executorService);
+            clientIntelligence);
+   }
+
+   public <K, V> GetAllStreamOperation<K, V> newGetAllStreamOperation(Set<byte[]> keys, int batchSize) {
+      return new GetAllStreamOperation<>(codec, transportFactory, keys, batchSize, cacheNameBytes, topologyId, flags(),
+            clientIntelligence);
+   }
+
+   /**
+    * @return the keys grouped by the server owning them, or in a single group if the owners are not known
+    */
+   public Collection<Set<byte[]>> groupKeysByOwner(Set<byte[]> keys) {
+      if (transportFactory.getConsistentHash(cacheNameBytes) == null) {
+         return Collections.singleton(keys);
+      }
+      Map<SocketAddress, Set<byte[]>> keysByOwner = new HashMap<>();
+      for (byte[] key : keys) {
+         keysByOwner.computeIfAbsent(transportFactory.getServer(key, null, cacheNameBytes), server -> new HashSet<>())
+               .add(key);
+      }
+      return keysByOwner.values();
    }
 
    public <V> RemoveOperation<V> newRemoveOperation(Object key, byte[] keyBytes) {
       return new RemoveOperation<>(
-            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(), clientIntelligence);
+            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, valueFlags(flags()), clientIntelligence);
    }
 
    public <V> RemoveIfUnmodifiedOperation<V> newRemoveIfUnmodifiedOperation(Object key, byte[] keyBytes, long version) {
       return new RemoveIfUnmodifiedOperation<>(
-            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(), clientIntelligence, version);
+            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, valueFlags(flags()), clientIntelligence, version);
    }
 
    public ReplaceIfUnmodifiedOperation newReplaceIfUnmodifiedOperation(Object key, byte[] keyBytes,
             byte[] value, long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit, long version) {
       return new ReplaceIfUnmodifiedOperation(
-            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(lifespan, maxIdle),
-            clientIntelligence, value, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, version);
+            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, valueFlags(flags(lifespan, maxIdle)),
+            clientIntelligence, compress(value), lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, version);
    }
 
    public <V> GetWithVersionOperation<V> newGetWithVersionOperation(Object key, byte[] keyBytes) {
       return new GetWithVersionOperation<>(
-            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(), clientIntelligence);
+            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, valueFlags(flags()), clientIntelligence);
    }
 
    public <V> GetWithMetadataOperation<V> newGetWithMetadataOperation(Object key, byte[] keyBytes) {
       return new GetWithMetadataOperation<>(
-            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(), clientIntelligence);
+            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, valueFlags(flags()), clientIntelligence);
    }
 
    public StatsOperation newStatsOperation() {
@@ -117,29 +165,29 @@ public StatsOperation newStatsOperation() {
    public <V> PutOperation<V> newPutKeyValueOperation(Object key, byte[] keyBytes, byte[] value,
           long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
       return new PutOperation<>(
-            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(lifespan, maxIdle),
-            clientIntelligence, value, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, valueFlags(flags(lifespan, maxIdle)),
+            clientIntelligence, compress(value), lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
    }
 
    public PutAllParallelOperation newPutAllOperation(Map<byte[], byte[]> map,
                                                      long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
       return new PutAllParallelOperation(
             codec, transportFactory, map, cacheNameBytes, topologyId, flags(lifespan, maxIdle), clientIntelligence,
-              lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, executorService);
+              lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
    }
 
    public <V> PutIfAbsentOperation<V> newPutIfAbsentOperation(Object key, byte[] keyBytes, byte[] value,
              long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
       return new PutIfAbsentOperation<>(
-            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(lifespan, maxIdleTime),
-            clientIntelligence, value, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
+            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, valueFlags(flags(lifespan, maxIdleTime)),
+            clientIntelligence, compress(value), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
    }
 
    public <V> ReplaceOperation<V> newReplaceOperation(Object key, byte[] keyBytes, byte[] values,
            long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
       return new ReplaceOperation<>(
-            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(lifespan, maxIdle),
-            clientIntelligence, values, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+            codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, valueFlags(flags(lifespan, maxIdle)),
+            clientIntelligence, compress(values), lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
    }
 
    public ContainsKeyOperation newContainsKeyOperation(Object key, byte[] keyBytes) {
@@ -180,6 +228,11 @@ public RemoveClientListenerOperation newRemoveClientListenerOperation(Object lis
             cacheNameBytes, topologyId, flags(), clientIntelligence, listenerNotifier, listener);
    }
 
+   public UpdateBloomFilterOperation newUpdateBloomFilterOperation(byte[] listenerId, byte[] bloomFilter) {
+      return new UpdateBloomFilterOperation(codec, transportFactory,
+            cacheNameBytes, topologyId, flags(), clientIntelligence, listenerNotifier, listenerId, bloomFilter);
+   }
+
    /**
     * Construct a ping request directed to a particular node.
     *
@@ -215,6 +268,19 @@ public <T> ExecuteOperation<T> newExecuteOperation(String taskName, Map<String,
       return new ExecuteOperation<>(codec, transportFactory, cacheNameBytes, topologyId, flags(), clientIntelligence, taskName, marshalledParams);
    }
 
+   /**
+    * Adds {@link HotRodConstants#COMPRESSED_VALUES_FLAG} to the flags of an operation on a single value when the
+    * compression is enabled.  The values of these operations are then exchanged in the
+    * {@link ValueCompression} format.
+    */
+   private int valueFlags(int flags) {
+      return compressionThreshold < 0 ? flags : flags | COMPRESSED_VALUES_FLAG;
+   }
+
+   private byte[] compress(byte[] value) {
+      return compressionThreshold < 0 ? value : ValueCompression.compress(value, compressionThreshold);
+   }
+
    private int flags(long lifespan, long maxIdle) {
       int intFlags = flags();
       if (lifespan == 0) {
@@ -260,7 +326,33 @@ public CacheTopologyInfo getCacheTopologyInfo() {
    }
 
    public IterationStartOperation newIterationStartOperation(String filterConverterFactory, byte[][] filterParameters, Set<Integer> segments, int batchSize, boolean metadata) {
-      return new IterationStartOperation(codec, flags(), clientIntelligence, cacheNameBytes, topologyId, filterConverterFactory, filterParameters, segments, batchSize, transportFactory, metadata);
+      return newIterationStartOperation(filterConverterFactory, filterParameters, segments, batchSize, metadata, null);
+   }
+
+   /**
+    * @param server the server to start the iteration on, or {@code null} to let the balancing strategy pick one
+    */
+   public IterationStartOperation newIterationStartOperation(String filterConverterFactory, byte[][] filterParameters, Set<Integer> segments, int batchSize, boolean metadata, SocketAddress server) {
+      return new IterationStartOperation(codec, flags(), clientIntelligence, cacheNameBytes, topologyId, filterConverterFactory, filterParameters, segments, batchSize, transportFactory, metadata, server);
+   }
+
+   /**
+    * @return the segments primarily owned by each server, restricted to the given segments unless they are
+    * {@code null}, or {@code null} if the segments of the cache are not known
+    */
+   public Map<SocketAddress, Set<Integer>> getPrimarySegmentsByServer(Set<Integer> segments) {
+      ConsistentHash consistentHash = transportFactory.getConsistentHash(cacheNameBytes);
+      if (!(consistentHash instanceof SegmentConsistentHash)) {
+         return null;
+      }
+      SocketAddress[][] segmentOwners = ((SegmentConsistentHash) consistentHash).getSegmentOwners();
+      Map<SocketAddress, Set<Integer>> segmentsByServer = new HashMap<>();
+      for (int segment = 0; segment < segmentOwners.length; segment++) {
+         if ((segments == null || segments.contains(segment)) && segmentOwners[segment].length > 0) {
+            segmentsByServer.computeIfAbsent(segmentOwners[segment][0], server -> new HashSet<>()).add(segment);
+         }
+      }
+      return segmentsByServer;
    }
 
    public IterationEndOperation newIterationEndOperation(String iterationId, Transport transport) {
@@ -283,6 +375,16 @@ public <K> PutStreamOperation newPutStreamOperation(K key, byte[] keyBytes, long
       return new PutStreamOperation(codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(), clientIntelligence, PutStreamOperation.VERSION_PUT, lifespan, lifespanUnit, maxIdle, maxIdleUnit);
    }
 
+   public GetBufferOperation newGetBufferOperation(Object key, byte[] keyBytes, ByteBuffer destination) {
+      return new GetBufferOperation(codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(), clientIntelligence, destination);
+   }
+
+   public PutBufferOperation newPutBufferOperation(Object key, byte[] keyBytes, ByteBuffer value, long lifespan, TimeUnit lifespanUnit, long maxIdle, TimeUnit maxIdleUnit) {
+      // The raw value API never returns the previous value
+      int flags = flags(lifespan, maxIdle) & ~Flag.FORCE_RETURN_VALUE.getFlagInt();
+      return new PutBufferOperation(codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags, clientIntelligence, value, lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+   }
+
    public <K> PutStreamOperation newPutIfAbsentStreamOperation(K key, byte[] keyBytes, long lifespan, TimeUnit lifespanUnit, long maxIdle, TimeUnit maxIdleUnit) {
       return new PutStreamOperation(codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags(), clientIntelligence, PutStreamOperation.VERSION_PUT_IF_ABSENT, lifespan, lifespanUnit, maxIdle, maxIdleUnit);
    }
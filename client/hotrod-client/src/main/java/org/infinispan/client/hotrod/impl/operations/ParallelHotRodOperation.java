@@ -1,94 +1,320 @@
 package org.infinispan.client.hotrod.impl.operations;
 
+import java.net.SocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.CompletionService;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.exceptions.InvalidResponseException;
 import org.infinispan.client.hotrod.exceptions.ParallelOperationException;
+import org.infinispan.client.hotrod.exceptions.RemoteIllegalLifecycleStateException;
+import org.infinispan.client.hotrod.exceptions.RemoteNodeSuspectException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHash;
+import org.infinispan.client.hotrod.impl.consistenthash.SegmentConsistentHash;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.statistics.ClientStatistics;
+import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.MultiplexedTransport;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 
 /**
  * An HotRod operation that span across multiple remote nodes concurrently (like getAll / putAll).
+ * <p>
+ * The keys are routed to the owners of their segment and split in requests of at most
+ * {@link #MAX_KEYS_PER_REQUEST} keys.  The requests are sent to all the servers before any response is read, so the
+ * servers work concurrently without a thread waiting for each of them: with multiplexed connections all the requests
+ * are in flight at once, otherwise each server receives its requests one after the other on a single connection.
+ * <p>
+ * When a server fails, only its requests are retried: their keys are routed again, using the latest topology and
+ * skipping the failed servers, until the retries are exhausted.  The requests still failing then go through the
+ * failover of {@link RetryOnFailureOperation#execute()}, which can also switch to another cluster.
  *
  * @author Guillaume Darmont / guillaume@dropinocean.com
  */
-public abstract class ParallelHotRodOperation<T, SUBOP extends HotRodOperation> extends HotRodOperation {
+public abstract class ParallelHotRodOperation<T, SUBOP extends RetryOnFailureOperation<T> & MultiplexedOperation<T>> extends HotRodOperation {
 
    private static final Log log = LogFactory.getLog(ParallelHotRodOperation.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   /**
+    * The maximum number of keys in a single request, so that a large batch neither needs a huge buffer on both sides
+    * nor delays the other requests sent over the same connection.
+    */
+   static final int MAX_KEYS_PER_REQUEST = 1000;
 
    protected final TransportFactory transportFactory;
-   protected final CompletionService<T> completionService;
 
    protected ParallelHotRodOperation(Codec codec, TransportFactory transportFactory, byte[] cacheName, AtomicInteger
-         topologyId, int flags, ClientIntelligence clientIntelligence, ExecutorService executorService) {
+         topologyId, int flags, ClientIntelligence clientIntelligence) {
       super(codec, flags, clientIntelligence, cacheName, topologyId);
       this.transportFactory = transportFactory;
-      this.completionService = new ExecutorCompletionService<>(executorService);
    }
 
    @Override
    public T execute() {
-      List<SUBOP> operations = mapOperations();
-
-      if (operations.isEmpty()) {
-         return createCollector();
-      } else if (operations.size() == 1) {
-         // Only one operation to do, we stay in the caller thread
-         return executeSequential(operations.get(0));
-      } else {
-         // Multiple operation, submit to the thread poll
-         return executeParallel(operations);
+      ClientStatistics statistics = transportFactory.getStatistics();
+      if (statistics == null) {
+         return execute(null);
+      }
+      long start = System.nanoTime();
+      boolean successful = false;
+      try {
+         T result = execute(statistics);
+         successful = true;
+         return result;
+      } finally {
+         statistics.operationCompleted(cacheName, getClass(), System.nanoTime() - start, successful);
       }
    }
 
-   private T executeSequential(SUBOP subop) {
+   private T execute(ClientStatistics statistics) {
       T collector = createCollector();
-      combine(collector, (T) subop.execute());
-      return collector;
+      Collection<byte[]> keys = keys();
+      if (keys.isEmpty()) {
+         return collector;
+      }
+      Set<SocketAddress> failedServers = new HashSet<>();
+      List<SubRequest> requests = route(keys, failedServers);
+      for (int retryCount = 0; ; retryCount++) {
+         MultiplexedTransport multiplexedTransport = transportFactory.getMultiplexedTransport();
+         List<SubRequest> failed = multiplexedTransport != null ?
+               executeMultiplexed(multiplexedTransport, requests, collector, failedServers) :
+               executePipelined(requests, collector, failedServers, statistics);
+         if (failed.isEmpty()) {
+            return collector;
+         }
+         if (retryCount >= transportFactory.getMaxRetries()) {
+            for (SubRequest request : failed) {
+               combine(collector, request.operation.execute());
+            }
+            return collector;
+         }
+         List<byte[]> failedKeys = new ArrayList<>();
+         for (SubRequest request : failed) {
+            failedKeys.addAll(request.keys);
+            if (statistics != null) {
+               statistics.requestRetried(cacheName, getClass(), request.server, request.cause);
+            }
+         }
+         requests = route(failedKeys, failedServers);
+      }
    }
 
-   private T executeParallel(List<SUBOP> operations) {
-      Set<Future<T>> remainingTasks = new HashSet<>(operations.size());
-      for (SUBOP operation : operations) {
-         remainingTasks.add(completionService.submit(() -> (T) operation.execute()));
+   private List<SubRequest> route(Collection<byte[]> keys, Set<SocketAddress> failedServers) {
+      Map<SocketAddress, List<byte[]>> keysByServer = new HashMap<>();
+      ConsistentHash consistentHash = transportFactory.getConsistentHash(cacheName);
+      if (consistentHash instanceof SegmentConsistentHash) {
+         SegmentConsistentHash segmentHash = (SegmentConsistentHash) consistentHash;
+         SocketAddress[][] segmentOwners = segmentHash.getSegmentOwners();
+         SocketAddress[] targets = new SocketAddress[segmentOwners.length];
+         for (byte[] key : keys) {
+            int segment = segmentHash.getSegment(key);
+            SocketAddress target = targets[segment];
+            if (target == null) {
+               target = selectOwner(segmentOwners[segment], key, failedServers);
+               targets[segment] = target;
+            }
+            keysByServer.computeIfAbsent(target, server -> new ArrayList<>()).add(key);
+         }
+      } else if (consistentHash != null) {
+         for (byte[] key : keys) {
+            SocketAddress target = transportFactory.getServer(key, failedServers, cacheName);
+            keysByServer.computeIfAbsent(target, server -> new ArrayList<>()).add(key);
+         }
+      } else {
+         // Without a consistent hash any server can handle all the keys
+         SocketAddress target = transportFactory.getServer(keys.iterator().next(), failedServers, cacheName);
+         keysByServer.put(target, new ArrayList<>(keys));
+      }
+
+      List<SubRequest> requests = new ArrayList<>();
+      keysByServer.forEach((server, serverKeys) -> {
+         for (int from = 0; from < serverKeys.size(); from += MAX_KEYS_PER_REQUEST) {
+            List<byte[]> chunk = serverKeys.subList(from, Math.min(from + MAX_KEYS_PER_REQUEST, serverKeys.size()));
+            requests.add(new SubRequest(server, chunk, newOperation(chunk)));
+         }
+      });
+      if (trace) {
+         log.tracef("Split %d keys in %d requests to %s", keys.size(), requests.size(), keysByServer.keySet());
       }
+      return requests;
+   }
 
-      T collector = createCollector();
+   private SocketAddress selectOwner(SocketAddress[] owners, byte[] key, Set<SocketAddress> failedServers) {
+      for (SocketAddress owner : owners) {
+         if (!failedServers.contains(owner)) {
+            return owner;
+         }
+      }
+      return transportFactory.getServer(key, failedServers, cacheName);
+   }
 
-      for (int i = 0; i < operations.size(); i++) {
+   private List<SubRequest> executeMultiplexed(MultiplexedTransport multiplexedTransport, List<SubRequest> requests,
+                                               T collector, Set<SocketAddress> failedServers) {
+      List<CompletableFuture<T>> futures = new ArrayList<>(requests.size());
+      for (SubRequest request : requests) {
+         futures.add(multiplexedTransport.execute(request.server, request.operation));
+      }
+      List<SubRequest> failed = new ArrayList<>();
+      for (int i = 0; i < requests.size(); i++) {
          try {
-            Future<T> result = completionService.take();
-            combine(collector, result.get());
-            remainingTasks.remove(result);
+            combine(collector, futures.get(i).get());
          } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            cancelRemainingTasks(remainingTasks);
-            throw new ParallelOperationException(e);
-         } catch (ExecutionException | RuntimeException e) {
-            cancelRemainingTasks(remainingTasks);
             throw new ParallelOperationException(e);
+         } catch (ExecutionException e) {
+            failed(requests.get(i), e.getCause(), failed, failedServers);
+         }
+      }
+      return failed;
+   }
+
+   private List<SubRequest> executePipelined(List<SubRequest> requests, T collector, Set<SocketAddress> failedServers,
+                                             ClientStatistics statistics) {
+      // A single connection per server, so that a small pool can't be exhausted by the requests of a single call
+      Map<SocketAddress, Queue<SubRequest>> queues = new LinkedHashMap<>();
+      for (SubRequest request : requests) {
+         queues.computeIfAbsent(request.server, server -> new ArrayDeque<>()).add(request);
+      }
+      Map<SocketAddress, Transport> transports = new HashMap<>();
+      List<SubRequest> failed = new ArrayList<>();
+      boolean completed = false;
+      try {
+         while (!queues.isEmpty()) {
+            List<SubRequest> sent = new ArrayList<>(queues.size());
+            // A failed server's queue is removed from the map while its requests are sent, so iterate over a copy
+            for (Queue<SubRequest> queue : new ArrayList<>(queues.values())) {
+               SubRequest request = queue.poll();
+               if (queue.isEmpty()) {
+                  queues.remove(request.server);
+               }
+               try {
+                  Transport transport = transports.computeIfAbsent(request.server, transportFactory::getAddressTransport);
+                  request.params = request.operation.writeRequest(transport);
+                  transport.flush();
+                  if (statistics != null) {
+                     request.sentNanos = statistics.requestSent(request.server);
+                     request.inFlight = true;
+                  }
+                  sent.add(request);
+               } catch (RuntimeException e) {
+                  failedPipelined(request, e, queues, transports, failed, failedServers);
+               }
+            }
+            // The responses are read once all the servers have their request
+            for (SubRequest request : sent) {
+               Transport transport = transports.get(request.server);
+               try {
+                  short status = request.operation.readHeaderAndValidate(transport, request.params);
+                  T result = request.operation.readResponse(transport, status);
+                  if (statistics != null) {
+                     statistics.responseReceived(request.server, request.sentNanos);
+                     request.inFlight = false;
+                  }
+                  combine(collector, result);
+               } catch (RuntimeException e) {
+                  if (statistics != null) {
+                     statistics.requestFailed(request.server);
+                     request.inFlight = false;
+                  }
+                  failedPipelined(request, e, queues, transports, failed, failedServers);
+               }
+            }
+         }
+         completed = true;
+      } finally {
+         if (completed) {
+            transports.values().forEach(transportFactory::releaseTransport);
+         } else {
+            // Some responses may not have been read
+            transports.forEach(transportFactory::invalidateTransport);
+            if (statistics != null) {
+               for (SubRequest request : requests) {
+                  if (request.inFlight) {
+                     statistics.requestFailed(request.server);
+                  }
+               }
+            }
+         }
+      }
+      return failed;
+   }
+
+   private void failedPipelined(SubRequest request, RuntimeException e, Map<SocketAddress, Queue<SubRequest>> queues,
+                                Map<SocketAddress, Transport> transports, List<SubRequest> failed,
+                                Set<SocketAddress> failedServers) {
+      if (e instanceof TransportException || e instanceof RemoteIllegalLifecycleStateException
+            || e instanceof InvalidResponseException || !(e instanceof HotRodClientException)) {
+         // The connection can't be used anymore, the other requests for the same server are routed again
+         Transport transport = transports.remove(request.server);
+         if (transport != null) {
+            transportFactory.invalidateTransport(request.server, transport);
+         }
+         Queue<SubRequest> queue = queues.remove(request.server);
+         if (queue != null) {
+            queue.forEach(queued -> queued.cause = e);
+            failed.addAll(queue);
          }
       }
-      return collector;
+      failed(request, e, failed, failedServers);
    }
 
-   private void cancelRemainingTasks(Set<Future<T>> remainingTasks) {
-      remainingTasks.forEach(task -> task.cancel(true));
+   private void failed(SubRequest request, Throwable t, List<SubRequest> failed, Set<SocketAddress> failedServers) {
+      if (t instanceof TransportException || t instanceof RemoteIllegalLifecycleStateException) {
+         failedServers.add(request.server);
+      } else if (!(t instanceof RemoteNodeSuspectException)) {
+         throw t instanceof RuntimeException ? (RuntimeException) t : new ParallelOperationException(t);
+      }
+      if (trace) {
+         log.tracef(t, "Request for %d keys to %s failed, routing them again", request.keys.size(), request.server);
+      }
+      request.cause = t;
+      failed.add(request);
    }
 
-   protected abstract List<SUBOP> mapOperations();
+   /**
+    * @return the keys of the whole operation
+    */
+   protected abstract Collection<byte[]> keys();
+
+   /**
+    * @return the operation for a subset of the keys, all of them sent to the same server
+    */
+   protected abstract SUBOP newOperation(Collection<byte[]> keys);
 
    protected abstract T createCollector();
 
    protected abstract void combine(T collector, T result);
+
+   private final class SubRequest {
+      final SocketAddress server;
+      final List<byte[]> keys;
+      final SUBOP operation;
+      HeaderParams params;
+      long sentNanos;
+      boolean inFlight;
+      Throwable cause;
+
+      SubRequest(SocketAddress server, List<byte[]> keys, SUBOP operation) {
+         this.server = server;
+         this.keys = keys;
+         this.operation = operation;
+      }
+   }
 }
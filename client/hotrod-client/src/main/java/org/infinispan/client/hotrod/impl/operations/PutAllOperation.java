@@ -24,7 +24,7 @@
  * @since 7.2
  */
 @Immutable
-public class PutAllOperation extends RetryOnFailureOperation<Void> {
+public class PutAllOperation extends RetryOnFailureOperation<Void> implements MultiplexedOperation<Void> {
 
    public PutAllOperation(Codec codec, TransportFactory transportFactory,
                           Map<byte[], byte[]> map, byte[] cacheName, AtomicInteger topologyId,
@@ -46,6 +46,15 @@ public PutAllOperation(Codec codec, TransportFactory transportFactory,
 
    @Override
    protected Void executeOperation(Transport transport) {
+      HeaderParams params = writeRequest(transport);
+      transport.flush();
+
+      short status = readHeaderAndValidate(transport, params);
+      return readResponse(transport, status);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
       HeaderParams params = writeHeader(transport, PUT_ALL_REQUEST);
       codec.writeExpirationParams(transport, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
       transport.writeVInt(map.size());
@@ -53,9 +62,11 @@ protected Void executeOperation(Transport transport) {
          transport.writeArray(entry.getKey());
          transport.writeArray(entry.getValue());
       }
-      transport.flush();
+      return params;
+   }
 
-      short status = readHeaderAndValidate(transport, params);
+   @Override
+   public Void readResponse(Transport transport, short status) {
       if (!HotRodConstants.isSuccess(status)) {
          throw new InvalidResponseException("Unexpected response status: " + Integer.toHexString(status));
       }
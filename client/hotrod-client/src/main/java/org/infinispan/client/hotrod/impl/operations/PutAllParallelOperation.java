@@ -1,13 +1,10 @@
 package org.infinispan.client.hotrod.impl.operations;
 
-import java.net.SocketAddress;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
@@ -27,8 +24,8 @@ public class PutAllParallelOperation extends ParallelHotRodOperation<Void, PutAl
    public PutAllParallelOperation(Codec codec, TransportFactory transportFactory, Map<byte[], byte[]> map, byte[]
          cacheName, AtomicInteger topologyId, int flags, ClientIntelligence clientIntelligence, long lifespan,
                                   TimeUnit lifespanTimeUnit, long maxIdle,
-                                  TimeUnit maxIdleTimeUnit, ExecutorService executorService) {
-      super(codec, transportFactory, cacheName, topologyId, flags, clientIntelligence, executorService);
+                                  TimeUnit maxIdleTimeUnit) {
+      super(codec, transportFactory, cacheName, topologyId, flags, clientIntelligence);
       this.map = map;
       this.lifespan = lifespan;
       this.lifespanTimeUnit = lifespanTimeUnit;
@@ -37,22 +34,18 @@ public PutAllParallelOperation(Codec codec, TransportFactory transportFactory, M
    }
 
    @Override
-   protected List<PutAllOperation> mapOperations() {
-      Map<SocketAddress, Map<byte[], byte[]>> splittedMaps = new HashMap<>();
+   protected Collection<byte[]> keys() {
+      return map.keySet();
+   }
 
-      for (Map.Entry<byte[], byte[]> entry : map.entrySet()) {
-         SocketAddress socketAddress = transportFactory.getSocketAddress(entry.getKey(), cacheName);
-         Map<byte[], byte[]> keyValueMap = splittedMaps.get(socketAddress);
-         if (keyValueMap == null) {
-            keyValueMap = new HashMap<>();
-            splittedMaps.put(socketAddress, keyValueMap);
-         }
-         keyValueMap.put(entry.getKey(), entry.getValue());
+   @Override
+   protected PutAllOperation newOperation(Collection<byte[]> keys) {
+      Map<byte[], byte[]> mapSubset = new HashMap<>(keys.size());
+      for (byte[] key : keys) {
+         mapSubset.put(key, map.get(key));
       }
-
-      return splittedMaps.values().stream().map(
-            mapSubset -> new PutAllOperation(codec, transportFactory, mapSubset, cacheName, topologyId, flags,
-                  clientIntelligence, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit)).collect(Collectors.toList());
+      return new PutAllOperation(codec, transportFactory, mapSubset, cacheName, topologyId, flags,
+            clientIntelligence, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
    }
 
    @Override
@@ -0,0 +1,74 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.configuration.ClientIntelligence;
+import org.infinispan.client.hotrod.exceptions.InvalidResponseException;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Put operation writing the remaining bytes of a {@link ByteBuffer} as the raw value, without marshalling them or
+ * copying them to an intermediate array.  The previous value is never returned.
+ *
+ * @since 9.0
+ */
+@Immutable
+public class PutBufferOperation extends AbstractKeyOperation<Void> implements MultiplexedOperation<Void> {
+   private final ByteBuffer value;
+   private final long lifespan;
+   private final long maxIdle;
+   private final TimeUnit lifespanTimeUnit;
+   private final TimeUnit maxIdleTimeUnit;
+
+   public PutBufferOperation(Codec codec, TransportFactory transportFactory,
+                             Object key, byte[] keyBytes, byte[] cacheName, AtomicInteger topologyId,
+                             int flags, ClientIntelligence clientIntelligence, ByteBuffer value, long lifespan,
+                             TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
+      super(codec, transportFactory, key, keyBytes, cacheName, topologyId, flags, clientIntelligence);
+      this.value = value;
+      this.lifespan = lifespan;
+      this.maxIdle = maxIdle;
+      this.lifespanTimeUnit = lifespanTimeUnit;
+      this.maxIdleTimeUnit = maxIdleTimeUnit;
+   }
+
+   @Override
+   protected Void executeOperation(Transport transport) {
+      HeaderParams params = writeRequest(transport);
+      transport.flush();
+      return readResponse(transport, readHeaderAndValidate(transport, params));
+   }
+
+   @Override
+   public CompletableFuture<Void> executeAsync(Executor executor) {
+      return executeMultiplexed(this, executor);
+   }
+
+   //[header][key length][key][lifespan][max idle][value length][value]
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
+      HeaderParams params = writeHeader(transport, PUT_REQUEST);
+      transport.writeArray(keyBytes);
+      codec.writeExpirationParams(transport, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+      transport.writeArray(value);
+      return params;
+   }
+
+   @Override
+   public Void readResponse(Transport transport, short status) {
+      if (!HotRodConstants.isSuccess(status)) {
+         throw new InvalidResponseException("Unexpected response status: " + Integer.toHexString(status));
+      }
+      return null;
+   }
+}
@@ -1,11 +1,14 @@
 package org.infinispan.client.hotrod.impl.operations;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.exceptions.InvalidResponseException;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
@@ -19,7 +22,7 @@
  * @since 4.1
  */
 @Immutable
-public class PutOperation<V> extends AbstractKeyValueOperation<V> {
+public class PutOperation<V> extends AbstractKeyValueOperation<V> implements MultiplexedOperation<V> {
 
    public PutOperation(Codec codec, TransportFactory transportFactory,
                        Object key, byte[] keyBytes, byte[] cacheName, AtomicInteger topologyId,
@@ -32,6 +35,21 @@ public PutOperation(Codec codec, TransportFactory transportFactory,
    @Override
    protected V executeOperation(Transport transport) {
       short status = sendPutOperation(transport, PUT_REQUEST, PUT_RESPONSE);
+      return readResponse(transport, status);
+   }
+
+   @Override
+   public CompletableFuture<V> executeAsync(Executor executor) {
+      return executeMultiplexed(this, executor);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
+      return writePutRequest(transport, PUT_REQUEST);
+   }
+
+   @Override
+   public V readResponse(Transport transport, short status) {
       if (!HotRodConstants.isSuccess(status)) {
          throw new InvalidResponseException("Unexpected response status: " + Integer.toHexString(status));
       }
@@ -11,8 +11,10 @@
 import org.infinispan.client.hotrod.exceptions.RemoteNodeSuspectException;
 import org.infinispan.client.hotrod.exceptions.TransportException;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.statistics.ClientStatistics;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.impl.transport.tcp.ServerLoadTracker;
 import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransportFactory.ClusterSwitchStatus;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
@@ -45,6 +47,23 @@ protected RetryOnFailureOperation(Codec codec, TransportFactory transportFactory
 
    @Override
    public T execute() {
+      ClientStatistics statistics = transportFactory.getStatistics();
+      if (statistics == null) {
+         return execute(null);
+      }
+      long start = System.nanoTime();
+      boolean successful = false;
+      try {
+         T result = execute(statistics);
+         successful = true;
+         return result;
+      } finally {
+         statistics.operationCompleted(cacheName, getClass(), System.nanoTime() - start, successful);
+      }
+   }
+
+   private T execute(ClientStatistics statistics) {
+      ServerLoadTracker loadTracker = transportFactory.getLoadTracker();
       int retryCount = 0;
       Set<SocketAddress> failedServers = null;
       while (shouldRetry(retryCount)) {
@@ -53,9 +72,11 @@ public T execute() {
          try {
             // Transport retrieval should be retried
             transport = getTransport(retryCount, failedServers);
-            return executeOperation(transport);
+            return statistics == null && loadTracker == null
+                  ? executeOperation(transport) : executeOperation(transport, statistics, loadTracker);
          } catch (TransportException te) {
             SocketAddress address = te.getServerAddress();
+            requestRetried(statistics, address, te);
             failedServers = updateFailedServers(address, failedServers);
             // Invalidate transport since this exception means that this
             // instance is no longer usable and should be destroyed.
@@ -63,6 +84,7 @@ public T execute() {
             retryCount = logTransportErrorAndThrowExceptionIfNeeded(retryCount, currentClusterName, te);
          } catch (RemoteIllegalLifecycleStateException e) {
             SocketAddress address = e.getServerAddress();
+            requestRetried(statistics, address, e);
             failedServers = updateFailedServers(address, failedServers);
             // Invalidate transport since this exception means that this
             // instance is no longer usable and should be destroyed.
@@ -73,6 +95,7 @@ public T execute() {
             // as a result of a server finding out that another node has
             // been suspected, so there's nothing really wrong with the server
             // from which this node was received.
+            requestRetried(statistics, transport != null ? transport.getRemoteSocketAddress() : null, e);
             logErrorAndThrowExceptionIfNeeded(retryCount, e);
          } finally {
             releaseTransport(transport);
@@ -83,6 +106,42 @@ public T execute() {
       throw new IllegalStateException("We should not reach here!");
    }
 
+   private T executeOperation(Transport transport, ClientStatistics statistics, ServerLoadTracker loadTracker) {
+      SocketAddress server = transport.getRemoteSocketAddress();
+      long sent = statistics != null ? statistics.requestSent(server) : System.nanoTime();
+      if (loadTracker != null) {
+         loadTracker.requestSent(server);
+      }
+      boolean successful = false;
+      try {
+         T result = executeOperation(transport);
+         successful = true;
+         return result;
+      } finally {
+         if (successful) {
+            if (statistics != null) {
+               statistics.responseReceived(server, sent);
+            }
+            if (loadTracker != null) {
+               loadTracker.responseReceived(server, sent);
+            }
+         } else {
+            if (statistics != null) {
+               statistics.requestFailed(server);
+            }
+            if (loadTracker != null) {
+               loadTracker.requestFailed(server, sent);
+            }
+         }
+      }
+   }
+
+   private void requestRetried(ClientStatistics statistics, SocketAddress server, HotRodClientException e) {
+      if (statistics != null) {
+         statistics.requestRetried(cacheName, getClass(), server, e);
+      }
+   }
+
    private void invalidateTransport(Transport transport, SocketAddress address) {
       if (transport != null) {
          if (trace)
@@ -0,0 +1,69 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.configuration.ClientIntelligence;
+import org.infinispan.client.hotrod.event.ClientListenerNotifier;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+
+/**
+ * Sends the bloom filter of the keys held by a near cache to the server where its listener is registered, so that
+ * the server only sends the events of those keys.  Like {@link RemoveClientListenerOperation}, it uses another
+ * connection than the one the events are received on.
+ *
+ * @since 9.0
+ */
+public class UpdateBloomFilterOperation extends HotRodOperation {
+
+   private final ClientListenerNotifier listenerNotifier;
+
+   private final byte[] listenerId;
+
+   private final byte[] bloomFilter;
+
+   protected final TransportFactory transportFactory;
+
+   protected UpdateBloomFilterOperation(Codec codec, TransportFactory transportFactory,
+                                        byte[] cacheName, AtomicInteger topologyId, int flags,
+                                        ClientIntelligence clientIntelligence,
+                                        ClientListenerNotifier listenerNotifier, byte[] listenerId, byte[] bloomFilter) {
+      super(codec, flags, clientIntelligence, cacheName, topologyId);
+      this.transportFactory = transportFactory;
+      this.listenerNotifier = listenerNotifier;
+      this.listenerId = listenerId;
+      this.bloomFilter = bloomFilter;
+   }
+
+   /**
+    * @return {@code true} if the server uses the bloom filter, {@code false} if the listener is not registered on it
+    */
+   @Override
+   public Boolean execute() {
+      Transport listenerTransport = listenerNotifier.findTransport(listenerId);
+      if (listenerTransport == null) {
+         return false;
+      }
+      Transport transport = transportFactory.getAddressTransport(listenerTransport.getRemoteSocketAddress());
+      boolean completed = false;
+      try {
+         HeaderParams params = writeHeader(transport, UPDATE_BLOOM_FILTER_REQUEST);
+         transport.writeArray(listenerId);
+         transport.writeArray(bloomFilter);
+         transport.flush();
+         short status = readHeaderAndValidate(transport, params);
+         completed = true;
+         return HotRodConstants.isSuccess(status);
+      } finally {
+         if (completed) {
+            transportFactory.releaseTransport(transport);
+         } else {
+            // The response may not have been read
+            transportFactory.invalidateTransport(transport.getRemoteSocketAddress(), transport);
+         }
+      }
+   }
+}
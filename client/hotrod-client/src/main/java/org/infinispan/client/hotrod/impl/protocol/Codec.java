@@ -61,6 +61,12 @@ void writeClientListenerParams(Transport transport, ClientListener clientListene
     */
    <T> T readUnmarshallByteArray(Transport transport, short status);
 
+   /**
+    * Read and unmarshall a value, decompressing it if the request was sent with
+    * {@link HotRodConstants#COMPRESSED_VALUES_FLAG}.
+    */
+   <T> T readUnmarshallValue(Transport transport, short status, int flags);
+
    /**
     * Reads a stream of data
     */
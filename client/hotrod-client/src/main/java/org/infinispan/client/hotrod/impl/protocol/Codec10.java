@@ -170,6 +170,11 @@ public <T> T readUnmarshallByteArray(Transport transport, short status) {
       return CodecUtils.readUnmarshallByteArray(transport, status);
    }
 
+   @Override
+   public <T> T readUnmarshallValue(Transport transport, short status, int flags) {
+      return CodecUtils.readUnmarshallValue(transport, status, flags);
+   }
+
    @Override
    public <T extends InputStream & VersionedMetadata> T readAsStream(Transport transport, VersionedMetadata versionedMetadata, Runnable afterClose) {
       throw new UnsupportedOperationException();
@@ -54,6 +54,11 @@ public <T> T readUnmarshallByteArray(Transport transport, short status) {
       return CodecUtils.readUnmarshallByteArray(transport, status);
    }
 
+   @Override
+   public <T> T readUnmarshallValue(Transport transport, short status, int flags) {
+      return CodecUtils.readUnmarshallValue(transport, status, flags);
+   }
+
    @Override
    public <T extends InputStream & VersionedMetadata> T readAsStream(Transport transport, VersionedMetadata versionedMetadata, Runnable afterClose) {
       return (T)new TransportInputStream(transport, versionedMetadata, afterClose);
@@ -243,7 +248,8 @@ public Object returnPossiblePrevValue(Transport transport, short status, int fla
          byte[] bytes = transport.readArray();
          if (trace) getLog().tracef("Previous value bytes is: %s", printArray(bytes, false));
          //0-length response means null
-         return bytes.length == 0 ? null : MarshallerUtil.bytes2obj(marshaller, bytes, status);
+         return bytes.length == 0 ? null
+               : MarshallerUtil.bytes2obj(marshaller, CodecUtils.decompressIfNeeded(bytes, flags), status);
       } else {
          return null;
       }
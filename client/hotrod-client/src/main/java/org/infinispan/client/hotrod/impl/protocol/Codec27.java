@@ -0,0 +1,17 @@
+package org.infinispan.client.hotrod.impl.protocol;
+
+import org.infinispan.client.hotrod.impl.transport.Transport;
+
+/**
+ * Adds the {@link HotRodConstants#COMPRESSED_VALUES_FLAG} request flag, which the older servers don't know about.
+ *
+ * @since 9.0
+ */
+public class Codec27 extends Codec26 {
+
+   @Override
+   public HeaderParams writeHeader(Transport transport, HeaderParams params) {
+      return writeHeader(transport, params, HotRodConstants.VERSION_27);
+   }
+
+}
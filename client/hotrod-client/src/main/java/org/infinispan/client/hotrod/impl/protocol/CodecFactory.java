@@ -13,6 +13,7 @@
 import static org.infinispan.client.hotrod.ProtocolVersion.PROTOCOL_VERSION_24;
 import static org.infinispan.client.hotrod.ProtocolVersion.PROTOCOL_VERSION_25;
 import static org.infinispan.client.hotrod.ProtocolVersion.PROTOCOL_VERSION_26;
+import static org.infinispan.client.hotrod.ProtocolVersion.PROTOCOL_VERSION_27;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -37,6 +38,7 @@ public class CodecFactory {
    private static final Codec CODEC_24 = new Codec24();
    private static final Codec CODEC_25 = new Codec25();
    private static final Codec CODEC_26 = new Codec26();
+   private static final Codec CODEC_27 = new Codec27();
 
    static {
       codecMap = new HashMap<>();
@@ -51,6 +53,7 @@ public class CodecFactory {
       codecMap.put(PROTOCOL_VERSION_24, CODEC_24);
       codecMap.put(PROTOCOL_VERSION_25, CODEC_25);
       codecMap.put(PROTOCOL_VERSION_26, CODEC_26);
+      codecMap.put(PROTOCOL_VERSION_27, CODEC_27);
    }
 
    public static boolean isVersionDefined(String version) {
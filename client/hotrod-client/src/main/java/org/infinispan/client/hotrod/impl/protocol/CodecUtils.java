@@ -4,6 +4,7 @@
 
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.marshall.MarshallerUtil;
+import org.infinispan.commons.io.ValueCompression;
 import org.infinispan.commons.marshall.Marshaller;
 
 /**
@@ -37,4 +38,14 @@ static <T> T readUnmarshallByteArray(Transport transport, short status) {
       return MarshallerUtil.bytes2obj(marshaller, bytes, status);
    }
 
+   static <T> T readUnmarshallValue(Transport transport, short status, int flags) {
+      byte[] bytes = transport.readArray();
+      Marshaller marshaller = transport.getTransportFactory().getMarshaller();
+      return MarshallerUtil.bytes2obj(marshaller, decompressIfNeeded(bytes, flags), status);
+   }
+
+   static byte[] decompressIfNeeded(byte[] value, int flags) {
+      return HotRodConstants.hasCompressedValues(flags) ? ValueCompression.decompress(value) : value;
+   }
+
 }
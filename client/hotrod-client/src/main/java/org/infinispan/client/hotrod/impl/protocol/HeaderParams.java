@@ -59,6 +59,10 @@ public HeaderParams messageId(long messageId) {
       return this;
    }
 
+   public long messageId() {
+      return messageId;
+   }
+
    public HeaderParams topologyAge(int topologyAge) {
       this.topologyAge = topologyAge;
       return this;
@@ -124,6 +128,10 @@ private short toOpRespCode(short opCode) {
             return HotRodConstants.GET_STREAM_RESPONSE;
          case HotRodConstants.PUT_STREAM_REQUEST:
             return HotRodConstants.PUT_STREAM_RESPONSE;
+         case HotRodConstants.UPDATE_BLOOM_FILTER_REQUEST:
+            return HotRodConstants.UPDATE_BLOOM_FILTER_RESPONSE;
+         case HotRodConstants.GET_ALL_STREAM_REQUEST:
+            return HotRodConstants.GET_ALL_STREAM_RESPONSE;
          default:
             throw new IllegalStateException("Unknown operation code: " + opCode);
       }
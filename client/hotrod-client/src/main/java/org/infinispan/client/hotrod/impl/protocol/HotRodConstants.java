@@ -24,6 +24,7 @@ public interface HotRodConstants {
    byte VERSION_24 = 24;
    byte VERSION_25 = 25;
    byte VERSION_26 = 26;
+   byte VERSION_27 = 27;
 
    //requests
    byte PUT_REQUEST = 0x01;
@@ -55,6 +56,8 @@ public interface HotRodConstants {
    byte ITERATION_END_REQUEST = 0x35;
    byte GET_STREAM_REQUEST = 0x37;
    byte PUT_STREAM_REQUEST = 0x39;
+   byte UPDATE_BLOOM_FILTER_REQUEST = 0x3B;
+   byte GET_ALL_STREAM_REQUEST = 0x3D;
 
    //responses
    byte PUT_RESPONSE = 0x02;
@@ -86,6 +89,8 @@ public interface HotRodConstants {
    byte ITERATION_END_RESPONSE = 0x36;
    byte GET_STREAM_RESPONSE = 0x38;
    byte PUT_STREAM_RESPONSE = 0x3A;
+   byte UPDATE_BLOOM_FILTER_RESPONSE = 0x3C;
+   byte GET_ALL_STREAM_RESPONSE = 0x3E;
    byte ERROR_RESPONSE = 0x50;
    byte CACHE_ENTRY_CREATED_EVENT_RESPONSE = 0x60;
    byte CACHE_ENTRY_MODIFIED_EVENT_RESPONSE = 0x61;
@@ -137,9 +142,19 @@ public interface HotRodConstants {
    byte INFINITE_LIFESPAN = 0x01;
    byte INFINITE_MAXIDLE = 0x02;
 
+   /**
+    * Request flag telling the server that the values are exchanged in the
+    * {@link org.infinispan.commons.io.ValueCompression} format.  Only supported by protocol 2.7 or later.
+    */
+   int COMPRESSED_VALUES_FLAG = 0x0020;
+
    int DEFAULT_CACHE_TOPOLOGY = -1;
    int SWITCH_CLUSTER_TOPOLOGY = -2;
 
+   static boolean hasCompressedValues(int flags) {
+      return (flags & COMPRESSED_VALUES_FLAG) != 0;
+   }
+
    static boolean isSuccess(short status) {
       return status == NO_ERROR_STATUS
          || status == NO_ERROR_STATUS_COMPAT
@@ -0,0 +1,170 @@
+package org.infinispan.client.hotrod.impl.statistics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import org.infinispan.client.hotrod.statistics.ClientStatisticsListener;
+import org.infinispan.client.hotrod.statistics.LatencyHistogram;
+import org.infinispan.client.hotrod.statistics.RemoteCacheClientStatisticsMXBean;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * The statistics of a single cache, by operation.
+ *
+ * @since 9.0
+ */
+@ThreadSafe
+public class CacheStatistics implements RemoteCacheClientStatisticsMXBean {
+   private static final ClassValue<String> OPERATION_NAMES = new ClassValue<String>() {
+      @Override
+      protected String computeValue(Class<?> type) {
+         String name = type.getSimpleName();
+         for (String suffix : new String[]{"Operation", "Parallel"}) {
+            if (name.endsWith(suffix) && name.length() > suffix.length()) {
+               name = name.substring(0, name.length() - suffix.length());
+            }
+         }
+         return name;
+      }
+   };
+
+   private final String cacheName;
+   private final ClientStatisticsListener[] listeners;
+   private final ConcurrentMap<String, LatencyHistogram> operations = new ConcurrentHashMap<>();
+   private final LongAdder failures = new LongAdder();
+   private final LongAdder retries = new LongAdder();
+   private final LongAdder nearCacheHits = new LongAdder();
+   private final LongAdder nearCacheMisses = new LongAdder();
+
+   CacheStatistics(String cacheName, ClientStatisticsListener[] listeners) {
+      this.cacheName = cacheName;
+      this.listeners = listeners;
+   }
+
+   public String getCacheName() {
+      return cacheName;
+   }
+
+   /**
+    * @return the name of an operation class, e.g. {@code GetAll} for {@code GetAllParallelOperation}
+    */
+   static String operationName(Class<?> operation) {
+      return OPERATION_NAMES.get(operation);
+   }
+
+   public void operationCompleted(Class<?> operation, long durationNanos, boolean successful) {
+      String name = operationName(operation);
+      operations.computeIfAbsent(name, k -> new LatencyHistogram()).record(durationNanos);
+      if (!successful) {
+         failures.increment();
+      }
+      for (ClientStatisticsListener listener : listeners) {
+         listener.operationCompleted(cacheName, name, durationNanos, successful);
+      }
+   }
+
+   void requestRetried() {
+      retries.increment();
+   }
+
+   public void nearCacheRead(boolean hit) {
+      if (hit) {
+         nearCacheHits.increment();
+      } else {
+         nearCacheMisses.increment();
+      }
+      for (ClientStatisticsListener listener : listeners) {
+         listener.nearCacheRead(cacheName, hit);
+      }
+   }
+
+   /**
+    * @return the durations of an operation, or {@code null} if it was never invoked
+    */
+   public LatencyHistogram getOperationTimes(String operation) {
+      return operations.get(operation);
+   }
+
+   private Map<String, Long> collect(ToLongFunction<LatencyHistogram> statistic) {
+      Map<String, Long> result = new TreeMap<>();
+      operations.forEach((operation, histogram) -> result.put(operation, statistic.applyAsLong(histogram)));
+      return result;
+   }
+
+   @Override
+   public Map<String, Long> getOperationCounts() {
+      return collect(LatencyHistogram::getCount);
+   }
+
+   @Override
+   public Map<String, Long> getAverageOperationTimesNanos() {
+      return collect(LatencyHistogram::getMeanNanos);
+   }
+
+   @Override
+   public Map<String, Long> getMedianOperationTimesNanos() {
+      return collect(histogram -> histogram.getPercentileNanos(50));
+   }
+
+   @Override
+   public Map<String, Long> get99thPercentileOperationTimesNanos() {
+      return collect(histogram -> histogram.getPercentileNanos(99));
+   }
+
+   @Override
+   public Map<String, Long> getMaxOperationTimesNanos() {
+      return collect(LatencyHistogram::getMaxNanos);
+   }
+
+   @Override
+   public long getOperationTimePercentileNanos(String operation, double percentile) {
+      LatencyHistogram histogram = operations.get(operation);
+      return histogram == null ? -1 : histogram.getPercentileNanos(percentile);
+   }
+
+   @Override
+   public long getFailures() {
+      return failures.sum();
+   }
+
+   @Override
+   public long getRetries() {
+      return retries.sum();
+   }
+
+   @Override
+   public long getNearCacheHits() {
+      return nearCacheHits.sum();
+   }
+
+   @Override
+   public long getNearCacheMisses() {
+      return nearCacheMisses.sum();
+   }
+
+   @Override
+   public double getNearCacheHitRatio() {
+      long hits = nearCacheHits.sum();
+      long reads = hits + nearCacheMisses.sum();
+      return reads == 0 ? 0 : (double) hits / reads;
+   }
+
+   @Override
+   public void resetStatistics() {
+      operations.values().forEach(LatencyHistogram::reset);
+      failures.reset();
+      retries.reset();
+      nearCacheHits.reset();
+      nearCacheMisses.reset();
+   }
+
+   @Override
+   public String toString() {
+      return "CacheStatistics{cacheName='" + cacheName + "', operations=" + operations + "}";
+   }
+}
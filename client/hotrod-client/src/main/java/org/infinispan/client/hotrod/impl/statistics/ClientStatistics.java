@@ -0,0 +1,254 @@
+package org.infinispan.client.hotrod.impl.statistics;
+
+import java.lang.management.ManagementFactory;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.commons.pool.impl.GenericKeyedObjectPool;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.StatisticsConfiguration;
+import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransport;
+import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransportFactory;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.client.hotrod.statistics.ClientStatisticsListener;
+import org.infinispan.client.hotrod.statistics.LatencyHistogram;
+import org.infinispan.client.hotrod.statistics.RemoteCacheManagerMXBean;
+import org.infinispan.commons.marshall.WrappedByteArray;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Collects the statistics of a {@link RemoteCacheManager}: by server in this class, and by cache in the
+ * {@link CacheStatistics} it creates.  Only created when the statistics are enabled, so the operations don't even
+ * read the clock otherwise.
+ * <p>
+ * If JMX is enabled, this class and the statistics of each cache are registered as MBeans when created, and
+ * unregistered by {@link #stop()}.
+ *
+ * @since 9.0
+ */
+@ThreadSafe
+public class ClientStatistics implements RemoteCacheManagerMXBean {
+   private static final Log log = LogFactory.getLog(ClientStatistics.class, Log.class);
+
+   private final TcpTransportFactory transportFactory;
+   private final StatisticsConfiguration configuration;
+   private final ClientStatisticsListener[] listeners;
+   private final ConcurrentMap<SocketAddress, PerServer> servers = new ConcurrentHashMap<>();
+   private final ConcurrentMap<WrappedByteArray, CacheStatistics> caches = new ConcurrentHashMap<>();
+   private final CopyOnWriteArrayList<ObjectName> registeredNames = new CopyOnWriteArrayList<>();
+
+   public ClientStatistics(TcpTransportFactory transportFactory, StatisticsConfiguration configuration) {
+      this.transportFactory = transportFactory;
+      this.configuration = configuration;
+      this.listeners = configuration.listeners().toArray(new ClientStatisticsListener[0]);
+   }
+
+   public void start() {
+      register(this, "type=HotRodClient,name=" + ObjectName.quote(configuration.jmxName()));
+   }
+
+   public void stop() {
+      MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      for (ObjectName name : registeredNames) {
+         try {
+            mBeanServer.unregisterMBean(name);
+         } catch (Exception e) {
+            log.debugf(e, "Unable to unregister the client statistics MBean %s", name);
+         }
+      }
+      registeredNames.clear();
+   }
+
+   /**
+    * @return the statistics of a cache, created on first access
+    */
+   public CacheStatistics cache(byte[] cacheName) {
+      return caches.computeIfAbsent(new WrappedByteArray(cacheName), k -> {
+         String name = new String(cacheName, HotRodConstants.HOTROD_STRING_CHARSET);
+         CacheStatistics statistics = new CacheStatistics(name, listeners);
+         register(statistics, "type=HotRodClient,name=" + ObjectName.quote(configuration.jmxName())
+               + ",cache=" + ObjectName.quote(name));
+         return statistics;
+      });
+   }
+
+   private void register(Object mBean, String properties) {
+      if (!configuration.jmxEnabled()) {
+         return;
+      }
+      String name = configuration.jmxDomain() + ":" + properties;
+      try {
+         ObjectName objectName = new ObjectName(name);
+         ManagementFactory.getPlatformMBeanServer().registerMBean(mBean, objectName);
+         registeredNames.add(objectName);
+      } catch (Exception e) {
+         log.unableToRegisterStatisticsMBean(name, e);
+      }
+   }
+
+   public void operationCompleted(byte[] cacheName, Class<?> operation, long durationNanos, boolean successful) {
+      cache(cacheName).operationCompleted(operation, durationNanos, successful);
+   }
+
+   public void connectionAcquired(SocketAddress server, long waitNanos) {
+      server(server).connectionWaits.record(waitNanos);
+      for (ClientStatisticsListener listener : listeners) {
+         listener.connectionAcquired(server, waitNanos);
+      }
+   }
+
+   /**
+    * Must be followed by either {@link #responseReceived(SocketAddress, long)} or {@link #requestFailed(SocketAddress)}.
+    *
+    * @return the time the request was sent, to pass to {@link #responseReceived(SocketAddress, long)}
+    */
+   public long requestSent(SocketAddress server) {
+      server(server).inFlight.incrementAndGet();
+      return System.nanoTime();
+   }
+
+   public void responseReceived(SocketAddress server, long sentNanos) {
+      long durationNanos = System.nanoTime() - sentNanos;
+      PerServer perServer = server(server);
+      perServer.inFlight.decrementAndGet();
+      perServer.responseTimes.record(durationNanos);
+      for (ClientStatisticsListener listener : listeners) {
+         listener.responseReceived(server, durationNanos);
+      }
+   }
+
+   public void requestFailed(SocketAddress server) {
+      server(server).inFlight.decrementAndGet();
+   }
+
+   public void requestRetried(byte[] cacheName, Class<?> operation, SocketAddress server, Throwable cause) {
+      CacheStatistics cache = cache(cacheName);
+      cache.requestRetried();
+      if (server != null) {
+         server(server).retries.increment();
+      }
+      for (ClientStatisticsListener listener : listeners) {
+         listener.requestRetried(cache.getCacheName(), CacheStatistics.operationName(operation), server, cause);
+      }
+   }
+
+   private PerServer server(SocketAddress server) {
+      return servers.computeIfAbsent(server, s -> new PerServer());
+   }
+
+   /**
+    * @return the response times of a server, or {@code null} if no request was sent to it
+    */
+   public LatencyHistogram getResponseTimes(SocketAddress server) {
+      PerServer perServer = servers.get(server);
+      return perServer == null ? null : perServer.responseTimes;
+   }
+
+   private <T> Map<String, T> collect(Function<PerServer, T> statistic) {
+      Map<String, T> result = new TreeMap<>();
+      servers.forEach((server, perServer) -> result.put(server.toString(), statistic.apply(perServer)));
+      return result;
+   }
+
+   private Map<String, Long> collectHistogram(Function<PerServer, LatencyHistogram> histogram,
+                                              ToLongFunction<LatencyHistogram> statistic) {
+      return collect(perServer -> statistic.applyAsLong(histogram.apply(perServer)));
+   }
+
+   private Map<String, Integer> collectPool(boolean active) {
+      Map<String, Integer> result = new TreeMap<>();
+      GenericKeyedObjectPool<SocketAddress, TcpTransport> pool = transportFactory.getConnectionPool();
+      if (pool != null) {
+         for (SocketAddress server : transportFactory.getServers()) {
+            result.put(server.toString(), active ? pool.getNumActive(server) : pool.getNumIdle(server));
+         }
+      }
+      return result;
+   }
+
+   @Override
+   public Map<String, Integer> getInFlightRequests() {
+      return collect(perServer -> perServer.inFlight.get());
+   }
+
+   @Override
+   public Map<String, Integer> getActiveConnections() {
+      return collectPool(true);
+   }
+
+   @Override
+   public Map<String, Integer> getIdleConnections() {
+      return collectPool(false);
+   }
+
+   @Override
+   public Map<String, Long> getResponseCounts() {
+      return collectHistogram(perServer -> perServer.responseTimes, LatencyHistogram::getCount);
+   }
+
+   @Override
+   public Map<String, Long> getAverageResponseTimesNanos() {
+      return collectHistogram(perServer -> perServer.responseTimes, LatencyHistogram::getMeanNanos);
+   }
+
+   @Override
+   public Map<String, Long> get99thPercentileResponseTimesNanos() {
+      return collectHistogram(perServer -> perServer.responseTimes, histogram -> histogram.getPercentileNanos(99));
+   }
+
+   @Override
+   public Map<String, Long> getAverageConnectionWaitTimesNanos() {
+      return collectHistogram(perServer -> perServer.connectionWaits, LatencyHistogram::getMeanNanos);
+   }
+
+   @Override
+   public Map<String, Long> get99thPercentileConnectionWaitTimesNanos() {
+      return collectHistogram(perServer -> perServer.connectionWaits, histogram -> histogram.getPercentileNanos(99));
+   }
+
+   @Override
+   public Map<String, Long> getRetries() {
+      return collect(perServer -> perServer.retries.sum());
+   }
+
+   @Override
+   public long getResponseTimePercentileNanos(String server, double percentile) {
+      for (Map.Entry<SocketAddress, PerServer> entry : servers.entrySet()) {
+         if (entry.getKey().toString().equals(server)) {
+            return entry.getValue().responseTimes.getPercentileNanos(percentile);
+         }
+      }
+      return -1;
+   }
+
+   @Override
+   public void resetStatistics() {
+      // The requests in flight are not statistics, they must stay balanced
+      servers.values().forEach(perServer -> {
+         perServer.responseTimes.reset();
+         perServer.connectionWaits.reset();
+         perServer.retries.reset();
+      });
+   }
+
+   private static final class PerServer {
+      final LatencyHistogram responseTimes = new LatencyHistogram();
+      final LatencyHistogram connectionWaits = new LatencyHistogram();
+      final AtomicInteger inFlight = new AtomicInteger();
+      final LongAdder retries = new LongAdder();
+   }
+}
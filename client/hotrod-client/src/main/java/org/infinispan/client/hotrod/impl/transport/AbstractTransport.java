@@ -1,5 +1,7 @@
 package org.infinispan.client.hotrod.impl.transport;
 
+import java.nio.ByteBuffer;
+
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
@@ -14,6 +16,8 @@ public abstract class AbstractTransport implements Transport {
 
    private static final Log log = LogFactory.getLog(AbstractTransport.class);
    private static final boolean trace = log.isTraceEnabled();
+   // Buffers without an accessible array are copied by chunks, not in a copy of the whole value
+   private static final int CHUNK_SIZE = 8 * 1024;
 
    private final TransportFactory transportFactory;
    private boolean busy;
@@ -38,6 +42,21 @@ public byte[] readArray() {
       return readByteArray(responseLength);
    }
 
+   @Override
+   public void readByteArray(ByteBuffer buffer, int size) {
+      if (buffer.hasArray()) {
+         readBytes(buffer.array(), buffer.arrayOffset() + buffer.position(), size);
+         buffer.position(buffer.position() + size);
+      } else {
+         byte[] chunk = new byte[Math.min(size, CHUNK_SIZE)];
+         for (int remaining = size; remaining > 0; remaining -= chunk.length) {
+            int length = Math.min(remaining, chunk.length);
+            readBytes(chunk, 0, length);
+            buffer.put(chunk, 0, length);
+         }
+      }
+   }
+
    @Override
    public String readString() {
       byte[] strContent = readArray();
@@ -122,6 +141,23 @@ public void writeArray(byte[] toAppend, int offset, int count) {
       writeBytes(toAppend, offset, count);
    }
 
+   @Override
+   public void writeArray(ByteBuffer toAppend) {
+      int count = toAppend.remaining();
+      writeVInt(count);
+      if (toAppend.hasArray()) {
+         writeBytes(toAppend.array(), toAppend.arrayOffset() + toAppend.position(), count);
+      } else {
+         ByteBuffer source = toAppend.duplicate();
+         byte[] chunk = new byte[Math.min(count, CHUNK_SIZE)];
+         while (source.hasRemaining()) {
+            int length = Math.min(source.remaining(), chunk.length);
+            source.get(chunk, 0, length);
+            writeBytes(chunk, 0, length);
+         }
+      }
+   }
+
    @Override
    public void writeOptionalArray(byte[] toAppend) {
       writeSignedVInt(toAppend.length);
@@ -131,4 +167,6 @@ public void writeOptionalArray(byte[] toAppend) {
    protected abstract void writeBytes(byte[] toAppend);
 
    protected abstract void writeBytes(byte[] toAppend, int offset, int count);
+
+   protected abstract void readBytes(byte[] buffer, int offset, int size);
 }
@@ -1,6 +1,7 @@
 package org.infinispan.client.hotrod.impl.transport;
 
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 
 /**
  * Transport abstraction.
@@ -16,6 +17,12 @@ public interface Transport {
 
    void writeArray(byte[] toAppend, int offset, int count);
 
+   /**
+    * Writes the number of remaining bytes of the buffer as a vint, then the bytes, without changing the buffer
+    * position.
+    */
+   void writeArray(ByteBuffer toAppend);
+
    void writeOptionalArray(byte[] toAppend);
 
    void writeByte(short toWrite);
@@ -47,6 +54,11 @@ public interface Transport {
 
    byte[] readByteArray(int size);
 
+   /**
+    * Reads size bytes into the buffer, starting at its position, and advances its position.
+    */
+   void readByteArray(ByteBuffer buffer, int size);
+
    long readLong();
 
    void writeLong(long longValue);
@@ -15,6 +15,9 @@
 import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHashFactory;
 import org.infinispan.client.hotrod.impl.operations.AddClientListenerOperation;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.statistics.ClientStatistics;
+import org.infinispan.client.hotrod.impl.transport.netty.MultiplexedTransport;
+import org.infinispan.client.hotrod.impl.transport.tcp.ServerLoadTracker;
 import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransportFactory.ClusterSwitchStatus;
 import org.infinispan.commons.marshall.Marshaller;
 
@@ -58,6 +61,22 @@ void updateHashFunction(SocketAddress[][] segmentOwners, int numSegments, short
 
    Transport getTransport(Object key, Set<SocketAddress> failedServers, byte[] cacheName);
 
+   /**
+    * @return the server owning the key or, if it is not known or it failed, the next server chosen by the balancer
+    */
+   SocketAddress getServer(Object key, Set<SocketAddress> failedServers, byte[] cacheName);
+
+   /**
+    * Like {@link #getTransport(Object, Set, byte[])}, for an operation that only reads the key.
+    */
+   Transport getReadTransport(Object key, Set<SocketAddress> failedServers, byte[] cacheName);
+
+   /**
+    * Like {@link #getServer(Object, Set, byte[])}, for an operation that only reads the key: with a load aware
+    * balancing strategy, another owner of the key may be returned if the primary owner is much more loaded.
+    */
+   SocketAddress getReadServer(Object key, Set<SocketAddress> failedServers, byte[] cacheName);
+
    boolean isTcpNoDelay();
 
    boolean isTcpKeepAlive();
@@ -91,4 +110,20 @@ void updateHashFunction(SocketAddress[][] segmentOwners, int numSegments, short
    String getSniHostName();
 
    void addDisconnectedListener(AddClientListenerOperation listener) throws InterruptedException;
+
+   /**
+    * @return the transport multiplexing the asynchronous operations, or {@code null} if multiplexed connections are
+    * not enabled
+    */
+   MultiplexedTransport getMultiplexedTransport();
+
+   /**
+    * @return the client statistics, or {@code null} if they are not enabled
+    */
+   ClientStatistics getStatistics();
+
+   /**
+    * @return the tracker of the server load, or {@code null} if the balancing strategy is not load aware
+    */
+   ServerLoadTracker getLoadTracker();
 }
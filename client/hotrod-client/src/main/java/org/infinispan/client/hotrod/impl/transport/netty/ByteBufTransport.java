@@ -0,0 +1,188 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+import org.infinispan.client.hotrod.impl.transport.AbstractTransport;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.commons.io.SignedNumeric;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.Channel;
+
+/**
+ * Transport writing to and reading from a {@link ByteBuf}, so that the codec can be used with a multiplexed
+ * {@link Channel}.  Nothing is written to the channel directly: the buffer is written by the caller once the request
+ * is complete.
+ * <p>
+ * Reading past the end of the buffer throws {@link #INSUFFICIENT_DATA}, in which case the caller must restore the
+ * reader index and read again once more bytes have been received.
+ *
+ * @since 9.0
+ */
+class ByteBufTransport extends AbstractTransport {
+   static final RuntimeException INSUFFICIENT_DATA = new InsufficientDataException();
+
+   private final Channel channel;
+   private ByteBuf buf;
+
+   ByteBufTransport(TransportFactory transportFactory, Channel channel) {
+      super(transportFactory);
+      this.channel = channel;
+   }
+
+   ByteBufTransport buffer(ByteBuf buf) {
+      this.buf = buf;
+      return this;
+   }
+
+   private void ensureReadable(int bytes) {
+      if (buf.readableBytes() < bytes) {
+         throw INSUFFICIENT_DATA;
+      }
+   }
+
+   @Override
+   protected void writeBytes(byte[] toAppend) {
+      buf.writeBytes(toAppend);
+   }
+
+   @Override
+   protected void writeBytes(byte[] toAppend, int offset, int count) {
+      buf.writeBytes(toAppend, offset, count);
+   }
+
+   @Override
+   public void writeArray(ByteBuffer toAppend) {
+      writeVInt(toAppend.remaining());
+      buf.writeBytes(toAppend.duplicate());
+   }
+
+   @Override
+   public void writeByte(short toWrite) {
+      buf.writeByte(toWrite);
+   }
+
+   @Override
+   public void writeVInt(int vInt) {
+      while ((vInt & ~0x7F) != 0) {
+         buf.writeByte((vInt & 0x7F) | 0x80);
+         vInt >>>= 7;
+      }
+      buf.writeByte(vInt);
+   }
+
+   @Override
+   public void writeSignedVInt(int vInt) {
+      writeVInt(SignedNumeric.encode(vInt));
+   }
+
+   @Override
+   public void writeVLong(long vLong) {
+      while ((vLong & ~0x7F) != 0) {
+         buf.writeByte((int) ((vLong & 0x7F) | 0x80));
+         vLong >>>= 7;
+      }
+      buf.writeByte((int) vLong);
+   }
+
+   @Override
+   public int readVInt() {
+      int result = 0;
+      for (int shift = 0; ; shift += 7) {
+         short b = readByte();
+         result |= (b & 0x7F) << shift;
+         if ((b & 0x80) == 0) {
+            return result;
+         }
+      }
+   }
+
+   @Override
+   public long readVLong() {
+      long result = 0;
+      for (int shift = 0; ; shift += 7) {
+         short b = readByte();
+         result |= (long) (b & 0x7F) << shift;
+         if ((b & 0x80) == 0) {
+            return result;
+         }
+      }
+   }
+
+   @Override
+   public short readByte() {
+      ensureReadable(1);
+      return buf.readUnsignedByte();
+   }
+
+   @Override
+   public void readByteArray(byte[] buffer, int size) {
+      ensureReadable(size);
+      buf.readBytes(buffer, 0, size);
+   }
+
+   @Override
+   protected void readBytes(byte[] buffer, int offset, int size) {
+      ensureReadable(size);
+      buf.readBytes(buffer, offset, size);
+   }
+
+   @Override
+   public void readByteArray(ByteBuffer buffer, int size) {
+      ensureReadable(size);
+      ByteBuffer destination = buffer.duplicate();
+      destination.limit(destination.position() + size);
+      buf.readBytes(destination);
+      buffer.position(destination.position());
+   }
+
+   @Override
+   public byte[] readByteArray(int size) {
+      byte[] result = new byte[size];
+      readByteArray(result, size);
+      return result;
+   }
+
+   @Override
+   public void flush() {
+      // The buffer is written to the channel once the whole request is encoded
+   }
+
+   @Override
+   public void release() {
+      // The channel is shared by all the requests
+   }
+
+   @Override
+   public byte[] dumpStream() {
+      return ByteBufUtil.getBytes(buf, buf.readerIndex(), buf.readableBytes());
+   }
+
+   @Override
+   public SocketAddress getRemoteSocketAddress() {
+      return channel.remoteAddress();
+   }
+
+   @Override
+   public void invalidate() {
+      channel.close();
+   }
+
+   @Override
+   public boolean isValid() {
+      return channel.isActive();
+   }
+
+   @Override
+   public String toString() {
+      return "ByteBufTransport{channel=" + channel + "}";
+   }
+
+   private static final class InsufficientDataException extends RuntimeException {
+      InsufficientDataException() {
+         super("Not enough data in the buffer", null, false, false);
+      }
+   }
+}
@@ -0,0 +1,156 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.exceptions.InvalidResponseException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * Reads the responses received by a multiplexed channel and completes the requests they belong to.
+ * <p>
+ * Hot Rod responses don't carry their length, so they are parsed by the codec and the operation directly from the
+ * received bytes.  If a response is incomplete, the reader index is moved back and the response is parsed again once
+ * more bytes have arrived.  The header is only parsed again if it was incomplete: once it has been read, the request
+ * and the status are kept until the whole body has been read, and the request can no longer time out.
+ * <p>
+ * Errors sent by the server only fail their own request.  Anything that leaves the stream in an unknown state, like
+ * an unexpected message id, closes the channel, failing all the pending requests with a {@link TransportException}.
+ *
+ * @since 9.0
+ */
+class MultiplexedChannelHandler extends ByteToMessageDecoder {
+   private static final Log log = LogFactory.getLog(MultiplexedChannelHandler.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final Codec codec;
+   private final TransportFactory transportFactory;
+   private final SocketAddress server;
+   private final ConcurrentMap<Long, MultiplexedRequest<?>> requests = new ConcurrentHashMap<>();
+   // Only accessed from the event loop
+   private ByteBufTransport transport;
+   private MultiplexedRequest<?> current;
+   private short currentStatus;
+
+   MultiplexedChannelHandler(Codec codec, TransportFactory transportFactory, SocketAddress server) {
+      this.codec = codec;
+      this.transportFactory = transportFactory;
+      this.server = server;
+   }
+
+   void register(MultiplexedRequest<?> request) {
+      requests.put(request.messageId(), request);
+   }
+
+   /**
+    * @return {@code true} if the request was failed, {@code false} if it had already completed
+    */
+   boolean fail(MultiplexedRequest<?> request, Throwable t) {
+      if (requests.remove(request.messageId(), request)) {
+         request.fail(t);
+         return true;
+      }
+      return false;
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+      if (transport == null) {
+         transport = new ByteBufTransport(transportFactory, ctx.channel());
+      }
+      transport.buffer(in);
+      while (in.isReadable() && ctx.channel().isActive()) {
+         MultiplexedRequest<?> request = current;
+         int start = in.readerIndex();
+         try {
+            if (request == null) {
+               request = requests.get(peekMessageId());
+               in.readerIndex(start);
+               if (request == null) {
+                  throw new InvalidResponseException("Received a response for an unknown request from " + server);
+               }
+               currentStatus = codec.readHeader(transport, request.params);
+               // The request can't time out anymore, and if the body is incomplete only the body is read again
+               requests.remove(request.messageId());
+               current = request;
+               start = in.readerIndex();
+            }
+            request.readResponse(transport, currentStatus);
+            current = null;
+         } catch (RuntimeException e) {
+            if (e == ByteBufTransport.INSUFFICIENT_DATA) {
+               in.readerIndex(start);
+               return;
+            }
+            current = null;
+            failRequest(ctx, request, e);
+         }
+      }
+   }
+
+   private long peekMessageId() {
+      short magic = transport.readByte();
+      if (magic != HotRodConstants.RESPONSE_MAGIC) {
+         throw new InvalidResponseException(String.format(
+               "Invalid magic number. Expected %#x and received %#x", HotRodConstants.RESPONSE_MAGIC, magic));
+      }
+      return transport.readVLong();
+   }
+
+   private void failRequest(ChannelHandlerContext ctx, MultiplexedRequest<?> request, RuntimeException e) {
+      if (request != null) {
+         requests.remove(request.messageId());
+         request.fail(e);
+      }
+      if (e instanceof InvalidResponseException || !(e instanceof HotRodClientException)) {
+         // The rest of the stream can't be parsed anymore
+         log.debugf(e, "Closing multiplexed channel to %s after an unexpected response", server);
+         ctx.close();
+      } else if (trace) {
+         log.tracef(e, "Request %s failed", request);
+      }
+   }
+
+   @Override
+   public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+      try {
+         super.channelInactive(ctx);
+      } finally {
+         failAll(new TransportException("Connection closed", server));
+      }
+   }
+
+   @Override
+   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+      if (trace) {
+         log.tracef(cause, "Closing multiplexed channel to %s", server);
+      }
+      failAll(new TransportException(cause, server));
+      ctx.close();
+   }
+
+   private void failAll(TransportException e) {
+      if (current != null) {
+         current.fail(e);
+         current = null;
+      }
+      for (Iterator<MultiplexedRequest<?>> it = requests.values().iterator(); it.hasNext(); ) {
+         MultiplexedRequest<?> request = it.next();
+         it.remove();
+         request.fail(e);
+      }
+   }
+}
@@ -0,0 +1,57 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+import org.infinispan.client.hotrod.impl.operations.MultiplexedOperation;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+
+/**
+ * A request sent over a multiplexed channel and still waiting for its response.
+ *
+ * @since 9.0
+ */
+class MultiplexedRequest<T> {
+   final MultiplexedOperation<T> operation;
+   final HeaderParams params;
+   final CompletableFuture<T> future;
+   private volatile ScheduledFuture<?> timeout;
+
+   MultiplexedRequest(MultiplexedOperation<T> operation, HeaderParams params, CompletableFuture<T> future) {
+      this.operation = operation;
+      this.params = params;
+      this.future = future;
+   }
+
+   long messageId() {
+      return params.messageId();
+   }
+
+   void setTimeout(ScheduledFuture<?> timeout) {
+      this.timeout = timeout;
+   }
+
+   void readResponse(Transport transport, short status) {
+      T value = operation.readResponse(transport, status);
+      cancelTimeout();
+      future.complete(value);
+   }
+
+   void fail(Throwable t) {
+      cancelTimeout();
+      future.completeExceptionally(t);
+   }
+
+   private void cancelTimeout() {
+      ScheduledFuture<?> timeout = this.timeout;
+      if (timeout != null) {
+         timeout.cancel(false);
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "MultiplexedRequest{messageId=" + params.messageId() + ", operation=" + operation + "}";
+   }
+}
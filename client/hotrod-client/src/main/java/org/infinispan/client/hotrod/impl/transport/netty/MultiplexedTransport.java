@@ -0,0 +1,261 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.net.ssl.SNIHostName;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.operations.MultiplexedOperation;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.statistics.ClientStatistics;
+import org.infinispan.client.hotrod.impl.transport.tcp.ServerLoadTracker;
+import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransportFactory;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Sends operations over a few long lived connections per server, without waiting for the responses of the requests
+ * already sent over the same connection.  Responses are matched to their requests using the message id of the
+ * header, and read by a Netty event loop, so no thread is blocked while a request is in flight.
+ * <p>
+ * The connections are opened lazily and used in round robin.  A connection that is closed, either because of an
+ * error or because a request timed out, is replaced by a new one the next time it is picked.  The requests in flight
+ * on a closed connection fail with a {@link TransportException}: retrying them is up to the caller.
+ * <p>
+ * Responses carrying a new topology update the {@link TcpTransportFactory} from the event loop.
+ *
+ * @since 9.0
+ */
+@ThreadSafe
+public class MultiplexedTransport {
+   private static final Log log = LogFactory.getLog(MultiplexedTransport.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final Codec codec;
+   private final TcpTransportFactory transportFactory;
+   private final int connectionsPerServer;
+   private final EventLoopGroup eventLoopGroup;
+   private final Bootstrap bootstrap;
+   private final ConcurrentMap<SocketAddress, ServerChannels> servers = new ConcurrentHashMap<>();
+
+   public MultiplexedTransport(Codec codec, TcpTransportFactory transportFactory, int connectionsPerServer) {
+      this.codec = codec;
+      this.transportFactory = transportFactory;
+      this.connectionsPerServer = connectionsPerServer;
+      this.eventLoopGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("HotRod-client-multiplexed", true));
+      this.bootstrap = new Bootstrap()
+            .group(eventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .option(ChannelOption.TCP_NODELAY, transportFactory.isTcpNoDelay())
+            .option(ChannelOption.SO_KEEPALIVE, transportFactory.isTcpKeepAlive())
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, transportFactory.getConnectTimeout());
+   }
+
+   /**
+    * Sends the operation to the owner of the key, or to a server picked by the balancer if the owner is not known.
+    *
+    * @param readOnly whether the operation only reads the key, see {@link TcpTransportFactory#getReadServer}
+    * @return a future completed by the event loop once the response is received
+    */
+   public <T> CompletableFuture<T> execute(Object key, boolean readOnly, byte[] cacheName, MultiplexedOperation<T> operation) {
+      SocketAddress server = readOnly ? transportFactory.getReadServer(key, null, cacheName)
+            : transportFactory.getServer(key, null, cacheName);
+      return execute(server, operation);
+   }
+
+   /**
+    * Sends the operation to the given server.
+    *
+    * @return a future completed by the event loop once the response is received
+    */
+   public <T> CompletableFuture<T> execute(SocketAddress server, MultiplexedOperation<T> operation) {
+      CompletableFuture<T> future = new CompletableFuture<>();
+      ClientStatistics statistics = transportFactory.getStatistics();
+      if (statistics != null) {
+         long sent = statistics.requestSent(server);
+         future.whenComplete((value, t) -> {
+            if (t == null) {
+               statistics.responseReceived(server, sent);
+            } else {
+               statistics.requestFailed(server);
+            }
+         });
+      }
+      ServerLoadTracker loadTracker = transportFactory.getLoadTracker();
+      if (loadTracker != null) {
+         long sent = System.nanoTime();
+         loadTracker.requestSent(server);
+         future.whenComplete((value, t) -> {
+            if (t == null) {
+               loadTracker.responseReceived(server, sent);
+            } else {
+               loadTracker.requestFailed(server, sent);
+            }
+         });
+      }
+      ChannelFuture channelFuture = servers.computeIfAbsent(server, ServerChannels::new).next();
+      if (channelFuture.isDone()) {
+         send(channelFuture, server, operation, future);
+      } else {
+         channelFuture.addListener(f -> send(channelFuture, server, operation, future));
+      }
+      return future;
+   }
+
+   private <T> void send(ChannelFuture channelFuture, SocketAddress server, MultiplexedOperation<T> operation,
+                         CompletableFuture<T> future) {
+      if (!channelFuture.isSuccess()) {
+         future.completeExceptionally(new TransportException(channelFuture.cause(), server));
+         return;
+      }
+      Channel channel = channelFuture.channel();
+      MultiplexedChannelHandler handler = channel.pipeline().get(MultiplexedChannelHandler.class);
+      ByteBuf buf = channel.alloc().buffer();
+      MultiplexedRequest<T> request;
+      try {
+         HeaderParams params = operation.writeRequest(new ByteBufTransport(transportFactory, channel).buffer(buf));
+         request = new MultiplexedRequest<>(operation, params, future);
+      } catch (Throwable t) {
+         buf.release();
+         future.completeExceptionally(t);
+         return;
+      }
+      // Registered before writing, the response may arrive before the write listener is invoked
+      handler.register(request);
+      channel.writeAndFlush(buf).addListener(f -> {
+         if (!f.isSuccess()) {
+            handler.fail(request, new TransportException(f.cause(), server));
+         }
+      });
+      int timeout = transportFactory.getSoTimeout();
+      if (timeout > 0 && !future.isDone()) {
+         request.setTimeout(channel.eventLoop().schedule(() -> {
+            if (handler.fail(request, new TransportException(new SocketTimeoutException(
+                  String.format("No response received for %s after %d ms", request, timeout)), server))) {
+               // Later responses are stuck behind the missing one, so the connection is replaced
+               channel.close();
+            }
+         }, timeout, TimeUnit.MILLISECONDS));
+      }
+      if (trace) {
+         log.tracef("Sent %s to %s", request, server);
+      }
+   }
+
+   /**
+    * Closes the connections to a server that left the cluster.
+    */
+   public void closeChannels(SocketAddress server) {
+      ServerChannels channels = servers.remove(server);
+      if (channels != null) {
+         channels.close();
+      }
+   }
+
+   public void stop() {
+      servers.values().forEach(ServerChannels::close);
+      servers.clear();
+      eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+   }
+
+   private ChannelFuture connect(SocketAddress server) {
+      if (trace) {
+         log.tracef("Opening multiplexed connection to %s", server);
+      }
+      return bootstrap.clone().handler(new ChannelInitializer<SocketChannel>() {
+         @Override
+         protected void initChannel(SocketChannel ch) {
+            ChannelPipeline pipeline = ch.pipeline();
+            SSLContext sslContext = transportFactory.getSSLContext();
+            if (sslContext != null) {
+               pipeline.addLast(new SslHandler(createSslEngine(sslContext, server)));
+            }
+            pipeline.addLast(new MultiplexedChannelHandler(codec, transportFactory, server));
+         }
+      }).connect(server);
+   }
+
+   private SSLEngine createSslEngine(SSLContext sslContext, SocketAddress server) {
+      SSLEngine engine;
+      if (server instanceof InetSocketAddress) {
+         InetSocketAddress address = (InetSocketAddress) server;
+         engine = sslContext.createSSLEngine(address.getHostString(), address.getPort());
+      } else {
+         engine = sslContext.createSSLEngine();
+      }
+      engine.setUseClientMode(true);
+      String sniHostName = transportFactory.getSniHostName();
+      if (sniHostName != null) {
+         SSLParameters sslParameters = engine.getSSLParameters();
+         sslParameters.setServerNames(Collections.singletonList(new SNIHostName(sniHostName)));
+         engine.setSSLParameters(sslParameters);
+      }
+      return engine;
+   }
+
+   /**
+    * The connections to a single server.
+    */
+   private final class ServerChannels {
+      private final SocketAddress server;
+      private final AtomicReferenceArray<ChannelFuture> channels;
+      private final AtomicInteger nextChannel = new AtomicInteger();
+
+      ServerChannels(SocketAddress server) {
+         this.server = server;
+         this.channels = new AtomicReferenceArray<>(connectionsPerServer);
+      }
+
+      ChannelFuture next() {
+         int index = (nextChannel.getAndIncrement() & Integer.MAX_VALUE) % connectionsPerServer;
+         for (;;) {
+            ChannelFuture current = channels.get(index);
+            if (current != null && (!current.isDone() || current.channel().isActive())) {
+               return current;
+            }
+            ChannelFuture replacement = connect(server);
+            if (channels.compareAndSet(index, current, replacement)) {
+               return replacement;
+            }
+            replacement.channel().close();
+         }
+      }
+
+      void close() {
+         for (int i = 0; i < channels.length(); ++i) {
+            ChannelFuture channelFuture = channels.getAndSet(i, null);
+            if (channelFuture != null) {
+               channelFuture.channel().close();
+            }
+         }
+      }
+   }
+}
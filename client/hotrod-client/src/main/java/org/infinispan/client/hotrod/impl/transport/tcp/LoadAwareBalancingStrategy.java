@@ -0,0 +1,95 @@
+package org.infinispan.client.hotrod.impl.transport.tcp;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+/**
+ * Load aware implementation for {@link FailoverRequestBalancingStrategy}: picks two servers at random and selects the
+ * one with the lowest cost according to the {@link ServerLoadTracker}, i.e. the latency of the server multiplied by
+ * the number of requests in flight.  Choosing between two random servers rather than always choosing the least loaded
+ * one avoids sending all the requests to the same server while its load information is stale.
+ * <p>
+ * With this strategy, the operations that only read a key may also be sent to another owner of the key than its
+ * primary owner, if the primary owner is much more loaded (see {@link ServerLoadTracker#selectOwner}).
+ *
+ * @since 9.0
+ */
+public class LoadAwareBalancingStrategy implements FailoverRequestBalancingStrategy {
+
+   private static final Log log = LogFactory.getLog(LoadAwareBalancingStrategy.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private volatile SocketAddress[] servers;
+   private volatile ServerLoadTracker loadTracker;
+
+   /**
+    * Called by the transport factory before the strategy is used.
+    */
+   public void setLoadTracker(ServerLoadTracker loadTracker) {
+      this.loadTracker = loadTracker;
+   }
+
+   @Override
+   public void setServers(Collection<SocketAddress> servers) {
+      this.servers = servers.toArray(new SocketAddress[servers.size()]);
+      if (trace) {
+         log.tracef("New server list is: " + Arrays.toString(this.servers));
+      }
+   }
+
+   /**
+    * @param failedServers Servers that should not be returned (if any other are available)
+    */
+   @Override
+   public SocketAddress nextServer(Set<SocketAddress> failedServers) {
+      SocketAddress[] candidates = servers;
+      if (failedServers != null && !failedServers.isEmpty()) {
+         List<SocketAddress> available = new ArrayList<>(candidates.length);
+         for (SocketAddress server : candidates) {
+            if (!failedServers.contains(server)) {
+               available.add(server);
+            }
+         }
+         if (!available.isEmpty()) {
+            candidates = available.toArray(new SocketAddress[available.size()]);
+         }
+      }
+      SocketAddress server;
+      if (candidates.length == 1) {
+         server = candidates[0];
+      } else {
+         ThreadLocalRandom random = ThreadLocalRandom.current();
+         int first = random.nextInt(candidates.length);
+         int second = random.nextInt(candidates.length - 1);
+         if (second >= first) {
+            second++;
+         }
+         server = select(candidates[first], candidates[second]);
+      }
+      if (trace) {
+         log.tracef("Selected %s from %s, with failed servers %s and load %s", server, Arrays.toString(candidates),
+               failedServers, loadTracker);
+      }
+      return server;
+   }
+
+   private SocketAddress select(SocketAddress first, SocketAddress second) {
+      ServerLoadTracker loadTracker = this.loadTracker;
+      if (loadTracker == null) {
+         return first;
+      }
+      return loadTracker.cost(second) < loadTracker.cost(first) ? second : first;
+   }
+
+   public SocketAddress[] getServers() {
+      return servers;
+   }
+}
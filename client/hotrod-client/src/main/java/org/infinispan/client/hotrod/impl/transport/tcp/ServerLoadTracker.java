@@ -0,0 +1,149 @@
+package org.infinispan.client.hotrod.impl.transport.tcp;
+
+import java.net.SocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Tracks the load of each server as seen by the client, for {@link LoadAwareBalancingStrategy}.  The latency of a server
+ * is a moving average of its response times that follows the slower responses immediately and forgets them over a few
+ * seconds, so a server that slows down is avoided at once and tried again once it has recovered.  A server that stops
+ * answering, e.g. because of a long GC pause, has no response times to average: its latency is then the time elapsed
+ * since it last answered while requests were in flight.
+ * <p>
+ * Only created when the balancing strategy is load aware, the operations don't track anything otherwise.
+ *
+ * @since 9.0
+ */
+@ThreadSafe
+public class ServerLoadTracker {
+   private static final double DECAY_NANOS = TimeUnit.SECONDS.toNanos(2);
+   // Added to the latencies so that the requests in flight count for servers without any response yet
+   private static final long BASE_LATENCY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+   // Another owner must be that much less loaded than the primary owner to read from it
+   private static final int OWNER_BACKOFF_FACTOR = 4;
+
+   private final ConcurrentMap<SocketAddress, ServerLoad> servers = new ConcurrentHashMap<>();
+
+   /**
+    * Must be followed by either {@link #responseReceived(SocketAddress, long)} or
+    * {@link #requestFailed(SocketAddress, long)}, with the value of {@link System#nanoTime()} when the request was sent.
+    */
+   public void requestSent(SocketAddress server) {
+      ServerLoad load = load(server);
+      if (load.inFlight.getAndIncrement() == 0) {
+         // The time without answer only counts from the first request in flight
+         load.progressNanos = System.nanoTime();
+      }
+   }
+
+   public void responseReceived(SocketAddress server, long sentNanos) {
+      long now = System.nanoTime();
+      ServerLoad load = load(server);
+      load.progressNanos = now;
+      load.inFlight.decrementAndGet();
+      load.record(now - sentNanos, now);
+   }
+
+   /**
+    * Failures count as responses that took as long as the failure, so the servers that time out are avoided too.
+    */
+   public void requestFailed(SocketAddress server, long sentNanos) {
+      long now = System.nanoTime();
+      ServerLoad load = load(server);
+      load.inFlight.decrementAndGet();
+      load.record(now - sentNanos, now);
+   }
+
+   /**
+    * @return the cost of sending a request to the server: its latency multiplied by the number of requests waiting for
+    * it, including the new request
+    */
+   public long cost(SocketAddress server) {
+      ServerLoad load = servers.get(server);
+      if (load == null) {
+         return BASE_LATENCY_NANOS;
+      }
+      return load.latency(System.nanoTime()) * (load.inFlight.get() + 1);
+   }
+
+   /**
+    * Selects the owner to read a key from: the primary owner, unless another owner has a much lower cost.
+    *
+    * @param owners the owners of the key, the primary owner first
+    * @param failedServers servers that should not be returned, may be {@code null}
+    * @return the selected owner, or {@code null} if all the owners failed
+    */
+   public SocketAddress selectOwner(SocketAddress[] owners, Set<SocketAddress> failedServers) {
+      SocketAddress selected = null;
+      long selectedCost = Long.MAX_VALUE;
+      for (int i = 0; i < owners.length; i++) {
+         SocketAddress owner = owners[i];
+         if (owner == null || failedServers != null && failedServers.contains(owner)) {
+            continue;
+         }
+         long cost = cost(owner);
+         if (selected == null) {
+            selected = owner;
+            // Reading from the primary owner is preferred, as it holds the most recent value first
+            selectedCost = i == 0 ? cost / OWNER_BACKOFF_FACTOR : cost;
+         } else if (cost < selectedCost) {
+            selected = owner;
+            selectedCost = cost;
+         }
+      }
+      return selected;
+   }
+
+   private ServerLoad load(SocketAddress server) {
+      return servers.computeIfAbsent(server, s -> new ServerLoad());
+   }
+
+   @Override
+   public String toString() {
+      StringBuilder sb = new StringBuilder("ServerLoadTracker{");
+      servers.forEach((server, load) -> sb.append(server).append('=').append(load).append(' '));
+      return sb.append('}').toString();
+   }
+
+   private static final class ServerLoad {
+      final AtomicInteger inFlight = new AtomicInteger();
+      // Last time the server answered, or started having requests in flight
+      volatile long progressNanos = System.nanoTime();
+      @GuardedBy("this")
+      private double averageNanos;
+      @GuardedBy("this")
+      private long averageUpdateNanos = System.nanoTime();
+
+      synchronized void record(long durationNanos, long now) {
+         if (durationNanos > averageNanos) {
+            averageNanos = durationNanos;
+         } else {
+            double weight = Math.exp(-(now - averageUpdateNanos) / DECAY_NANOS);
+            averageNanos = averageNanos * weight + durationNanos * (1 - weight);
+         }
+         averageUpdateNanos = now;
+      }
+
+      long latency(long now) {
+         long average;
+         synchronized (this) {
+            // Without new responses, e.g. because the server is avoided, the average still decays so it is tried again
+            average = (long) (averageNanos * Math.exp(-(now - averageUpdateNanos) / DECAY_NANOS));
+         }
+         long unanswered = inFlight.get() > 0 ? now - progressNanos : 0;
+         return Math.max(average, unanswered) + BASE_LATENCY_NANOS;
+      }
+
+      @Override
+      public String toString() {
+         return "{latency=" + latency(System.nanoTime()) + ", inFlight=" + inFlight.get() + "}";
+      }
+   }
+}
@@ -237,12 +237,18 @@ public void release() {
 
    @Override
    public void readByteArray(byte[] result, int size) {
+      readBytes(result, 0, size);
+   }
+
+   @Override
+   protected void readBytes(byte[] result, int start, int size) {
       boolean done = false;
-      int offset = 0;
+      int offset = start;
+      int end = start + size;
       do {
          int read;
          try {
-            int len = size - offset;
+            int len = end - offset;
             if (trace) {
                log.tracef("Offset: %d, len=%d, size=%d", offset, len, size);
             }
@@ -254,7 +260,7 @@ public void readByteArray(byte[] result, int size) {
          if (read == -1) {
             throw new RuntimeException("End of stream reached!");
          }
-         if (read + offset == size) {
+         if (read + offset == end) {
             done = true;
          } else {
             offset += read;
@@ -30,11 +30,14 @@
 import org.infinispan.client.hotrod.impl.TopologyInfo;
 import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHash;
 import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHashFactory;
+import org.infinispan.client.hotrod.impl.consistenthash.SegmentConsistentHash;
 import org.infinispan.client.hotrod.impl.operations.AddClientListenerOperation;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.infinispan.client.hotrod.impl.statistics.ClientStatistics;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.MultiplexedTransport;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.marshall.Marshaller;
@@ -79,6 +82,9 @@ public class TcpTransportFactory implements TransportFactory {
    private volatile SSLContext sslContext;
    private volatile String sniHostName;
    private volatile ClientListenerNotifier listenerNotifier;
+   private volatile MultiplexedTransport multiplexedTransport;
+   private volatile ClientStatistics statistics;
+   private volatile ServerLoadTracker loadTracker;
    @GuardedBy("lock")
    private volatile TopologyInfo topologyInfo;
 
@@ -140,6 +146,10 @@ public void start(Codec codec, Configuration configuration, AtomicInteger defaul
             log.debugf("Tcp no delay = %b; client socket timeout = %d ms; connect timeout = %d ms",
                     tcpNoDelay, soTimeout, connectTimeout);
          }
+         if (configuration.statistics().enabled()) {
+            statistics = new ClientStatistics(this, configuration.statistics());
+            statistics.start();
+         }
          TransportObjectFactory connectionFactory;
          if (configuration.security().authentication().enabled()) {
             connectionFactory = new SaslTransportObjectFactory(codec, this, defaultCacheTopologyId, configuration);
@@ -151,6 +161,14 @@ public void start(Codec codec, Configuration configuration, AtomicInteger defaul
                          connectionFactory,
                          configuration.connectionPool());
          createAndPreparePool(poolFactory);
+         if (configuration.multiplexedConnections() > 0) {
+            multiplexedTransport = new MultiplexedTransport(codec, this, configuration.multiplexedConnections());
+         }
+         if (configuration.balancingStrategy() instanceof LoadAwareBalancingStrategy
+               || configuration.balancingStrategy() == null
+               && LoadAwareBalancingStrategy.class.isAssignableFrom(configuration.balancingStrategyClass())) {
+            loadTracker = new ServerLoadTracker();
+         }
          balancers = new HashMap<>();
          addBalancer(new WrappedByteArray(RemoteCacheManager.cacheNameBytes()));
 
@@ -167,6 +185,9 @@ private FailoverRequestBalancingStrategy addBalancer(WrappedByteArray cacheName)
       } else {
          balancer = Util.getInstance(configuration.balancingStrategyClass());
       }
+      if (balancer instanceof LoadAwareBalancingStrategy) {
+         ((LoadAwareBalancingStrategy) balancer).setLoadTracker(loadTracker);
+      }
       balancers.put(cacheName, balancer);
       balancer.setServers(topologyInfo.getServers(cacheName));
       return balancer;
@@ -208,6 +229,14 @@ private void createAndPreparePool(PropsKeyedObjectPoolFactory<SocketAddress, Tcp
    @Override
    public void destroy() {
       synchronized (lock) {
+         if (multiplexedTransport != null) {
+            multiplexedTransport.stop();
+            multiplexedTransport = null;
+         }
+         if (statistics != null) {
+            statistics.stop();
+            statistics = null;
+         }
          connectionPool.clear();
          try {
             connectionPool.close();
@@ -280,13 +309,59 @@ public SocketAddress getSocketAddress(Object key, byte[] cacheName) {
    }
 
    public Transport getTransport(Object key, Set<SocketAddress> failedServers, byte[] cacheName) {
-      SocketAddress server;
+      return borrowTransportFromPool(getServer(key, failedServers, cacheName));
+   }
+
+   @Override
+   public SocketAddress getServer(Object key, Set<SocketAddress> failedServers, byte[] cacheName) {
       synchronized (lock) {
          Optional<SocketAddress> hashAwareServer = topologyInfo.getHashAwareServer(key, cacheName);
          Optional<SocketAddress> filtered = hashAwareServer.filter(a -> failedServers == null || !failedServers.contains(a));
-         server = filtered.orElse(getNextServer(failedServers, cacheName));
+         return filtered.orElseGet(() -> getNextServer(failedServers, cacheName));
       }
-      return borrowTransportFromPool(server);
+   }
+
+   @Override
+   public Transport getReadTransport(Object key, Set<SocketAddress> failedServers, byte[] cacheName) {
+      return borrowTransportFromPool(getReadServer(key, failedServers, cacheName));
+   }
+
+   @Override
+   public SocketAddress getReadServer(Object key, Set<SocketAddress> failedServers, byte[] cacheName) {
+      ServerLoadTracker loadTracker = this.loadTracker;
+      if (loadTracker == null) {
+         return getServer(key, failedServers, cacheName);
+      }
+      synchronized (lock) {
+         // Any owner can serve a read, but only the segment based hash knows the backup owners
+         if (topologyInfo.isTopologyValid(cacheName)) {
+            ConsistentHash consistentHash = topologyInfo.getConsistentHash(cacheName);
+            if (consistentHash instanceof SegmentConsistentHash) {
+               SegmentConsistentHash segmentHash = (SegmentConsistentHash) consistentHash;
+               SocketAddress[] owners = segmentHash.getSegmentOwners()[segmentHash.getSegment(key)];
+               SocketAddress owner = loadTracker.selectOwner(owners, failedServers);
+               if (owner != null) {
+                  return owner;
+               }
+            }
+         }
+         return getServer(key, failedServers, cacheName);
+      }
+   }
+
+   @Override
+   public MultiplexedTransport getMultiplexedTransport() {
+      return multiplexedTransport;
+   }
+
+   @Override
+   public ClientStatistics getStatistics() {
+      return statistics;
+   }
+
+   @Override
+   public ServerLoadTracker getLoadTracker() {
+      return loadTracker;
    }
 
    @Override
@@ -379,6 +454,9 @@ private Collection<SocketAddress> updateTopologyInfo(byte[] cacheName, Collectio
       for (SocketAddress server : failedServers) {
          log.removingServer(server);
          connectionPool.clear(server);
+         if (multiplexedTransport != null) {
+            multiplexedTransport.closeChannels(server);
+         }
       }
 
       servers = Collections.unmodifiableList(new ArrayList(newServers));
@@ -408,8 +486,13 @@ private void logConnectionInfo(SocketAddress server) {
    private Transport borrowTransportFromPool(SocketAddress server) {
       // The borrowObject() call could take a long time, so we hold the lock only until we get the connection pool reference
       KeyedObjectPool<SocketAddress, TcpTransport> pool = getConnectionPool();
+      ClientStatistics statistics = this.statistics;
+      long start = statistics != null ? System.nanoTime() : 0;
       try {
          TcpTransport tcpTransport = pool.borrowObject(server);
+         if (statistics != null) {
+            statistics.connectionAcquired(server, System.nanoTime() - start);
+         }
          reconnectListenersIfNeeded();
          return tcpTransport;
       } catch (Exception e) {
@@ -252,4 +252,36 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Cannot specify both a callback handler and a username for authentication", id = 4067)
    CacheConfigurationException callbackHandlerAndUsernameMutuallyExclusive();
+
+   @Message(value = "The maximum memory of the near cache can only be configured with OFF_HEAP storage", id = 4068)
+   CacheConfigurationException nearCacheMaxMemoryRequiresOffHeap();
+
+   @Message(value = "Invalid multiplexed_connections (value=%s). Value should be greater or equal than zero.", id = 4069)
+   CacheConfigurationException invalidMultiplexedConnections(int multiplexedConnections);
+
+   @Message(value = "Multiplexed connections cannot be used together with authentication", id = 4070)
+   CacheConfigurationException multiplexedConnectionsWithAuthentication();
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to register the client statistics MBean %s", id = 4071)
+   void unableToRegisterStatisticsMBean(String objectName, @Cause Exception e);
+
+   @Message(value = "Invalid JMX domain '%s' for the client statistics", id = 4072)
+   CacheConfigurationException invalidStatisticsJmxDomain(String jmxDomain);
+
+   @Message(value = "A near cache invalidated with a bloom filter must have a positive number of max entries", id = 4073)
+   CacheConfigurationException nearCacheBloomFilterRequiresMaxEntries();
+
+   @Message(value = "A near cache invalidated with a bloom filter requires protocol version 2.6 or later, but %s is configured", id = 4074)
+   CacheConfigurationException nearCacheBloomFilterRequiresProtocolVersion(String protocolVersion);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to send the near cache bloom filter of listener %s", id = 4075)
+   void unableToUpdateNearCacheBloomFilter(String listenerId, @Cause Throwable t);
+
+   @Message(value = "Invalid marshalled_key_cache_size (value=%s). Value should be greater or equal than zero.", id = 4076)
+   CacheConfigurationException invalidMarshalledKeyCacheSize(int marshalledKeyCacheSize);
+
+   @Message(value = "Compressing values requires protocol version 2.7 or later, but %s is configured", id = 4077)
+   CacheConfigurationException compressionRequiresProtocolVersion(String protocolVersion);
 }
@@ -1,6 +1,7 @@
 package org.infinispan.client.hotrod.near;
 
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 
 import org.infinispan.client.hotrod.VersionedValue;
 import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
@@ -49,4 +50,9 @@ public void clear() {
       cache.clear();
    }
 
+   @Override
+   public void forEachKey(Consumer<? super K> action) {
+      cache.keySet().forEach(action);
+   }
+
 }
@@ -5,6 +5,7 @@
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 import org.infinispan.client.hotrod.VersionedValue;
 import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
@@ -84,6 +85,22 @@ public void clear() {
       }
    }
 
+   @Override
+   @SuppressWarnings("unchecked")
+   public void forEachKey(Consumer<? super K> action) {
+      Object[] keys;
+      Lock lock = rwlock.readLock();
+      try {
+         lock.lock();
+         keys = cache.keySet().toArray();
+      } finally {
+         lock.unlock();
+      }
+      for (Object key : keys) {
+         action.accept((K) key);
+      }
+   }
+
    public static <K, V> NearCache<K, V> create(final NearCacheConfiguration config) {
       return new LinkedMapNearCache<K, V>(
             new LinkedHashMap<K, VersionedValue<V>>(1 << 4, 0.75f, true) {
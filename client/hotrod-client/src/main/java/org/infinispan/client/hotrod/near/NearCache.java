@@ -1,5 +1,7 @@
 package org.infinispan.client.hotrod.near;
 
+import java.util.function.Consumer;
+
 import org.infinispan.client.hotrod.VersionedValue;
 
 /**
@@ -13,4 +15,8 @@
    void remove(K key);
    VersionedValue<V> get(K key);
    void clear();
+   /**
+    * Passes each key to the action.  The keys added or removed concurrently may or may not be seen.
+    */
+   void forEachKey(Consumer<? super K> action);
 }
@@ -1,6 +1,17 @@
 package org.infinispan.client.hotrod.near;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.VersionedValue;
@@ -16,15 +27,28 @@
 import org.infinispan.client.hotrod.event.ClientCacheEntryRemovedEvent;
 import org.infinispan.client.hotrod.event.ClientCacheFailoverEvent;
 import org.infinispan.client.hotrod.event.ClientListenerNotifier;
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.impl.RemoteCacheImpl;
 import org.infinispan.client.hotrod.impl.VersionedValueImpl;
+import org.infinispan.client.hotrod.impl.operations.OperationsFactory;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.io.UnsignedNumeric;
 import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.util.BloomFilter;
 import org.infinispan.commons.util.Util;
 
 /**
  * Near cache service, manages the lifecycle of the near cache.
+ * <p>
+ * With {@link org.infinispan.client.hotrod.configuration.NearCacheMode#INVALIDATED_BLOOM_FILTER}, it also sends the
+ * server a bloom filter of the cached keys every {@link NearCacheConfiguration#bloomFilterUpdateInterval()}, and the
+ * server skips the events of the keys that are not in the filter.  A key must therefore be in the filter used by the
+ * server before it is cached: the keys read from the server are only cached if they are in the last filter the server
+ * acknowledged, and if no update started since the read did.  The other keys are added to the next filter, so they
+ * are cached by the first read after the server acknowledges it.  As the filters are built from all the cached keys,
+ * the keys removed or evicted from the near cache are eventually removed from the filter too.
  *
  * @since 7.1
  */
@@ -36,7 +60,17 @@
    private final ClientListenerNotifier listenerNotifier;
    private Object listener;
    private byte[] listenerId;
+   private Marshaller marshaller;
    private NearCache<K, V> cache;
+   // Only used with a bloom filter
+   private final ReadWriteLock bloomFilterLock = new ReentrantReadWriteLock();
+   private final Set<WrappedByteArray> pendingKeys = ConcurrentHashMap.newKeySet();
+   // Odd while an update is in progress
+   private volatile long bloomFilterGeneration;
+   // The filter last acknowledged by the server, or null if the server filter is not known
+   private volatile BloomFilter bloomFilter;
+   private OperationsFactory operationsFactory;
+   private ScheduledExecutorService bloomFilterExecutor;
 
    protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
       this.config = config;
@@ -45,12 +79,23 @@ protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier
 
    public void start(RemoteCache<K, V> remote) {
       // Create near cache
+      marshaller = remote.getRemoteCacheManager().getMarshaller();
       cache = createNearCache(config);
       // Add a listener that updates the near cache
       listener = createListener(remote);
       remote.addClientListener(listener);
       // Get the listener ID for faster listener connected lookups
       listenerId = listenerNotifier.findListenerId(listener);
+      if (config.mode().bloomFilter()) {
+         operationsFactory = ((RemoteCacheImpl<K, V>) remote).getOperationsFactory();
+         bloomFilterExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "HotRod-client-near-cache-bloom-filter-" + remote.getName());
+            thread.setDaemon(true);
+            return thread;
+         });
+         long interval = config.bloomFilterUpdateInterval();
+         bloomFilterExecutor.scheduleWithFixedDelay(this::updateBloomFilter, 0, interval, TimeUnit.MILLISECONDS);
+      }
    }
 
    private Object createListener(RemoteCache<K, V> remote) {
@@ -63,6 +108,9 @@ public void stop(RemoteCache<K, V> remote) {
       if (trace)
          log.tracef("Stop near cache, remove underlying listener id %s", Util.printArray(listenerId));
 
+      if (bloomFilterExecutor != null) {
+         bloomFilterExecutor.shutdownNow();
+      }
       // Remove listener
       remote.removeClientListener(listener);
       // Empty cache
@@ -70,6 +118,9 @@ public void stop(RemoteCache<K, V> remote) {
    }
 
    protected NearCache<K, V> createNearCache(NearCacheConfiguration config) {
+      if (config.storage().offHeap())
+         return OffHeapNearCache.<K, V>create(config, marshaller);
+
       return config.maxEntries() > 0
             ? BoundedConcurrentMapNearCache.<K, V>create(config)
             : ConcurrentMapNearCache.<K, V>create();
@@ -98,6 +149,91 @@ public void putIfAbsent(K key, VersionedValue<V> value) {
                key, value, Util.printArray(listenerId));
    }
 
+   /**
+    * Must be called before reading a key that may then be added to the near cache with
+    * {@link #putIfAbsent(Object, VersionedValue, long)}.
+    */
+   public long remoteReadStarted() {
+      return bloomFilterGeneration;
+   }
+
+   /**
+    * Caches a value read from the server.  With a bloom filter, the value is only cached if the server already had
+    * the key in its filter when the read started, otherwise the key is added to the next filter.
+    *
+    * @param readStart the value returned by {@link #remoteReadStarted()} before the value was read
+    */
+   public void putIfAbsent(K key, VersionedValue<V> value, long readStart) {
+      if (!config.mode().bloomFilter()) {
+         putIfAbsent(key, value);
+         return;
+      }
+      byte[] keyBytes = marshall(key);
+      Lock lock = bloomFilterLock.readLock();
+      lock.lock();
+      try {
+         BloomFilter filter = bloomFilter;
+         if (readStart == bloomFilterGeneration && (readStart & 1) == 0 && filter != null
+               && filter.mightContain(keyBytes)) {
+            putIfAbsent(key, value);
+            return;
+         }
+      } finally {
+         lock.unlock();
+      }
+      // Bounded like the near cache, the keys that don't fit will be added by a later update
+      if (pendingKeys.size() < config.maxEntries()) {
+         pendingKeys.add(new WrappedByteArray(keyBytes));
+      }
+      if (trace)
+         log.tracef("Key=%s not in the bloom filter yet, not cached (listenerId=%s)", key, Util.printArray(listenerId));
+   }
+
+   void updateBloomFilter() {
+      Lock lock = bloomFilterLock.writeLock();
+      lock.lock();
+      try {
+         // From now on no key is cached until the server acknowledges the new filter
+         bloomFilterGeneration++;
+      } finally {
+         lock.unlock();
+      }
+      BloomFilter filter = null;
+      try {
+         filter = BloomFilter.create(config.maxEntries());
+         BloomFilter newFilter = filter;
+         cache.forEachKey(key -> newFilter.add(marshall(key)));
+         for (Iterator<WrappedByteArray> it = pendingKeys.iterator(); it.hasNext(); ) {
+            newFilter.add(it.next().getBytes());
+            it.remove();
+         }
+         if (!operationsFactory.newUpdateBloomFilterOperation(listenerId, filter.toBytes()).execute()) {
+            log.unableToUpdateNearCacheBloomFilter(Util.printArray(listenerId), null);
+            filter = null;
+         }
+      } catch (Throwable t) {
+         // The server may use either filter, both have all the cached keys but not the keys to cache
+         log.unableToUpdateNearCacheBloomFilter(Util.printArray(listenerId), t);
+         filter = null;
+      } finally {
+         bloomFilter = filter;
+         bloomFilterGeneration++;
+      }
+      if (trace)
+         log.tracef("Updated bloom filter %s (listenerId=%s)", filter, Util.printArray(listenerId));
+   }
+
+   private byte[] marshall(Object key) {
+      try {
+         return marshaller.objectToByteBuffer(key);
+      } catch (IOException e) {
+         throw new HotRodClientException("Unable to marshall object of type [" + key.getClass().getName() + "]", e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new HotRodClientException(e);
+      }
+   }
+
    @Override
    public void remove(K key) {
       cache.remove(key);
@@ -130,6 +266,11 @@ public void clear() {
       if (trace) log.tracef("Cleared near cache (listenerId=%s)", Util.printArray(listenerId));
    }
 
+   @Override
+   public void forEachKey(Consumer<? super K> action) {
+      cache.forEachKey(action);
+   }
+
    private boolean isConnected() {
       return listenerNotifier.isListenerConnected(listenerId);
    }
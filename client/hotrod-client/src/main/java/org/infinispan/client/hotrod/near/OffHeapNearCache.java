@@ -0,0 +1,396 @@
+package org.infinispan.client.hotrod.near;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.impl.VersionedValueImpl;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.util.Util;
+
+import sun.misc.Unsafe;
+
+/**
+ * Near cache that keeps the marshalled keys and values in native memory, so that a large near cache doesn't put any
+ * pressure on the garbage collector. Values are only unmarshalled when read.
+ * <p>
+ * The entries are split in segments, each one with its own lock, bucket table and LRU list. Like the off-heap data
+ * container of the server, every entry is a single native memory block holding the bucket chain pointer, the LRU
+ * pointers, the version and the key and value bytes. The bucket tables are plain {@code long[]}, which the garbage
+ * collector never has to scan. The configured maximum entries and memory are divided evenly between the segments.
+ *
+ * @since 9.0
+ */
+final class OffHeapNearCache<K, V> implements NearCache<K, V> {
+   private static final Log log = LogFactory.getLog(OffHeapNearCache.class);
+   private static final Unsafe UNSAFE = getUnsafe();
+
+   private static final int MAX_SEGMENTS = 16;
+   // Small near caches use less segments, so that the LRU order stays close to the global one
+   private static final int MIN_ENTRIES_PER_SEGMENT = 1024;
+
+   // Layout of an entry
+   private static final int NEXT_OFFSET = 0;
+   private static final int LRU_BEFORE_OFFSET = 8;
+   private static final int LRU_AFTER_OFFSET = 16;
+   private static final int VERSION_OFFSET = 24;
+   private static final int HASH_OFFSET = 32;
+   private static final int KEY_LENGTH_OFFSET = 36;
+   private static final int VALUE_LENGTH_OFFSET = 40;
+   private static final int HEADER_LENGTH = 44;
+
+   private final Marshaller marshaller;
+   private final Segment[] segments;
+   private final int segmentShift;
+
+   private OffHeapNearCache(Marshaller marshaller, int segmentCount, int maxEntries, long maxMemory) {
+      this.marshaller = marshaller;
+      this.segments = new Segment[segmentCount];
+      this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+      for (int i = 0; i < segmentCount; ++i) {
+         segments[i] = new Segment(maxEntries > 0 ? maxEntries / segmentCount : -1,
+               maxMemory > 0 ? maxMemory / segmentCount : -1);
+      }
+   }
+
+   public static <K, V> NearCache<K, V> create(NearCacheConfiguration config, Marshaller marshaller) {
+      int maxEntries = config.maxEntries();
+      int segmentCount = maxEntries > 0
+            ? Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxEntries / MIN_ENTRIES_PER_SEGMENT)))
+            : MAX_SEGMENTS;
+      return new OffHeapNearCache<>(marshaller, segmentCount, maxEntries, config.maxMemory());
+   }
+
+   @Override
+   public void put(K key, VersionedValue<V> value) {
+      put(key, value, false);
+   }
+
+   @Override
+   public void putIfAbsent(K key, VersionedValue<V> value) {
+      put(key, value, true);
+   }
+
+   private void put(K key, VersionedValue<V> value, boolean onlyIfAbsent) {
+      byte[] keyBytes = marshall(key);
+      byte[] valueBytes = marshall(value.getValue());
+      int hash = hash(keyBytes);
+      segmentFor(hash).put(hash, keyBytes, valueBytes, value.getVersion(), onlyIfAbsent);
+   }
+
+   @Override
+   public void remove(K key) {
+      byte[] keyBytes = marshall(key);
+      int hash = hash(keyBytes);
+      segmentFor(hash).remove(hash, keyBytes);
+   }
+
+   @Override
+   public VersionedValue<V> get(K key) {
+      byte[] keyBytes = marshall(key);
+      int hash = hash(keyBytes);
+      long[] version = new long[1];
+      byte[] valueBytes = segmentFor(hash).get(hash, keyBytes, version);
+      if (valueBytes == null) {
+         return null;
+      }
+      V value = unmarshall(valueBytes);
+      return value == null ? null : new VersionedValueImpl<>(version[0], value);
+   }
+
+   @Override
+   public void clear() {
+      for (Segment segment : segments) {
+         segment.clear();
+      }
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public void forEachKey(Consumer<? super K> action) {
+      for (Segment segment : segments) {
+         // Unmarshalled outside of the segment lock
+         for (byte[] keyBytes : segment.keys()) {
+            try {
+               action.accept((K) marshaller.objectFromByteBuffer(keyBytes));
+            } catch (IOException | ClassNotFoundException e) {
+               log.unableToUnmarshallBytesError("key", Util.toStr(keyBytes), e);
+            }
+         }
+      }
+   }
+
+   /**
+    * @return the number of bytes of native memory used by the entries
+    */
+   long memoryUsed() {
+      long memory = 0;
+      for (Segment segment : segments) {
+         synchronized (segment) {
+            memory += segment.memory;
+         }
+      }
+      return memory;
+   }
+
+   int size() {
+      int size = 0;
+      for (Segment segment : segments) {
+         synchronized (segment) {
+            size += segment.count;
+         }
+      }
+      return size;
+   }
+
+   private Segment segmentFor(int hash) {
+      return segments[(hash >>> segmentShift) & (segments.length - 1)];
+   }
+
+   private byte[] marshall(Object o) {
+      try {
+         return marshaller.objectToByteBuffer(o);
+      } catch (IOException e) {
+         throw new HotRodClientException("Unable to marshall object of type [" + o.getClass().getName() + "]", e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new HotRodClientException(e);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private V unmarshall(byte[] bytes) {
+      try {
+         return (V) marshaller.objectFromByteBuffer(bytes);
+      } catch (Exception e) {
+         log.unableToUnmarshallBytesError("value", Util.toStr(bytes), e);
+         return null;
+      }
+   }
+
+   private static int hash(byte[] bytes) {
+      int h = Arrays.hashCode(bytes);
+      // The high bits select the segment and the low bits the bucket, so mix them both
+      h ^= h >>> 16;
+      h *= 0x85ebca6b;
+      h ^= h >>> 13;
+      return h;
+   }
+
+   @SuppressWarnings("restriction")
+   private static Unsafe getUnsafe() {
+      Object maybeUnsafe = AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+         try {
+            Field unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            return unsafeField.get(null);
+         } catch (NoSuchFieldException | SecurityException | IllegalAccessException e) {
+            return e;
+         }
+      });
+      if (maybeUnsafe instanceof Exception) {
+         throw new HotRodClientException((Exception) maybeUnsafe);
+      }
+      return (Unsafe) maybeUnsafe;
+   }
+
+   /**
+    * A hash table of entries with its own LRU list, guarded by the segment monitor.
+    */
+   private static final class Segment {
+      private final int maxEntries;
+      private final long maxMemory;
+      private long[] buckets = new long[16];
+      private int count;
+      private long memory;
+      // Least recently used entry
+      private long lruHead;
+      // Most recently used entry
+      private long lruTail;
+
+      Segment(int maxEntries, long maxMemory) {
+         this.maxEntries = maxEntries;
+         this.maxMemory = maxMemory;
+      }
+
+      synchronized void put(int hash, byte[] key, byte[] value, long version, boolean onlyIfAbsent) {
+         long existing = find(hash, key);
+         if (existing != 0) {
+            if (onlyIfAbsent) {
+               return;
+            }
+            remove(existing);
+         }
+         long size = HEADER_LENGTH + key.length + value.length;
+         if (maxMemory > 0 && size > maxMemory) {
+            // It would evict everything else and still not fit
+            return;
+         }
+         long address = UNSAFE.allocateMemory(size);
+         UNSAFE.putLong(address + VERSION_OFFSET, version);
+         UNSAFE.putInt(address + HASH_OFFSET, hash);
+         UNSAFE.putInt(address + KEY_LENGTH_OFFSET, key.length);
+         UNSAFE.putInt(address + VALUE_LENGTH_OFFSET, value.length);
+         UNSAFE.copyMemory(key, Unsafe.ARRAY_BYTE_BASE_OFFSET, null, address + HEADER_LENGTH, key.length);
+         UNSAFE.copyMemory(value, Unsafe.ARRAY_BYTE_BASE_OFFSET, null, address + HEADER_LENGTH + key.length,
+               value.length);
+
+         int bucket = hash & (buckets.length - 1);
+         UNSAFE.putLong(address + NEXT_OFFSET, buckets[bucket]);
+         buckets[bucket] = address;
+         linkLast(address);
+         count++;
+         memory += size;
+
+         while (lruHead != address && ((maxEntries > 0 && count > maxEntries) || (maxMemory > 0 && memory > maxMemory))) {
+            remove(lruHead);
+         }
+         if (count > buckets.length - (buckets.length >>> 2)) {
+            resize();
+         }
+      }
+
+      synchronized byte[] get(int hash, byte[] key, long[] version) {
+         long address = find(hash, key);
+         if (address == 0) {
+            return null;
+         }
+         if (address != lruTail) {
+            unlink(address);
+            linkLast(address);
+         }
+         version[0] = UNSAFE.getLong(address + VERSION_OFFSET);
+         int keyLength = UNSAFE.getInt(address + KEY_LENGTH_OFFSET);
+         byte[] value = new byte[UNSAFE.getInt(address + VALUE_LENGTH_OFFSET)];
+         UNSAFE.copyMemory(null, address + HEADER_LENGTH + keyLength, value, Unsafe.ARRAY_BYTE_BASE_OFFSET,
+               value.length);
+         return value;
+      }
+
+      synchronized void remove(int hash, byte[] key) {
+         long address = find(hash, key);
+         if (address != 0) {
+            remove(address);
+         }
+      }
+
+      synchronized List<byte[]> keys() {
+         List<byte[]> keys = new ArrayList<>(count);
+         for (long address = lruHead; address != 0; address = UNSAFE.getLong(address + LRU_AFTER_OFFSET)) {
+            byte[] key = new byte[UNSAFE.getInt(address + KEY_LENGTH_OFFSET)];
+            UNSAFE.copyMemory(null, address + HEADER_LENGTH, key, Unsafe.ARRAY_BYTE_BASE_OFFSET, key.length);
+            keys.add(key);
+         }
+         return keys;
+      }
+
+      synchronized void clear() {
+         long address = lruHead;
+         while (address != 0) {
+            long next = UNSAFE.getLong(address + LRU_AFTER_OFFSET);
+            UNSAFE.freeMemory(address);
+            address = next;
+         }
+         lruHead = lruTail = 0;
+         Arrays.fill(buckets, 0);
+         count = 0;
+         memory = 0;
+      }
+
+      private long find(int hash, byte[] key) {
+         long address = buckets[hash & (buckets.length - 1)];
+         while (address != 0) {
+            if (UNSAFE.getInt(address + HASH_OFFSET) == hash && keyEquals(address, key)) {
+               return address;
+            }
+            address = UNSAFE.getLong(address + NEXT_OFFSET);
+         }
+         return 0;
+      }
+
+      private static boolean keyEquals(long address, byte[] key) {
+         if (UNSAFE.getInt(address + KEY_LENGTH_OFFSET) != key.length) {
+            return false;
+         }
+         long keyAddress = address + HEADER_LENGTH;
+         for (int i = 0; i < key.length; ++i) {
+            if (UNSAFE.getByte(keyAddress + i) != key[i]) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      private void remove(long address) {
+         int bucket = UNSAFE.getInt(address + HASH_OFFSET) & (buckets.length - 1);
+         long next = UNSAFE.getLong(address + NEXT_OFFSET);
+         long current = buckets[bucket];
+         if (current == address) {
+            buckets[bucket] = next;
+         } else {
+            long previous;
+            do {
+               previous = current;
+               current = UNSAFE.getLong(current + NEXT_OFFSET);
+            } while (current != address);
+            UNSAFE.putLong(previous + NEXT_OFFSET, next);
+         }
+         unlink(address);
+         count--;
+         memory -= HEADER_LENGTH + UNSAFE.getInt(address + KEY_LENGTH_OFFSET) +
+               UNSAFE.getInt(address + VALUE_LENGTH_OFFSET);
+         UNSAFE.freeMemory(address);
+      }
+
+      private void linkLast(long address) {
+         UNSAFE.putLong(address + LRU_BEFORE_OFFSET, lruTail);
+         UNSAFE.putLong(address + LRU_AFTER_OFFSET, 0);
+         if (lruTail != 0) {
+            UNSAFE.putLong(lruTail + LRU_AFTER_OFFSET, address);
+         } else {
+            lruHead = address;
+         }
+         lruTail = address;
+      }
+
+      private void unlink(long address) {
+         long before = UNSAFE.getLong(address + LRU_BEFORE_OFFSET);
+         long after = UNSAFE.getLong(address + LRU_AFTER_OFFSET);
+         if (before != 0) {
+            UNSAFE.putLong(before + LRU_AFTER_OFFSET, after);
+         } else {
+            lruHead = after;
+         }
+         if (after != 0) {
+            UNSAFE.putLong(after + LRU_BEFORE_OFFSET, before);
+         } else {
+            lruTail = before;
+         }
+      }
+
+      private void resize() {
+         long[] newBuckets = new long[buckets.length << 1];
+         int mask = newBuckets.length - 1;
+         for (long address : buckets) {
+            while (address != 0) {
+               long next = UNSAFE.getLong(address + NEXT_OFFSET);
+               int bucket = UNSAFE.getInt(address + HASH_OFFSET) & mask;
+               UNSAFE.putLong(address + NEXT_OFFSET, newBuckets[bucket]);
+               newBuckets[bucket] = address;
+               address = next;
+            }
+         }
+         buckets = newBuckets;
+      }
+   }
+}
@@ -0,0 +1,51 @@
+package org.infinispan.client.hotrod.statistics;
+
+import java.net.SocketAddress;
+
+/**
+ * Receives the measurements taken by the client when statistics are enabled, e.g. to forward them to a monitoring
+ * system.  The methods are invoked synchronously by the threads executing the operations, including the event loop of
+ * the multiplexed connections, so they must be fast and must not block.
+ *
+ * @since 9.0
+ * @see org.infinispan.client.hotrod.configuration.StatisticsConfigurationBuilder#addListener(ClientStatisticsListener)
+ */
+public interface ClientStatisticsListener {
+
+   /**
+    * An operation completed, including its retries.
+    *
+    * @param operation the name of the operation, e.g. {@code Get} or {@code PutAll}
+    * @param durationNanos the time spent in the client, from the invocation to the result
+    */
+   default void operationCompleted(String cacheName, String operation, long durationNanos, boolean successful) {
+   }
+
+   /**
+    * A connection was borrowed from the pool.
+    *
+    * @param waitNanos the time spent waiting for the connection, including the time to open it
+    */
+   default void connectionAcquired(SocketAddress server, long waitNanos) {
+   }
+
+   /**
+    * A server answered a request.
+    *
+    * @param durationNanos the time from writing the request to reading the whole response
+    */
+   default void responseReceived(SocketAddress server, long durationNanos) {
+   }
+
+   /**
+    * A request failed because of the connection or the server, and is going to be retried.
+    */
+   default void requestRetried(String cacheName, String operation, SocketAddress server, Throwable cause) {
+   }
+
+   /**
+    * A read was served by the near cache, or had to go to the server.
+    */
+   default void nearCacheRead(String cacheName, boolean hit) {
+   }
+}
@@ -0,0 +1,131 @@
+package org.infinispan.client.hotrod.statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Records durations in nanoseconds with a bounded relative error, in the spirit of HdrHistogram: each power of two
+ * is split in {@value #SUB_BUCKETS} linear buckets, so a percentile is at most ~3% above the recorded value, whatever
+ * its magnitude.  Durations longer than about 36 minutes are recorded in the last bucket.
+ * <p>
+ * Recording only updates a few atomic counters and never allocates.  The queries read the buckets without stopping
+ * the recording threads, so they may miss the values recorded while they run.
+ *
+ * @since 9.0
+ */
+@ThreadSafe
+public final class LatencyHistogram {
+   private static final int SUB_BUCKET_BITS = 5;
+   private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+   private static final int MAX_EXPONENT = 40;
+   private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+   private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+   private final LongAdder count = new LongAdder();
+   private final LongAdder total = new LongAdder();
+   private final AtomicLong max = new AtomicLong();
+
+   public void record(long nanos) {
+      if (nanos < 0) {
+         nanos = 0;
+      }
+      buckets.incrementAndGet(bucket(nanos));
+      count.increment();
+      total.add(nanos);
+      long currentMax = max.get();
+      while (nanos > currentMax && !max.compareAndSet(currentMax, nanos)) {
+         currentMax = max.get();
+      }
+   }
+
+   /**
+    * @return the number of recorded durations
+    */
+   public long getCount() {
+      return count.sum();
+   }
+
+   /**
+    * @return the average of the recorded durations in nanoseconds, or 0 if nothing was recorded
+    */
+   public long getMeanNanos() {
+      long count = this.count.sum();
+      return count == 0 ? 0 : total.sum() / count;
+   }
+
+   /**
+    * @return the longest recorded duration in nanoseconds
+    */
+   public long getMaxNanos() {
+      return max.get();
+   }
+
+   /**
+    * @param percentile between 0 and 100, e.g. 99.9
+    * @return the duration in nanoseconds below which the given percentage of the recorded durations fall, or 0 if
+    * nothing was recorded
+    */
+   public long getPercentileNanos(double percentile) {
+      if (percentile < 0 || percentile > 100) {
+         throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+      }
+      long[] snapshot = new long[BUCKETS];
+      long count = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         snapshot[i] = buckets.get(i);
+         count += snapshot[i];
+      }
+      if (count == 0) {
+         return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         seen += snapshot[i];
+         if (seen >= rank) {
+            // The last bucket has no upper bound
+            return i == BUCKETS - 1 ? max.get() : Math.min(highestValue(i), max.get());
+         }
+      }
+      return max.get();
+   }
+
+   public void reset() {
+      for (int i = 0; i < BUCKETS; i++) {
+         buckets.set(i, 0);
+      }
+      count.reset();
+      total.reset();
+      max.set(0);
+   }
+
+   static int bucket(long value) {
+      if (value < SUB_BUCKETS) {
+         return (int) value;
+      }
+      int exponent = 63 - Long.numberOfLeadingZeros(value);
+      if (exponent > MAX_EXPONENT) {
+         return BUCKETS - 1;
+      }
+      int shift = exponent - SUB_BUCKET_BITS;
+      return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+   }
+
+   static long highestValue(int bucket) {
+      if (bucket < SUB_BUCKETS) {
+         return bucket;
+      }
+      int shift = bucket / SUB_BUCKETS - 1;
+      long subBucket = bucket % SUB_BUCKETS;
+      return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+   }
+
+   @Override
+   public String toString() {
+      return "LatencyHistogram{count=" + getCount() + ", mean=" + getMeanNanos() + ", p99=" + getPercentileNanos(99)
+            + ", max=" + getMaxNanos() + "}";
+   }
+}
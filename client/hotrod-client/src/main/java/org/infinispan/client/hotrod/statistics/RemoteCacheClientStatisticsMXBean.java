@@ -0,0 +1,53 @@
+package org.infinispan.client.hotrod.statistics;
+
+import java.util.Map;
+
+/**
+ * Client side statistics of a {@link org.infinispan.client.hotrod.RemoteCache}, by operation.  The operations are
+ * identified by their name, e.g. {@code Get} or {@code PutAll}, and the durations, measured from the invocation to
+ * the result including the retries, are in nanoseconds.
+ *
+ * @since 9.0
+ */
+public interface RemoteCacheClientStatisticsMXBean {
+
+   /**
+    * @return the number of completed invocations of each operation
+    */
+   Map<String, Long> getOperationCounts();
+
+   Map<String, Long> getAverageOperationTimesNanos();
+
+   Map<String, Long> getMedianOperationTimesNanos();
+
+   Map<String, Long> get99thPercentileOperationTimesNanos();
+
+   Map<String, Long> getMaxOperationTimesNanos();
+
+   /**
+    * @param percentile between 0 and 100, e.g. 99.9
+    * @return the given percentile of the durations of an operation, or -1 if it was never invoked
+    */
+   long getOperationTimePercentileNanos(String operation, double percentile);
+
+   /**
+    * @return the number of operations that failed, after their retries
+    */
+   long getFailures();
+
+   /**
+    * @return the number of requests that failed and were retried
+    */
+   long getRetries();
+
+   long getNearCacheHits();
+
+   long getNearCacheMisses();
+
+   /**
+    * @return the ratio of the near cache reads that were hits, between 0 and 1, or 0 if there was no read
+    */
+   double getNearCacheHitRatio();
+
+   void resetStatistics();
+}
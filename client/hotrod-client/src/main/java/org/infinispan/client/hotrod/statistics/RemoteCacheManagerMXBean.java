@@ -0,0 +1,66 @@
+package org.infinispan.client.hotrod.statistics;
+
+import java.util.Map;
+
+/**
+ * Client side statistics of a {@link org.infinispan.client.hotrod.RemoteCacheManager}, by server.  The servers are
+ * identified by their address, as returned by {@link java.net.SocketAddress#toString()}, and the durations are in
+ * nanoseconds.
+ *
+ * @since 9.0
+ */
+public interface RemoteCacheManagerMXBean {
+
+   /**
+    * @return the number of requests sent to each server and still waiting for their response
+    */
+   Map<String, Integer> getInFlightRequests();
+
+   /**
+    * @return the number of pooled connections to each server that are currently borrowed
+    */
+   Map<String, Integer> getActiveConnections();
+
+   /**
+    * @return the number of pooled connections to each server that are currently idle
+    */
+   Map<String, Integer> getIdleConnections();
+
+   /**
+    * @return the number of responses received from each server
+    */
+   Map<String, Long> getResponseCounts();
+
+   /**
+    * @return the average time between writing a request to each server and reading its response
+    */
+   Map<String, Long> getAverageResponseTimesNanos();
+
+   /**
+    * @return the 99th percentile of the time between writing a request to each server and reading its response
+    */
+   Map<String, Long> get99thPercentileResponseTimesNanos();
+
+   /**
+    * @return the average time spent waiting for a pooled connection to each server
+    */
+   Map<String, Long> getAverageConnectionWaitTimesNanos();
+
+   /**
+    * @return the 99th percentile of the time spent waiting for a pooled connection to each server
+    */
+   Map<String, Long> get99thPercentileConnectionWaitTimesNanos();
+
+   /**
+    * @return the number of requests to each server that failed and were retried
+    */
+   Map<String, Long> getRetries();
+
+   /**
+    * @param percentile between 0 and 100, e.g. 99.9
+    * @return the given percentile of the response times of a server, or -1 if no request was sent to it
+    */
+   long getResponseTimePercentileNanos(String server, double percentile);
+
+   void resetStatistics();
+}
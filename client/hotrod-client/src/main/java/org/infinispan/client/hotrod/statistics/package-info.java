@@ -0,0 +1,6 @@
+/**
+ * Hot Rod client statistics API.
+ *
+ * @public
+ */
+package org.infinispan.client.hotrod.statistics;
@@ -0,0 +1,55 @@
+package org.infinispan.client.hotrod;
+
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.client.hotrod.test.MultiHotRodServersTest;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the operations against clustered servers invoking the simple key operations asynchronously.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.AsyncExecutionDistTest")
+public class AsyncExecutionDistTest extends MultiHotRodServersTest {
+
+   private static final int NUM_SERVERS = 2;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createHotRodServers(NUM_SERVERS, hotRodCacheConfiguration(getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false)));
+   }
+
+   @Override
+   protected HotRodServer addHotRodServer(ConfigurationBuilder builder) {
+      EmbeddedCacheManager cm = addClusterEnabledCacheManager(builder);
+      HotRodServerConfigurationBuilder serverBuilder = new HotRodServerConfigurationBuilder();
+      serverBuilder.asyncExecution(true);
+      HotRodServer server = HotRodClientTestingUtil.startHotRodServer(cm, serverBuilder);
+      servers.add(server);
+      return server;
+   }
+
+   public void testOperations() throws Exception {
+      RemoteCache<String, String> remoteCache0 = client(0).getCache();
+      RemoteCache<String, String> remoteCache1 = client(1).getCache();
+      for (int i = 0; i < 10; i++) {
+         String key = "k" + i;
+         assertNull(remoteCache0.put(key, "v" + i));
+         assertEquals("v" + i, remoteCache1.get(key));
+         assertEquals("v" + i, remoteCache1.getAsync(key).get(10, TimeUnit.SECONDS));
+         assertEquals("v" + i, remoteCache1.withFlags(Flag.FORCE_RETURN_VALUE).remove(key));
+         assertNull(remoteCache0.get(key));
+      }
+   }
+}
@@ -0,0 +1,106 @@
+package org.infinispan.client.hotrod;
+
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.infinispan.commons.executors.BlockingThreadPoolExecutorFactory;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.transaction.TransactionMode;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the operations against a server invoking the simple key operations asynchronously.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.AsyncExecutionTest")
+public class AsyncExecutionTest extends SingleHotRodServerTest {
+
+   private static final String TX_CACHE = "tx";
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      GlobalConfigurationBuilder globalBuilder = new GlobalConfigurationBuilder().nonClusteredDefault();
+      // A single thread and queue slot, so that the test can saturate the executor of the asynchronous cache API
+      globalBuilder.asyncThreadPool().threadPoolFactory(new BlockingThreadPoolExecutorFactory(1, 1, 1, 60000));
+      EmbeddedCacheManager cacheManager = TestCacheManagerFactory.createCacheManager(globalBuilder,
+            hotRodCacheConfiguration());
+      ConfigurationBuilder txBuilder = hotRodCacheConfiguration();
+      txBuilder.transaction().transactionMode(TransactionMode.TRANSACTIONAL);
+      cacheManager.defineConfiguration(TX_CACHE, txBuilder.build());
+      return cacheManager;
+   }
+
+   @Override
+   protected HotRodServer createHotRodServer() {
+      HotRodServerConfigurationBuilder builder = new HotRodServerConfigurationBuilder();
+      builder.asyncExecution(true);
+      return HotRodClientTestingUtil.startHotRodServer(cacheManager, builder);
+   }
+
+   public void testOperations() {
+      assertOperations(remoteCacheManager.getCache());
+   }
+
+   public void testOperationsOnTransactionalCache() {
+      // The operations on transactional caches are always executed by the worker threads
+      assertOperations(remoteCacheManager.getCache(TX_CACHE));
+   }
+
+   public void testOperationsWithSaturatedAsyncExecutor() throws Exception {
+      ExecutorService asyncExecutor = cacheManager.getGlobalComponentRegistry().getComponent(ExecutorService.class,
+            KnownComponentNames.ASYNC_OPERATIONS_EXECUTOR);
+      CountDownLatch release = new CountDownLatch(1);
+      // Occupy the thread and the queue, any other task would be run by the submitting thread
+      for (int i = 0; i < 2; i++) {
+         asyncExecutor.submit(() -> {
+            release.await();
+            return null;
+         });
+      }
+      RemoteCacheManager otherRemoteCacheManager = getRemoteCacheManager();
+      try {
+         RemoteCache<String, String> remoteCache = remoteCacheManager.getCache();
+         RemoteCache<String, String> otherRemoteCache = otherRemoteCacheManager.getCache();
+         // The transport threads must not be blocked by the saturated executor
+         assertNull(remoteCache.putAsync("k3", "v1").get(10, TimeUnit.SECONDS));
+         assertEquals("v1", otherRemoteCache.getAsync("k3").get(10, TimeUnit.SECONDS));
+         assertNull(otherRemoteCache.putAsync("k4", "v2").get(10, TimeUnit.SECONDS));
+         assertEquals("v2", remoteCache.getAsync("k4").get(10, TimeUnit.SECONDS));
+         otherRemoteCache.removeAsync("k3").get(10, TimeUnit.SECONDS);
+         assertNull(remoteCache.getAsync("k3").get(10, TimeUnit.SECONDS));
+      } finally {
+         release.countDown();
+         HotRodClientTestingUtil.killRemoteCacheManager(otherRemoteCacheManager);
+      }
+   }
+
+   private void assertOperations(RemoteCache<String, String> remoteCache) {
+      assertNull(remoteCache.put("k1", "v1"));
+      assertEquals("v1", remoteCache.get("k1"));
+      assertEquals("v1", remoteCache.withFlags(Flag.FORCE_RETURN_VALUE).put("k1", "v2"));
+      assertEquals("v2", remoteCache.get("k1"));
+
+      remoteCache.put("k2", "v", 1, TimeUnit.HOURS);
+      assertEquals(TimeUnit.HOURS.toSeconds(1), remoteCache.getWithMetadata("k2").getLifespan());
+
+      assertEquals("v2", remoteCache.withFlags(Flag.FORCE_RETURN_VALUE).remove("k1"));
+      assertNull(remoteCache.withFlags(Flag.FORCE_RETURN_VALUE).remove("k1"));
+      assertFalse(remoteCache.containsKey("k1"));
+      assertNull(remoteCache.get("k1"));
+   }
+}
@@ -4,14 +4,18 @@
 import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killServers;
 import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.server.hotrod.HotRodServer;
@@ -53,10 +57,14 @@ protected void createCacheManagers() throws Throwable {
       org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder =
             new org.infinispan.client.hotrod.configuration.ConfigurationBuilder();
       clientBuilder.addServers(servers);
+      configureClient(clientBuilder);
       remoteCacheManager = new RemoteCacheManager(clientBuilder.build());
       remoteCache = remoteCacheManager.getCache();
    }
 
+   protected void configureClient(org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder) {
+   }
+
    @AfterClass(alwaysRun = true)
    public void release() {
       killRemoteCacheManager(remoteCacheManager);
@@ -81,6 +89,44 @@ public void testBulkGetKeys() {
       }
    }
 
+   public void testBulkGetMoreKeysThanRequestSize() {
+      // More keys than a single request can hold, whatever the number of servers
+      int size = 5000;
+      Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
+      for (int i = 0; i < size; i++) {
+         entries.put(i, i);
+      }
+      remoteCache.putAll(entries);
+      Map<Object, Object> map = remoteCache.getAll(entries.keySet());
+      assertEquals(size, map.size());
+      for (int i = 0; i < size; i++) {
+         assertEquals(i, map.get(i));
+      }
+   }
+
+   public void testRetrieveAll() {
+      Set<Integer> keys = new HashSet<>(populateCacheManager());
+      keys.add(1000);
+      Map<Object, Object> map = new HashMap<>();
+      try (CloseableIterator<Entry<Object, Object>> it = remoteCache.retrieveAll(keys, 7)) {
+         it.forEachRemaining(e -> assertNull(map.put(e.getKey(), e.getValue())));
+      }
+      assertEquals(100, map.size());
+      for (int i = 0; i < 100; i++) {
+         assertEquals(i, map.get(i));
+      }
+   }
+
+   public void testRetrieveAllClosedEarly() {
+      Set<Integer> keys = populateCacheManager();
+      try (CloseableIterator<Entry<Object, Object>> it = remoteCache.retrieveAll(keys, 10)) {
+         assertTrue(it.hasNext());
+         it.next();
+      }
+      // The connections are still usable
+      assertEquals(100, remoteCache.getAll(keys).size());
+   }
+
    public void testBulkGetAfterLifespanExpire() throws InterruptedException {
       Map<String, String> dataIn = new HashMap<String, String>();
       dataIn.put("aKey", "aValue");
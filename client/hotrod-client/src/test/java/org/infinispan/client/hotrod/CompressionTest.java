@@ -0,0 +1,124 @@
+package org.infinispan.client.hotrod;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.server.hotrod.configuration.CompressionMode;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the values exchanged compressed between the clients and a server compressing them on the wire only.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.CompressionTest")
+public class CompressionTest extends SingleHotRodServerTest {
+
+   private static final int THRESHOLD = 64;
+
+   private RemoteCacheManager plainRemoteCacheManager;
+
+   protected CompressionMode compressionMode() {
+      return CompressionMode.WIRE;
+   }
+
+   @Override
+   protected void setup() throws Exception {
+      super.setup();
+      org.infinispan.client.hotrod.configuration.ConfigurationBuilder builder =
+            new org.infinispan.client.hotrod.configuration.ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort()).protocolVersion("2.6");
+      plainRemoteCacheManager = new InternalRemoteCacheManager(builder.build());
+   }
+
+   @Override
+   protected HotRodServer createHotRodServer() {
+      HotRodServerConfigurationBuilder builder = new HotRodServerConfigurationBuilder();
+      builder.compression(compressionMode()).compressionThreshold(THRESHOLD);
+      return HotRodClientTestingUtil.startHotRodServer(cacheManager, builder);
+   }
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      org.infinispan.client.hotrod.configuration.ConfigurationBuilder builder =
+            new org.infinispan.client.hotrod.configuration.ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort())
+            .protocolVersion("2.7").compressionThreshold(THRESHOLD);
+      return new InternalRemoteCacheManager(builder.build());
+   }
+
+   @AfterClass(alwaysRun = true)
+   public void shutDownPlainClient() {
+      killRemoteCacheManager(plainRemoteCacheManager);
+   }
+
+   private static String largeValue(String prefix) {
+      StringBuilder sb = new StringBuilder(prefix);
+      for (int i = 0; i < 100; i++) {
+         sb.append(" compressible");
+      }
+      return sb.toString();
+   }
+
+   public void testOperations() {
+      RemoteCache<String, String> remoteCache = remoteCacheManager.getCache();
+      String large = largeValue("v1");
+      assertNull(remoteCache.put("k1", large));
+      assertEquals(large, remoteCache.get("k1"));
+      assertNull(remoteCache.putIfAbsent("k2", "small"));
+      assertEquals("small", remoteCache.get("k2"));
+
+      MetadataValue<String> metadata = remoteCache.getWithMetadata("k1");
+      assertEquals(large, metadata.getValue());
+      assertEquals(large, remoteCache.getVersioned("k1").getValue());
+
+      String replacement = largeValue("v2");
+      assertTrue(remoteCache.replaceWithVersion("k1", replacement, metadata.getVersion()));
+      assertEquals(replacement, remoteCache.withFlags(Flag.FORCE_RETURN_VALUE).replace("k1", large));
+      assertEquals(large, remoteCache.withFlags(Flag.FORCE_RETURN_VALUE).put("k1", "small"));
+      assertEquals("small", remoteCache.withFlags(Flag.FORCE_RETURN_VALUE).remove("k1"));
+      assertFalse(remoteCache.containsKey("k1"));
+   }
+
+   public void testClientsWithoutCompression() {
+      RemoteCache<String, String> remoteCache = remoteCacheManager.getCache();
+      RemoteCache<String, String> plainCache = plainRemoteCacheManager.getCache();
+      String large = largeValue("v1");
+      remoteCache.put("compressed", large);
+      plainCache.put("plain", large);
+
+      assertEquals(large, plainCache.get("compressed"));
+      assertEquals(large, remoteCache.get("plain"));
+      assertEquals(large, plainCache.withFlags(Flag.FORCE_RETURN_VALUE).put("compressed", "small"));
+
+      Map<String, String> entries = remoteCache.getAll(new HashSet<>(Arrays.asList("compressed", "plain")));
+      assertEquals("small", entries.get("compressed"));
+      assertEquals(large, entries.get("plain"));
+   }
+
+   public void testStoredValues() throws Exception {
+      RemoteCache<String, String> remoteCache = remoteCacheManager.getCache();
+      String large = largeValue("stored");
+      remoteCache.put("stored", large);
+      byte[] marshalled = remoteCacheManager.getMarshaller().objectToByteBuffer(large);
+      byte[] stored = (byte[]) cache.get(remoteCacheManager.getMarshaller().objectToByteBuffer("stored"));
+      assertStoredValue(marshalled, stored);
+   }
+
+   protected void assertStoredValue(byte[] marshalled, byte[] stored) {
+      assertTrue(Arrays.equals(marshalled, stored));
+   }
+}
@@ -0,0 +1,75 @@
+package org.infinispan.client.hotrod;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransportFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests getAll and putAll on a distributed cache when a server fails while the requests are written, and it still has
+ * more requests to receive.
+ *
+ * @since 9.0
+ */
+@Test(testName = "client.hotrod.GetAllServerFailureDistTest", groups = "functional")
+public class GetAllServerFailureDistTest extends GetAllDistTest {
+
+   // More keys than the requests to a single server can hold
+   private static final int SIZE = 5000;
+
+   static volatile int failingPort = -1;
+
+   @Override
+   protected void configureClient(ConfigurationBuilder clientBuilder) {
+      clientBuilder.transportFactory(FailingTransportFactory.class);
+   }
+
+   public void testGetAllWithServerFailure() {
+      Map<Integer, Integer> entries = entries();
+      remoteCache.putAll(entries);
+      failingPort = hotrodServers[0].getPort();
+      Map<Object, Object> map = remoteCache.getAll(entries.keySet());
+      assertFalse(failingPort == hotrodServers[0].getPort());
+      assertEquals(entries, map);
+   }
+
+   public void testPutAllWithServerFailure() {
+      // The first putAll makes sure the client knows the owners of the keys
+      remoteCache.putAll(entries());
+      Map<Integer, Integer> entries = new HashMap<>();
+      entries().forEach((k, v) -> entries.put(k, v + 1));
+      failingPort = hotrodServers[0].getPort();
+      remoteCache.putAll(entries);
+      assertFalse(failingPort == hotrodServers[0].getPort());
+      assertEquals(entries, remoteCache.getAll(entries.keySet()));
+   }
+
+   private Map<Integer, Integer> entries() {
+      Map<Integer, Integer> entries = new HashMap<>();
+      for (int i = 0; i < SIZE; i++) {
+         entries.put(i, i);
+      }
+      return entries;
+   }
+
+   public static class FailingTransportFactory extends TcpTransportFactory {
+      @Override
+      public Transport getAddressTransport(SocketAddress server) {
+         if (((InetSocketAddress) server).getPort() == failingPort) {
+            // Fail the first request to the server only
+            failingPort = -1;
+            throw new TransportException("Injected failure", server);
+         }
+         return super.getAddressTransport(server);
+      }
+   }
+}
@@ -0,0 +1,94 @@
+package org.infinispan.client.hotrod;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.infinispan.client.hotrod.impl.transport.tcp.LoadAwareBalancingStrategy;
+import org.infinispan.client.hotrod.impl.transport.tcp.ServerLoadTracker;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "client.hotrod.LoadAwareBalancingStrategyTest")
+public class LoadAwareBalancingStrategyTest {
+
+   SocketAddress addr1 = new InetSocketAddress("localhost", 1111);
+   SocketAddress addr2 = new InetSocketAddress("localhost", 2222);
+   SocketAddress addr3 = new InetSocketAddress("localhost", 3333);
+   private ServerLoadTracker loadTracker;
+   private LoadAwareBalancingStrategy strategy;
+
+   @BeforeMethod
+   public void setUp() {
+      loadTracker = new ServerLoadTracker();
+      strategy = new LoadAwareBalancingStrategy();
+      strategy.setLoadTracker(loadTracker);
+      strategy.setServers(Arrays.asList(addr1, addr2));
+   }
+
+   public void testAvoidsServerWithRequestsInFlight() {
+      for (int i = 0; i < 10; i++) {
+         loadTracker.requestSent(addr1);
+      }
+      for (int i = 0; i < 100; i++) {
+         assertEquals(addr2, strategy.nextServer(null));
+      }
+   }
+
+   public void testAvoidsSlowServer() {
+      long start = System.nanoTime();
+      loadTracker.requestSent(addr1);
+      loadTracker.responseReceived(addr1, start - 1_000_000_000L);
+      for (int i = 0; i < 100; i++) {
+         assertEquals(addr2, strategy.nextServer(null));
+      }
+   }
+
+   public void testSpreadsRequestsWithoutLoad() {
+      strategy.setServers(Arrays.asList(addr1, addr2, addr3));
+      Set<SocketAddress> selected = new HashSet<>();
+      for (int i = 0; i < 1000; i++) {
+         selected.add(strategy.nextServer(null));
+      }
+      assertEquals(3, selected.size());
+   }
+
+   public void testFailedServersExcluded() {
+      for (int i = 0; i < 10; i++) {
+         loadTracker.requestSent(addr2);
+      }
+      for (int i = 0; i < 100; i++) {
+         assertEquals(addr2, strategy.nextServer(Collections.singleton(addr1)));
+      }
+      // All the servers failed, so they are tried again
+      Set<SocketAddress> failed = new HashSet<>(Arrays.asList(addr1, addr2));
+      assertTrue(failed.contains(strategy.nextServer(failed)));
+   }
+
+   public void testSelectOwner() {
+      SocketAddress[] owners = {addr1, addr2};
+      assertEquals(addr1, loadTracker.selectOwner(owners, null));
+
+      // A little more load on the primary owner is not enough to read from a backup owner
+      loadTracker.requestSent(addr1);
+      assertEquals(addr1, loadTracker.selectOwner(owners, null));
+
+      for (int i = 0; i < 10; i++) {
+         loadTracker.requestSent(addr1);
+      }
+      assertEquals(addr2, loadTracker.selectOwner(owners, null));
+
+      assertEquals(addr1, loadTracker.selectOwner(owners, Collections.singleton(addr2)));
+      assertNull(loadTracker.selectOwner(owners, new HashSet<>(Arrays.asList(addr1, addr2))));
+   }
+}
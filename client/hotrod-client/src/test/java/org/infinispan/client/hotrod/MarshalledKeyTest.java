@@ -0,0 +1,86 @@
+package org.infinispan.client.hotrod;
+
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.impl.MarshalledKeyImpl;
+import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHash;
+import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransportFactory;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.infinispan.client.hotrod.test.MultiHotRodServersTest;
+import org.infinispan.configuration.cache.CacheMode;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the operations on keys marshalled by {@link RemoteCache#marshallKey(Object)}, and the cache of marshalled
+ * keys.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.MarshalledKeyTest")
+public class MarshalledKeyTest extends MultiHotRodServersTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createHotRodServers(3, hotRodCacheConfiguration(getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false)));
+   }
+
+   @Override
+   protected org.infinispan.client.hotrod.configuration.ConfigurationBuilder createHotRodClientConfigurationBuilder(int serverPort) {
+      org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder = super.createHotRodClientConfigurationBuilder(serverPort);
+      clientBuilder.marshalledKeyCacheSize(10);
+      return clientBuilder;
+   }
+
+   public void testOperationsWithMarshalledKey() {
+      RemoteCache<String, String> cache = client(0).getCache();
+      MarshalledKey<String> key = cache.marshallKey("k1");
+      assertEquals("k1", key.getKey());
+
+      assertNull(cache.put(key, "v1"));
+      assertEquals("v1", cache.get("k1"));
+      assertEquals("v1", cache.get(key));
+      assertTrue(cache.containsKey(key));
+
+      MetadataValue<String> metadata = cache.getWithMetadata(key);
+      assertEquals("v1", metadata.getValue());
+      assertTrue(cache.replaceWithVersion(key, "v2", metadata.getVersion()));
+      assertFalse(cache.replaceWithVersion(key, "v3", metadata.getVersion()));
+      assertEquals("v2", cache.get("k1"));
+
+      cache.put(key, "v4", 1, TimeUnit.HOURS, 1, TimeUnit.HOURS);
+      assertEquals(TimeUnit.HOURS.toSeconds(1), cache.getWithMetadata("k1").getLifespan());
+
+      assertEquals("v4", cache.withFlags(Flag.FORCE_RETURN_VALUE).remove(key));
+      assertFalse(cache.containsKey("k1"));
+   }
+
+   public void testMarshalledKeyRouting() {
+      RemoteCache<String, String> cache = client(0).getCache();
+      TcpTransportFactory transportFactory = (TcpTransportFactory) ((InternalRemoteCacheManager) client(0)).getTransportFactory();
+      cache.put("warmup", "v");
+      ConsistentHash consistentHash = transportFactory.getConsistentHash(RemoteCacheManager.cacheNameBytes());
+      for (int i = 0; i < 100; i++) {
+         MarshalledKeyImpl<String> key = (MarshalledKeyImpl<String>) cache.marshallKey("k" + i);
+         assertEquals(consistentHash.getServer(key.getBytes()), consistentHash.getServer(key));
+      }
+   }
+
+   public void testMarshalledKeyCache() {
+      RemoteCache<Object, String> cache = client(0).getCache();
+      byte[] bytes = ((MarshalledKeyImpl<Object>) cache.marshallKey("cached")).getBytes();
+      assertSame(bytes, ((MarshalledKeyImpl<Object>) cache.marshallKey("cached")).getBytes());
+
+      // Only the immutable keys are cached
+      StringBuilder mutable = new StringBuilder("mutable");
+      assertNotSame(((MarshalledKeyImpl<Object>) cache.marshallKey(mutable)).getBytes(),
+            ((MarshalledKeyImpl<Object>) cache.marshallKey(mutable)).getBytes());
+   }
+}
@@ -0,0 +1,18 @@
+package org.infinispan.client.hotrod;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Tests getAll and putAll on a distributed cache, with the requests to each server multiplexed.
+ *
+ * @since 9.0
+ */
+@Test(testName = "client.hotrod.MultiplexedGetAllDistTest", groups = "functional")
+public class MultiplexedGetAllDistTest extends GetAllDistTest {
+
+   @Override
+   protected void configureClient(ConfigurationBuilder clientBuilder) {
+      clientBuilder.multiplexedConnections(2);
+   }
+}
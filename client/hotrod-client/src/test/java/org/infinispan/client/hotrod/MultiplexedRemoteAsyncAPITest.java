@@ -0,0 +1,75 @@
+package org.infinispan.client.hotrod;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.impl.transport.netty.MultiplexedTransport;
+import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransportFactory;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the asynchronous API tests with the operations multiplexed over a few connections.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.MultiplexedRemoteAsyncAPITest")
+public class MultiplexedRemoteAsyncAPITest extends RemoteAsyncAPITest {
+
+   private static final int IN_FLIGHT = 1000;
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.forceReturnValues(isForceReturnValuesViaConfiguration());
+      builder.multiplexedConnections(2);
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      return new InternalRemoteCacheManager(builder.build());
+   }
+
+   private MultiplexedTransport multiplexedTransport() {
+      TcpTransportFactory transportFactory = TestingUtil.extractField(remoteCacheManager, "transportFactory");
+      return transportFactory.getMultiplexedTransport();
+   }
+
+   public void testManyRequestsInFlight() throws Exception {
+      assertNotNull(multiplexedTransport());
+      List<CompletableFuture<String>> puts = new ArrayList<>(IN_FLIGHT);
+      for (int i = 0; i < IN_FLIGHT; i++) {
+         puts.add(remote().putAsync("k" + i, "v" + i));
+      }
+      CompletableFuture.allOf(puts.toArray(new CompletableFuture[IN_FLIGHT])).get(10, TimeUnit.SECONDS);
+
+      List<CompletableFuture<String>> gets = new ArrayList<>(IN_FLIGHT);
+      for (int i = 0; i < IN_FLIGHT; i++) {
+         gets.add(remote().getAsync("k" + i));
+      }
+      for (int i = 0; i < IN_FLIGHT; i++) {
+         assertEquals("v" + i, gets.get(i).get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(IN_FLIGHT, cache.size());
+   }
+
+   public void testValueLargerThanReceiveBuffer() throws Exception {
+      char[] chars = new char[1 << 20];
+      Arrays.fill(chars, 'x');
+      String value = new String(chars);
+      remote().putAsync("large", value).get(10, TimeUnit.SECONDS);
+      assertEquals(value, remote().getAsync("large").get(10, TimeUnit.SECONDS));
+   }
+
+   public void testReconnectAfterChannelClosed() throws Exception {
+      remote().putAsync("k", "v").get(10, TimeUnit.SECONDS);
+      multiplexedTransport().closeChannels(new InetSocketAddress("127.0.0.1", hotrodServer.getPort()));
+      assertEquals("v", remote().getAsync("k").get(10, TimeUnit.SECONDS));
+   }
+}
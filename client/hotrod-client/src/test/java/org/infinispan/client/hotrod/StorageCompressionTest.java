@@ -0,0 +1,31 @@
+package org.infinispan.client.hotrod;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+
+import org.infinispan.commons.io.ValueCompression;
+import org.infinispan.server.hotrod.configuration.CompressionMode;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the values exchanged compressed between the clients and a server storing them compressed.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.StorageCompressionTest")
+public class StorageCompressionTest extends CompressionTest {
+
+   @Override
+   protected CompressionMode compressionMode() {
+      return CompressionMode.STORAGE;
+   }
+
+   @Override
+   protected void assertStoredValue(byte[] marshalled, byte[] stored) {
+      assertEquals(ValueCompression.DEFLATE, stored[0]);
+      assertTrue(stored.length < marshalled.length);
+      assertTrue(Arrays.equals(marshalled, ValueCompression.decompress(stored)));
+   }
+}
@@ -0,0 +1,18 @@
+package org.infinispan.client.hotrod;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Tests getAll and putAll on a distributed cache, with a protocol version streaming the entries of retrieveAll.
+ *
+ * @since 9.0
+ */
+@Test(testName = "client.hotrod.StreamingGetAllDistTest", groups = "functional")
+public class StreamingGetAllDistTest extends GetAllDistTest {
+
+   @Override
+   protected void configureClient(ConfigurationBuilder clientBuilder) {
+      clientBuilder.protocolVersion("2.6");
+   }
+}
@@ -2,6 +2,7 @@
 
 import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertTrue;
@@ -9,6 +10,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
 import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
@@ -208,4 +210,50 @@ public void testReplaceStream() throws Exception {
       assertEquals(V2_SIZE, readAndCheckDataFromStream(k1is));
    }
 
+   private ByteBuffer createBuffer(int length, boolean direct) {
+      ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+      for (int i = 0; i < length; i++) {
+         buffer.put((byte) i);
+      }
+      buffer.flip();
+      return buffer;
+   }
+
+   private void checkBuffer(ByteBuffer buffer, int length) {
+      assertTrue(buffer.isReadOnly());
+      assertEquals(length, buffer.remaining());
+      for (int i = 0; i < length; i++) {
+         assertEquals((byte) i, buffer.get(buffer.position() + i));
+      }
+   }
+
+   public void testPutGetBuffer() throws Exception {
+      assertNull(streamingRemoteCache.getBuffer("k1"));
+
+      ByteBuffer value = createBuffer(V1_SIZE, false);
+      streamingRemoteCache.put("k1", value);
+      assertEquals(0, value.position());
+      checkBuffer(streamingRemoteCache.getBuffer("k1"), V1_SIZE);
+      // The values are stored raw, so they can be read as streams
+      assertEquals(V1_SIZE, readAndCheckDataFromStream(streamingRemoteCache.get("k1")));
+
+      streamingRemoteCache.put("k2", createBuffer(V2_SIZE, true), 5, TimeUnit.MINUTES);
+      ByteBuffer destination = ByteBuffer.allocateDirect(V1_SIZE);
+      destination.position(10);
+      checkBuffer(streamingRemoteCache.get("k2", destination), V2_SIZE);
+      assertEquals(10 + V2_SIZE, destination.position());
+
+      // Too large for the remaining bytes of the destination
+      checkBuffer(streamingRemoteCache.get("k1", destination), V1_SIZE);
+      assertEquals(10 + V2_SIZE, destination.position());
+      assertNull(streamingRemoteCache.get("k3", destination));
+   }
+
+   public void testPutGetBufferAsync() throws Exception {
+      streamingRemoteCache.putAsync("k1", createBuffer(V2_SIZE, true)).get(10, TimeUnit.SECONDS);
+      checkBuffer(streamingRemoteCache.getBufferAsync("k1").get(10, TimeUnit.SECONDS), V2_SIZE);
+      ByteBuffer destination = ByteBuffer.allocate(V2_SIZE);
+      checkBuffer(streamingRemoteCache.getAsync("k1", destination).get(10, TimeUnit.SECONDS), V2_SIZE);
+      assertFalse(destination.hasRemaining());
+   }
 }
@@ -4,13 +4,19 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_CALLBACK_HANDLER;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_CLIENT_SUBJECT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_SERVER_NAME;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.COMPRESSION_THRESHOLD;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECT_TIMEOUT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.HASH_FUNCTION_PREFIX;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.JMX;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.JMX_DOMAIN;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.JMX_NAME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_SIZE_ESTIMATE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_STORE_CERTIFICATE_PASSWORD;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_STORE_FILE_NAME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_STORE_PASSWORD;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.MARSHALLED_KEY_CACHE_SIZE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.MAX_RETRIES;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.MULTIPLEXED_CONNECTIONS;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.REQUEST_BALANCING_STRATEGY;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.SASL_MECHANISM;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.SASL_PROPERTIES_PREFIX;
@@ -19,6 +25,7 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.SO_TIMEOUT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.SSL_CONTEXT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.SSL_PROTOCOL;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.STATISTICS;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.TCP_KEEP_ALIVE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.TCP_NO_DELAY;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.TRANSPORT_FACTORY;
@@ -384,6 +391,111 @@ public void testNegativeRetriesPerServer() {
       builder.build();
    }
 
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: Invalid multiplexed_connections \\(value=-1\\). " +
+               "Value should be greater or equal than zero.")
+   public void testNegativeMultiplexedConnections() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.multiplexedConnections(-1);
+      builder.build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testMultiplexedConnectionsWithAuthentication() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.multiplexedConnections(2);
+      builder.security().authentication().enable().saslMechanism("PLAIN").clientSubject(new Subject());
+      builder.build();
+   }
+
+   public void testMultiplexedConnectionsWithProperties() {
+      Properties p = new Properties();
+      p.setProperty(MULTIPLEXED_CONNECTIONS, "3");
+      Configuration configuration = new ConfigurationBuilder().withProperties(p).build();
+      assertEquals(3, configuration.multiplexedConnections());
+      assertEquals("3", configuration.properties().getProperty(MULTIPLEXED_CONNECTIONS));
+      assertEquals(3, new ConfigurationBuilder().read(configuration).build().multiplexedConnections());
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: Invalid marshalled_key_cache_size \\(value=-1\\). " +
+               "Value should be greater or equal than zero.")
+   public void testNegativeMarshalledKeyCacheSize() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.marshalledKeyCacheSize(-1);
+      builder.build();
+   }
+
+   public void testMarshalledKeyCacheSizeWithProperties() {
+      Properties p = new Properties();
+      p.setProperty(MARSHALLED_KEY_CACHE_SIZE, "100");
+      Configuration configuration = new ConfigurationBuilder().withProperties(p).build();
+      assertEquals(100, configuration.marshalledKeyCacheSize());
+      assertEquals("100", configuration.properties().getProperty(MARSHALLED_KEY_CACHE_SIZE));
+      assertEquals(100, new ConfigurationBuilder().read(configuration).build().marshalledKeyCacheSize());
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: Compressing values requires protocol version 2.7 or later, but 2.6 is configured")
+   public void testCompressionWithOldProtocolVersion() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.protocolVersion("2.6").compressionThreshold(0);
+      builder.build();
+   }
+
+   public void testCompressionThresholdWithProperties() {
+      Properties p = new Properties();
+      p.setProperty(COMPRESSION_THRESHOLD, "2048");
+      Configuration configuration = new ConfigurationBuilder().protocolVersion("2.7").withProperties(p).build();
+      assertEquals(2048, configuration.compressionThreshold());
+      assertEquals("2048", configuration.properties().getProperty(COMPRESSION_THRESHOLD));
+      assertEquals(2048, new ConfigurationBuilder().read(configuration).build().compressionThreshold());
+   }
+
+   public void testStatisticsWithProperties() {
+      Properties p = new Properties();
+      p.setProperty(STATISTICS, "true");
+      p.setProperty(JMX, "true");
+      p.setProperty(JMX_DOMAIN, "my.domain");
+      p.setProperty(JMX_NAME, "myClient");
+      Configuration configuration = new ConfigurationBuilder().withProperties(p).build();
+      assertTrue(configuration.statistics().enabled());
+      assertTrue(configuration.statistics().jmxEnabled());
+      assertEquals("my.domain", configuration.statistics().jmxDomain());
+      assertEquals("myClient", configuration.statistics().jmxName());
+      assertEquals("true", configuration.properties().getProperty(STATISTICS));
+      assertEquals("my.domain", configuration.properties().getProperty(JMX_DOMAIN));
+      Configuration copy = new ConfigurationBuilder().read(configuration).build();
+      assertTrue(copy.statistics().jmxEnabled());
+      assertEquals("myClient", copy.statistics().jmxName());
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: Invalid JMX domain 'bad:domain' for the client statistics")
+   public void testInvalidStatisticsJmxDomain() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.statistics().enable().jmxEnable().jmxDomain("bad:domain");
+      builder.build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: A near cache invalidated with a bloom filter must have a positive number of max entries")
+   public void testBloomFilterNearCacheWithoutMaxEntries() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.protocolVersion("2.6");
+      builder.nearCache().mode(NearCacheMode.INVALIDATED_BLOOM_FILTER).maxEntries(-1);
+      builder.build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: A near cache invalidated with a bloom filter requires protocol version 2.6 or later, but 2.5 is configured")
+   public void testBloomFilterNearCacheWithOldProtocol() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.protocolVersion("2.5");
+      builder.nearCache().mode(NearCacheMode.INVALIDATED_BLOOM_FILTER).maxEntries(100);
+      builder.build();
+   }
+
    @Test(expectedExceptions = CacheConfigurationException.class)
    public void testMissingClusterNameDefinition() {
       ConfigurationBuilder builder = new ConfigurationBuilder();
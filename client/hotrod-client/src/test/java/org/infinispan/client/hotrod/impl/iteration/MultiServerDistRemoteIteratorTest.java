@@ -2,13 +2,17 @@
 
 import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
@@ -94,6 +98,45 @@ public void testIterationRouting() throws Exception {
       }
    }
 
+   public void testParallelIteration() {
+      RemoteCache<Integer, AccountHS> cache = clients.get(0).getCache();
+      populateCache(CACHE_SIZE, this::newAccount, cache);
+
+      try (Stream<Map.Entry<Object, Object>> stream = cache.retrieveEntriesInParallel(null, null, null, 3)) {
+         assertTrue(stream.isParallel());
+         assertEquals(stream.map(Map.Entry::getKey).collect(Collectors.toSet()), rangeAsSet(0, CACHE_SIZE));
+      }
+      assertNoActiveIterations();
+   }
+
+   public void testParallelIterationBySegment() {
+      RemoteCache<Integer, AccountHS> cache = clients.get(0).getCache();
+      populateCache(CACHE_SIZE, this::newAccount, cache);
+      Set<Integer> segments = rangeAsSet(30, 40);
+
+      Set<Map.Entry<Object, Object>> expected = extractEntries(cache.retrieveEntries(null, segments, 10));
+      try (Stream<Map.Entry<Object, Object>> stream = cache.retrieveEntriesInParallel(null, null, segments, 10)) {
+         assertEquals(extractKeys(stream.collect(Collectors.toSet())), extractKeys(expected));
+      }
+   }
+
+   public void testParallelIterationClosedEarly() {
+      RemoteCache<Integer, AccountHS> cache = clients.get(0).getCache();
+      populateCache(CACHE_SIZE, this::newAccount, cache);
+
+      try (Stream<Map.Entry<Object, Object>> stream = cache.retrieveEntriesInParallel(null, null, null, 1)) {
+         Iterator<Map.Entry<Object, Object>> iterator = stream.iterator();
+         iterator.next();
+      }
+      assertNoActiveIterations();
+   }
+
+   private void assertNoActiveIterations() {
+      for (int i = 0; i < servers.size(); i++) {
+         assertEquals(server(i).getIterationManager().activeIterations(), 0L);
+      }
+   }
+
    private void assertIterationActiveOnlyOnServer(int index) {
       for (int i = 0; i < servers.size(); i++) {
          int activeIterations = server(i).getIterationManager().activeIterations();
@@ -0,0 +1,84 @@
+package org.infinispan.client.hotrod.near;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.near.BloomFilterNearCacheTest")
+public class BloomFilterNearCacheTest extends SingleHotRodServerTest {
+
+   private final Set<Object> invalidated = ConcurrentHashMap.newKeySet();
+   private RemoteCacheManager writer;
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.protocolVersion("2.6");
+      builder.nearCache().mode(NearCacheMode.INVALIDATED_BLOOM_FILTER).maxEntries(100).bloomFilterUpdateInterval(50);
+      writer = new InternalRemoteCacheManager(new ConfigurationBuilder()
+            .addServer().host("127.0.0.1").port(hotrodServer.getPort()).build());
+      return new InternalRemoteCacheManager(builder.build()) {
+         @Override
+         protected <K, V> NearCacheService<K, V> createNearCacheService(NearCacheConfiguration cfg) {
+            return new NearCacheService<K, V>(cfg, listenerNotifier) {
+               @Override
+               public void remove(K key) {
+                  invalidated.add(key);
+                  super.remove(key);
+               }
+            };
+         }
+      };
+   }
+
+   @AfterClass(alwaysRun = true)
+   public void killWriter() {
+      killRemoteCacheManager(writer);
+   }
+
+   public void testCachedOnceInFilterAndInvalidated() {
+      RemoteCache<String, String> remote = remoteCacheManager.getCache();
+      NearCacheService<String, String> nearCache = TestingUtil.extractField(remote, "nearcache");
+      writer.<String, String>getCache().put("cached", "v1");
+      // Only cached once the server has a filter with the key
+      eventually(() -> "v1".equals(remote.get("cached")) && nearCache.get("cached") != null);
+
+      writer.<String, String>getCache().put("cached", "v2");
+      eventually(() -> nearCache.get("cached") == null);
+      assertEquals("v2", remote.get("cached"));
+   }
+
+   public void testEventsFilteredByServer() {
+      RemoteCache<String, String> remote = remoteCacheManager.getCache();
+      NearCacheService<String, String> nearCache = TestingUtil.extractField(remote, "nearcache");
+      RemoteCache<String, String> writerCache = writer.getCache();
+      writerCache.put("read", "v1");
+      eventually(() -> "v1".equals(remote.get("read")) && nearCache.get("read") != null);
+
+      writerCache.put("unread", "v1");
+      writerCache.put("read", "v2");
+      // Events are sent in order, so the event of the unread key would have been received first
+      eventually(() -> invalidated.contains("read"));
+      assertFalse(invalidated.contains("unread"));
+      assertNull(nearCache.get("read"));
+   }
+}
@@ -3,6 +3,7 @@
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
 import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.configuration.NearCacheStorage;
 import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
 import org.testng.annotations.Test;
 
@@ -19,7 +20,7 @@ protected RemoteCacheManager getRemoteCacheManager() {
    protected <K, V> AssertsNearCache<K, V> createClient() {
       ConfigurationBuilder builder = new ConfigurationBuilder();
       builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
-      builder.nearCache().mode(getNearCacheMode()).maxEntries(2);
+      builder.nearCache().mode(getNearCacheMode()).maxEntries(2).storage(getNearCacheStorage());
       return AssertsNearCache.create(this.<byte[], Object>cache(), builder);
    }
 
@@ -27,6 +28,10 @@ protected NearCacheMode getNearCacheMode() {
       return NearCacheMode.INVALIDATED;
    }
 
+   protected NearCacheStorage getNearCacheStorage() {
+      return NearCacheStorage.HEAP;
+   }
+
    public void testEvictAfterReachingMax() {
       assertClient.expectNoNearEvents();
       assertClient.put(1, "v1").expectNearRemove(1);
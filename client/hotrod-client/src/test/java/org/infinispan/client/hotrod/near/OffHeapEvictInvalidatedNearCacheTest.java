@@ -0,0 +1,14 @@
+package org.infinispan.client.hotrod.near;
+
+import org.infinispan.client.hotrod.configuration.NearCacheStorage;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "client.hotrod.near.OffHeapEvictInvalidatedNearCacheTest")
+public class OffHeapEvictInvalidatedNearCacheTest extends EvictInvalidatedNearCacheTest {
+
+   @Override
+   protected NearCacheStorage getNearCacheStorage() {
+      return NearCacheStorage.OFF_HEAP;
+   }
+
+}
@@ -0,0 +1,94 @@
+package org.infinispan.client.hotrod.near;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.configuration.NearCacheStorage;
+import org.infinispan.client.hotrod.impl.VersionedValueImpl;
+import org.infinispan.commons.marshall.jboss.GenericJBossMarshaller;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "client.hotrod.near.OffHeapNearCacheTest")
+public class OffHeapNearCacheTest {
+
+   private OffHeapNearCache<String, String> create(int maxEntries, long maxMemory) {
+      NearCacheConfiguration config =
+            new NearCacheConfiguration(NearCacheMode.INVALIDATED, maxEntries, NearCacheStorage.OFF_HEAP, maxMemory);
+      return (OffHeapNearCache<String, String>) OffHeapNearCache.<String, String>create(config, new GenericJBossMarshaller());
+   }
+
+   public void testPutGetRemove() {
+      OffHeapNearCache<String, String> cache = create(-1, -1);
+      try {
+         cache.put("k1", new VersionedValueImpl<>(1, "v1"));
+         VersionedValue<String> value = cache.get("k1");
+         assertEquals("v1", value.getValue());
+         assertEquals(1, value.getVersion());
+
+         cache.putIfAbsent("k1", new VersionedValueImpl<>(2, "v2"));
+         assertEquals("v1", cache.get("k1").getValue());
+         cache.put("k1", new VersionedValueImpl<>(3, "v3"));
+         assertEquals(3, cache.get("k1").getVersion());
+
+         cache.remove("k1");
+         assertNull(cache.get("k1"));
+         assertEquals(0, cache.size());
+         assertEquals(0, cache.memoryUsed());
+      } finally {
+         cache.clear();
+      }
+   }
+
+   public void testManyEntries() {
+      OffHeapNearCache<String, String> cache = create(-1, -1);
+      try {
+         for (int i = 0; i < 10000; i++) {
+            cache.put("k" + i, new VersionedValueImpl<>(i, "v" + i));
+         }
+         assertEquals(10000, cache.size());
+         for (int i = 0; i < 10000; i++) {
+            assertEquals("v" + i, cache.get("k" + i).getValue());
+         }
+         cache.clear();
+         assertEquals(0, cache.size());
+         assertEquals(0, cache.memoryUsed());
+         assertNull(cache.get("k0"));
+      } finally {
+         cache.clear();
+      }
+   }
+
+   public void testEvictLeastRecentlyUsedByCount() {
+      OffHeapNearCache<String, String> cache = create(2, -1);
+      try {
+         cache.put("k1", new VersionedValueImpl<>(1, "v1"));
+         cache.put("k2", new VersionedValueImpl<>(2, "v2"));
+         cache.get("k1");
+         cache.put("k3", new VersionedValueImpl<>(3, "v3"));
+         assertEquals(2, cache.size());
+         assertNull(cache.get("k2"));
+         assertEquals("v1", cache.get("k1").getValue());
+         assertEquals("v3", cache.get("k3").getValue());
+      } finally {
+         cache.clear();
+      }
+   }
+
+   public void testEvictByMemory() {
+      OffHeapNearCache<String, String> cache = create(-1, 16 * 1024);
+      try {
+         for (int i = 0; i < 1000; i++) {
+            cache.put("k" + i, new VersionedValueImpl<>(i, "value-" + i));
+         }
+         assertTrue(cache.memoryUsed() <= 16 * 1024);
+         assertTrue(cache.size() < 1000);
+         assertEquals("value-999", cache.get("k999").getValue());
+      } finally {
+         cache.clear();
+      }
+   }
+}
@@ -0,0 +1,129 @@
+package org.infinispan.client.hotrod.statistics;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransportFactory;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.statistics.ClientStatisticsTest")
+public class ClientStatisticsTest extends SingleHotRodServerTest {
+
+   private static final String JMX_DOMAIN = ClientStatisticsTest.class.getSimpleName();
+
+   private final CountingListener listener = new CountingListener();
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(-1);
+      builder.statistics().enable().jmxEnable().jmxDomain(JMX_DOMAIN).jmxName("test").addListener(listener);
+      return new InternalRemoteCacheManager(builder.build());
+   }
+
+   public void testOperationAndServerStatistics() throws Exception {
+      RemoteCache<String, String> remote = remoteCacheManager.getCache();
+      for (int i = 0; i < 10; i++) {
+         remote.put("k" + i, "v" + i);
+      }
+      for (int i = 0; i < 10; i++) {
+         remote.get("k" + i);
+      }
+
+      MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      ObjectName cacheName = new ObjectName(JMX_DOMAIN + ":type=HotRodClient,name=\"test\",cache=\"\"");
+      assertTrue(mBeanServer.isRegistered(cacheName));
+      RemoteCacheClientStatisticsMXBean cacheStatistics =
+            JMX.newMXBeanProxy(mBeanServer, cacheName, RemoteCacheClientStatisticsMXBean.class);
+      assertEquals(Long.valueOf(10), cacheStatistics.getOperationCounts().get("Put"));
+      assertTrue(cacheStatistics.get99thPercentileOperationTimesNanos().get("Put") > 0);
+      assertEquals(0, cacheStatistics.getFailures());
+
+      ObjectName managerName = new ObjectName(JMX_DOMAIN + ":type=HotRodClient,name=\"test\"");
+      RemoteCacheManagerMXBean managerStatistics =
+            JMX.newMXBeanProxy(mBeanServer, managerName, RemoteCacheManagerMXBean.class);
+      Map<String, Long> responseCounts = managerStatistics.getResponseCounts();
+      assertEquals(1, responseCounts.size());
+      assertTrue(responseCounts.values().iterator().next() >= 20);
+      assertEquals(Integer.valueOf(0), managerStatistics.getInFlightRequests().values().iterator().next());
+      assertFalse(managerStatistics.getAverageConnectionWaitTimesNanos().isEmpty());
+      assertTrue(listener.operations.get() >= 20);
+      assertTrue(listener.responses.get() >= 20);
+
+      managerStatistics.resetStatistics();
+      assertEquals(Long.valueOf(0), managerStatistics.getResponseCounts().values().iterator().next());
+   }
+
+   public void testNearCacheHitRatio() {
+      RemoteCache<String, String> remote = remoteCacheManager.getCache("");
+      remote.put("near", "value");
+      RemoteCacheClientStatisticsMXBean cacheStatistics = cacheStatistics();
+      cacheStatistics.resetStatistics();
+      assertEquals("value", remote.get("near"));
+      assertEquals("value", remote.get("near"));
+      assertEquals("value", remote.get("near"));
+      assertEquals(1, cacheStatistics.getNearCacheMisses());
+      assertEquals(2, cacheStatistics.getNearCacheHits());
+      assertEquals(2.0 / 3, cacheStatistics.getNearCacheHitRatio(), 0.001);
+   }
+
+   public void testUnregisteredOnStop() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.statistics().enable().jmxEnable().jmxDomain(JMX_DOMAIN).jmxName("stopped");
+      ObjectName name = new ObjectName(JMX_DOMAIN + ":type=HotRodClient,name=\"stopped\"");
+      RemoteCacheManager manager = new InternalRemoteCacheManager(builder.build());
+      try {
+         manager.getCache().put("k", "v");
+         assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+      } finally {
+         HotRodClientTestingUtil.killRemoteCacheManager(manager);
+      }
+      assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+   }
+
+   private RemoteCacheClientStatisticsMXBean cacheStatistics() {
+      TcpTransportFactory transportFactory = TestingUtil.extractField(remoteCacheManager, "transportFactory");
+      RemoteCacheClientStatisticsMXBean statistics = transportFactory.getStatistics().cache(new byte[0]);
+      assertNotNull(statistics);
+      return statistics;
+   }
+
+   private static class CountingListener implements ClientStatisticsListener {
+      final AtomicInteger operations = new AtomicInteger();
+      final AtomicInteger responses = new AtomicInteger();
+
+      @Override
+      public void operationCompleted(String cacheName, String operation, long durationNanos, boolean successful) {
+         operations.incrementAndGet();
+      }
+
+      @Override
+      public void responseReceived(SocketAddress server, long durationNanos) {
+         responses.incrementAndGet();
+      }
+   }
+}
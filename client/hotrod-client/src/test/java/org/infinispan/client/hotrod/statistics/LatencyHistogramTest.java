@@ -0,0 +1,73 @@
+package org.infinispan.client.hotrod.statistics;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+/**
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "client.hotrod.statistics.LatencyHistogramTest")
+public class LatencyHistogramTest {
+
+   public void testEmpty() {
+      LatencyHistogram histogram = new LatencyHistogram();
+      assertEquals(0, histogram.getCount());
+      assertEquals(0, histogram.getMeanNanos());
+      assertEquals(0, histogram.getPercentileNanos(99));
+   }
+
+   public void testBucketsCoverEveryValue() {
+      for (long value = 0; value < 1 << 20; value++) {
+         int bucket = LatencyHistogram.bucket(value);
+         assertTrue(value <= LatencyHistogram.highestValue(bucket));
+         if (bucket > 0) {
+            assertTrue(value > LatencyHistogram.highestValue(bucket - 1));
+         }
+      }
+   }
+
+   public void testPercentiles() {
+      LatencyHistogram histogram = new LatencyHistogram();
+      for (long micros = 1; micros <= 1000; micros++) {
+         histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+      }
+      assertEquals(1000, histogram.getCount());
+      assertEquals(500_500, histogram.getMeanNanos());
+      assertEquals(1_000_000, histogram.getMaxNanos());
+      assertWithinError(500_000, histogram.getPercentileNanos(50));
+      assertWithinError(990_000, histogram.getPercentileNanos(99));
+      assertEquals(1_000_000, histogram.getPercentileNanos(100));
+   }
+
+   public void testLongDurationsAreCapped() {
+      LatencyHistogram histogram = new LatencyHistogram();
+      histogram.record(TimeUnit.DAYS.toNanos(1));
+      histogram.record(-1);
+      assertEquals(2, histogram.getCount());
+      assertEquals(TimeUnit.DAYS.toNanos(1), histogram.getMaxNanos());
+      assertEquals(TimeUnit.DAYS.toNanos(1), histogram.getPercentileNanos(100));
+      assertEquals(0, histogram.getPercentileNanos(50));
+   }
+
+   public void testReset() {
+      LatencyHistogram histogram = new LatencyHistogram();
+      histogram.record(1000);
+      histogram.reset();
+      assertEquals(0, histogram.getCount());
+      assertEquals(0, histogram.getMaxNanos());
+      assertEquals(0, histogram.getPercentileNanos(50));
+   }
+
+   @Test(expectedExceptions = IllegalArgumentException.class)
+   public void testInvalidPercentile() {
+      new LatencyHistogram().getPercentileNanos(101);
+   }
+
+   private static void assertWithinError(long expected, long actual) {
+      assertTrue("Expected " + expected + " but was " + actual, actual >= expected && actual <= expected * 1.04);
+   }
+}
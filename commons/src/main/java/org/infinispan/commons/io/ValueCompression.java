@@ -0,0 +1,124 @@
+package org.infinispan.commons.io;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses values into a self-describing form, so that they can be compressed in one process and decompressed in
+ * another.  A compressed value starts with a format byte: {@link #UNCOMPRESSED} is followed by the value itself, and
+ * {@link #DEFLATE} by the length of the value as a 4 byte int and the value compressed with {@link Deflater}.
+ * <p>
+ * The values are only compressed when they are at least as large as the given threshold, and when compressing them
+ * makes them smaller.
+ *
+ * @since 9.0
+ */
+public final class ValueCompression {
+   public static final byte UNCOMPRESSED = 0;
+   public static final byte DEFLATE = 1;
+
+   private static final int DEFLATE_HEADER_LENGTH = 5;
+   // Deflate can't compress data more than 1032:1, so a declared length beyond that ratio is forged
+   private static final int MAX_DEFLATE_RATIO = 1032;
+
+   private ValueCompression() {
+   }
+
+   /**
+    * @param value the value to compress
+    * @param threshold the minimum length of the values to compress, a negative threshold disables the compression
+    * @return the compressed form of the value
+    */
+   public static byte[] compress(byte[] value, int threshold) {
+      if (threshold < 0 || value.length < threshold || value.length <= DEFLATE_HEADER_LENGTH) {
+         return uncompressed(value);
+      }
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+         deflater.setInput(value);
+         deflater.finish();
+         // Compressing is only worth it if the result is smaller than the value
+         byte[] compressed = new byte[value.length];
+         compressed[0] = DEFLATE;
+         writeInt(compressed, 1, value.length);
+         int length = DEFLATE_HEADER_LENGTH;
+         while (!deflater.finished() && length < compressed.length) {
+            length += deflater.deflate(compressed, length, compressed.length - length);
+         }
+         return deflater.finished() ? Arrays.copyOf(compressed, length) : uncompressed(value);
+      } finally {
+         deflater.end();
+      }
+   }
+
+   /**
+    * @param compressed a value returned by {@link #compress(byte[], int)}
+    * @return the original value
+    * @throws IllegalArgumentException if the value is not in a compressed form, or declares a length that its
+    * compressed data can't hold
+    */
+   public static byte[] decompress(byte[] compressed) {
+      if (compressed.length == 0) {
+         throw new IllegalArgumentException("Missing compression format");
+      }
+      switch (compressed[0]) {
+         case UNCOMPRESSED:
+            return Arrays.copyOfRange(compressed, 1, compressed.length);
+         case DEFLATE:
+            return inflate(compressed);
+         default:
+            throw new IllegalArgumentException("Unknown compression format " + compressed[0]);
+      }
+   }
+
+   private static byte[] uncompressed(byte[] value) {
+      byte[] uncompressed = new byte[value.length + 1];
+      uncompressed[0] = UNCOMPRESSED;
+      System.arraycopy(value, 0, uncompressed, 1, value.length);
+      return uncompressed;
+   }
+
+   private static byte[] inflate(byte[] compressed) {
+      if (compressed.length < DEFLATE_HEADER_LENGTH) {
+         throw new IllegalArgumentException("Truncated compressed value");
+      }
+      int declaredLength = readInt(compressed, 1);
+      long maxLength = (long) (compressed.length - DEFLATE_HEADER_LENGTH) * MAX_DEFLATE_RATIO;
+      if (declaredLength < 0 || declaredLength > maxLength) {
+         // Checked before allocating, as the value may come from an untrusted peer
+         throw new IllegalArgumentException("Invalid length of compressed value " + declaredLength);
+      }
+      byte[] value = new byte[declaredLength];
+      Inflater inflater = new Inflater();
+      try {
+         inflater.setInput(compressed, DEFLATE_HEADER_LENGTH, compressed.length - DEFLATE_HEADER_LENGTH);
+         int length = 0;
+         while (length < value.length) {
+            int inflated = inflater.inflate(value, length, value.length - length);
+            if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+               throw new IllegalArgumentException("Truncated compressed value");
+            }
+            length += inflated;
+         }
+         return value;
+      } catch (DataFormatException e) {
+         throw new IllegalArgumentException("Invalid compressed value", e);
+      } finally {
+         inflater.end();
+      }
+   }
+
+   private static void writeInt(byte[] bytes, int offset, int i) {
+      bytes[offset] = (byte) (i >>> 24);
+      bytes[offset + 1] = (byte) (i >>> 16);
+      bytes[offset + 2] = (byte) (i >>> 8);
+      bytes[offset + 3] = (byte) i;
+   }
+
+   private static int readInt(byte[] bytes, int offset) {
+      return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16 | (bytes[offset + 2] & 0xFF) << 8
+            | bytes[offset + 3] & 0xFF;
+   }
+}
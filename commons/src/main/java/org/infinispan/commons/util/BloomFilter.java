@@ -0,0 +1,104 @@
+package org.infinispan.commons.util;
+
+import java.nio.ByteBuffer;
+
+import org.infinispan.commons.hash.MurmurHash3;
+
+/**
+ * A fixed size bloom filter over byte arrays, with a compact binary form so that it can be built in one process and
+ * queried in another.  Both sides must use this class: the bits set for a key depend on its hash function.
+ * <p>
+ * {@link #mightContain(byte[])} never returns {@code false} for an added key, and returns {@code true} for about 1%
+ * of the other keys when the filter holds the number of keys it was created for.
+ * <p>
+ * Adding keys is not thread safe, a filter should be fully built before it is shared.
+ *
+ * @since 9.0
+ */
+public final class BloomFilter {
+   private static final int SEED = 9001;
+   // About 1% false positives with 9.6 bits per key
+   private static final double BITS_PER_KEY = 9.6;
+   private static final int HASH_FUNCTIONS = 7;
+
+   private final long[] bits;
+   private final int hashFunctions;
+
+   private BloomFilter(long[] bits, int hashFunctions) {
+      this.bits = bits;
+      this.hashFunctions = hashFunctions;
+   }
+
+   /**
+    * @param expectedKeys the number of keys the filter must hold with the expected false positive rate
+    * @return an empty filter
+    */
+   public static BloomFilter create(int expectedKeys) {
+      if (expectedKeys <= 0) {
+         throw new IllegalArgumentException("The expected number of keys must be positive: " + expectedKeys);
+      }
+      long bitCount = (long) Math.ceil(expectedKeys * BITS_PER_KEY);
+      return new BloomFilter(new long[(int) ((bitCount + 63) >>> 6)], HASH_FUNCTIONS);
+   }
+
+   /**
+    * Reads a filter written by {@link #toBytes()}.
+    */
+   public static BloomFilter fromBytes(byte[] bytes) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      int hashFunctions = buffer.get();
+      int length = (bytes.length - 1) / 8;
+      if (hashFunctions <= 0 || length == 0 || (bytes.length - 1) % 8 != 0) {
+         throw new IllegalArgumentException("Invalid bloom filter of " + bytes.length + " bytes");
+      }
+      long[] bits = new long[length];
+      buffer.asLongBuffer().get(bits);
+      return new BloomFilter(bits, hashFunctions);
+   }
+
+   public byte[] toBytes() {
+      ByteBuffer buffer = ByteBuffer.allocate(1 + bits.length * 8);
+      buffer.put((byte) hashFunctions);
+      buffer.asLongBuffer().put(bits);
+      return buffer.array();
+   }
+
+   public void add(byte[] key) {
+      long[] hash = MurmurHash3.MurmurHash3_x64_128(key, SEED);
+      long bitCount = (long) bits.length << 6;
+      for (int i = 0; i < hashFunctions; i++) {
+         long bit = index(hash, i, bitCount);
+         bits[(int) (bit >>> 6)] |= 1L << bit;
+      }
+   }
+
+   public boolean mightContain(byte[] key) {
+      long[] hash = MurmurHash3.MurmurHash3_x64_128(key, SEED);
+      long bitCount = (long) bits.length << 6;
+      for (int i = 0; i < hashFunctions; i++) {
+         long bit = index(hash, i, bitCount);
+         if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * @return the number of bytes of {@link #toBytes()}
+    */
+   public int sizeInBytes() {
+      return 1 + bits.length * 8;
+   }
+
+   private static long index(long[] hash, int i, long bitCount) {
+      // Kirsch-Mitzenmacher: the i-th hash function is h1 + i * h2
+      long combined = hash[0] + i * hash[1];
+      return (combined & Long.MAX_VALUE) % bitCount;
+   }
+
+   @Override
+   public String toString() {
+      return "BloomFilter{bits=" + ((long) bits.length << 6) + ", hashFunctions=" + hashFunctions + "}";
+   }
+}
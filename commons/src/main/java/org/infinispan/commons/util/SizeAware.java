@@ -0,0 +1,15 @@
+package org.infinispan.commons.util;
+
+/**
+ * Optional contract for the keys and values stored in a cache using memory based eviction. Classes implementing it
+ * provide their own estimate of the memory they use, instead of letting the entry size calculator walk their fields.
+ * This is useful for objects that share state with other entries or that are cheaper to measure by the application.
+ *
+ * @since 9.0
+ */
+public interface SizeAware {
+   /**
+    * @return the approximate number of bytes of heap retained by this object, including its own header and fields
+    */
+   long estimateSize();
+}
@@ -0,0 +1,39 @@
+package org.infinispan.commons.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * @since 9.0
+ */
+public class ValueCompressionTest {
+
+   @Test
+   public void testCompressDecompress() {
+      byte[] value = new byte[4096];
+      Arrays.fill(value, (byte) 'a');
+      byte[] compressed = ValueCompression.compress(value, 1024);
+      assertEquals(ValueCompression.DEFLATE, compressed[0]);
+      assertArrayEquals(value, ValueCompression.decompress(compressed));
+
+      byte[] small = {1, 2, 3};
+      compressed = ValueCompression.compress(small, 1024);
+      assertEquals(ValueCompression.UNCOMPRESSED, compressed[0]);
+      assertArrayEquals(small, ValueCompression.decompress(compressed));
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testForgedLargeLength() {
+      // A few bytes declaring a value of almost 2 GB must not be allocated
+      ValueCompression.decompress(new byte[]{ValueCompression.DEFLATE, 0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0});
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testForgedNegativeLength() {
+      ValueCompression.decompress(new byte[]{ValueCompression.DEFLATE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0});
+   }
+}
@@ -18,16 +18,19 @@ public class MemoryConfiguration {
          .builder("storage", StorageType.OBJECT).copier(IdentityAttributeCopier.INSTANCE).immutable().build();
    public static final AttributeDefinition<Long> SIZE  = AttributeDefinition.builder("size", -1l).build();
    public static final AttributeDefinition<EvictionType> EVICTION_TYPE  = AttributeDefinition.builder("type", EvictionType.COUNT).build();
+   public static final AttributeDefinition<OffHeapAllocatorType> ALLOCATOR = AttributeDefinition
+         .builder("allocator", OffHeapAllocatorType.UNPOOLED).immutable().build();
 
    static public AttributeSet attributeDefinitionSet() {
       return new AttributeSet(MemoryConfiguration.class, AbstractTypedPropertiesConfiguration.attributeSet(),
-            STORAGE_TYPE, SIZE, EVICTION_TYPE, ADDRESS_COUNT);
+            STORAGE_TYPE, SIZE, EVICTION_TYPE, ADDRESS_COUNT, ALLOCATOR);
    }
 
    private final Attribute<Long> size;
    private final Attribute<EvictionType> evictionType;
    private final Attribute<StorageType> storageType;
    private final Attribute<Integer> addressCount;
+   private final Attribute<OffHeapAllocatorType> allocator;
    private final AttributeSet attributes;
 
    MemoryConfiguration(AttributeSet attributes) {
@@ -36,6 +39,7 @@ static public AttributeSet attributeDefinitionSet() {
       size = attributes.attribute(SIZE);
       evictionType = attributes.attribute(EVICTION_TYPE);
       addressCount = attributes.attribute(ADDRESS_COUNT);
+      allocator = attributes.attribute(ALLOCATOR);
    }
 
    /**
@@ -74,6 +78,14 @@ public int addressCount() {
       return addressCount.get();
    }
 
+   /**
+    * The allocator used for the off-heap memory
+    * @return
+    */
+   public OffHeapAllocatorType allocator() {
+      return allocator.get();
+   }
+
    public AttributeSet attributes() {
       return attributes;
    }
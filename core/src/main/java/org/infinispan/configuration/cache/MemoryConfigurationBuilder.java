@@ -1,6 +1,7 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.MemoryConfiguration.ADDRESS_COUNT;
+import static org.infinispan.configuration.cache.MemoryConfiguration.ALLOCATOR;
 import static org.infinispan.configuration.cache.MemoryConfiguration.EVICTION_TYPE;
 import static org.infinispan.configuration.cache.MemoryConfiguration.SIZE;
 import static org.infinispan.configuration.cache.MemoryConfiguration.STORAGE_TYPE;
@@ -68,7 +69,8 @@ public MemoryConfigurationBuilder evictionType(EvictionType type) {
     * Configuration setting when using off-heap that defines how many address pointers there are.
     * This number will be rounded up to the next power of two.  This helps performance in that the
     * more address pointers there are the less collisions there will be which improve performance of
-    * both read and write operations.
+    * both read and write operations.  This is only the initial number of address pointers, they are doubled
+    * when there are more entries than 3/4 of the address pointers.
     * @param addressCount
     * @return this
     */
@@ -77,19 +79,26 @@ public MemoryConfigurationBuilder addressCount(int addressCount) {
       return this;
    }
 
+   /**
+    * Configuration setting when using off-heap that defines how the memory of the entries is allocated.
+    * {@link OffHeapAllocatorType#UNPOOLED} allocates and frees every entry directly from the native allocator, while
+    * {@link OffHeapAllocatorType#POOLED} carves blocks of a few size classes from large arenas and reuses the freed
+    * blocks.  The pooled allocator avoids the native allocator on most writes and keeps fragmentation predictable,
+    * but the arenas are only released when the cache is stopped.
+    * @param allocator
+    * @return this
+    */
+   public MemoryConfigurationBuilder allocator(OffHeapAllocatorType allocator) {
+      attributes.attribute(ALLOCATOR).set(allocator);
+      return this;
+   }
+
    @Override
    public void validate() {
       StorageType type = attributes.attribute(STORAGE_TYPE).get();
       if (type != StorageType.OBJECT && getBuilder().compatibility().isEnabled()) {
          throw new CacheConfigurationException("Compatibility mode requires OBJECT storage type but was: " + type);
       }
-      long size = attributes.attribute(SIZE).get();
-      if (size > 0) {
-         EvictionType evictionType = attributes.attribute(EVICTION_TYPE).get();
-         if (evictionType == EvictionType.MEMORY && type != StorageType.BINARY) {
-            throw new CacheConfigurationException("MEMORY based eviction requires binary but was : " + type);
-         }
-      }
    }
 
    @Override
@@ -0,0 +1,16 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Enumeration defining how the memory of the entries stored off-heap is allocated
+ * @since 9.0
+ */
+public enum OffHeapAllocatorType {
+   /**
+    * Every entry is allocated and freed directly from the native memory allocator
+    */
+   UNPOOLED,
+   /**
+    * Entries are stored in blocks of a few size classes, carved from large arenas and reused once freed
+    */
+   POOLED
+}
@@ -24,7 +24,7 @@
 import org.infinispan.container.entries.CacheEntrySizeCalculator;
 import org.infinispan.container.entries.ImmortalCacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
-import org.infinispan.container.entries.PrimitiveEntrySizeCalculator;
+import org.infinispan.container.entries.ReflectionEntrySizeCalculator;
 import org.infinispan.eviction.ActivationManager;
 import org.infinispan.eviction.EvictionManager;
 import org.infinispan.eviction.EvictionType;
@@ -95,7 +95,7 @@ protected DefaultDataContainer(int concurrencyLevel, long thresholdSize, Evictio
       switch (thresholdPolicy) {
          case MEMORY:
             CacheEntrySizeCalculator<K, V> calc = new CacheEntrySizeCalculator<>(new WrappedByteArraySizeCalculator<>(
-                  new PrimitiveEntrySizeCalculator()));
+                  new ReflectionEntrySizeCalculator()));
             caffeine.weigher((k, v) -> (int) calc.calculateSize(k, v)).maximumWeight(thresholdSize);
             break;
          case COUNT:
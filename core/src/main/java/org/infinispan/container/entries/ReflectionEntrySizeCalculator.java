@@ -0,0 +1,146 @@
+package org.infinispan.container.entries;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.infinispan.commons.util.SizeAware;
+
+import sun.misc.Unsafe;
+
+/**
+ * Entry size calculator that supports any key and value type.  Primitives, primitive wrappers, Strings and arrays are
+ * sized as in {@link PrimitiveEntrySizeCalculator}, objects implementing {@link SizeAware} provide their own size and
+ * any other object is sized by walking its fields.
+ * <p>
+ * The shallow size and the reference fields of each class are computed once from the field offsets and cached.  Arrays
+ * of objects with more than {@link #SAMPLE_SIZE} elements are estimated from a sample of their elements, and the walk of
+ * a single key or value stops after {@link #MAX_OBJECTS} objects, so the cost of sizing an entry stays bounded.
+ * Objects reachable from both the key and the value are counted twice, while {@link Class} and {@link Enum} instances
+ * are considered shared and not counted at all.
+ * @since 9.0
+ */
+public class ReflectionEntrySizeCalculator extends PrimitiveEntrySizeCalculator {
+   static final int SAMPLE_SIZE = 16;
+   static final int MAX_OBJECTS = 10_000;
+
+   private static final Unsafe UNSAFE = getUnsafe();
+   private static final ClassValue<ClassLayout> LAYOUTS = new ClassValue<ClassLayout>() {
+      @Override
+      protected ClassLayout computeValue(Class<?> type) {
+         return new ClassLayout(type);
+      }
+   };
+
+   @Override
+   protected long handleObject(Object object) {
+      Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+      Deque<Object> pending = new ArrayDeque<>();
+      pending.push(object);
+      return walk(pending, visited);
+   }
+
+   private long walk(Deque<Object> pending, Set<Object> visited) {
+      long size = 0;
+      while (!pending.isEmpty() && visited.size() < MAX_OBJECTS) {
+         Object object = pending.pop();
+         if (object != null && visited.add(object)) {
+            size += shallowSize(object, pending, visited);
+         }
+      }
+      return size;
+   }
+
+   private long shallowSize(Object object, Deque<Object> pending, Set<Object> visited) {
+      if (object instanceof SizeAware) {
+         return ((SizeAware) object).estimateSize();
+      }
+      Class<?> objClass = object.getClass();
+      if (object instanceof Class || object instanceof Enum) {
+         return 0;
+      }
+      if (objClass.isArray()) {
+         if (objClass.getComponentType().isPrimitive()) {
+            return super.handleObject(object);
+         }
+         return objectArraySize((Object[]) object, visited);
+      }
+      if (isPrimitiveType(objClass)) {
+         return super.handleObject(object);
+      }
+      ClassLayout layout = LAYOUTS.get(objClass);
+      for (long offset : layout.referenceOffsets) {
+         Object reference = UNSAFE.getObject(object, offset);
+         if (reference != null) {
+            pending.push(reference);
+         }
+      }
+      return layout.shallowSize;
+   }
+
+   private long objectArraySize(Object[] array, Set<Object> visited) {
+      long size = roundUpToNearest8(Unsafe.ARRAY_OBJECT_BASE_OFFSET +
+            (long) Unsafe.ARRAY_OBJECT_INDEX_SCALE * array.length);
+      int step = array.length <= SAMPLE_SIZE ? 1 : array.length / SAMPLE_SIZE;
+      Deque<Object> sample = new ArrayDeque<>();
+      int sampled = 0;
+      for (int i = 0; i < array.length && sampled < SAMPLE_SIZE; i += step, ++sampled) {
+         if (array[i] != null) {
+            sample.push(array[i]);
+         }
+      }
+      long sampleSize = walk(sample, visited);
+      return size + (sampled == 0 ? 0 : sampleSize * array.length / sampled);
+   }
+
+   private static boolean isPrimitiveType(Class<?> objClass) {
+      return objClass == String.class || objClass == Long.class || objClass == Integer.class ||
+            objClass == Short.class || objClass == Double.class || objClass == Float.class ||
+            objClass == Boolean.class || objClass == Character.class || objClass == Byte.class;
+   }
+
+   private static final class ClassLayout {
+      final long shallowSize;
+      final long[] referenceOffsets;
+
+      ClassLayout(Class<?> type) {
+         // Every object has a header and a reference to its class
+         long end = OBJECT_SIZE + POINTER_SIZE;
+         List<Long> references = new ArrayList<>();
+         for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+               if (Modifier.isStatic(field.getModifiers())) {
+                  continue;
+               }
+               long offset = UNSAFE.objectFieldOffset(field);
+               Class<?> fieldType = field.getType();
+               end = Math.max(end, offset + fieldSize(fieldType));
+               if (!fieldType.isPrimitive()) {
+                  references.add(offset);
+               }
+            }
+         }
+         shallowSize = (end + 7) & ~0x7;
+         referenceOffsets = references.stream().mapToLong(Long::longValue).toArray();
+      }
+
+      private static int fieldSize(Class<?> fieldType) {
+         if (fieldType == long.class || fieldType == double.class) {
+            return 8;
+         } else if (fieldType == int.class || fieldType == float.class) {
+            return 4;
+         } else if (fieldType == short.class || fieldType == char.class) {
+            return 2;
+         } else if (fieldType == byte.class || fieldType == boolean.class) {
+            return 1;
+         }
+         return POINTER_SIZE;
+      }
+   }
+}
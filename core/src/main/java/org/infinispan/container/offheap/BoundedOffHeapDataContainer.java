@@ -13,14 +13,23 @@
 
 /**
  * Data Container implementation that stores entries in native memory (off-heap) that is also bounded.  This
- * implementation uses a simple LRU doubly linked list off-heap guarded by a single lock.
+ * implementation uses a doubly linked list off-heap with a second chance (CLOCK) approximation of LRU: reading an
+ * entry only sets a referenced flag in its node, which is safe while holding the entry's read lock, so reads never
+ * contend on the lock guarding the list.  Writes append the node to the end of the list under that lock.  When
+ * evicting, referenced nodes found at the head of the list have their flag cleared and are moved to the end instead.
  * <p>
- * The link list consists of 28 bytes (3 longs and 1 int).  The first long is the actual entry address, the second is the
- * previous pointer, the third is the next pointer and lastly the int is the hashCode of the key to retrieve the lock.
+ * The link list consists of 32 bytes (3 longs and 2 ints).  The first long is the actual entry address, the second is the
+ * previous pointer, the third is the next pointer, the first int is the hashCode of the key to retrieve the lock and
+ * the last int is the referenced flag.
  * @author wburns
  * @since 9.0
  */
 public class BoundedOffHeapDataContainer extends OffHeapDataContainer {
+   private static final int NODE_SIZE = 32;
+   private static final int REFERENCED_OFFSET = 28;
+   // Bounds the time an eviction holds the lruLock when most entries were read since their last second chance
+   private static final int MAX_SECOND_CHANCES = 16;
+
    private final long maxSize;
    private final Lock lruLock;
    private final LongUnaryOperator sizeCalculator;
@@ -35,8 +44,8 @@ public BoundedOffHeapDataContainer(int desiredSize, long maxSize, EvictionType t
       if (type == EvictionType.COUNT) {
          sizeCalculator = i -> 1;
       } else {
-         // Use size of entry plus 28 for our LRU pointer node
-         sizeCalculator = i -> offHeapEntryFactory.determineSize(i) + 28;
+         // Use size of entry plus our LRU pointer node
+         sizeCalculator = i -> offHeapEntryFactory.determineSize(i) + NODE_SIZE;
       }
       this.lruLock = new ReentrantLock();
       firstAddress = 0;
@@ -138,7 +147,7 @@ protected void entryRemoved(long removedAddress) {
             UNSAFE.putLong(previousLRUNode + 16, nextLRUNode);
             UNSAFE.putLong(nextLRUNode + 8, previousLRUNode);
          }
-         allocator.deallocate(lruNode, 28);
+         allocator.deallocate(lruNode, NODE_SIZE);
       } finally {
          lruLock.unlock();
       }
@@ -147,15 +156,14 @@ protected void entryRemoved(long removedAddress) {
 
    @Override
    protected void entryRetrieved(long entryAddress) {
-      lruLock.lock();
-      try {
-         long lruNode = UNSAFE.getLong(entryAddress);
+      // The read lock for the entry is held, so the lru node can't be freed concurrently.  A racing eviction may clear
+      // the flag after we set it, which only makes the entry lose its second chance.
+      long lruNode = UNSAFE.getLong(entryAddress);
+      if (UNSAFE.getInt(lruNode + REFERENCED_OFFSET) == 0) {
          if (trace) {
-            log.tracef("Moving lruNode %d to the end which points at address %d", lruNode, entryAddress);
+            log.tracef("Marking lruNode %d as referenced which points at address %d", lruNode, entryAddress);
          }
-         moveToEnd(lruNode);
-      } finally {
-         lruLock.unlock();
+         UNSAFE.putInt(lruNode + REFERENCED_OFFSET, 1);
       }
       super.entryRetrieved(entryAddress);
    }
@@ -171,7 +179,7 @@ protected void performClear() {
          long address = firstAddress;
          while (address != 0) {
             long nextAddress = UNSAFE.getLong(address + 16);
-            allocator.deallocate(address, 28);
+            allocator.deallocate(address, NODE_SIZE);
             address = nextAddress;
          }
          currentSize = 0;
@@ -193,6 +201,7 @@ private void ensureSize() {
          lruLock.lock();
          try {
             if (currentSize > maxSize) {
+               giveSecondChances();
                // Retrieve the hashCode so we can lock it to verify the address is still present
                int hashCode = UNSAFE.getInt(firstAddress + 24);
                entryWriteLock = locks.getLockFromHashCode(hashCode).writeLock();
@@ -231,6 +240,26 @@ private void ensureSize() {
       }
    }
 
+   /**
+    * Moves the nodes at the head of the list that were read since they were last considered for eviction to the end,
+    * clearing their referenced flag, so that {@code firstAddress} points to the eviction candidate.  At most
+    * {@link #MAX_SECOND_CHANCES} nodes are moved, after that the head is evicted even if it was referenced.
+    * This method should only be invoked after acquiring the lruLock.
+    */
+   private void giveSecondChances() {
+      for (int i = 0; i < MAX_SECOND_CHANCES && firstAddress != lastAddress; ++i) {
+         long lruNode = firstAddress;
+         if (UNSAFE.getInt(lruNode + REFERENCED_OFFSET) == 0) {
+            return;
+         }
+         if (trace) {
+            log.tracef("Giving lruNode %d a second chance", lruNode);
+         }
+         UNSAFE.putInt(lruNode + REFERENCED_OFFSET, 0);
+         moveToEnd(lruNode);
+      }
+   }
+
    /**
     * Method to be invoked when adding a new entry address to the end of the lru nodes.  This occurs for newly created
     * entries.
@@ -238,7 +267,7 @@ private void ensureSize() {
     * @param entryAddress the new entry address pointer *NOT* the lru node
     */
    private void addEntryAddressToEnd(long entryAddress, int hashCode) {
-      long nodeAddress = allocator.allocate(28);
+      long nodeAddress = allocator.allocate(NODE_SIZE);
       if (trace) {
          log.tracef("Creating LRU node %d for new entry %d", nodeAddress, entryAddress);
       }
@@ -263,11 +292,12 @@ private void addEntryAddressToEnd(long entryAddress, int hashCode) {
       // Since we are last there is no pointer after us
       UNSAFE.putLong(nodeAddress + 16, 0);
       UNSAFE.putInt(nodeAddress + 24, hashCode);
+      UNSAFE.putInt(nodeAddress + REFERENCED_OFFSET, 0);
    }
 
    /**
-    * Method to be invoked when moving an existing lru node to the end.  This occurs when the entry is accessed for this
-    * node.
+    * Method to be invoked when moving an existing lru node to the end.  This occurs when the entry is replaced or
+    * given a second chance.
     * This method should only be invoked after acquiring the lruLock.
     * @param lruNode the node to move to the end
     */
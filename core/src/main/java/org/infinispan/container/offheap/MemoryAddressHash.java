@@ -1,12 +1,20 @@
 package org.infinispan.container.offheap;
 
-import java.util.Arrays;
-import java.util.stream.IntStream;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import sun.misc.Unsafe;
 
 /**
+ * Table of off-heap pointers to the first entry of each bucket.  The table is split in stripes, a pointer belongs to
+ * the stripe given by the lower bits of its offset, which matches the lock of a {@link StripedLock} with the same
+ * number of locks.  All methods reading or writing pointers require the lock of the stripe to be held.
+ * <p>
+ * Once the number of entries is above {@link #LOAD_FACTOR} times the number of pointers, the table is doubled.  The
+ * entries are moved to the new table one stripe at a time (see {@link #claimStripeToMigrate(long)} and
+ * {@link #migrateStripe(int, OffHeapEntryFactory)}), so only the operations on the stripe being moved have to wait.
+ * Until all the stripes are moved, each stripe keeps using the table it is in.
  * @author wburns
  * @since 9.0
  */
@@ -14,49 +22,172 @@ public class MemoryAddressHash {
    private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
    private static final int MAXIMUM_CAPACITY = 1 << 30;
    private static final int HASH_BITS = 0x7fffffff; // usable bits of normal node hash
+   private static final float LOAD_FACTOR = 0.75f;
 
-   private final long memory;
-   private final int pointerCount;
+   private final int stripeCount;
+   private volatile Table table;
+   private volatile Resize resize;
+   private boolean deallocated;
 
    public MemoryAddressHash(int pointers) {
-      this.pointerCount = nextPowerOfTwo(pointers);
-      long bytes = ((long) pointerCount) << 3;
-      memory = UNSAFE.allocateMemory(bytes);
-      // Have to clear out bytes to make sure no bad stuff was read in
-      UNSAFE.setMemory(memory, bytes, (byte) 0);
+      this(pointers, 1);
    }
 
-   private int findOffset(Object instance) {
-      int h = spread(instance.hashCode());
-      int pointerMask = pointerCount - 1;
-      return h & pointerMask;
+   public MemoryAddressHash(int pointers, int stripes) {
+      this.stripeCount = nextPowerOfTwo(stripes);
+      int pointerCount = nextPowerOfTwo(pointers);
+      if (pointerCount < stripeCount) {
+         throw new IllegalArgumentException("There must be at least as many pointers as stripes");
+      }
+      this.table = new Table(pointerCount);
+   }
+
+   private Table tableForStripe(int stripe) {
+      // resize has to be read first, the table only changes after all the stripes were migrated
+      Resize r = resize;
+      if (r != null) {
+         return r.migrated[stripe] ? r.next : r.old;
+      }
+      return table;
    }
 
    public void putMemoryAddress(Object instance, long address) {
-      int offset = findOffset(instance);
-      UNSAFE.putLong(memory + (((long) offset) << 3), address);
+      int h = spread(instance.hashCode());
+      Table t = tableForStripe(h & (stripeCount - 1));
+      UNSAFE.putLong(t.address(h & (t.pointerCount - 1)), address);
    }
 
    public long getMemoryAddress(Object instance) {
-      return UNSAFE.getLong(memory + (findOffset(instance) << 3));
+      int h = spread(instance.hashCode());
+      Table t = tableForStripe(h & (stripeCount - 1));
+      return UNSAFE.getLong(t.address(h & (t.pointerCount - 1)));
    }
 
+   /**
+    * Returns the pointer at the given offset, which must be lower than {@link #getPointerCount(int)} for its stripe.
+    */
    public long getMemoryAddressOffset(int offset) {
-      return UNSAFE.getLong(memory + (((long) offset) << 3));
+      return UNSAFE.getLong(tableForStripe(offset & (stripeCount - 1)).address(offset));
    }
 
-   public void deallocate() {
-      UNSAFE.freeMemory(memory);
+   /**
+    * @return the number of pointers in the table currently used by the given stripe.  Tables only grow, by doubling,
+    * so the entries of bucket {@code b} can only move to buckets {@code b + m * pointerCount}.
+    */
+   public int getPointerCount(int stripe) {
+      return tableForStripe(stripe).pointerCount;
    }
 
    /**
-    * Returns a stream of longs that are all of the various memory locations
+    * @return the number of pointers, including the ones of the stripes not yet moved to the new table if the table is
+    * being resized.
+    */
+   public int getPointerCount() {
+      Resize r = resize;
+      return r != null ? r.next.pointerCount : table.pointerCount;
+   }
+
+   /**
+    * @return how many pointers of the given stripe are not empty
+    */
+   public int countUsedPointers(int stripe) {
+      Table t = tableForStripe(stripe);
+      int used = 0;
+      for (int offset = stripe; offset < t.pointerCount; offset += stripeCount) {
+         if (UNSAFE.getLong(t.address(offset)) != 0) {
+            used++;
+         }
+      }
+      return used;
+   }
+
+   /**
+    * Returns the next stripe to move to the new table, starting a resize first if there are too many entries for the
+    * current table.  No lock is required to invoke this method.
+    * @param entries the number of entries in the container
+    * @return the stripe to migrate or -1 if there is nothing to do
+    */
+   public int claimStripeToMigrate(long entries) {
+      Resize r = resize;
+      if (r == null) {
+         Table t = table;
+         if (t.pointerCount >= MAXIMUM_CAPACITY || entries <= t.pointerCount * LOAD_FACTOR) {
+            return -1;
+         }
+         synchronized (this) {
+            if (deallocated) {
+               return -1;
+            }
+            r = resize;
+            if (r == null) {
+               if (table != t) {
+                  // Another resize completed in between
+                  return -1;
+               }
+               r = new Resize(t, new Table(t.pointerCount << 1), stripeCount);
+               resize = r;
+            }
+         }
+      }
+      int stripe = r.nextStripe.getAndIncrement();
+      return stripe < stripeCount ? stripe : -1;
+   }
+
+   /**
+    * Moves all the entries of the given stripe to the new table.  The write lock of the stripe <b>must</b> be held.
+    * @param stripe the stripe returned by {@link #claimStripeToMigrate(long)}
+    * @param entryFactory the factory used to read and update the linked pointers of the entries
+    */
+   public void migrateStripe(int stripe, OffHeapEntryFactory entryFactory) {
+      Resize r = resize;
+      if (r == null || r.migrated[stripe]) {
+         return;
+      }
+      Table old = r.old;
+      Table next = r.next;
+      int mask = next.pointerCount - 1;
+      for (int offset = stripe; offset < old.pointerCount; offset += stripeCount) {
+         long address = UNSAFE.getLong(old.address(offset));
+         UNSAFE.putLong(old.address(offset), 0);
+         while (address != 0) {
+            long nextAddress = entryFactory.getNextLinkedPointerAddress(address);
+            long pointer = next.address(spread(entryFactory.getHashCodeForAddress(address)) & mask);
+            entryFactory.updateNextLinkedPointerAddress(address, UNSAFE.getLong(pointer));
+            UNSAFE.putLong(pointer, address);
+            address = nextAddress;
+         }
+      }
+      r.migrated[stripe] = true;
+      if (r.remaining.decrementAndGet() == 0) {
+         // Nobody can read the old table anymore: any reader holds a stripe lock and all stripes are migrated
+         synchronized (this) {
+            table = next;
+            resize = null;
+            old.free();
+         }
+      }
+   }
+
+   public synchronized void deallocate() {
+      Resize r = resize;
+      if (r != null) {
+         r.old.free();
+         r.next.free();
+         resize = null;
+      } else {
+         table.free();
+      }
+      deallocated = true;
+   }
+
+   /**
+    * Returns a stream of longs that are all of the various memory locations.  All the stripe locks must be held.
     * @return stream of the various memory locations
     */
    public LongStream toStream() {
-      return LongStream.iterate(memory, l -> l + 8)
-            .limit(pointerCount)
-            .map(UNSAFE::getLong)
+      return tables().flatMapToLong(t -> LongStream.iterate(t.memory, l -> l + 8)
+            .limit(t.pointerCount)
+            .map(UNSAFE::getLong))
             .filter(l -> l != 0);
    }
 
@@ -65,12 +196,18 @@ public LongStream toStream() {
     * @return stream with the valid memory pointers to stored values
     */
    public LongStream toStreamRemoved() {
-      return LongStream.iterate(memory, l -> l + 8)
-            .limit(pointerCount)
-            .map(l -> UNSAFE.getAndSetLong(null, l, 0))
+      return tables().flatMapToLong(t -> LongStream.iterate(t.memory, l -> l + 8)
+            .limit(t.pointerCount)
+            .map(l -> UNSAFE.getAndSetLong(null, l, 0)))
             .filter(l -> l != 0);
    }
 
+   private Stream<Table> tables() {
+      // While resizing the stripes not yet migrated are in the old table, the others in the new one
+      Resize r = resize;
+      return r != null ? Stream.of(r.old, r.next) : Stream.of(table);
+   }
+
    private static final int nextPowerOfTwo(int c) {
       int n = c - 1;
       n |= n >>> 1;
@@ -84,4 +221,41 @@ private static final int nextPowerOfTwo(int c) {
    static final int spread(int h) {
       return (h ^ (h >>> 16)) & HASH_BITS;
    }
+
+   private static final class Table {
+      final long memory;
+      final int pointerCount;
+
+      Table(int pointerCount) {
+         this.pointerCount = pointerCount;
+         long bytes = ((long) pointerCount) << 3;
+         memory = UNSAFE.allocateMemory(bytes);
+         // Have to clear out bytes to make sure no bad stuff was read in
+         UNSAFE.setMemory(memory, bytes, (byte) 0);
+      }
+
+      long address(int offset) {
+         return memory + (((long) offset) << 3);
+      }
+
+      void free() {
+         UNSAFE.freeMemory(memory);
+      }
+   }
+
+   private static final class Resize {
+      final Table old;
+      final Table next;
+      // Each flag is only written and read while holding the lock of its stripe
+      final boolean[] migrated;
+      final AtomicInteger nextStripe = new AtomicInteger();
+      final AtomicInteger remaining;
+
+      Resize(Table old, Table next, int stripeCount) {
+         this.old = old;
+         this.next = next;
+         this.migrated = new boolean[stripeCount];
+         this.remaining = new AtomicInteger(stripeCount);
+      }
+   }
 }
@@ -13,7 +13,6 @@
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.IntStream;
-import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import org.infinispan.commons.marshall.Marshaller;
@@ -27,6 +26,9 @@
 import org.infinispan.factories.annotations.Stop;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.filter.KeyValueFilter;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.util.TimeService;
 import org.infinispan.util.logging.Log;
@@ -36,9 +38,13 @@
 
 /**
  * Data Container implementation that stores entries in native memory (off-heap).
+ * <p>
+ * The number of memory addresses given at construction is only the initial size of the {@link MemoryAddressHash}, it
+ * is doubled as the number of entries grows.
  * @author wburns
  * @since 9.0
  */
+@MBean(objectName = "OffHeapDataContainer", description = "Statistics of the off-heap data container")
 public class OffHeapDataContainer implements DataContainer<WrappedBytes, WrappedBytes> {
    protected final Log log = LogFactory.getLog(getClass());
    protected final boolean trace = log.isTraceEnabled();
@@ -46,7 +52,6 @@ public class OffHeapDataContainer implements DataContainer<WrappedBytes, Wrapped
 
    protected final AtomicLong size = new AtomicLong();
    protected final int lockCount;
-   protected final int memoryAddressCount;
    protected final StripedLock locks;
    protected final MemoryAddressHash memoryLookup;
    protected OffHeapMemoryAllocator allocator;
@@ -77,8 +82,7 @@ public OffHeapDataContainer(int desiredSize) {
       while (memoryAddresses < desiredSize) {
          memoryAddresses <<= 1;
       }
-      memoryAddressCount = memoryAddresses;
-      memoryLookup = new MemoryAddressHash(memoryAddressCount);
+      memoryLookup = new MemoryAddressHash(memoryAddresses, lockCount);
       // Unfortunately desired size directly correlates to lock size
       locks = new StripedLock(lockCount);
    }
@@ -173,6 +177,32 @@ public void put(WrappedBytes key, WrappedBytes value, Metadata metadata) {
       } finally {
          lock.unlock();
       }
+      ensureCapacity();
+   }
+
+   /**
+    * Moves a stripe of the memory lookups to a bigger table if there are too many entries for the current one.  Each
+    * write moves at most one stripe, so the resize is spread over many writes.  No lock may be held when invoking this
+    * method.
+    */
+   protected void ensureCapacity() {
+      int stripe = memoryLookup.claimStripeToMigrate(size.get());
+      if (stripe < 0) {
+         return;
+      }
+      Lock lock = locks.getLockWithOffset(stripe).writeLock();
+      lock.lock();
+      try {
+         if (dellocated) {
+            return;
+         }
+         if (trace) {
+            log.tracef("Moving memory lookup stripe %d to the resized table", stripe);
+         }
+         memoryLookup.migrateStripe(stripe, offHeapEntryFactory);
+      } finally {
+         lock.unlock();
+      }
    }
 
    /**
@@ -506,22 +536,26 @@ public void evict(WrappedBytes key) {
    @Override
    public InternalCacheEntry<WrappedBytes, WrappedBytes> compute(WrappedBytes key,
          ComputeAction<WrappedBytes, WrappedBytes> action) {
+      InternalCacheEntry<WrappedBytes, WrappedBytes> result;
       Lock lock = locks.getLock(key).writeLock();
       lock.lock();
       try {
          checkDeallocation();
          InternalCacheEntry<WrappedBytes, WrappedBytes> prev = get(key);
-         InternalCacheEntry<WrappedBytes, WrappedBytes> result = action.compute(key, prev, internalEntryFactory);
+         result = action.compute(key, prev, internalEntryFactory);
          if (result != null) {
             long newAddress = offHeapEntryFactory.create(key, result.getValue(), result.getMetadata());
             performPut(newAddress, key);
          } else {
             remove(key);
          }
-         return result;
       } finally {
          lock.unlock();
       }
+      if (result != null) {
+         ensureCapacity();
+      }
+      return result;
    }
 
    private void executeTask(Consumer<InternalCacheEntry<WrappedBytes, WrappedBytes>> consumer) {
@@ -530,7 +564,8 @@ private void executeTask(Consumer<InternalCacheEntry<WrappedBytes, WrappedBytes>
          lock.lock();
          try {
             checkDeallocation();
-            for (int j = i; j < memoryAddressCount; j += lockCount) {
+            int pointerCount = memoryLookup.getPointerCount(i);
+            for (int j = i; j < pointerCount; j += lockCount) {
                long address = memoryLookup.getMemoryAddressOffset(j);
                while (address != 0) {
                   long nextAddress = offHeapEntryFactory.getNextLinkedPointerAddress(address);
@@ -566,39 +601,78 @@ public void executeTask(KeyValueFilter<? super WrappedBytes, ? super WrappedByte
    }
 
    private Stream<InternalCacheEntry<WrappedBytes, WrappedBytes>> entryStream() {
-      int limit = memoryAddressCount / lockCount;
       return IntStream.range(0, lockCount)
             // REALLY REALLY stupid there is no flatMapToObj on IntStream...
             .boxed()
-            .flatMap(l -> {
-               int value = l;
-               return LongStream.iterate(value, i -> i + lockCount).limit(limit)
-                     .boxed()
-                     .flatMap(a -> {
-                     Lock lock = locks.getLockWithOffset(value).readLock();
-                     lock.lock();
-                     try {
-                        checkDeallocation();
-                        long address = memoryLookup.getMemoryAddressOffset(a.intValue());
-                        if (address == 0) {
-                           return Stream.empty();
-                        }
-                        Stream.Builder<InternalCacheEntry<WrappedBytes, WrappedBytes>> builder = Stream.builder();
-                        while (address != 0) {
-                           long nextAddress;
-                           do {
-                              nextAddress = offHeapEntryFactory.getNextLinkedPointerAddress(address);
-                              builder.accept(offHeapEntryFactory.fromMemory(address));
-                           } while ((address = nextAddress) != 0);
-                        }
-                        return builder.build();
-                     } finally {
-                        lock.unlock();
+            .flatMap(this::stripeStream);
+   }
+
+   private Stream<InternalCacheEntry<WrappedBytes, WrappedBytes>> stripeStream(int stripe) {
+      Lock lock = locks.getLockWithOffset(stripe).readLock();
+      int pointerCount;
+      lock.lock();
+      try {
+         checkDeallocation();
+         pointerCount = memoryLookup.getPointerCount(stripe);
+      } finally {
+         lock.unlock();
+      }
+      return IntStream.iterate(stripe, i -> i + lockCount).limit(pointerCount / lockCount)
+            .boxed()
+            .flatMap(offset -> {
+               lock.lock();
+               try {
+                  checkDeallocation();
+                  // If the memory lookups were resized since we started, the entries of the bucket at offset are
+                  // spread over the buckets offset + m * pointerCount
+                  int currentPointerCount = memoryLookup.getPointerCount(stripe);
+                  Stream.Builder<InternalCacheEntry<WrappedBytes, WrappedBytes>> builder = Stream.builder();
+                  for (int bucket = offset; bucket < currentPointerCount; bucket += pointerCount) {
+                     long address = memoryLookup.getMemoryAddressOffset(bucket);
+                     while (address != 0) {
+                        long nextAddress = offHeapEntryFactory.getNextLinkedPointerAddress(address);
+                        builder.accept(offHeapEntryFactory.fromMemory(address));
+                        address = nextAddress;
                      }
-                  });
+                  }
+                  return builder.build();
+               } finally {
+                  lock.unlock();
+               }
             });
    }
 
+   @ManagedAttribute(description = "Number of memory address pointers of the off-heap hash table",
+         displayName = "Address count", displayType = DisplayType.DETAIL)
+   public int getAddressCount() {
+      return memoryLookup.getPointerCount();
+   }
+
+   @ManagedAttribute(description = "Number of entries divided by the number of memory address pointers",
+         displayName = "Load factor", displayType = DisplayType.DETAIL)
+   public double getLoadFactor() {
+      return (double) size.get() / memoryLookup.getPointerCount();
+   }
+
+   @ManagedAttribute(description = "Average number of entries linked from a non empty memory address pointer",
+         displayName = "Average chain length", displayType = DisplayType.DETAIL)
+   public double getAverageChainLength() {
+      long usedPointers = 0;
+      for (int i = 0; i < lockCount; ++i) {
+         Lock lock = locks.getLockWithOffset(i).readLock();
+         lock.lock();
+         try {
+            if (dellocated) {
+               return 0;
+            }
+            usedPointers += memoryLookup.countUsedPointers(i);
+         } finally {
+            lock.unlock();
+         }
+      }
+      return usedPointers == 0 ? 0 : (double) size.get() / usedPointers;
+   }
+
    @Override
    public Iterator<InternalCacheEntry<WrappedBytes, WrappedBytes>> iterator() {
       long time = timeService.time();
@@ -0,0 +1,299 @@
+package org.infinispan.container.offheap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import sun.misc.Unsafe;
+
+/**
+ * Memory allocator that carves blocks of a fixed set of size classes out of large arenas, so most allocations don't
+ * have to go through the native allocator.
+ * <p>
+ * Arenas of {@link #ARENA_SIZE} bytes are split in slabs of {@link #SLAB_SIZE} bytes, and each slab is dedicated to a
+ * single size class.  Freed blocks are kept in a free list per size class and handed out again before carving new
+ * blocks.  To reduce contention the size classes are replicated in a few shards, chosen by the allocating or freeing
+ * thread.  Requests bigger than the largest size class are allocated directly using {@link Unsafe}.
+ * <p>
+ * Slabs are never given back to the arena, the memory is only released once the cache is stopped and all the blocks
+ * have been freed.
+ * @since 9.0
+ */
+@MBean(objectName = "PooledOffHeapMemoryAllocator", description = "Statistics of the pooled off-heap memory allocator")
+public class PooledOffHeapMemoryAllocator implements OffHeapMemoryAllocator {
+   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
+   private static final Log log = LogFactory.getLog(PooledOffHeapMemoryAllocator.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   static final int ARENA_SIZE = 4 << 20;
+   static final int SLAB_SIZE = 64 << 10;
+   static final int[] SIZE_CLASSES = createSizeClasses(8 << 10);
+
+   private final int shardMask;
+   private final AtomicLong pooledAllocated = new AtomicLong();
+   private final AtomicLong unpooledAllocated = new AtomicLong();
+   // Guarded by this
+   private final List<Long> arenas = new ArrayList<>();
+   private long arenaPosition;
+   private long arenaEnd;
+   private long slabCount;
+
+   private volatile SizeClass[][] shards;
+   private volatile boolean stopped;
+   private LongUnaryOperator sizeCalculator;
+
+   public PooledOffHeapMemoryAllocator() {
+      this(OffHeapDataContainer.nextPowerOfTwo(Runtime.getRuntime().availableProcessors()));
+   }
+
+   PooledOffHeapMemoryAllocator(int shardCount) {
+      this.shardMask = shardCount - 1;
+      this.shards = createShards(shardCount);
+   }
+
+   /**
+    * Size classes are multiples of 16 bytes up to 128 bytes, then there are 4 size classes between each power of two,
+    * so a block never wastes more than 20% of its size.
+    */
+   private static int[] createSizeClasses(int maxSize) {
+      List<Integer> sizes = new ArrayList<>();
+      for (int size = 16; size <= 128; size += 16) {
+         sizes.add(size);
+      }
+      for (int powerOfTwo = 128; powerOfTwo < maxSize; powerOfTwo <<= 1) {
+         int step = powerOfTwo >> 2;
+         for (int size = powerOfTwo + step; size <= powerOfTwo << 1; size += step) {
+            sizes.add(size);
+         }
+      }
+      return sizes.stream().mapToInt(Integer::intValue).toArray();
+   }
+
+   private static SizeClass[][] createShards(int shardCount) {
+      SizeClass[][] shards = new SizeClass[shardCount][SIZE_CLASSES.length];
+      for (SizeClass[] shard : shards) {
+         for (int i = 0; i < SIZE_CLASSES.length; ++i) {
+            shard[i] = new SizeClass(SIZE_CLASSES[i]);
+         }
+      }
+      return shards;
+   }
+
+   /**
+    * @return the index of the smallest size class that can hold the given size or -1 if it is too big to be pooled
+    */
+   static int sizeClassIndex(long size) {
+      if (size > SIZE_CLASSES[SIZE_CLASSES.length - 1]) {
+         return -1;
+      }
+      int index = Arrays.binarySearch(SIZE_CLASSES, (int) size);
+      return index >= 0 ? index : -(index + 1);
+   }
+
+   @Inject
+   public void inject(OffHeapEntryFactory offHeapEntryFactory) {
+      sizeCalculator = offHeapEntryFactory::determineSize;
+   }
+
+   @Start
+   public void start() {
+      stopped = false;
+   }
+
+   @Stop
+   public void stop() {
+      stopped = true;
+      releaseIfUnused();
+   }
+
+   private SizeClass sizeClass(int index) {
+      return shards[(int) Thread.currentThread().getId() & shardMask][index];
+   }
+
+   @Override
+   public long allocate(long memoryLength) {
+      int index = sizeClassIndex(memoryLength);
+      long memoryLocation;
+      long currentSize;
+      if (index < 0) {
+         memoryLocation = UNSAFE.allocateMemory(memoryLength);
+         currentSize = unpooledAllocated.addAndGet(memoryLength);
+      } else {
+         memoryLocation = sizeClass(index).allocate(this);
+         // The whole block is taken, whatever the requested length
+         currentSize = pooledAllocated.addAndGet(SIZE_CLASSES[index]);
+      }
+      if (trace) {
+         log.tracef("Allocated off heap memory at %d with %d bytes.  Total size: %d", memoryLocation,
+               memoryLength, currentSize);
+      }
+      return memoryLocation;
+   }
+
+   @Override
+   public void deallocate(long memoryAddress) {
+      deallocate(memoryAddress, sizeCalculator.applyAsLong(memoryAddress));
+   }
+
+   @Override
+   public void deallocate(long memoryAddress, long size) {
+      int index = sizeClassIndex(size);
+      long currentSize;
+      if (index < 0) {
+         currentSize = unpooledAllocated.addAndGet(- size);
+         UNSAFE.freeMemory(memoryAddress);
+      } else {
+         sizeClass(index).free(memoryAddress);
+         currentSize = pooledAllocated.addAndGet(- SIZE_CLASSES[index]);
+         if (currentSize == 0 && stopped) {
+            releaseIfUnused();
+         }
+      }
+      if (trace) {
+         log.tracef("Deallocating off heap memory at %d with %d bytes.  Total size: %d", memoryAddress, size,
+               currentSize);
+      }
+   }
+
+   /**
+    * Carves a new slab out of the current arena, allocating a new arena if it is exhausted.
+    */
+   synchronized long allocateSlab() {
+      if (arenaPosition == arenaEnd) {
+         long arena = UNSAFE.allocateMemory(ARENA_SIZE);
+         arenas.add(arena);
+         arenaPosition = arena;
+         arenaEnd = arena + ARENA_SIZE;
+         if (trace) {
+            log.tracef("Allocated off heap arena at %d, %d arenas in use", arena, arenas.size());
+         }
+      }
+      long slab = arenaPosition;
+      arenaPosition += SLAB_SIZE;
+      slabCount++;
+      return slab;
+   }
+
+   private synchronized void releaseIfUnused() {
+      if (pooledAllocated.get() != 0) {
+         return;
+      }
+      if (trace) {
+         log.tracef("Releasing %d off heap arenas", arenas.size());
+      }
+      arenas.forEach(UNSAFE::freeMemory);
+      arenas.clear();
+      arenaPosition = arenaEnd = 0;
+      slabCount = 0;
+      shards = createShards(shards.length);
+   }
+
+   @ManagedAttribute(description = "Amount of memory in bytes of the blocks holding the off-heap entries",
+         displayName = "Allocated memory", displayType = DisplayType.SUMMARY)
+   @Override
+   public long getAllocatedAmount() {
+      return pooledAllocated.get() + unpooledAllocated.get();
+   }
+
+   @ManagedAttribute(description = "Amount of native memory in bytes held by the allocator, including the unused " +
+         "part of the arenas", displayName = "Reserved memory", displayType = DisplayType.SUMMARY)
+   public synchronized long getReservedAmount() {
+      return (long) arenas.size() * ARENA_SIZE + unpooledAllocated.get();
+   }
+
+   /**
+    * The part of the arenas not carved into slabs yet is not counted, it is available to any size class.
+    */
+   @ManagedAttribute(description = "Percentage of the memory carved into slabs or allocated directly that isn't " +
+         "used by any block", displayName = "Fragmentation", units = Units.PERCENTAGE, displayType = DisplayType.SUMMARY)
+   public double getFragmentation() {
+      long carved;
+      synchronized (this) {
+         carved = slabCount * SLAB_SIZE + unpooledAllocated.get();
+      }
+      return carved == 0 ? 0 : 100 * (1 - (double) getAllocatedAmount() / carved);
+   }
+
+   @ManagedAttribute(description = "Number of arenas allocated from native memory", displayName = "Arena count",
+         displayType = DisplayType.DETAIL)
+   public synchronized int getArenaCount() {
+      return arenas.size();
+   }
+
+   @ManagedAttribute(description = "Block size, used blocks, free blocks and slabs of each size class in use",
+         displayName = "Size class usage", displayType = DisplayType.DETAIL)
+   public String[] getSizeClassUsage() {
+      SizeClass[][] currentShards = shards;
+      List<String> usage = new ArrayList<>();
+      for (int i = 0; i < SIZE_CLASSES.length; ++i) {
+         long used = 0, free = 0, slabs = 0;
+         for (SizeClass[] shard : currentShards) {
+            SizeClass sizeClass = shard[i];
+            synchronized (sizeClass) {
+               used += sizeClass.usedBlocks;
+               free += sizeClass.freeBlocks;
+               slabs += sizeClass.slabs;
+            }
+         }
+         if (slabs != 0) {
+            usage.add(String.format("%d bytes: %d used, %d free, %d slabs", SIZE_CLASSES[i], used, free, slabs));
+         }
+      }
+      return usage.toArray(new String[usage.size()]);
+   }
+
+   /**
+    * Blocks of a single size.  The first 8 bytes of a freed block point to the next free block.
+    */
+   private static final class SizeClass {
+      final int blockSize;
+      long freeList;
+      long slabPosition;
+      long slabEnd;
+      // Blocks may be freed in another shard than the one they were allocated from, so only the sums are meaningful
+      long usedBlocks;
+      long freeBlocks;
+      long slabs;
+
+      SizeClass(int blockSize) {
+         this.blockSize = blockSize;
+      }
+
+      synchronized long allocate(PooledOffHeapMemoryAllocator allocator) {
+         usedBlocks++;
+         long address = freeList;
+         if (address != 0) {
+            freeList = UNSAFE.getLong(address);
+            freeBlocks--;
+            return address;
+         }
+         if (slabEnd - slabPosition < blockSize) {
+            slabPosition = allocator.allocateSlab();
+            slabEnd = slabPosition + SLAB_SIZE;
+            slabs++;
+         }
+         address = slabPosition;
+         slabPosition += blockSize;
+         return address;
+      }
+
+      synchronized void free(long address) {
+         UNSAFE.putLong(address, freeList);
+         freeList = address;
+         usedBlocks--;
+         freeBlocks++;
+      }
+   }
+}
@@ -11,6 +11,10 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.io.ByteBufferFactoryImpl;
 import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
+import org.infinispan.container.offheap.OffHeapMemoryAllocator;
+import org.infinispan.container.offheap.PooledOffHeapMemoryAllocator;
+import org.infinispan.container.offheap.UnpooledOffHeapMemoryAllocator;
 import org.infinispan.context.InvocationContextFactory;
 import org.infinispan.context.NonTransactionalInvocationContextFactory;
 import org.infinispan.context.TransactionalInvocationContextFactory;
@@ -68,7 +72,8 @@
                               TotalOrderManager.class, ByteBufferFactory.class, MarshalledEntryFactory.class,
                               RemoteValueRetrievedListener.class, InvocationContextFactory.class, CommitManager.class,
                               XSiteStateTransferManager.class, XSiteStateConsumer.class, XSiteStateProvider.class,
-                              FunctionalNotifier.class, CommandAckCollector.class, TriangleOrderManager.class})
+                              FunctionalNotifier.class, CommandAckCollector.class, TriangleOrderManager.class,
+                              OffHeapMemoryAllocator.class})
 public class EmptyConstructorNamedCacheFactory extends AbstractNamedCacheComponentFactory implements AutoInstantiableFactory {
 
    @Override
@@ -146,6 +151,9 @@ public <T> T construct(Class<T> componentType) {
             return componentType.cast(new CommandAckCollector());
          } else if (componentType.equals(TriangleOrderManager.class)) {
             return componentType.cast(new TriangleOrderManager(configuration.clustering().hash().numSegments()));
+         } else if (componentType.equals(OffHeapMemoryAllocator.class)) {
+            return componentType.cast(configuration.memory().allocator() == OffHeapAllocatorType.POOLED ?
+                  new PooledOffHeapMemoryAllocator() : new UnpooledOffHeapMemoryAllocator());
          }
       }
 
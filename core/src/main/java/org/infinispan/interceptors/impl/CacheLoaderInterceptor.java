@@ -1,14 +1,15 @@
 package org.infinispan.interceptors.impl;
 
-import static org.infinispan.factories.KnownComponentNames.PERSISTENCE_EXECUTOR;
 import static org.infinispan.persistence.PersistenceUtil.convert;
+import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.BOTH;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.Spliterator;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -40,6 +41,7 @@
 import org.infinispan.commons.equivalence.Equivalence;
 import org.infinispan.commons.equivalence.EquivalentHashSet;
 import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.CloseableIteratorMapper;
 import org.infinispan.commons.util.CloseableSpliterator;
 import org.infinispan.commons.util.Closeables;
 import org.infinispan.container.DataContainer;
@@ -51,7 +53,6 @@
 import org.infinispan.context.impl.FlagBitSets;
 import org.infinispan.distribution.group.GroupFilter;
 import org.infinispan.distribution.group.GroupManager;
-import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.filter.CollectionKeyFilter;
@@ -68,14 +69,11 @@
 import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
-import org.infinispan.persistence.util.PersistenceManagerCloseableSupplier;
 import org.infinispan.stream.impl.interceptor.AbstractDelegatingEntryCacheSet;
 import org.infinispan.stream.impl.interceptor.AbstractDelegatingKeyCacheSet;
 import org.infinispan.stream.impl.spliterators.IteratorAsSpliterator;
-import org.infinispan.util.CloseableSuppliedIterator;
 import org.infinispan.util.DistinctKeyDoubleEntryCloseableIterator;
 import org.infinispan.util.TimeService;
-import org.infinispan.util.function.CloseableSupplier;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -94,7 +92,6 @@
    private InternalEntryFactory iceFactory;
    private DataContainer<K, V> dataContainer;
    private GroupManager groupManager;
-   private ExecutorService executorService;
    private Cache<K, V> cache;
    private Equivalence<? super K> keyEquivalence;
    private boolean activation;
@@ -105,8 +102,7 @@
    @Inject
    protected void injectDependencies(PersistenceManager clm, EntryFactory entryFactory, CacheNotifier notifier,
                                      TimeService timeService, InternalEntryFactory iceFactory, DataContainer<K, V> dataContainer,
-                                     GroupManager groupManager, @ComponentName(PERSISTENCE_EXECUTOR) ExecutorService persistenceExecutor,
-                                     Cache<K, V> cache) {
+                                     GroupManager groupManager, Cache<K, V> cache) {
       this.persistenceManager = clm;
       this.notifier = notifier;
       this.entryFactory = entryFactory;
@@ -114,7 +110,6 @@ protected void injectDependencies(PersistenceManager clm, EntryFactory entryFact
       this.iceFactory = iceFactory;
       this.dataContainer = dataContainer;
       this.groupManager = groupManager;
-      this.executorService = persistenceExecutor;
       this.cache = cache;
    }
 
@@ -152,10 +147,7 @@ public Object visitGetCacheEntryCommand(InvocationContext ctx,
    @Override
    public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command)
          throws Throwable {
-      for (Object key : command.getKeys()) {
-         loadIfNeeded(ctx, key, command);
-      }
-      return invokeNext(ctx, command);
+      return visitManyDataCommand(ctx, command, command.getKeys());
    }
 
    @Override
@@ -184,17 +176,50 @@ public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command)
 
    private Object visitManyDataCommand(InvocationContext ctx, FlagAffectedCommand command, Collection<?> keys)
          throws Throwable {
+      if (ctx.isInTxScope()) {
+         for (Object key : keys) {
+            loadIfNeeded(ctx, key, command);
+         }
+         return invokeNext(ctx, command);
+      }
+
+      // Load all the keys in parallel, but only update the context once all the loads completed
+      List<Object> loadedKeys = new ArrayList<>();
+      List<AtomicReference<Boolean>> isLoadedRefs = new ArrayList<>();
+      List<CompletableFuture<InternalCacheEntry<K, V>>> loads = new ArrayList<>();
       for (Object key : keys) {
-         loadIfNeeded(ctx, key, command);
+         if (skipLoad(command, key, ctx))
+            continue;
+
+         AtomicReference<Boolean> isLoaded = new AtomicReference<>();
+         loadedKeys.add(key);
+         isLoadedRefs.add(isLoaded);
+         loads.add(PersistenceUtil.loadAndStoreInDataContainerAsync(dataContainer, persistenceManager, (K) key, ctx,
+                                                                    timeService, isLoaded));
       }
-      return invokeNext(ctx, command);
+      if (loads.isEmpty())
+         return invokeNext(ctx, command);
+
+      CompletableFuture<Void> allLoaded = CompletableFuture.allOf(loads.toArray(new CompletableFuture[loads.size()]))
+            .thenRun(() -> {
+               for (int i = 0; i < loads.size(); i++) {
+                  entryLoaded(ctx, loadedKeys.get(i), command, loads.get(i).join(), isLoadedRefs.get(i).get());
+               }
+            });
+      return asyncInvokeNext(ctx, command, allLoaded);
    }
 
    private Object visitDataCommand(InvocationContext ctx, AbstractDataCommand command)
          throws Throwable {
       Object key;
       if ((key = command.getKey()) != null) {
-         loadIfNeeded(ctx, key, command);
+         if (ctx.isInTxScope()) {
+            loadIfNeeded(ctx, key, command);
+         } else if (!skipLoad(command, key, ctx)) {
+            // Non-transactional invocations don't depend on the invoking thread,
+            // so they can wait for the store without blocking it
+            return asyncInvokeNext(ctx, command, loadInContextAsync(ctx, key, command));
+         }
       }
       return invokeNext(ctx, command);
    }
@@ -234,28 +259,6 @@ public Object visitEntrySetCommand(InvocationContext ctx, EntrySetCommand comman
       });
    }
 
-   class SupplierFunction<K, V> implements CloseableSupplier<K> {
-      private final CloseableSupplier<CacheEntry<K, V>> supplier;
-
-      SupplierFunction(CloseableSupplier<CacheEntry<K, V>> supplier) {
-         this.supplier = supplier;
-      }
-
-      @Override
-      public K get() {
-         CacheEntry<K, V> entry = supplier.get();
-         if (entry != null) {
-            return entry.getKey();
-         }
-         return null;
-      }
-
-      @Override
-      public void close() {
-         supplier.close();
-      }
-   }
-
    @Override
    public Object visitKeySetCommand(InvocationContext ctx, KeySetCommand command)
          throws Throwable {
@@ -338,6 +341,22 @@ private Boolean loadInContext(InvocationContext ctx, Object key, FlagAffectedCom
       InternalCacheEntry<K, V> entry = PersistenceUtil.loadAndStoreInDataContainer(dataContainer, persistenceManager, (K) key,
                                                                              ctx, timeService, isLoaded);
       Boolean isLoadedValue = isLoaded.get();
+      entryLoaded(ctx, key, cmd, entry, isLoadedValue);
+      return isLoadedValue;
+   }
+
+   private CompletableFuture<Boolean> loadInContextAsync(InvocationContext ctx, Object key, FlagAffectedCommand cmd) {
+      final AtomicReference<Boolean> isLoaded = new AtomicReference<>();
+      return PersistenceUtil.loadAndStoreInDataContainerAsync(dataContainer, persistenceManager, (K) key, ctx,
+                                                              timeService, isLoaded).thenApply(entry -> {
+         Boolean isLoadedValue = isLoaded.get();
+         entryLoaded(ctx, key, cmd, entry, isLoadedValue);
+         return isLoadedValue;
+      });
+   }
+
+   private void entryLoaded(InvocationContext ctx, Object key, FlagAffectedCommand cmd, InternalCacheEntry<K, V> entry,
+                            Boolean isLoadedValue) {
       if (trace) {
          log.tracef("Entry was loaded? %s", isLoadedValue);
       }
@@ -361,7 +380,6 @@ private Boolean loadInContext(InvocationContext ctx, Object key, FlagAffectedCom
             sendNotification(key, value, false, ctx, cmd);
          }
       }
-      return isLoadedValue;
    }
 
    private boolean skipLoad(FlagAffectedCommand cmd, Object key, InvocationContext ctx) {
@@ -505,12 +523,11 @@ public CloseableIterator<CacheEntry<K, V>> iterator() {
          Set<K> seenKeys =
                new EquivalentHashSet<K>(cache.getAdvancedCache().getDataContainer().size(), keyEquivalence);
          // TODO: how to handle concurrent activation....
-         return new DistinctKeyDoubleEntryCloseableIterator<>(iterator, new CloseableSuppliedIterator<>(
-
-               // TODO: how to pass in key filter...
-               new PersistenceManagerCloseableSupplier<>(executorService, persistenceManager, iceFactory,
-                     new CollectionKeyFilter<>(seenKeys), 10, TimeUnit.SECONDS, 2048)), e -> e.getKey(),
-               seenKeys);
+         // The store entries are only read as the caller consumes them
+         CloseableIterator<MarshalledEntry> storeIterator = persistenceManager.entryIterator(null,
+               new CollectionKeyFilter<>(seenKeys), true, true, BOTH);
+         return new DistinctKeyDoubleEntryCloseableIterator<>(iterator, new CloseableIteratorMapper<>(storeIterator,
+               me -> (CacheEntry<K, V>) convert(me, iceFactory)), e -> e.getKey(), seenKeys);
       }
 
       @Override
@@ -548,11 +565,11 @@ public CloseableIterator<K> iterator() {
          Set<K> seenKeys = new EquivalentHashSet<K>(cache.getAdvancedCache().getDataContainer().size(),
                keyEquivalence);
          // TODO: how to handle concurrent activation....
-         return new DistinctKeyDoubleEntryCloseableIterator<>(iterator, new CloseableSuppliedIterator<>(new SupplierFunction<>(
-               new PersistenceManagerCloseableSupplier<>(executorService, persistenceManager,
-                     // TODO: how to pass in key filter...
-                     iceFactory, new CollectionKeyFilter<>(seenKeys), 10, TimeUnit.SECONDS, 2048))),
-               Function.identity(), seenKeys);
+         // Only the keys are needed, so values and metadata are not read from the stores
+         CloseableIterator<MarshalledEntry> storeIterator = persistenceManager.entryIterator(null,
+               new CollectionKeyFilter<>(seenKeys), false, false, BOTH);
+         return new DistinctKeyDoubleEntryCloseableIterator<>(iterator, new CloseableIteratorMapper<>(storeIterator,
+               me -> (K) me.getKey()), Function.identity(), seenKeys);
       }
 
       @Override
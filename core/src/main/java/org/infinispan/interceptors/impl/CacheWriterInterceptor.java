@@ -4,8 +4,12 @@
 import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.BOTH;
 import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.PRIVATE;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicLong;
 
 import javax.transaction.InvalidTransactionException;
@@ -56,11 +60,13 @@
 import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.jmx.annotations.ManagedOperation;
 import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.marshall.core.MarshalledEntryImpl;
 import org.infinispan.metadata.EmbeddedMetadata;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.transaction.xa.GlobalTransaction;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -156,15 +162,16 @@ private Transaction suspendRunningTx(TxInvocationContext ctx) throws SystemExcep
 
    @Override
    public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) throws Throwable {
-      return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> {
+      return invokeNextThenApply(ctx, command, (rCtx, rCommand, rv) -> {
          RemoveCommand removeCommand = (RemoveCommand) rCommand;
-         if (!isStoreEnabled(removeCommand) || rCtx.isInTxScope() || !removeCommand.isSuccessful()) return;
-         if (!isProperWriter(rCtx, removeCommand, removeCommand.getKey())) return;
+         if (!isStoreEnabled(removeCommand) || rCtx.isInTxScope() || !removeCommand.isSuccessful()) return rv;
+         if (!isProperWriter(rCtx, removeCommand, removeCommand.getKey())) return rv;
 
          Object key = removeCommand.getKey();
-         boolean resp = persistenceManager.deleteFromAllStores(key, BOTH);
+         CompletionStage<Boolean> stage = persistenceManager.deleteFromAllStoresAsync(key, BOTH);
          if (trace)
-            getLog().tracef("Removed entry under key %s and got response %s from CacheStore", key, resp);
+            stage.thenAccept(resp -> getLog().tracef("Removed entry under key %s and got response %s from CacheStore", key, resp));
+         return delayedValue(stage, rv);
       });
    }
 
@@ -178,51 +185,55 @@ public Object visitClearCommand(InvocationContext ctx, ClearCommand command) thr
 
    @Override
    public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command) throws Throwable {
-      return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> {
+      return invokeNextThenApply(ctx, command, (rCtx, rCommand, rv) -> {
          PutKeyValueCommand putKeyValueCommand = (PutKeyValueCommand) rCommand;
          if (!isStoreEnabled(putKeyValueCommand) || rCtx.isInTxScope() || !putKeyValueCommand.isSuccessful())
-            return;
+            return rv;
          if (!isProperWriter(rCtx, putKeyValueCommand, putKeyValueCommand.getKey()))
-            return;
+            return rv;
 
          Object key = putKeyValueCommand.getKey();
-         storeEntry(rCtx, key, putKeyValueCommand);
+         CompletableFuture<Void> stage = storeEntryAsync(rCtx, key, putKeyValueCommand);
          if (getStatisticsEnabled())
             cacheStores.incrementAndGet();
+         return delayedValue(stage, rv);
       });
    }
 
    @Override
    public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command) throws Throwable {
-      return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> {
+      return invokeNextThenApply(ctx, command, (rCtx, rCommand, rv) -> {
          ReplaceCommand replaceCommand = (ReplaceCommand) rCommand;
          if (!isStoreEnabled(replaceCommand) || rCtx.isInTxScope() || !replaceCommand.isSuccessful())
-            return;
+            return rv;
          if (!isProperWriter(rCtx, replaceCommand, replaceCommand.getKey()))
-            return;
+            return rv;
 
          Object key = replaceCommand.getKey();
-         storeEntry(rCtx, key, replaceCommand);
+         CompletableFuture<Void> stage = storeEntryAsync(rCtx, key, replaceCommand);
          if (getStatisticsEnabled())
             cacheStores.incrementAndGet();
+         return delayedValue(stage, rv);
       });
    }
 
    @Override
    public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) throws Throwable {
-      return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> {
+      return invokeNextThenApply(ctx, command, (rCtx, rCommand, rv) -> {
          PutMapCommand putMapCommand = (PutMapCommand) rCommand;
          if (!isStoreEnabled(putMapCommand) || rCtx.isInTxScope())
-            return;
+            return rv;
 
          Map<Object, Object> map = putMapCommand.getMap();
+         List<Object> keys = new ArrayList<>(map.size());
          for (Object key : map.keySet()) {
             if (isProperWriter(rCtx, putMapCommand, key)) {
-               storeEntry(rCtx, key, putMapCommand);
+               keys.add(key);
             }
          }
          if (getStatisticsEnabled())
             cacheStores.getAndAdd(map.size());
+         return delayedValue(storeEntriesAsync(rCtx, keys, putMapCommand), rv);
       });
    }
 
@@ -253,12 +264,12 @@ public Object visitWriteOnlyKeyValueCommand(InvocationContext ctx, WriteOnlyKeyV
 
    private <T extends DataWriteCommand & FunctionalCommand> Object visitWriteCommand(InvocationContext ctx,
          VisitableCommand command) throws Throwable {
-      return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> {
+      return invokeNextThenApply(ctx, command, (rCtx, rCommand, rv) -> {
          T dataWriteCommand = (T) rCommand;
          if (!isStoreEnabled(dataWriteCommand) || rCtx.isInTxScope() || !dataWriteCommand.isSuccessful())
-            return;
+            return rv;
          if (!isProperWriter(rCtx, dataWriteCommand, dataWriteCommand.getKey()))
-            return;
+            return rv;
 
          Param<PersistenceMode> persistMode = dataWriteCommand.getParams().get(PersistenceMode.ID);
          switch (persistMode.get()) {
@@ -267,12 +278,13 @@ private <T extends DataWriteCommand & FunctionalCommand> Object visitWriteComman
                CacheEntry entry = rCtx.lookupEntry(key);
                if (entry != null) {
                   if (entry.isRemoved()) {
-                     boolean resp = persistenceManager.deleteFromAllStores(key, BOTH);
+                     CompletionStage<Boolean> stage = persistenceManager.deleteFromAllStoresAsync(key, BOTH);
                      if (trace)
-                        getLog().tracef("Removed entry under key %s and got response %s from CacheStore", key,
-                              resp);
+                        stage.thenAccept(resp -> getLog().tracef(
+                              "Removed entry under key %s and got response %s from CacheStore", key, resp));
+                     return delayedValue(stage, rv);
                   } else if (entry.isChanged()) {
-                     storeEntry(rCtx, key, dataWriteCommand);
+                     return delayedValue(storeEntryAsync(rCtx, key, dataWriteCommand), rv);
                   }
                }
                log.trace("Skipping cache store since entry was not found in context");
@@ -280,6 +292,7 @@ private <T extends DataWriteCommand & FunctionalCommand> Object visitWriteComman
             case SKIP:
                log.trace("Skipping cache store since persistence mode parameter is SKIP");
          }
+         return rv;
       });
    }
 
@@ -472,6 +485,57 @@ void storeEntry(InvocationContext ctx, Object key, FlagAffectedCommand command)
       if (trace) getLog().tracef("Stored entry %s under key %s", sv, key);
    }
 
+   /**
+    * Same as {@link #storeEntry(InvocationContext, Object, FlagAffectedCommand)}, but doesn't wait for the stores.
+    */
+   CompletableFuture<Void> storeEntryAsync(InvocationContext ctx, Object key, FlagAffectedCommand command) {
+      InternalCacheValue sv = getStoredValue(key, ctx);
+      CompletionStage<Void> stage = persistenceManager.writeToAllNonTxStoresAsync(
+            new MarshalledEntryImpl(key, sv.getValue(), internalMetadata(sv), marshaller),
+            skipSharedStores(ctx, key, command) ? PRIVATE : BOTH);
+      if (!trace)
+         return stage.toCompletableFuture();
+      return stage.toCompletableFuture().thenRun(() -> getLog().tracef("Stored entry %s under key %s", sv, key));
+   }
+
+   /**
+    * Writes the entries of all the given keys to the stores, with one batch per access mode.
+    *
+    * @see PersistenceManager#writeBatchToAllNonTxStoresAsync(Iterable, PersistenceManager.AccessMode)
+    */
+   CompletableFuture<Void> storeEntriesAsync(InvocationContext ctx, Collection<Object> keys, FlagAffectedCommand command) {
+      List<MarshalledEntry> privateEntries = new ArrayList<>();
+      List<MarshalledEntry> sharedEntries = new ArrayList<>(keys.size());
+      for (Object key : keys) {
+         InternalCacheValue sv = getStoredValue(key, ctx);
+         MarshalledEntry entry = new MarshalledEntryImpl(key, sv.getValue(), internalMetadata(sv), marshaller);
+         if (skipSharedStores(ctx, key, command)) {
+            privateEntries.add(entry);
+         } else {
+            sharedEntries.add(entry);
+         }
+      }
+      CompletableFuture<Void> privateStored = privateEntries.isEmpty() ? CompletableFutures.completedNull() :
+            persistenceManager.writeBatchToAllNonTxStoresAsync(privateEntries, PRIVATE).toCompletableFuture();
+      CompletableFuture<Void> sharedStored = sharedEntries.isEmpty() ? CompletableFutures.completedNull() :
+            persistenceManager.writeBatchToAllNonTxStoresAsync(sharedEntries, BOTH).toCompletableFuture();
+      CompletableFuture<Void> allStored = CompletableFuture.allOf(privateStored, sharedStored);
+      if (!trace)
+         return allStored;
+      return allStored.thenRun(() -> getLog().tracef("Stored entries for keys %s", keys));
+   }
+
+   /**
+    * @return {@code rv} if {@code stage} is already completed, otherwise an invocation stage that completes with
+    * {@code rv} (or with the store failure) after {@code stage}.
+    */
+   static Object delayedValue(CompletionStage<?> stage, Object rv) {
+      CompletableFuture<?> future = stage.toCompletableFuture();
+      if (future.isDone() && !future.isCompletedExceptionally())
+         return rv;
+      return asyncValue(future.thenApply(ignore -> rv));
+   }
+
    protected boolean skipSharedStores(InvocationContext ctx, Object key, FlagAffectedCommand command) {
       return !ctx.isOriginLocal() ||
             command.hasAnyFlag(FlagBitSets.SKIP_SHARED_CACHE_STORE);
@@ -4,7 +4,11 @@
 import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.BOTH;
 import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.PRIVATE;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.infinispan.commands.FlagAffectedCommand;
 import org.infinispan.commands.write.PutKeyValueCommand;
@@ -45,6 +49,7 @@ public class DistCacheWriterInterceptor extends CacheWriterInterceptor {
    private Address address;
 
    private static final Log log = LogFactory.getLog(DistCacheWriterInterceptor.class);
+   private static final boolean trace = log.isTraceEnabled();
    private boolean isUsingLockDelegation;
    private ClusteringDependentLogic cdl;
    private StateTransferManager stateTransferManager;
@@ -81,10 +86,10 @@ public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand
          if (!isProperWriter(rCtx, putKeyValueCommand, putKeyValueCommand.getKey()))
             return rv;
 
-         storeEntry(rCtx, key, putKeyValueCommand);
+         CompletableFuture<Void> stage = storeEntryAsync(rCtx, key, putKeyValueCommand);
          if (getStatisticsEnabled())
             cacheStores.incrementAndGet();
-         return rv;
+         return delayedValue(stage, rv);
       });
    }
 
@@ -96,7 +101,7 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) t
             return rv;
 
          Map<Object, Object> map = putMapCommand.getMap();
-         int count = 0;
+         List<Object> keys = new ArrayList<>(map.size());
          for (Object key : map.keySet()) {
             // In non-tx mode, a node may receive the same forwarded PutMapCommand many times - but each time
             // it must write only the keys locked on the primary owner that forwarded the command
@@ -105,14 +110,13 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) t
                continue;
 
             if (isProperWriter(rCtx, putMapCommand, key)) {
-               storeEntry(rCtx, key, putMapCommand);
-               count++;
+               keys.add(key);
             }
          }
          if (getStatisticsEnabled())
-            cacheStores.getAndAdd(count);
+            cacheStores.getAndAdd(keys.size());
 
-         return rv;
+         return delayedValue(storeEntriesAsync(rCtx, keys, putMapCommand), rv);
       });
    }
 
@@ -126,11 +130,12 @@ public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) t
          if (!isProperWriter(rCtx, removeCommand, key))
             return rv;
 
-         boolean resp = persistenceManager
-               .deleteFromAllStores(key, skipSharedStores(rCtx, key, removeCommand) ? PRIVATE : BOTH);
-         log.tracef("Removed entry under key %s and got response %s from CacheStore", key, resp);
+         CompletionStage<Boolean> stage = persistenceManager
+               .deleteFromAllStoresAsync(key, skipSharedStores(rCtx, key, removeCommand) ? PRIVATE : BOTH);
+         if (trace)
+            stage.thenAccept(resp -> log.tracef("Removed entry under key %s and got response %s from CacheStore", key, resp));
 
-         return rv;
+         return delayedValue(stage, rv);
       });
    }
 
@@ -145,11 +150,11 @@ public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command)
          if (!isProperWriter(rCtx, replaceCommand, replaceCommand.getKey()))
             return rv;
 
-         storeEntry(rCtx, key, replaceCommand);
+         CompletableFuture<Void> stage = storeEntryAsync(rCtx, key, replaceCommand);
          if (getStatisticsEnabled())
             cacheStores.incrementAndGet();
 
-         return rv;
+         return delayedValue(stage, rv);
       });
    }
 
@@ -4,6 +4,7 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.util.TimeService;
@@ -20,16 +21,23 @@ public class InitializationContextImpl implements InitializationContext {
    private final TimeService timeService;
    private final ByteBufferFactory byteBufferFactory;
    private final MarshalledEntryFactory marshalledEntryFactory;
-
+   private final KeyPartitioner keyPartitioner;
 
    public InitializationContextImpl(StoreConfiguration configuration, Cache cache, StreamingMarshaller marshaller,
                                     TimeService timeService, ByteBufferFactory byteBufferFactory, MarshalledEntryFactory mef) {
+      this(configuration, cache, marshaller, timeService, byteBufferFactory, mef, null);
+   }
+
+   public InitializationContextImpl(StoreConfiguration configuration, Cache cache, StreamingMarshaller marshaller,
+                                    TimeService timeService, ByteBufferFactory byteBufferFactory, MarshalledEntryFactory mef,
+                                    KeyPartitioner keyPartitioner) {
       this.configuration = configuration;
       this.cache = cache;
       this.marshaller = marshaller;
       this.timeService = timeService;
       this.byteBufferFactory = byteBufferFactory;
       this.marshalledEntryFactory = mef;
+      this.keyPartitioner = keyPartitioner;
    }
 
    @Override
@@ -62,4 +70,9 @@ public MarshalledEntryFactory getMarshalledEntryFactory() {
       return marshalledEntryFactory;
    }
 
+   @Override
+   public KeyPartitioner getKeyPartitioner() {
+      return keyPartitioner != null ? keyPartitioner : InitializationContext.super.getKeyPartitioner();
+   }
+
 }
@@ -3,6 +3,8 @@
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -11,6 +13,7 @@
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.entries.InternalCacheValue;
 import org.infinispan.context.InvocationContext;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.metadata.InternalMetadata;
@@ -18,6 +21,7 @@
 import org.infinispan.metadata.impl.InternalMetadataImpl;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.util.TimeService;
 import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.logging.Log;
@@ -42,6 +46,37 @@ public static <K, V> int count(AdvancedCacheLoader<K, V> acl, KeyFilter<? super
       return result.get();
    }
 
+   /**
+    * Iterates over the entries of the given loader that map to one of the given segments. Loaders implementing {@link
+    * SegmentedAdvancedLoadWriteStore} do the segment selection themselves, for the others the segment of each key is
+    * checked by the filter, before the entry's value and metadata are loaded.
+    */
+   public static <K, V> void process(AdvancedCacheLoader<K, V> acl, Set<Integer> segments, KeyPartitioner keyPartitioner,
+                                     KeyFilter<? super K> filter, AdvancedCacheLoader.CacheLoaderTask<K, V> task,
+                                     Executor executor, boolean fetchValue, boolean fetchMetadata) {
+      if (acl instanceof SegmentedAdvancedLoadWriteStore) {
+         ((SegmentedAdvancedLoadWriteStore<K, V>) acl).process(segments, filter, task, executor, fetchValue, fetchMetadata);
+      } else {
+         acl.process(segmentFilter(segments, keyPartitioner, filter), task, executor, fetchValue, fetchMetadata);
+      }
+   }
+
+   /**
+    * Returns a filter accepting only the keys that map to one of the given segments and are accepted by the (possibly
+    * null) <b>filter</b>.
+    */
+   public static <K> KeyFilter<K> segmentFilter(Set<Integer> segments, KeyPartitioner keyPartitioner, KeyFilter<? super K> filter) {
+      KeyFilter<? super K> notNullFilter = notNull(filter);
+      return key -> segments.contains(keyPartitioner.getSegment(key)) && notNullFilter.accept(key);
+   }
+
+   public static <K, V> int count(AdvancedCacheLoader<K, V> acl, Set<Integer> segments, KeyPartitioner keyPartitioner) {
+      final AtomicInteger result = new AtomicInteger(0);
+      process(acl, segments, keyPartitioner, null, (marshalledEntry, taskContext) -> result.incrementAndGet(),
+              new WithinThreadExecutor(), false, false);
+      return result.get();
+   }
+
    public static <K, V> Set<K> toKeySet(AdvancedCacheLoader<K, V> acl, KeyFilter<? super K> filter) {
       if (acl == null)
          return Collections.emptySet();
@@ -93,6 +128,44 @@ public static <K, V> InternalCacheEntry<K,V> loadAndStoreInDataContainer(DataCon
       });
    }
 
+   /**
+    * Same as {@link #loadAndStoreInDataContainer(DataContainer, PersistenceManager, Object, InvocationContext,
+    * TimeService, AtomicReference)}, but the entry is loaded with {@link
+    * PersistenceManager#loadFromAllStoresAsync(Object, InvocationContext)}. The data container lock is not held while
+    * loading, so the loaded entry is only stored if the data container doesn't have a valid entry by the time the load
+    * completes.
+    */
+   public static <K, V> CompletableFuture<InternalCacheEntry<K,V>> loadAndStoreInDataContainerAsync(DataContainer<K, V> dataContainer,
+                                                         final PersistenceManager persistenceManager, K key,
+                                                         final InvocationContext ctx, final TimeService timeService,
+                                                         final AtomicReference<Boolean> isLoaded) {
+      InternalCacheEntry<K, V> existing = dataContainer.peek(key);
+      if (existing != null && (!existing.canExpire() || !existing.isExpired(timeService.wallClockTime()))) {
+         isLoaded.set(null); //not loaded
+         return CompletableFuture.completedFuture(existing);
+      }
+      return persistenceManager.loadFromAllStoresAsync(key, ctx).toCompletableFuture().thenApply(loaded -> {
+         if (trace) {
+            log.tracef("Loaded %s for key %s from persistence.", loaded, key);
+         }
+         MarshalledEntry<K, V> validLoaded = loaded != null && (loaded.getMetadata() == null ||
+               !loaded.getMetadata().isExpired(timeService.wallClockTime())) ? loaded : null;
+         return dataContainer.compute(key, (k, oldEntry, factory) -> {
+            //under the lock, check if the entry was stored in the DataContainer while loading
+            if (oldEntry != null && (!oldEntry.canExpire() || !oldEntry.isExpired(timeService.wallClockTime()))) {
+               isLoaded.set(null); //not loaded
+               return oldEntry; //no changes in container
+            }
+            if (validLoaded == null) {
+               isLoaded.set(Boolean.FALSE); //not loaded
+               return null; //no changed in container
+            }
+            isLoaded.set(Boolean.TRUE); //loaded!
+            return convert(validLoaded, factory);
+         });
+      });
+   }
+
    public static <K, V> InternalCacheEntry<K,V> loadAndComputeInDataContainer(DataContainer<K, V> dataContainer, final PersistenceManager persistenceManager,
                                                                               K key, final InvocationContext ctx, final TimeService timeService,
                                                                               DataContainer.ComputeAction<K, V> action) {
@@ -20,6 +20,7 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.persistence.modifications.Modification;
+import org.infinispan.persistence.modifications.ModificationsList;
 import org.infinispan.persistence.modifications.Remove;
 import org.infinispan.persistence.modifications.Store;
 import org.infinispan.persistence.spi.CacheWriter;
@@ -151,19 +152,47 @@ public boolean delete(Object key) {
       return true;
    }
 
+   @Override
+   public void bulkUpdate(Iterable entries) {
+      List<Modification> mods = new ArrayList<>();
+      for (Object o : entries) {
+         MarshalledEntry entry = (MarshalledEntry) o;
+         mods.add(new Store(entry.getKey(), entry));
+      }
+      if (!mods.isEmpty())
+         put(new ModificationsList(mods), mods.size());
+   }
+
+   @Override
+   public void deleteBatch(Iterable keys) {
+      List<Modification> mods = new ArrayList<>();
+      for (Object key : keys) {
+         mods.add(new Remove(key));
+      }
+      if (!mods.isEmpty())
+         put(new ModificationsList(mods), mods.size());
+   }
+
    protected void applyModificationsSync(List<Modification> mods) throws PersistenceException {
+      // State coalesces the modifications by key, so the order of the stores and removes doesn't matter
+      List<MarshalledEntry> entries = new ArrayList<>(mods.size());
+      List<Object> keys = new ArrayList<>();
       for (Modification m : mods) {
          switch (m.getType()) {
             case STORE:
-               actual.write(((Store) m).getStoredValue());
+               entries.add(((Store) m).getStoredValue());
                break;
             case REMOVE:
-               actual.delete(((Remove) m).getKey());
+               keys.add(((Remove) m).getKey());
                break;
             default:
                throw new IllegalArgumentException("Unknown modification type " + m.getType());
          }
       }
+      if (!entries.isEmpty())
+         actual.bulkUpdate(entries);
+      if (!keys.isEmpty())
+         actual.deleteBatch(keys);
    }
 
 
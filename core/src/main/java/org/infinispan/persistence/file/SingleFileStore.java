@@ -12,6 +12,8 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.Callable;
@@ -22,16 +24,19 @@
 import org.infinispan.commons.configuration.ConfiguredBy;
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.persistence.Store;
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.util.CollectionFactory;
 import org.infinispan.configuration.cache.SingleFileStoreConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.executors.ExecutorAllCompletionService;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.TaskContextImpl;
-import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.InitializationContext;
+import org.infinispan.persistence.spi.IterableCacheLoader;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.util.KeyValuePair;
 import org.infinispan.util.TimeService;
 import org.infinispan.util.logging.Log;
@@ -58,6 +63,10 @@
  * data loss, and data can be recomputed or re-queried from the original data
  * source.
  * <p/>
+ * For stores holding tens of millions of entries, consider the soft-index file store
+ * ({@code infinispan-cachestore-soft-index}) instead: it appends the entries to log files, keeps its index
+ * on disk and compacts the log files in the background, optionally with limited bandwidth.
+ * <p/>
  * This class is fully thread safe, yet allows for concurrent load / store
  * of individual cache entries.
  *
@@ -67,7 +76,7 @@
  */
 @Store
 @ConfiguredBy(SingleFileStoreConfiguration.class)
-public class SingleFileStore<K, V> implements AdvancedLoadWriteStore<K, V> {
+public class SingleFileStore<K, V> implements SegmentedAdvancedLoadWriteStore<K, V>, IterableCacheLoader<K, V> {
    private static final Log log = LogFactory.getLog(SingleFileStore.class);
    private static final boolean trace = log.isTraceEnabled();
 
@@ -431,6 +440,31 @@ public boolean delete(Object key) {
       }
    }
 
+   @Override
+   public void clear(Set<Integer> segments) {
+      KeyPartitioner keyPartitioner = ctx.getKeyPartitioner();
+      List<FileEntry> removed = new ArrayList<>();
+      resizeLock.readLock().lock();
+      try {
+         synchronized (entries) {
+            for (Iterator<Map.Entry<K, FileEntry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+               Map.Entry<K, FileEntry> next = it.next();
+               if (segments.contains(keyPartitioner.getSegment(next.getKey()))) {
+                  it.remove();
+                  removed.add(next.getValue());
+               }
+            }
+         }
+         for (FileEntry fe : removed) {
+            free(fe);
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      } finally {
+         resizeLock.readLock().unlock();
+      }
+   }
+
    @Override
    public MarshalledEntry<K, V> load(Object key) {
       return _load(key, true, true);
@@ -496,8 +530,10 @@ private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadM
       return ctx.getMarshalledEntryFactory().newMarshalledEntry(keyBb, valueBb, metadataBb);
    }
 
-   @Override
-   public void process(KeyFilter<? super K> filter, final CacheLoaderTask<K, V> task, Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
+   /**
+    * Returns the keys accepted by the filter, sorted by their position in the file.
+    */
+   private List<K> keysByOffset(KeyFilter<? super K> filter) {
       filter = PersistenceUtil.notNull(filter);
       ArrayList<KeyValuePair<K, FileEntry>> keysToLoad = new ArrayList<>(entries.size());
       synchronized (entries) {
@@ -515,15 +551,24 @@ public int compare(KeyValuePair<K, FileEntry> o1, KeyValuePair<K, FileEntry> o2)
          });
          // keysToLoad values (i.e. FileEntries) must not be used past this point
       }
+      List<K> keys = new ArrayList<>(keysToLoad.size());
+      for (KeyValuePair<K, FileEntry> e : keysToLoad) {
+         keys.add(e.getKey());
+      }
+      return keys;
+   }
+
+   @Override
+   public void process(KeyFilter<? super K> filter, final CacheLoaderTask<K, V> task, Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
+      List<K> keysToLoad = keysByOffset(filter);
 
       ExecutorAllCompletionService eacs = new ExecutorAllCompletionService(executor);
 
       final TaskContextImpl taskContext = new TaskContextImpl();
-      for (KeyValuePair<K, FileEntry> e : keysToLoad) {
+      for (K key : keysToLoad) {
          if (taskContext.isStopped())
             break;
 
-         final K key = e.getKey();
          eacs.submit(new Callable<Void>() {
             @Override
             public Void call() throws Exception {
@@ -546,6 +591,45 @@ public Void call() throws Exception {
       }
    }
 
+   @Override
+   public CloseableIterator<MarshalledEntry<K, V>> entryIterator(KeyFilter<? super K> filter, boolean fetchValue,
+                                                                 boolean fetchMetadata) {
+      // the keys are kept in memory, only the entries are read lazily
+      Iterator<K> keys = keysByOffset(filter).iterator();
+      return new CloseableIterator<MarshalledEntry<K, V>>() {
+         private MarshalledEntry<K, V> next;
+
+         @Override
+         public boolean hasNext() {
+            while (next == null && keys.hasNext()) {
+               // entries removed or expired since the keys were collected are skipped
+               next = _load(keys.next(), fetchValue, fetchMetadata);
+            }
+            return next != null;
+         }
+
+         @Override
+         public MarshalledEntry<K, V> next() {
+            if (!hasNext())
+               throw new NoSuchElementException();
+            MarshalledEntry<K, V> entry = next;
+            next = null;
+            return entry;
+         }
+
+         @Override
+         public void close() {
+         }
+      };
+   }
+
+   @Override
+   public void process(Set<Integer> segments, KeyFilter<? super K> filter, CacheLoaderTask<K, V> task, Executor executor,
+                       boolean fetchValue, boolean fetchMetadata) {
+      // the keys are kept in memory, so the entries from other segments are never read from disk
+      process(PersistenceUtil.segmentFilter(segments, ctx.getKeyPartitioner(), filter), task, executor, fetchValue, fetchMetadata);
+   }
+
    /**
     * Manipulates the free entries for optimizing disk space.
     */
@@ -698,6 +782,19 @@ public int size() {
       return entries.size();
    }
 
+   @Override
+   public int size(Set<Integer> segments) {
+      KeyPartitioner keyPartitioner = ctx.getKeyPartitioner();
+      int size = 0;
+      synchronized (entries) {
+         for (K key : entries.keySet()) {
+            if (segments.contains(keyPartitioner.getSegment(key)))
+               size++;
+         }
+      }
+      return size;
+   }
+
    Map<K, FileEntry> getEntries() {
       return entries;
    }
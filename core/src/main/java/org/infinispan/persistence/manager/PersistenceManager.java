@@ -2,11 +2,13 @@
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 
 import javax.transaction.Transaction;
 
 import org.infinispan.commons.api.Lifecycle;
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.configuration.cache.StoreConfiguration;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.filter.KeyFilter;
@@ -48,8 +50,22 @@ public interface PersistenceManager extends Lifecycle {
     */
    void clearAllStores(AccessMode mode);
 
+   /**
+    * Removes the entries mapping to one of the given segments from all the stores matching the access mode. Stores
+    * implementing {@link org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore} remove the segments
+    * directly, for the others the matching keys are looked up and deleted one by one.
+    */
+   void clearAllStores(Set<Integer> segments, AccessMode mode);
+
    boolean deleteFromAllStores(Object key, AccessMode mode);
 
+   /**
+    * Same as {@link #deleteFromAllStores(Object, AccessMode)}, but doesn't block the invoking thread. Writers
+    * implementing {@link org.infinispan.persistence.spi.NonBlockingCacheWriter} are invoked directly, the others are
+    * invoked from the persistence executor.
+    */
+   CompletionStage<Boolean> deleteFromAllStoresAsync(Object key, AccessMode mode);
+
    void processOnAllStores(KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata);
 
    void processOnAllStores(Executor executor, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata);
@@ -58,8 +74,39 @@ public interface PersistenceManager extends Lifecycle {
 
    void processOnAllStores(Executor executor, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode);
 
+   /**
+    * Processes only the entries mapping to one of the given segments. Stores implementing {@link
+    * org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore} only read the requested segments.
+    */
+   void processOnAllStores(Set<Integer> segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode);
+
+   void processOnAllStores(Executor executor, Set<Integer> segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode);
+
+   /**
+    * Returns a pull-based iterator over the entries of all the stores matching the access mode, one store after the
+    * other. Unlike {@link #processOnAllStores}, entries are only read from the stores as the caller consumes them, so
+    * only a bounded number of entries is kept in memory regardless of the size of the stores. Stores implementing
+    * {@link org.infinispan.persistence.spi.IterableCacheLoader} are iterated directly, the others are processed in the
+    * persistence executor. The same key may be returned by more than one store.
+    * <p>
+    * The iterator must be closed by the caller.
+    *
+    * @param segments the segments to iterate over, or {@code null} for all of them
+    * @param keyFilter the filter for the keys; might be null
+    */
+   CloseableIterator<MarshalledEntry> entryIterator(Set<Integer> segments, KeyFilter keyFilter, boolean fetchValue,
+                                                    boolean fetchMetadata, AccessMode mode);
+
    MarshalledEntry loadFromAllStores(Object key, InvocationContext context);
 
+   /**
+    * Same as {@link #loadFromAllStores(Object, InvocationContext)}, but doesn't block the invoking thread. Loaders
+    * implementing {@link org.infinispan.persistence.spi.NonBlockingCacheLoader} are invoked directly, the others are
+    * invoked from the persistence executor. The loaders are still queried one after the other, and the first entry
+    * found is returned.
+    */
+   CompletionStage<MarshalledEntry> loadFromAllStoresAsync(Object key, InvocationContext context);
+
    /**
     * Returns the store one configured with fetch persistent state, or null if none exist.
     */
@@ -67,6 +114,11 @@ public interface PersistenceManager extends Lifecycle {
 
    int size();
 
+   /**
+    * Returns the number of entries mapping to one of the given segments in the first store that allows iteration.
+    */
+   int size(Set<Integer> segments);
+
    public static enum AccessMode {
       /**
        * The operation is performed in all {@link org.infinispan.persistence.spi.CacheWriter} or {@link
@@ -125,6 +177,25 @@ protected boolean canPerform(StoreConfiguration configuration) {
     */
    void writeToAllNonTxStores(MarshalledEntry marshalledEntry, AccessMode modes);
 
+   /**
+    * Same as {@link #writeToAllNonTxStores(MarshalledEntry, AccessMode)}, but doesn't block the invoking thread. Writers
+    * implementing {@link org.infinispan.persistence.spi.NonBlockingCacheWriter} are invoked directly, the others are
+    * invoked from the persistence executor. The returned stage completes once all the writes have completed.
+    */
+   CompletionStage<Void> writeToAllNonTxStoresAsync(MarshalledEntry marshalledEntry, AccessMode modes);
+
+   /**
+    * Writes all the given entries to the non-tx stores without blocking the invoking thread, using
+    * {@link org.infinispan.persistence.spi.CacheWriter#bulkUpdate(Iterable)} so that stores can persist them with a
+    * single request. Writers implementing {@link org.infinispan.persistence.spi.NonBlockingCacheWriter} get one
+    * asynchronous write per entry, the batch is written to the others from the persistence executor.
+    *
+    * @param entries the entries to be written to all non-tx stores.
+    * @param accessMode the type of access to the underlying store.
+    * @see #writeToAllNonTxStoresAsync(MarshalledEntry, AccessMode)
+    */
+   CompletionStage<Void> writeBatchToAllNonTxStoresAsync(Iterable<MarshalledEntry> entries, AccessMode accessMode);
+
    /**
     * Perform the prepare phase of 2PC on all Tx stores.
     *
@@ -17,9 +17,13 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -28,6 +32,7 @@
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
@@ -35,6 +40,7 @@
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.io.ByteBufferFactory;
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.CacheMode;
@@ -44,6 +50,7 @@
 import org.infinispan.configuration.cache.StoreConfiguration;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.eviction.EvictionType;
 import org.infinispan.expiration.ExpirationManager;
 import org.infinispan.factories.annotations.ComponentName;
@@ -61,6 +68,7 @@
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.InternalMetadataImpl;
 import org.infinispan.persistence.InitializationContextImpl;
+import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.async.AdvancedAsyncCacheLoader;
 import org.infinispan.persistence.async.AdvancedAsyncCacheWriter;
 import org.infinispan.persistence.async.AsyncCacheLoader;
@@ -72,15 +80,21 @@
 import org.infinispan.persistence.spi.AdvancedCacheWriter;
 import org.infinispan.persistence.spi.CacheLoader;
 import org.infinispan.persistence.spi.CacheWriter;
+import org.infinispan.persistence.spi.IterableCacheLoader;
 import org.infinispan.persistence.spi.LocalOnlyCacheLoader;
+import org.infinispan.persistence.spi.NonBlockingCacheLoader;
+import org.infinispan.persistence.spi.NonBlockingCacheWriter;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.TransactionalCacheWriter;
 import org.infinispan.persistence.support.AdvancedSingletonCacheWriter;
 import org.infinispan.persistence.support.BatchModification;
 import org.infinispan.persistence.support.DelegatingCacheLoader;
 import org.infinispan.persistence.support.DelegatingCacheWriter;
 import org.infinispan.persistence.support.SingletonCacheWriter;
+import org.infinispan.persistence.util.ProcessingEntryIterator;
 import org.infinispan.util.TimeService;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -89,6 +103,8 @@ public class PersistenceManagerImpl implements PersistenceManager {
 
    private static final Log log = LogFactory.getLog(PersistenceManagerImpl.class);
    private static final boolean trace = log.isTraceEnabled();
+   private static final int ITERATION_MAX_IN_FLIGHT = 2048;
+   private static final long ITERATION_TIMEOUT_SECONDS = 10;
 
    Configuration configuration;
    AdvancedCache<Object, Object> cache;
@@ -116,6 +132,7 @@ public class PersistenceManagerImpl implements PersistenceManager {
    private Executor persistenceExecutor;
    private ByteBufferFactory byteBufferFactory;
    private MarshalledEntryFactory marshalledEntryFactory;
+   private KeyPartitioner keyPartitioner;
    private volatile boolean clearOnStop;
 
    @Inject
@@ -123,7 +140,8 @@ public void inject(AdvancedCache<Object, Object> cache, StreamingMarshaller mars
                       Configuration configuration, TransactionManager transactionManager,
                       TimeService timeService, @ComponentName(PERSISTENCE_EXECUTOR) ExecutorService persistenceExecutor,
                       ByteBufferFactory byteBufferFactory, MarshalledEntryFactory marshalledEntryFactory,
-                      CacheStoreFactoryRegistry cacheStoreFactoryRegistry, ExpirationManager expirationManager) {
+                      CacheStoreFactoryRegistry cacheStoreFactoryRegistry, ExpirationManager expirationManager,
+                      KeyPartitioner keyPartitioner) {
       this.cache = cache;
       this.m = marshaller;
       this.configuration = configuration;
@@ -134,6 +152,7 @@ public void inject(AdvancedCache<Object, Object> cache, StreamingMarshaller mars
       this.marshalledEntryFactory = marshalledEntryFactory;
       this.cacheStoreFactoryRegistry = cacheStoreFactoryRegistry;
       this.expirationManager = expirationManager;
+      this.keyPartitioner = keyPartitioner;
 
       this.advancedListener = new AdvancedPurgeListener(expirationManager);
    }
@@ -256,21 +275,35 @@ public void preload() {
       final long maxEntries = getMaxEntries();
       final AtomicInteger loadedEntries = new AtomicInteger(0);
       final AdvancedCache<Object, Object> flaggedCache = getCacheForStateInsertion();
-      preloadCl.process(null, new AdvancedCacheLoader.CacheLoaderTask() {
-         @Override
-         public void processEntry(MarshalledEntry me, AdvancedCacheLoader.TaskContext taskContext) throws InterruptedException {
-            if (loadedEntries.getAndIncrement() >= maxEntries) {
-               taskContext.stop();
-               return;
+      if (preloadCl instanceof IterableCacheLoader) {
+         try (CloseableIterator<MarshalledEntry> it = ((IterableCacheLoader) preloadCl).entryIterator(null, true, true)) {
+            while (loadedEntries.get() < maxEntries && it.hasNext()) {
+               preloadEntry(flaggedCache, it.next());
+               loadedEntries.incrementAndGet();
             }
-            Metadata metadata = me.getMetadata() != null ? ((InternalMetadataImpl)me.getMetadata()).actual() : null; //the downcast will go away with ISPN-3460
-            preloadKey(flaggedCache, me.getKey(), me.getValue(), metadata);
          }
-      }, new WithinThreadExecutor(), true, true);
+      } else {
+         // Processed in this thread without a timeout, as a large store may take long to return its entries
+         preloadCl.process(null, new AdvancedCacheLoader.CacheLoaderTask() {
+            @Override
+            public void processEntry(MarshalledEntry me, AdvancedCacheLoader.TaskContext taskContext) throws InterruptedException {
+               if (loadedEntries.getAndIncrement() >= maxEntries) {
+                  taskContext.stop();
+                  return;
+               }
+               preloadEntry(flaggedCache, me);
+            }
+         }, new WithinThreadExecutor(), true, true);
+      }
 
       log.debugf("Preloaded %s keys in %s", loadedEntries, Util.prettyPrintTime(timeService.timeDuration(start, MILLISECONDS)));
    }
 
+   private void preloadEntry(AdvancedCache<Object, Object> flaggedCache, MarshalledEntry me) {
+      Metadata metadata = me.getMetadata() != null ? ((InternalMetadataImpl)me.getMetadata()).actual() : null; //the downcast will go away with ISPN-3460
+      preloadKey(flaggedCache, me.getKey(), me.getValue(), metadata);
+   }
+
    @Override
    public void disableStore(String storeType) {
       if (enabled) {
@@ -428,6 +461,33 @@ public void clearAllStores(AccessMode mode) {
       }
    }
 
+   @Override
+   public void clearAllStores(Set<Integer> segments, AccessMode mode) {
+      storesMutex.readLock().lock();
+      try {
+         Consumer<CacheWriter> clearWriter = writer -> {
+            if (!mode.canPerform(configMap.get(writer)))
+               return;
+            if (writer instanceof SegmentedAdvancedLoadWriteStore) {
+               ((SegmentedAdvancedLoadWriteStore) writer).clear(segments);
+            } else {
+               // Delete through the (possibly delegating) writer, so that async and singleton stores see the removals
+               CacheWriter actual = undelegate(writer);
+               if (actual instanceof AdvancedCacheLoader) {
+                  Set<Object> keys = new HashSet<>();
+                  PersistenceUtil.process((AdvancedCacheLoader) actual, segments, keyPartitioner, null,
+                        (marshalledEntry, taskContext) -> keys.add(marshalledEntry.getKey()), new WithinThreadExecutor(), false, false);
+                  keys.forEach(writer::delete);
+               }
+            }
+         };
+         nonTxWriters.forEach(clearWriter);
+         txWriters.forEach(clearWriter);
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+   }
+
    @Override
    public boolean deleteFromAllStores(Object key, AccessMode mode) {
       storesMutex.readLock().lock();
@@ -444,6 +504,24 @@ public boolean deleteFromAllStores(Object key, AccessMode mode) {
       }
    }
 
+   @Override
+   public CompletionStage<Boolean> deleteFromAllStoresAsync(Object key, AccessMode mode) {
+      List<CacheWriter> writers = getNonTxWriters(mode);
+      CompletableFuture<Boolean> removed = CompletableFuture.completedFuture(Boolean.FALSE);
+      for (CacheWriter w : writers) {
+         removed = removed.thenCombine(deleteAsync(w, key), (r1, r2) -> r1 || r2);
+      }
+      return removed;
+   }
+
+   private CompletableFuture<Boolean> deleteAsync(CacheWriter writer, Object key) {
+      if (writer instanceof NonBlockingCacheWriter)
+         return ((NonBlockingCacheWriter) writer).deleteAsync(key).toCompletableFuture();
+      if (writer instanceof AsyncCacheWriter)
+         return CompletableFuture.completedFuture(writer.delete(key));
+      return CompletableFuture.supplyAsync(() -> writer.delete(key), persistenceExecutor);
+   }
+
    @Override
    public void processOnAllStores(KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task,
                                   boolean fetchValue, boolean fetchMetadata) {
@@ -475,6 +553,107 @@ public void processOnAllStores(Executor executor, KeyFilter keyFilter, AdvancedC
       }
    }
 
+   @Override
+   public void processOnAllStores(Set<Integer> segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task,
+                                  boolean fetchValue, boolean fetchMetadata, AccessMode mode) {
+      processOnAllStores(persistenceExecutor, segments, keyFilter, task, fetchValue, fetchMetadata, mode);
+   }
+
+   @Override
+   public void processOnAllStores(Executor executor, Set<Integer> segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task,
+                                  boolean fetchValue, boolean fetchMetadata, AccessMode mode) {
+      storesMutex.readLock().lock();
+      try {
+         for (CacheLoader loader : loaders) {
+            if (mode.canPerform(configMap.get(loader)) && loader instanceof AdvancedCacheLoader) {
+               PersistenceUtil.process((AdvancedCacheLoader) loader, segments, keyPartitioner, keyFilter, task, executor,
+                                       fetchValue, fetchMetadata);
+            }
+         }
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+   }
+
+   @Override
+   public CloseableIterator<MarshalledEntry> entryIterator(Set<Integer> segments, KeyFilter keyFilter, boolean fetchValue,
+                                                           boolean fetchMetadata, AccessMode mode) {
+      List<AdvancedCacheLoader> advancedLoaders = new ArrayList<>();
+      storesMutex.readLock().lock();
+      try {
+         for (CacheLoader loader : loaders) {
+            if (mode.canPerform(configMap.get(loader)) && loader instanceof AdvancedCacheLoader) {
+               advancedLoaders.add((AdvancedCacheLoader) loader);
+            }
+         }
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+      return new AllStoresIterator(advancedLoaders.iterator(),
+                                   loader -> storeIterator(loader, segments, keyFilter, fetchValue, fetchMetadata));
+   }
+
+   private CloseableIterator<MarshalledEntry> storeIterator(AdvancedCacheLoader loader, Set<Integer> segments,
+                                                            KeyFilter keyFilter, boolean fetchValue, boolean fetchMetadata) {
+      if (loader instanceof IterableCacheLoader) {
+         KeyFilter filter = segments == null ? keyFilter : PersistenceUtil.segmentFilter(segments, keyPartitioner, keyFilter);
+         return ((IterableCacheLoader) loader).entryIterator(filter, fetchValue, fetchMetadata);
+      }
+      return new ProcessingEntryIterator<>(task -> {
+         if (segments == null) {
+            loader.process(keyFilter, task, new WithinThreadExecutor(), fetchValue, fetchMetadata);
+         } else {
+            PersistenceUtil.process(loader, segments, keyPartitioner, keyFilter, task, new WithinThreadExecutor(),
+                                    fetchValue, fetchMetadata);
+         }
+      }, persistenceExecutor, ITERATION_MAX_IN_FLIGHT, ITERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+   }
+
+   /**
+    * Iterates over the stores one after the other, only opening the iterator of a store after the previous one was
+    * exhausted.
+    */
+   private static class AllStoresIterator implements CloseableIterator<MarshalledEntry> {
+      private final Iterator<AdvancedCacheLoader> loaders;
+      private final Function<AdvancedCacheLoader, CloseableIterator<MarshalledEntry>> iteratorFactory;
+      private CloseableIterator<MarshalledEntry> current;
+
+      AllStoresIterator(Iterator<AdvancedCacheLoader> loaders,
+                        Function<AdvancedCacheLoader, CloseableIterator<MarshalledEntry>> iteratorFactory) {
+         this.loaders = loaders;
+         this.iteratorFactory = iteratorFactory;
+      }
+
+      @Override
+      public boolean hasNext() {
+         while (current == null || !current.hasNext()) {
+            if (current != null) {
+               current.close();
+               current = null;
+            }
+            if (!loaders.hasNext())
+               return false;
+            current = iteratorFactory.apply(loaders.next());
+         }
+         return true;
+      }
+
+      @Override
+      public MarshalledEntry next() {
+         if (!hasNext())
+            throw new NoSuchElementException();
+         return current.next();
+      }
+
+      @Override
+      public void close() {
+         if (current != null) {
+            current.close();
+            current = null;
+         }
+      }
+   }
+
    @Override
    public MarshalledEntry loadFromAllStores(Object key, InvocationContext context) {
       storesMutex.readLock().lock();
@@ -493,6 +672,39 @@ public MarshalledEntry loadFromAllStores(Object key, InvocationContext context)
       }
    }
 
+   @Override
+   public CompletionStage<MarshalledEntry> loadFromAllStoresAsync(Object key, InvocationContext context) {
+      List<CacheLoader> candidates;
+      storesMutex.readLock().lock();
+      try {
+         candidates = new ArrayList<>(loaders.size());
+         for (CacheLoader l : loaders) {
+            if (context.isOriginLocal() || !isLocalOnlyLoader(l))
+               candidates.add(l);
+         }
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+      return loadAsync(candidates, 0, key);
+   }
+
+   private CompletableFuture<MarshalledEntry> loadAsync(List<CacheLoader> candidates, int index, Object key) {
+      if (index >= candidates.size())
+         return CompletableFutures.completedNull();
+
+      return loadAsync(candidates.get(index), key).thenCompose(loaded -> loaded != null ?
+            CompletableFuture.completedFuture(loaded) : loadAsync(candidates, index + 1, key));
+   }
+
+   private CompletableFuture<MarshalledEntry> loadAsync(CacheLoader loader, Object key) {
+      if (loader instanceof NonBlockingCacheLoader)
+         return ((NonBlockingCacheLoader<?, ?>) loader).loadAsync(key).toCompletableFuture()
+               .thenApply(loaded -> (MarshalledEntry) loaded);
+      // Blocking loaders are offloaded to the persistence executor. The executor is bounded and runs the task in the
+      // invoking thread when all its threads are busy, so a slow store still applies back-pressure to the callers.
+      return CompletableFuture.supplyAsync(() -> loader.load(key), persistenceExecutor);
+   }
+
    private boolean isLocalOnlyLoader(CacheLoader loader) {
       if (loader instanceof LocalOnlyCacheLoader) return true;
       if (loader instanceof DelegatingCacheLoader) {
@@ -515,6 +727,80 @@ public void writeToAllNonTxStores(MarshalledEntry marshalledEntry, AccessMode ac
       }
    }
 
+   @Override
+   public CompletionStage<Void> writeToAllNonTxStoresAsync(MarshalledEntry marshalledEntry, AccessMode accessMode) {
+      List<CacheWriter> writers = getNonTxWriters(accessMode);
+      if (writers.isEmpty())
+         return CompletableFutures.completedNull();
+      if (writers.size() == 1)
+         return writeAsync(writers.get(0), marshalledEntry);
+
+      CompletableFuture[] stages = new CompletableFuture[writers.size()];
+      for (int i = 0; i < stages.length; i++) {
+         stages[i] = writeAsync(writers.get(i), marshalledEntry);
+      }
+      return CompletableFuture.allOf(stages);
+   }
+
+   private CompletableFuture<Void> writeAsync(CacheWriter writer, MarshalledEntry marshalledEntry) {
+      if (writer instanceof NonBlockingCacheWriter)
+         return ((NonBlockingCacheWriter) writer).writeAsync(marshalledEntry).toCompletableFuture();
+      if (writer instanceof AsyncCacheWriter) {
+         // write-behind only enqueues the modification
+         writer.write(marshalledEntry);
+         return CompletableFutures.completedNull();
+      }
+      return CompletableFuture.runAsync(() -> writer.write(marshalledEntry), persistenceExecutor);
+   }
+
+   @Override
+   public CompletionStage<Void> writeBatchToAllNonTxStoresAsync(Iterable<MarshalledEntry> entries, AccessMode accessMode) {
+      List<CacheWriter> writers = getNonTxWriters(accessMode);
+      if (writers.isEmpty())
+         return CompletableFutures.completedNull();
+      if (writers.size() == 1)
+         return writeBatchAsync(writers.get(0), entries);
+
+      CompletableFuture[] stages = new CompletableFuture[writers.size()];
+      for (int i = 0; i < stages.length; i++) {
+         stages[i] = writeBatchAsync(writers.get(i), entries);
+      }
+      return CompletableFuture.allOf(stages);
+   }
+
+   private CompletableFuture<Void> writeBatchAsync(CacheWriter writer, Iterable<MarshalledEntry> entries) {
+      if (writer instanceof NonBlockingCacheWriter) {
+         List<CompletableFuture<Void>> stages = new ArrayList<>();
+         for (MarshalledEntry entry : entries) {
+            stages.add(((NonBlockingCacheWriter) writer).writeAsync(entry).toCompletableFuture());
+         }
+         return CompletableFuture.allOf(stages.toArray(new CompletableFuture[stages.size()]));
+      }
+      if (writer instanceof AsyncCacheWriter) {
+         // write-behind only enqueues the modifications
+         writer.bulkUpdate(entries);
+         return CompletableFutures.completedNull();
+      }
+      return CompletableFuture.runAsync(() -> writer.bulkUpdate(entries), persistenceExecutor);
+   }
+
+   /**
+    * The stores lock can't be held while the asynchronous operations complete, as they may complete in another thread.
+    */
+   private List<CacheWriter> getNonTxWriters(AccessMode accessMode) {
+      storesMutex.readLock().lock();
+      try {
+         List<CacheWriter> writers = new ArrayList<>(nonTxWriters.size());
+         for (CacheWriter w : nonTxWriters) {
+            if (accessMode.canPerform(configMap.get(w)))
+               writers.add(w);
+         }
+         return writers;
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+   }
+
    @Override
    public void prepareAllTxStores(Transaction transaction, BatchModification batchModification,
                                   AccessMode accessMode) throws PersistenceException {
@@ -570,6 +856,22 @@ public int size() {
       return 0;
    }
 
+   @Override
+   public int size(Set<Integer> segments) {
+      storesMutex.readLock().lock();
+      try {
+         for (CacheLoader l : loaders) {
+            if (l instanceof SegmentedAdvancedLoadWriteStore)
+               return ((SegmentedAdvancedLoadWriteStore) l).size(segments);
+            if (l instanceof AdvancedCacheLoader)
+               return PersistenceUtil.count((AdvancedCacheLoader) l, segments, keyPartitioner);
+         }
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+      return 0;
+   }
+
    @Override
    public void setClearOnStop(boolean clearOnStop) {
       this.clearOnStop = clearOnStop;
@@ -600,7 +902,7 @@ private void createLoadersAndWriters() {
          loader = postProcessReader(processedConfiguration, writer, loader);
 
          InitializationContextImpl ctx = new InitializationContextImpl(processedConfiguration, cache, m, timeService, byteBufferFactory,
-                                                                       marshalledEntryFactory);
+                                                                       marshalledEntryFactory, keyPartitioner);
          initializeLoader(processedConfiguration, loader, ctx);
          initializeWriter(processedConfiguration, writer, ctx);
          initializeBareInstance(bareInstance, ctx);
@@ -3,10 +3,14 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 
 import javax.transaction.Transaction;
 
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.Closeables;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.factories.annotations.SurvivesRestarts;
 import org.infinispan.filter.KeyFilter;
@@ -14,6 +18,7 @@
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.infinispan.persistence.support.BatchModification;
+import org.infinispan.util.concurrent.CompletableFutures;
 
 /**
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
@@ -54,11 +59,20 @@ public void purgeExpired() {
    public void clearAllStores(AccessMode mode) {
    }
 
+   @Override
+   public void clearAllStores(Set<Integer> segments, AccessMode mode) {
+   }
+
    @Override
    public boolean deleteFromAllStores(Object key, AccessMode mode) {
       return false;
    }
 
+   @Override
+   public CompletionStage<Boolean> deleteFromAllStoresAsync(Object key, AccessMode mode) {
+      return CompletableFuture.completedFuture(Boolean.FALSE);
+   }
+
    @Override
    public void processOnAllStores(KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata) {
    }
@@ -75,15 +89,44 @@ public void processOnAllStores(KeyFilter keyFilter, AdvancedCacheLoader.CacheLoa
    public void processOnAllStores(Executor executor, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode) {
    }
 
+   @Override
+   public void processOnAllStores(Set<Integer> segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode) {
+   }
+
+   @Override
+   public void processOnAllStores(Executor executor, Set<Integer> segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode) {
+   }
+
+   @Override
+   public CloseableIterator<MarshalledEntry> entryIterator(Set<Integer> segments, KeyFilter keyFilter, boolean fetchValue,
+                                                           boolean fetchMetadata, AccessMode mode) {
+      return Closeables.iterator(Collections.emptyIterator());
+   }
+
    @Override
    public MarshalledEntry loadFromAllStores(Object key, InvocationContext context) {
       return null;
    }
 
+   @Override
+   public CompletionStage<MarshalledEntry> loadFromAllStoresAsync(Object key, InvocationContext context) {
+      return CompletableFutures.completedNull();
+   }
+
    @Override
    public void writeToAllNonTxStores(MarshalledEntry marshalledEntry, AccessMode modes) {
    }
 
+   @Override
+   public CompletionStage<Void> writeToAllNonTxStoresAsync(MarshalledEntry marshalledEntry, AccessMode modes) {
+      return CompletableFutures.completedNull();
+   }
+
+   @Override
+   public CompletionStage<Void> writeBatchToAllNonTxStoresAsync(Iterable<MarshalledEntry> entries, AccessMode accessMode) {
+      return CompletableFutures.completedNull();
+   }
+
    @Override
    public AdvancedCacheLoader getStateTransferProvider() {
       return null;
@@ -94,6 +137,11 @@ public int size() {
       return 0;
    }
 
+   @Override
+   public int size(Set<Integer> segments) {
+      return 0;
+   }
+
    @Override
    public void setClearOnStop(boolean clearOnStop) {
    }
@@ -35,4 +35,33 @@
     * @throws PersistenceException in case of an error, e.g. communicating with the external storage
     */
    boolean delete(Object key);
+
+   /**
+    * Persists all the given entries to the storage. The default implementation invokes {@link #write(MarshalledEntry)}
+    * for each entry; implementations should override it if the storage allows writing several entries with a single
+    * request, e.g. through a JDBC batch.
+    *
+    * @param entries the entries to persist
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    * @since 9.0
+    */
+   default void bulkUpdate(Iterable<MarshalledEntry<? extends K, ? extends V>> entries) {
+      for (MarshalledEntry<? extends K, ? extends V> entry : entries) {
+         write(entry);
+      }
+   }
+
+   /**
+    * Removes all the given keys from the storage. The default implementation invokes {@link #delete(Object)} for each
+    * key; implementations should override it if the storage allows removing several entries with a single request.
+    *
+    * @param keys the keys to remove
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    * @since 9.0
+    */
+   default void deleteBatch(Iterable<Object> keys) {
+      for (Object key : keys) {
+         delete(key);
+      }
+   }
 }
@@ -4,6 +4,7 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
 import org.infinispan.util.TimeService;
 
@@ -35,4 +36,11 @@ public interface InitializationContext {
     * To be used for building {@link org.infinispan.marshall.core.MarshalledEntry} objects.
     */
    MarshalledEntryFactory getMarshalledEntryFactory();
+
+   /**
+    * To be used for mapping keys to segments, e.g. by a {@link SegmentedAdvancedLoadWriteStore}.
+    */
+   default KeyPartitioner getKeyPartitioner() {
+      return getCache().getAdvancedCache().getComponentRegistry().getComponent(KeyPartitioner.class);
+   }
 }
@@ -0,0 +1,34 @@
+package org.infinispan.persistence.spi;
+
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.marshall.core.MarshalledEntry;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * An {@link AdvancedCacheLoader} that can expose its entries as a pull-based iterator, as an alternative to pushing
+ * them into a {@link org.infinispan.persistence.spi.AdvancedCacheLoader.CacheLoaderTask}. The entries are only read
+ * from the storage when the consumer asks for them, so iterating a large store doesn't require buffering its contents.
+ * <p>
+ * Stores that don't implement this interface are adapted by the {@link
+ * org.infinispan.persistence.manager.PersistenceManager}, which runs {@link #process} in the persistence executor and
+ * hands the entries over through a bounded buffer.
+ *
+ * @since 9.0
+ */
+@ThreadSafe
+public interface IterableCacheLoader<K, V> extends AdvancedCacheLoader<K, V> {
+
+   /**
+    * Returns an iterator over the entries in the store that pass the filter. The returned iterator doesn't need to be
+    * thread safe, and it must be closed by the caller in order to release any resources held by the store.
+    *
+    * @param filter        to validate which entries should be returned. Might be null.
+    * @param fetchValue    whether or not to fetch the value from the persistent store
+    * @param fetchMetadata whether or not to fetch the metadata from the persistent store
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    */
+   CloseableIterator<MarshalledEntry<K, V>> entryIterator(KeyFilter<? super K> filter, boolean fetchValue,
+                                                          boolean fetchMetadata);
+}
@@ -0,0 +1,29 @@
+package org.infinispan.persistence.spi;
+
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.marshall.core.MarshalledEntry;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A {@link CacheLoader} that is able to load entries without blocking the invoking thread. The {@link
+ * org.infinispan.persistence.manager.PersistenceManager} uses {@link #loadAsync(Object)} instead of {@link
+ * #load(Object)} when loading entries for a cache invocation; loaders that do not implement this interface are invoked
+ * from the persistence executor instead.
+ *
+ * @since 9.0
+ */
+@ThreadSafe
+public interface NonBlockingCacheLoader<K, V> extends CacheLoader<K, V> {
+
+   /**
+    * Same as {@link #load(Object)}, but the value is returned asynchronously. Implementors must not block the invoking
+    * thread while waiting for the external storage.
+    *
+    * @return a stage that completes with the entry, or with {@code null} if the key is not found in the store. Errors,
+    * e.g. communicating with the external storage, complete the stage exceptionally with a {@link
+    * PersistenceException}.
+    */
+   CompletionStage<MarshalledEntry<K, V>> loadAsync(Object key);
+}
@@ -0,0 +1,35 @@
+package org.infinispan.persistence.spi;
+
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.marshall.core.MarshalledEntry;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A {@link CacheWriter} that is able to persist entries without blocking the invoking thread. The {@link
+ * org.infinispan.persistence.manager.PersistenceManager} uses the asynchronous methods for writes issued by cache
+ * invocations; writers that do not implement this interface are invoked from the persistence executor instead.
+ *
+ * @since 9.0
+ */
+@ThreadSafe
+public interface NonBlockingCacheWriter<K, V> extends CacheWriter<K, V> {
+
+   /**
+    * Same as {@link #write(MarshalledEntry)}, but completes asynchronously. Implementors must not block the invoking
+    * thread while waiting for the external storage.
+    *
+    * @return a stage that completes once the entry is persisted. Errors, e.g. communicating with the external storage,
+    * complete the stage exceptionally with a {@link PersistenceException}.
+    */
+   CompletionStage<Void> writeAsync(MarshalledEntry<? extends K, ? extends V> entry);
+
+   /**
+    * Same as {@link #delete(Object)}, but completes asynchronously.
+    *
+    * @return a stage that completes with {@code true} if the entry existed in the persistent store and it was deleted.
+    * Errors complete the stage exceptionally with a {@link PersistenceException}.
+    */
+   CompletionStage<Boolean> deleteAsync(Object key);
+}
@@ -0,0 +1,51 @@
+package org.infinispan.persistence.spi;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import org.infinispan.filter.KeyFilter;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * An {@link AdvancedLoadWriteStore} that is aware of the segments its keys map to, as defined by the cache's {@link
+ * org.infinispan.distribution.ch.KeyPartitioner} (see {@link InitializationContext#getKeyPartitioner()}). Stores
+ * implementing this interface allow the persistence layer to iterate, count and remove only the entries of a subset
+ * of the segments, e.g. during state transfer, without going through the whole store.
+ *
+ * @since 9.0
+ */
+@ThreadSafe
+public interface SegmentedAdvancedLoadWriteStore<K, V> extends AdvancedLoadWriteStore<K, V> {
+
+   /**
+    * Same as {@link AdvancedCacheLoader#process(KeyFilter, CacheLoaderTask, Executor, boolean, boolean)}, but only the
+    * entries whose keys map to one of the given <b>segments</b> are fed to the task. Implementors should discard
+    * entries from other segments as early as possible, ideally without reading their values or metadata from the
+    * storage.
+    *
+    * @param segments      the segments to iterate over; must not be null
+    * @param filter        to validate which entries should be feed into the task. Might be null.
+    * @param task          callback to be invoked in parallel for each stored entry that passes the filter check
+    * @param executor      an external thread pool to be used for parallel iteration
+    * @param fetchValue    whether or not to fetch the value from the persistent store
+    * @param fetchMetadata whether or not to fetch the metadata from the persistent store
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    */
+   void process(Set<Integer> segments, KeyFilter<? super K> filter, CacheLoaderTask<K, V> task, Executor executor,
+                boolean fetchValue, boolean fetchMetadata);
+
+   /**
+    * Returns the number of elements in the store that map to one of the given segments.
+    *
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    */
+   int size(Set<Integer> segments);
+
+   /**
+    * Removes all the data that maps to one of the given segments from the storage.
+    *
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    */
+   void clear(Set<Integer> segments);
+}
@@ -48,6 +48,16 @@ public boolean delete(Object key) {
       return actual.delete(key);
    }
 
+   @Override
+   public void bulkUpdate(Iterable entries) {
+      actual.bulkUpdate(entries);
+   }
+
+   @Override
+   public void deleteBatch(Iterable keys) {
+      actual.deleteBatch(keys);
+   }
+
    public CacheWriter undelegate() {
       CacheWriter cl = this;
       do {
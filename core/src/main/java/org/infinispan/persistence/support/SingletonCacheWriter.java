@@ -124,6 +124,21 @@ public boolean delete(Object key) {
       return active && super.delete(key);
    }
 
+   @Override
+   public void bulkUpdate(Iterable entries) {
+      if (active) {
+         super.bulkUpdate(entries);
+      } else if (trace) {
+         log.tracef("Not storing a batch of entries.  Instance: %s", this);
+      }
+   }
+
+   @Override
+   public void deleteBatch(Iterable keys) {
+      if (active)
+         super.deleteBatch(keys);
+   }
+
    protected Callable<?> createPushStateTask() {
       return new Callable<Object>() {
          @Override
@@ -28,7 +28,9 @@
  * for the given timeout it will throw a {@link TimeoutException}.
  * @author William Burns
  * @since 8.0
+ * @deprecated since 9.0, use {@link PersistenceManager#entryIterator} instead
  */
+@Deprecated
 public class PersistenceManagerCloseableSupplier<K, V> implements CloseableSupplier<CacheEntry<K, V>> {
    private final Executor executor;
    private final PersistenceManager manager;
@@ -0,0 +1,136 @@
+package org.infinispan.persistence.util;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.spi.AdvancedCacheLoader;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.util.concurrent.TimeoutException;
+
+/**
+ * Adapts the push-based {@link AdvancedCacheLoader#process} to a pull-based {@link CloseableIterator}. On the first
+ * call to {@link #hasNext()} the processing is submitted to the given executor; the processing thread blocks as soon as
+ * {@code maxInFlight} entries are waiting to be consumed, so the memory used by the iteration doesn't depend on the
+ * size of the store. Closing the iterator stops the processing.
+ * <p>
+ * If the executor runs the processing in the thread calling {@link #hasNext()} (e.g. because all its threads are busy
+ * and it uses a caller-runs policy), the entries are buffered instead, as nobody would consume them otherwise.
+ *
+ * @since 9.0
+ */
+public class ProcessingEntryIterator<K, V> implements CloseableIterator<MarshalledEntry<K, V>> {
+   private static final Object END = new Object();
+
+   private final Consumer<AdvancedCacheLoader.CacheLoaderTask<K, V>> processor;
+   private final Executor executor;
+   private final long timeout;
+   private final TimeUnit unit;
+   private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+   private final Semaphore permits;
+
+   private volatile boolean closed;
+   private volatile boolean buffering;
+   private volatile Throwable failure;
+   private boolean started;
+   private boolean completed;
+   private MarshalledEntry<K, V> next;
+
+   /**
+    * @param processor   invokes {@code process} on the store(s) with the given task
+    * @param executor    the executor running the processor
+    * @param maxInFlight the maximum number of entries read from the store but not yet consumed
+    * @param timeout     how long to wait for the next entry before failing with a {@link TimeoutException}
+    */
+   public ProcessingEntryIterator(Consumer<AdvancedCacheLoader.CacheLoaderTask<K, V>> processor, Executor executor,
+                                  int maxInFlight, long timeout, TimeUnit unit) {
+      this.processor = processor;
+      this.executor = executor;
+      this.permits = new Semaphore(maxInFlight);
+      this.timeout = timeout;
+      this.unit = unit;
+   }
+
+   private void start() {
+      started = true;
+      Thread consumerThread = Thread.currentThread();
+      executor.execute(() -> {
+         buffering = Thread.currentThread() == consumerThread;
+         try {
+            processor.accept(this::offer);
+         } catch (Throwable t) {
+            failure = t;
+         } finally {
+            queue.add(END);
+         }
+      });
+   }
+
+   private void offer(MarshalledEntry<K, V> entry, AdvancedCacheLoader.TaskContext taskContext) throws InterruptedException {
+      if (!buffering) {
+         while (!permits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+            if (closed)
+               break;
+         }
+      }
+      if (closed) {
+         taskContext.stop();
+         return;
+      }
+      queue.add(entry);
+   }
+
+   @Override
+   public boolean hasNext() {
+      if (next != null)
+         return true;
+      if (completed || closed)
+         return false;
+      if (!started)
+         start();
+
+      Object polled;
+      try {
+         polled = queue.poll(timeout, unit);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new PersistenceException(e);
+      }
+      if (polled == null)
+         throw new TimeoutException("Couldn't retrieve an entry from the store in the allotted timeout: " + timeout
+                                          + " unit: " + unit);
+      if (polled == END) {
+         completed = true;
+         Throwable t = failure;
+         if (t instanceof RuntimeException)
+            throw (RuntimeException) t;
+         else if (t != null)
+            throw new PersistenceException(t);
+         return false;
+      }
+      permits.release();
+      next = (MarshalledEntry<K, V>) polled;
+      return true;
+   }
+
+   @Override
+   public MarshalledEntry<K, V> next() {
+      if (!hasNext())
+         throw new NoSuchElementException();
+      MarshalledEntry<K, V> entry = next;
+      next = null;
+      return entry;
+   }
+
+   @Override
+   public void close() {
+      closed = true;
+      queue.clear();
+   }
+}
@@ -18,6 +18,7 @@
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.filter.CollectionKeyFilter;
+import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.remoting.rpc.ResponseMode;
@@ -167,7 +168,8 @@ public void run() {
                      }
                   }
                };
-               stProvider.process(filter, task, new WithinThreadExecutor(), true, true);
+               // only the requested segments are read from stores supporting it
+               PersistenceUtil.process(stProvider, segments, readCh::getSegment, filter, task, new WithinThreadExecutor(), true, true);
             } catch (CacheException e) {
                log.failedLoadingKeysFromCacheStore(e);
             }
@@ -911,13 +911,8 @@ private void removeStaleData(final Set<Integer> removedSegments) throws Interrup
       // gather all keys from cache store that belong to the segments that are being removed/moved to L1
       if (!removedSegments.isEmpty()) {
          try {
-            KeyFilter filter = key -> {
-               if (dataContainer.containsKey(key))
-                  return false;
-               int keySegment = getSegment(key);
-               return (removedSegments.contains(keySegment));
-            };
-            persistenceManager.processOnAllStores(filter,
+            KeyFilter filter = key -> !dataContainer.containsKey(key);
+            persistenceManager.processOnAllStores(removedSegments, filter,
                   (marshalledEntry, taskContext) -> keysToRemove.add(marshalledEntry.getKey()), false, false, PRIVATE);
          } catch (CacheException e) {
             log.failedLoadingKeysFromCacheStore(e);
@@ -0,0 +1,83 @@
+package org.infinispan.container.entries;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.util.SizeAware;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "container.entries.ReflectionEntrySizeCalculatorTest")
+public class ReflectionEntrySizeCalculatorTest extends AbstractInfinispanTest {
+
+   private final ReflectionEntrySizeCalculator calculator = new ReflectionEntrySizeCalculator();
+   private final PrimitiveEntrySizeCalculator primitiveCalculator = new PrimitiveEntrySizeCalculator();
+
+   public void testSameSizeAsPrimitiveCalculator() {
+      assertEquals(primitiveCalculator.calculateSize("key", 1234567L),
+            calculator.calculateSize("key", 1234567L));
+      assertEquals(primitiveCalculator.calculateSize(new byte[100], new int[10]),
+            calculator.calculateSize(new byte[100], new int[10]));
+   }
+
+   public void testObjectIncludesReferencedObjects() {
+      Node leaf = new Node(1, null, null);
+      long leafSize = calculator.handleObject(leaf);
+      assertTrue(leafSize >= 16);
+      Node parent = new Node(2, "some name", leaf);
+      assertEquals(leafSize + calculator.handleObject("some name") + leafSize,
+            calculator.handleObject(parent));
+   }
+
+   public void testCycles() {
+      Node node = new Node(1, null, null);
+      node.next = node;
+      assertEquals(calculator.handleObject(new Node(1, null, null)), calculator.handleObject(node));
+   }
+
+   public void testSharedObjectsAreCountedOnce() {
+      String name = "shared";
+      Object[] array = {name, name, name};
+      long arrayHeader = calculator.handleObject(new Object[3]);
+      assertEquals(arrayHeader + calculator.handleObject(name), calculator.handleObject(array));
+   }
+
+   public void testEnumsAreNotCounted() {
+      assertEquals(0, calculator.handleObject(TimeUnit.SECONDS));
+   }
+
+   public void testSizeAware() {
+      assertEquals(1000, calculator.handleObject((SizeAware) () -> 1000));
+   }
+
+   public void testLargeArraysAreSampled() {
+      List<Long> list = new ArrayList<>();
+      for (long i = 0; i < 10_000; i++) {
+         list.add(i * 1000);
+      }
+      long size = calculator.handleObject(list);
+      long elementsSize = 10_000 * primitiveCalculator.handleObject(1000L * 1000);
+      // The backing array and the list itself are included as well
+      assertTrue(size > elementsSize);
+      assertTrue(size < 2 * elementsSize);
+   }
+
+   static class Node {
+      final int value;
+      final String name;
+      Node next;
+
+      Node(int value, String name, Node next) {
+         this.value = value;
+         this.name = name;
+         this.next = next;
+      }
+   }
+}
@@ -1,6 +1,7 @@
 package org.infinispan.container.offheap;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertTrue;
 import static org.testng.AssertJUnit.fail;
 
@@ -46,6 +47,21 @@ public void testMoreWriteThanSize() {
       assertEquals(COUNT, cache.size());
    }
 
+   public void testReadEntryIsNotEvicted() {
+      Cache<String, String> cache = cache(0);
+
+      for (int i = 0; i < COUNT; ++i) {
+         cache.put("key" + i, "value" + i);
+      }
+      // The read gives key0 a second chance, so the next oldest entry is evicted instead
+      assertEquals("value0", cache.get("key0"));
+      cache.put("key" + COUNT, "value" + COUNT);
+
+      assertEquals(COUNT, cache.size());
+      assertEquals("value0", cache.get("key0"));
+      assertNull(cache.get("key1"));
+   }
+
    public void testMultiThreaded() throws ExecutionException, InterruptedException, TimeoutException {
       Cache<String, String> cache = cache(0);
 
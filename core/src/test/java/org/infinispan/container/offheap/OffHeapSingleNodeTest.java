@@ -91,4 +91,25 @@ public void testLotsOfWrites() {
       }
 
    }
+
+   public void testAddressCountGrows() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().storageType(StorageType.OFF_HEAP).addressCount(16);
+      manager(0).defineConfiguration("small-address-count", builder.build());
+      Cache<String, String> cache = manager(0).getCache("small-address-count");
+      OffHeapDataContainer container = (OffHeapDataContainer) cache.getAdvancedCache().getDataContainer();
+      int initialAddressCount = container.getAddressCount();
+
+      for (int i = 0; i < 10000; ++i) {
+         cache.put("key" + i, "value" + i);
+      }
+
+      assertTrue(container.getAddressCount() > initialAddressCount);
+      assertTrue(container.getLoadFactor() <= 1);
+      assertEquals(10000, cache.size());
+      assertEquals(10000, cache.entrySet().stream().count());
+      for (int i = 0; i < 10000; ++i) {
+         assertEquals("value" + i, cache.get("key" + i));
+      }
+   }
 }
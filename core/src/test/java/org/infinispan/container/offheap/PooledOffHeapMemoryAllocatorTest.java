@@ -0,0 +1,99 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "container.offheap.PooledOffHeapMemoryAllocatorTest")
+public class PooledOffHeapMemoryAllocatorTest extends AbstractInfinispanTest {
+
+   public void testSizeClasses() {
+      int[] sizeClasses = PooledOffHeapMemoryAllocator.SIZE_CLASSES;
+      assertEquals(16, sizeClasses[PooledOffHeapMemoryAllocator.sizeClassIndex(1)]);
+      assertEquals(16, sizeClasses[PooledOffHeapMemoryAllocator.sizeClassIndex(16)]);
+      assertEquals(32, sizeClasses[PooledOffHeapMemoryAllocator.sizeClassIndex(17)]);
+      assertEquals(160, sizeClasses[PooledOffHeapMemoryAllocator.sizeClassIndex(129)]);
+      assertEquals(320, sizeClasses[PooledOffHeapMemoryAllocator.sizeClassIndex(257)]);
+      assertEquals(8192, sizeClasses[PooledOffHeapMemoryAllocator.sizeClassIndex(8192)]);
+      assertEquals(-1, PooledOffHeapMemoryAllocator.sizeClassIndex(8193));
+      for (int i = 1; i < sizeClasses.length; ++i) {
+         assertEquals(0, sizeClasses[i] % 16);
+         assertTrue(sizeClasses[i] > sizeClasses[i - 1]);
+      }
+   }
+
+   public void testFreedBlocksAreReused() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      long first = allocator.allocate(100);
+      long second = allocator.allocate(100);
+      assertEquals(112, second - first);
+      // The blocks of the size class are counted, not the requested bytes
+      assertEquals(224, allocator.getAllocatedAmount());
+      assertEquals(1, allocator.getArenaCount());
+
+      allocator.deallocate(first, 100);
+      assertEquals(first, allocator.allocate(100));
+
+      allocator.deallocate(first, 100);
+      allocator.deallocate(second, 100);
+      assertEquals(0, allocator.getAllocatedAmount());
+      assertEquals(1, allocator.getSizeClassUsage().length);
+      allocator.stop();
+      assertEquals(0, allocator.getArenaCount());
+   }
+
+   public void testLargeAllocationsAreNotPooled() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      long address = allocator.allocate(10_000);
+      assertEquals(0, allocator.getArenaCount());
+      assertEquals(10_000, allocator.getAllocatedAmount());
+      assertEquals(10_000, allocator.getReservedAmount());
+      assertEquals(0, allocator.getFragmentation(), 0);
+      allocator.deallocate(address, 10_000);
+      assertEquals(0, allocator.getReservedAmount());
+   }
+
+   public void testArenasReleasedAfterLastBlockIsFreed() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      long address = allocator.allocate(64);
+      allocator.stop();
+      assertEquals(1, allocator.getArenaCount());
+      allocator.deallocate(address, 64);
+      assertEquals(0, allocator.getArenaCount());
+   }
+
+   public void testFragmentation() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      int blocks = PooledOffHeapMemoryAllocator.SLAB_SIZE / 64;
+      long[] addresses = new long[blocks];
+      for (int i = 0; i < blocks; ++i) {
+         addresses[i] = allocator.allocate(60);
+      }
+      // The single slab is full, the rest of the arena doesn't count
+      assertEquals(PooledOffHeapMemoryAllocator.SLAB_SIZE, allocator.getAllocatedAmount());
+      assertEquals(PooledOffHeapMemoryAllocator.ARENA_SIZE, allocator.getReservedAmount());
+      assertEquals(0, allocator.getFragmentation(), 0);
+
+      for (int i = 0; i < blocks / 2; ++i) {
+         allocator.deallocate(addresses[i], 60);
+      }
+      // A percentage, not a fraction
+      assertEquals(50, allocator.getFragmentation(), 0.001);
+
+      long unpooled = allocator.allocate(PooledOffHeapMemoryAllocator.SLAB_SIZE);
+      assertEquals(25, allocator.getFragmentation(), 0.001);
+      allocator.deallocate(unpooled, PooledOffHeapMemoryAllocator.SLAB_SIZE);
+
+      for (int i = blocks / 2; i < blocks; ++i) {
+         allocator.deallocate(addresses[i], 60);
+      }
+      assertEquals(100, allocator.getFragmentation(), 0);
+      allocator.stop();
+      assertEquals(0, allocator.getFragmentation(), 0);
+   }
+}
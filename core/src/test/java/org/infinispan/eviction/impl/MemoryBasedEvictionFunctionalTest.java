@@ -2,11 +2,13 @@
 
 import static org.testng.AssertJUnit.assertTrue;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
+import org.infinispan.commons.util.SizeAware;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.eviction.EvictionType;
@@ -251,6 +253,52 @@ public void testStringArray() throws Exception {
       assertTrue(cache.getAdvancedCache().getDataContainer().size() < numberInserted);
    }
 
+   public void testCustomObject() throws Exception {
+      // Each object has a header, 3 fields and a long[] of 16 elements, so well over 100 bytes
+      long numberInserted = CACHE_SIZE / 100;
+      Random random = new Random();
+      for (long i = 0; i < numberInserted; i++) {
+         long[] values = new long[16];
+         Arrays.setAll(values, j -> random.nextLong());
+         cache.put(i, new CustomValue(random.nextInt(), "value" + i, values));
+      }
+      assertTrue(cache.getAdvancedCache().getDataContainer().size() < numberInserted);
+   }
+
+   public void testSizeAwareObject() throws Exception {
+      // Make sure enough are inserted to also fill the cache when stored as binary
+      long numberInserted = CACHE_SIZE / 50;
+      for (long i = 0; i < numberInserted; i++) {
+         cache.put(i, new SizeAwareValue(400));
+      }
+      assertTrue(cache.getAdvancedCache().getDataContainer().size() < numberInserted);
+   }
+
+   static class CustomValue implements Serializable {
+      final int number;
+      final String name;
+      final long[] values;
+
+      CustomValue(int number, String name, long[] values) {
+         this.number = number;
+         this.name = name;
+         this.values = values;
+      }
+   }
+
+   static class SizeAwareValue implements SizeAware, Serializable {
+      final long size;
+
+      SizeAwareValue(long size) {
+         this.size = size;
+      }
+
+      @Override
+      public long estimateSize() {
+         return size;
+      }
+   }
+
    protected String randomStringFullOfInt(Random random, int digits) {
       return random.ints(digits, 0, 10).collect(StringBuilder::new, StringBuilder::append,
               StringBuilder::append).toString();
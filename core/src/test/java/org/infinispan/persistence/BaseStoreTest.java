@@ -10,20 +10,26 @@
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.container.InternalEntryFactory;
 import org.infinispan.container.InternalEntryFactoryImpl;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.entries.InternalCacheValue;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.distribution.ch.impl.HashFunctionPartitioner;
 import org.infinispan.filter.CollectionKeyFilter;
 import org.infinispan.marshall.TestObjectStreamMarshaller;
 import org.infinispan.marshall.core.ExternalPojo;
@@ -34,7 +40,9 @@
 import org.infinispan.persistence.spi.AdvancedCacheWriter;
 import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.InitializationContext;
+import org.infinispan.persistence.spi.IterableCacheLoader;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.TestInternalCacheEntryFactory;
@@ -322,6 +330,34 @@ public void testLoadAndStoreWithLifespanAndIdle2() throws Exception {
       assertIsEmpty();
    }
 
+   public void testBulkUpdateAndDeleteBatch() throws Exception {
+      assertIsEmpty();
+
+      long lifespan = 1000;
+      List<MarshalledEntry<?, ?>> entries = new ArrayList<>();
+      List<Object> keys = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         // mix immortal and mortal entries, stores may have to group them
+         InternalCacheEntry se = internalCacheEntry("k" + i, "v" + i, i % 2 == 0 ? -1 : lifespan);
+         entries.add(marshalledEntry(se));
+         keys.add("k" + i);
+      }
+      cl.bulkUpdate(entries);
+      for (int i = 0; i < 10; i++) {
+         MarshalledEntry entry = cl.load("k" + i);
+         assertNotNull(entry);
+         assertEquals("v" + i, unwrap(entry.getValue()));
+      }
+
+      cl.deleteBatch(keys.subList(0, 5));
+      for (int i = 0; i < 10; i++) {
+         assertContains("k" + i, i >= 5);
+      }
+
+      cl.deleteBatch(keys);
+      assertIsEmpty();
+   }
+
    public void testStopStartDoesNotNukeValues() throws InterruptedException, PersistenceException {
       assertIsEmpty();
 
@@ -485,6 +521,94 @@ public void testLoadAll() throws PersistenceException {
       }
    }
 
+   public void testSegmentedOperations() throws PersistenceException {
+      if (!(cl instanceof SegmentedAdvancedLoadWriteStore))
+         return;
+      SegmentedAdvancedLoadWriteStore<Object, Object> store = (SegmentedAdvancedLoadWriteStore<Object, Object>) cl;
+      assertIsEmpty();
+
+      KeyPartitioner keyPartitioner = new HashFunctionPartitioner();
+      keyPartitioner.init(new ConfigurationBuilder().build().clustering().hash());
+      Set<Integer> segments = new HashSet<>();
+      Set<Object> expectedKeys = new HashSet<>();
+      for (int i = 0; i < 10; i++) {
+         String key = "k" + i;
+         cl.write(marshalledEntry(key, "v" + i, null));
+         if (i % 2 == 0)
+            segments.add(keyPartitioner.getSegment(key));
+      }
+      for (int i = 0; i < 10; i++) {
+         String key = "k" + i;
+         if (segments.contains(keyPartitioner.getSegment(key)))
+            expectedKeys.add(key);
+      }
+
+      Set<Object> keys = Collections.synchronizedSet(new HashSet<>());
+      store.process(segments, null, (me, taskContext) -> {
+         assertEquals("v" + ((String) me.getKey()).substring(1), unwrap(me.getValue()));
+         keys.add(me.getKey());
+      }, new WithinThreadExecutor(), true, true);
+      assertEquals(expectedKeys, keys);
+      assertEquals(expectedKeys.size(), store.size(segments));
+
+      store.clear(segments);
+      assertEquals(0, store.size(segments));
+      for (int i = 0; i < 10; i++) {
+         String key = "k" + i;
+         assertContains(key, !expectedKeys.contains(key));
+      }
+   }
+
+   public void testEntryIterator() throws PersistenceException {
+      if (!(cl instanceof IterableCacheLoader))
+         return;
+      IterableCacheLoader<Object, Object> store = (IterableCacheLoader<Object, Object>) cl;
+      assertIsEmpty();
+
+      for (int i = 0; i < 10; i++) {
+         cl.write(marshalledEntry("k" + i, "v" + i, null));
+      }
+
+      Set<Object> keys = new HashSet<>();
+      try (CloseableIterator<MarshalledEntry<Object, Object>> it = store.entryIterator(k -> !"k0".equals(k), true, true)) {
+         while (it.hasNext()) {
+            MarshalledEntry<Object, Object> me = it.next();
+            assertEquals("v" + ((String) me.getKey()).substring(1), unwrap(me.getValue()));
+            keys.add(me.getKey());
+         }
+      }
+      assertEquals(9, keys.size());
+      assertFalse(keys.contains("k0"));
+
+      // entries removed during the iteration are skipped
+      try (CloseableIterator<MarshalledEntry<Object, Object>> it = store.entryIterator(null, false, false)) {
+         assertTrue(it.hasNext());
+         Object first = it.next().getKey();
+         for (int i = 0; i < 10; i++) {
+            if (!first.equals("k" + i))
+               cl.delete("k" + i);
+         }
+         assertFalse(it.hasNext());
+      }
+   }
+
+   public void testSegmentedClearRemovesExpiredEntries() throws Exception {
+      if (!(cl instanceof SegmentedAdvancedLoadWriteStore))
+         return;
+      SegmentedAdvancedLoadWriteStore<Object, Object> store = (SegmentedAdvancedLoadWriteStore<Object, Object>) cl;
+      assertIsEmpty();
+
+      KeyPartitioner keyPartitioner = new HashFunctionPartitioner();
+      keyPartitioner.init(new ConfigurationBuilder().build().clustering().hash());
+      long lifespan = 1000;
+      cl.write(marshalledEntry(internalCacheEntry("k", "v", lifespan)));
+      timeService.advance(lifespan + 1);
+
+      store.clear(Collections.singleton(keyPartitioner.getSegment("k")));
+      // The expired entry is gone, so there is nothing left to purge
+      purgeExpired();
+   }
+
    public void testReplaceExpiredEntry() throws Exception {
       assertIsEmpty();
       final long lifespan = 3000;
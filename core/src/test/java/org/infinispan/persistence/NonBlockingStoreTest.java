@@ -0,0 +1,234 @@
+package org.infinispan.persistence;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commons.configuration.BuiltBy;
+import org.infinispan.commons.configuration.ConfigurationFor;
+import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.configuration.cache.AbstractStoreConfiguration;
+import org.infinispan.configuration.cache.AbstractStoreConfigurationBuilder;
+import org.infinispan.configuration.cache.AsyncStoreConfiguration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.PersistenceConfigurationBuilder;
+import org.infinispan.configuration.cache.SingletonStoreConfiguration;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.persistence.spi.InitializationContext;
+import org.infinispan.persistence.spi.NonBlockingCacheLoader;
+import org.infinispan.persistence.spi.NonBlockingCacheWriter;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that non-transactional invocations go through the {@link NonBlockingCacheLoader} and {@link
+ * NonBlockingCacheWriter} methods, and that the results are the same as with blocking stores.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "persistence.NonBlockingStoreTest")
+@CleanupAfterMethod
+public class NonBlockingStoreTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.persistence().addStore(NonBlockingStoreConfigurationBuilder.class);
+      return TestCacheManagerFactory.createCacheManager(cfg);
+   }
+
+   private NonBlockingStore store() {
+      PersistenceManager pm = TestingUtil.extractComponent(cache, PersistenceManager.class);
+      return pm.getStores(NonBlockingStore.class).iterator().next();
+   }
+
+   public void testLoadAsync() {
+      NonBlockingStore store = store();
+      cache.put("k1", "v1");
+      cache.getAdvancedCache().getDataContainer().clear();
+
+      assertEquals("v1", cache.get("k1"));
+      assertNull(cache.get("k2"));
+      assertEquals(2, store.asyncLoads.get());
+      assertEquals(0, store.blockingLoads.get());
+      // the loaded entry was stored in the data container
+      assertEquals("v1", cache.get("k1"));
+      assertEquals(2, store.asyncLoads.get());
+   }
+
+   public void testWriteAndDeleteAsync() {
+      NonBlockingStore store = store();
+      cache.put("k1", "v1");
+      cache.replace("k1", "v2");
+      Map<String, String> map = new HashMap<>();
+      map.put("k2", "v2");
+      map.put("k3", "v3");
+      cache.putAll(map);
+      assertEquals(4, store.asyncWrites.get());
+      assertEquals("v2", store.data.get("k1").getValue());
+
+      cache.remove("k1");
+      assertEquals(1, store.asyncDeletes.get());
+      assertFalse(store.data.containsKey("k1"));
+
+      assertEquals(0, store.blockingWrites.get());
+      assertEquals(0, store.blockingDeletes.get());
+   }
+
+   public void testGetAllLoadsInParallel() {
+      NonBlockingStore store = store();
+      Map<String, String> map = new HashMap<>();
+      for (int i = 0; i < 10; i++) {
+         map.put("k" + i, "v" + i);
+      }
+      cache.putAll(map);
+      cache.getAdvancedCache().getDataContainer().clear();
+
+      assertEquals(map, cache.getAdvancedCache().getAll(map.keySet()));
+      assertEquals(10, store.asyncLoads.get());
+   }
+
+   public void testFailedWriteIsPropagated() {
+      NonBlockingStore store = store();
+      store.failWrites = true;
+      try {
+         cache.put("k1", "v1");
+      } catch (PersistenceException e) {
+         assertTrue(e.getMessage().contains("k1"));
+         return;
+      } finally {
+         store.failWrites = false;
+      }
+      throw new AssertionError("The write should have failed");
+   }
+
+   public static class NonBlockingStore implements AdvancedLoadWriteStore, NonBlockingCacheLoader, NonBlockingCacheWriter {
+      final ConcurrentMap<Object, MarshalledEntry> data = new ConcurrentHashMap<>();
+      final AtomicInteger asyncLoads = new AtomicInteger();
+      final AtomicInteger asyncWrites = new AtomicInteger();
+      final AtomicInteger asyncDeletes = new AtomicInteger();
+      final AtomicInteger blockingLoads = new AtomicInteger();
+      final AtomicInteger blockingWrites = new AtomicInteger();
+      final AtomicInteger blockingDeletes = new AtomicInteger();
+      volatile boolean failWrites;
+
+      @Override
+      public CompletionStage<MarshalledEntry> loadAsync(Object key) {
+         asyncLoads.incrementAndGet();
+         return CompletableFuture.supplyAsync(() -> data.get(key));
+      }
+
+      @Override
+      public CompletionStage<Void> writeAsync(MarshalledEntry entry) {
+         asyncWrites.incrementAndGet();
+         return CompletableFuture.runAsync(() -> {
+            if (failWrites)
+               throw new PersistenceException("Failed to write " + entry.getKey());
+            data.put(entry.getKey(), entry);
+         });
+      }
+
+      @Override
+      public CompletionStage<Boolean> deleteAsync(Object key) {
+         asyncDeletes.incrementAndGet();
+         return CompletableFuture.supplyAsync(() -> data.remove(key) != null);
+      }
+
+      @Override
+      public MarshalledEntry load(Object key) {
+         blockingLoads.incrementAndGet();
+         return data.get(key);
+      }
+
+      @Override
+      public void write(MarshalledEntry entry) {
+         blockingWrites.incrementAndGet();
+         data.put(entry.getKey(), entry);
+      }
+
+      @Override
+      public boolean delete(Object key) {
+         blockingDeletes.incrementAndGet();
+         return data.remove(key) != null;
+      }
+
+      @Override
+      public boolean contains(Object key) {
+         return data.containsKey(key);
+      }
+
+      @Override
+      public void process(KeyFilter filter, CacheLoaderTask task, Executor executor, boolean fetchValue, boolean fetchMetadata) {
+      }
+
+      @Override
+      public int size() {
+         return data.size();
+      }
+
+      @Override
+      public void clear() {
+         data.clear();
+      }
+
+      @Override
+      public void purge(Executor threadPool, PurgeListener listener) {
+      }
+
+      @Override
+      public void init(InitializationContext ctx) {
+      }
+
+      @Override
+      public void start() {
+      }
+
+      @Override
+      public void stop() {
+      }
+   }
+
+   @BuiltBy(NonBlockingStoreConfigurationBuilder.class)
+   @ConfigurationFor(NonBlockingStore.class)
+   public static class NonBlockingStoreConfiguration extends AbstractStoreConfiguration {
+
+      public NonBlockingStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async, SingletonStoreConfiguration singletonStore) {
+         super(attributes, async, singletonStore);
+      }
+   }
+
+   public static class NonBlockingStoreConfigurationBuilder extends AbstractStoreConfigurationBuilder<NonBlockingStoreConfiguration, NonBlockingStoreConfigurationBuilder> {
+
+      public NonBlockingStoreConfigurationBuilder(PersistenceConfigurationBuilder builder) {
+         super(builder, NonBlockingStoreConfiguration.attributeDefinitionSet());
+      }
+
+      @Override
+      public NonBlockingStoreConfiguration create() {
+         return new NonBlockingStoreConfiguration(attributes.protect(), async.create(), singletonStore.create());
+      }
+
+      @Override
+      public NonBlockingStoreConfigurationBuilder self() {
+         return this;
+      }
+   }
+}
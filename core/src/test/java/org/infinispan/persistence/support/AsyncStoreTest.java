@@ -10,6 +10,7 @@
 import static org.testng.AssertJUnit.fail;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -139,6 +140,30 @@ public void testPutRemove() throws Exception {
       doTestRemove(number, key);
    }
 
+   @Test(timeOut=30000)
+   public void testBulkUpdateAndDeleteBatch() throws Exception {
+      TestResourceTracker.testThreadStarted(this);
+      createStore();
+
+      List<MarshalledEntry> entries = new ArrayList<>();
+      List<Object> keys = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+         entries.add(new MarshalledEntryImpl("k" + i, "v" + i, null, marshaller()));
+         keys.add("k" + i);
+      }
+      writer.bulkUpdate(entries);
+      for (int i = 0; i < 100; i++) {
+         MarshalledEntry me = loader.load("k" + i);
+         assertNotNull(me);
+         assertEquals("v" + i, me.getValue());
+      }
+
+      writer.deleteBatch(keys);
+      for (int i = 0; i < 100; i++) {
+         assertNull(loader.load("k" + i));
+      }
+   }
+
    @Test(timeOut=30000)
    public void testRepeatedPutRemove() throws Exception {
       TestResourceTracker.testThreadStarted(this);
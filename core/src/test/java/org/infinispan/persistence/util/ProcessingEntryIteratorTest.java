@@ -0,0 +1,101 @@
+package org.infinispan.persistence.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.marshall.core.MarshalledEntryImpl;
+import org.infinispan.persistence.TaskContextImpl;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
+import org.testng.annotations.Test;
+
+/**
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "persistence.util.ProcessingEntryIteratorTest")
+public class ProcessingEntryIteratorTest extends AbstractInfinispanTest {
+
+   private static final int MAX_IN_FLIGHT = 5;
+
+   private final Executor executor = this::fork;
+
+   private ProcessingEntryIterator<Object, Object> iterator(int numEntries, AtomicInteger produced,
+                                                            CountDownLatch processingDone, Executor executor) {
+      return new ProcessingEntryIterator<>(task -> {
+         TaskContextImpl taskContext = new TaskContextImpl();
+         try {
+            for (int i = 0; i < numEntries; i++) {
+               produced.incrementAndGet();
+               task.processEntry(new MarshalledEntryImpl<>("k" + i, "v" + i, null, null), taskContext);
+               if (taskContext.isStopped())
+                  return;
+            }
+         } catch (InterruptedException e) {
+            throw new PersistenceException(e);
+         } finally {
+            processingDone.countDown();
+         }
+      }, executor, MAX_IN_FLIGHT, 10, TimeUnit.SECONDS);
+   }
+
+   public void testBoundedInFlightEntries() throws Exception {
+      AtomicInteger produced = new AtomicInteger();
+      CountDownLatch processingDone = new CountDownLatch(1);
+      List<Object> keys = new ArrayList<>();
+      try (ProcessingEntryIterator<Object, Object> it = iterator(100, produced, processingDone, executor)) {
+         while (it.hasNext()) {
+            MarshalledEntry<Object, Object> entry = it.next();
+            keys.add(entry.getKey());
+            // the consumed entry, the entries in the buffer and the one waiting to be added
+            assertTrue(produced.get() <= keys.size() + MAX_IN_FLIGHT + 1);
+         }
+      }
+      assertEquals(100, keys.size());
+      assertEquals("k0", keys.get(0));
+      assertEquals("k99", keys.get(99));
+      assertTrue(processingDone.await(10, TimeUnit.SECONDS));
+   }
+
+   public void testCloseStopsProcessing() throws Exception {
+      AtomicInteger produced = new AtomicInteger();
+      CountDownLatch processingDone = new CountDownLatch(1);
+      try (ProcessingEntryIterator<Object, Object> it = iterator(1000, produced, processingDone, executor)) {
+         assertTrue(it.hasNext());
+         it.next();
+      }
+      assertTrue(processingDone.await(10, TimeUnit.SECONDS));
+      assertTrue(produced.get() < 1000);
+   }
+
+   public void testProcessingInCallerThread() {
+      AtomicInteger produced = new AtomicInteger();
+      CountDownLatch processingDone = new CountDownLatch(1);
+      int count = 0;
+      try (ProcessingEntryIterator<Object, Object> it = iterator(100, produced, processingDone, new WithinThreadExecutor())) {
+         while (it.hasNext()) {
+            it.next();
+            count++;
+         }
+      }
+      assertEquals(100, count);
+   }
+
+   @Test(expectedExceptions = PersistenceException.class)
+   public void testFailureIsPropagated() {
+      try (ProcessingEntryIterator<Object, Object> it = new ProcessingEntryIterator<>(task -> {
+         throw new PersistenceException("expected");
+      }, executor, MAX_IN_FLIGHT, 10, TimeUnit.SECONDS)) {
+         assertFalse(it.hasNext());
+      }
+   }
+}
@@ -7,9 +7,11 @@
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.infinispan.client.hotrod.CacheTopologyInfo;
 import org.infinispan.client.hotrod.Flag;
+import org.infinispan.client.hotrod.MarshalledKey;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
@@ -74,6 +76,11 @@ public Map<K, V> getAll(Set<? extends K> keys) {
       return delegate.getAll(keys);
    }
 
+   @Override
+   public CloseableIterator<Entry<K, V>> retrieveAll(Set<? extends K> keys, int batchSize) {
+      return delegate.retrieveAll(keys, batchSize);
+   }
+
    @Override
    public CompletableFuture<V> getAsync(K key) {
       return delegate.getAsync(key);
@@ -124,6 +131,26 @@ public MetadataValue<V> getWithMetadata(K key) {
       return delegate.getWithMetadata(key);
    }
 
+   @Override
+   public MetadataValue<V> getWithMetadata(MarshalledKey<K> key) {
+      return delegate.getWithMetadata(key);
+   }
+
+   @Override
+   public MarshalledKey<K> marshallKey(K key) {
+      return delegate.marshallKey(key);
+   }
+
+   @Override
+   public V put(MarshalledKey<K> key, V value) {
+      return delegate.put(key, value);
+   }
+
+   @Override
+   public V put(MarshalledKey<K> key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
+      return delegate.put(key, value, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
+   }
+
    @Override
    public boolean isEmpty() {
       return delegate.isEmpty();
@@ -331,6 +358,11 @@ public boolean replaceWithVersion(K key, V newValue, long version) {
       return delegate.replaceWithVersion(key, newValue, version);
    }
 
+   @Override
+   public boolean replaceWithVersion(MarshalledKey<K> key, V newValue, long version) {
+      return delegate.replaceWithVersion(key, newValue, version);
+   }
+
    @Override
    public boolean replaceWithVersion(K key, V newValue, long version, int lifespanSeconds) {
       return delegate.replaceWithVersion(key, newValue, version, lifespanSeconds);
@@ -428,6 +460,11 @@ public CloseableIterator<Entry<Object, MetadataValue<Object>>> retrieveEntriesWi
       return delegate.retrieveEntriesWithMetadata(segments, batchSize);
    }
 
+   @Override
+   public Stream<Entry<Object, Object>> retrieveEntriesInParallel(String filterConverterFactory, Object[] filterConverterParams, Set<Integer> segments, int batchSize) {
+      return delegate.retrieveEntriesInParallel(filterConverterFactory, filterConverterParams, segments, batchSize);
+   }
+
    @Override
    public StreamingRemoteCache<K> streaming() {
       return delegate.streaming();
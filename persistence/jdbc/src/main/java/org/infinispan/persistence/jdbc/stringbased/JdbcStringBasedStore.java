@@ -10,7 +10,11 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 
@@ -22,6 +26,7 @@
 import org.infinispan.commons.persistence.Store;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.executors.ExecutorAllCompletionService;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
@@ -37,9 +42,9 @@
 import org.infinispan.persistence.keymappers.Key2StringMapper;
 import org.infinispan.persistence.keymappers.TwoWayKey2StringMapper;
 import org.infinispan.persistence.keymappers.UnsupportedKeyTypeException;
-import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.TransactionalCacheWriter;
 import org.infinispan.persistence.support.BatchModification;
 import org.infinispan.util.KeyValuePair;
@@ -82,7 +87,7 @@
  */
 @Store(shared = true)
 @ConfiguredBy(JdbcStringBasedStoreConfiguration.class)
-public class JdbcStringBasedStore<K,V> implements AdvancedLoadWriteStore<K,V>, TransactionalCacheWriter<K,V> {
+public class JdbcStringBasedStore<K,V> implements SegmentedAdvancedLoadWriteStore<K,V>, TransactionalCacheWriter<K,V> {
 
    private static final Log log = LogFactory.getLog(JdbcStringBasedStore.class, Log.class);
    private static final boolean trace = log.isTraceEnabled();
@@ -99,9 +104,11 @@
    private TableManager tableManager;
    private TimeService timeService;
    private boolean isDistributedCache;
+   private InitializationContext ctx;
 
    @Override
    public void init(InitializationContext ctx) {
+      this.ctx = ctx;
       this.configuration = ctx.getConfiguration();
       this.cacheName = ctx.getCache().getName();
       this.globalConfiguration = ctx.getCache().getCacheManager().getCacheManagerConfiguration();
@@ -256,6 +263,81 @@ private void executeLegacyUpdate(Connection connection, MarshalledEntry entry, S
       }
    }
 
+   @Override
+   public void bulkUpdate(Iterable<MarshalledEntry<? extends K, ? extends V>> entries) {
+      Connection connection = null;
+      try {
+         connection = connectionFactory.getConnection();
+         if (!tableManager.isUpsertSupported()) {
+            for (MarshalledEntry entry : entries) {
+               write(entry, connection);
+            }
+            return;
+         }
+
+         String sql = tableManager.getUpsertRowSql();
+         try (PreparedStatement upsertBatch = connection.prepareStatement(sql)) {
+            int batchSize = tableManager.getBatchSize();
+            int pending = 0;
+            for (MarshalledEntry entry : entries) {
+               prepareUpdateStatement(entry, key2Str(entry.getKey()), upsertBatch);
+               upsertBatch.addBatch();
+               if (++pending == batchSize) {
+                  executeBatch(upsertBatch, sql, pending);
+                  pending = 0;
+               }
+            }
+            if (pending > 0)
+               executeBatch(upsertBatch, sql, pending);
+         }
+      } catch (SQLException ex) {
+         log.sqlFailureStoringKeys(ex);
+         throw new PersistenceException("Error while storing string keys to database", ex);
+      } catch (InterruptedException e) {
+         if (trace) {
+            log.trace("Interrupted while marshalling to store");
+         }
+         Thread.currentThread().interrupt();
+      } finally {
+         connectionFactory.releaseConnection(connection);
+      }
+   }
+
+   @Override
+   public void deleteBatch(Iterable<Object> keys) {
+      Connection connection = null;
+      String sql = tableManager.getDeleteRowSql();
+      try {
+         connection = connectionFactory.getConnection();
+         try (PreparedStatement deleteBatch = connection.prepareStatement(sql)) {
+            int batchSize = tableManager.getBatchSize();
+            int pending = 0;
+            for (Object key : keys) {
+               deleteBatch.setString(1, key2Str(key));
+               deleteBatch.addBatch();
+               if (++pending == batchSize) {
+                  executeBatch(deleteBatch, sql, pending);
+                  pending = 0;
+               }
+            }
+            if (pending > 0)
+               executeBatch(deleteBatch, sql, pending);
+         }
+      } catch (SQLException ex) {
+         log.sqlFailureRemovingKeys(ex);
+         throw new PersistenceException("Error while removing string keys from database", ex);
+      } finally {
+         connectionFactory.releaseConnection(connection);
+      }
+   }
+
+   private void executeBatch(PreparedStatement ps, String sql, int size) throws SQLException {
+      if (trace) {
+         log.tracef("Running sql '%s' for a batch of %d keys", sql, size);
+      }
+      ps.executeBatch();
+   }
+
    @Override
    public MarshalledEntry load(Object key) {
       String lockingKey = key2Str(key);
@@ -443,6 +525,145 @@ public void process(final KeyFilter filter, final CacheLoaderTask task, Executor
       }
    }
 
+   @Override
+   public void process(Set segments, KeyFilter filter, CacheLoaderTask task, Executor executor, boolean fetchValue, boolean fetchMetadata) {
+      // Select the ids first, so that the data column is only transferred for the rows in the requested segments
+      Map<String, Object> keys = loadKeys(segments, filter, false);
+      if (keys.isEmpty())
+         return;
+
+      TaskContext taskContext = new TaskContextImpl();
+      ExecutorAllCompletionService ecs = new ExecutorAllCompletionService(executor);
+      if (!fetchValue && !fetchMetadata) {
+         for (Object key : keys.values()) {
+            if (taskContext.isStopped()) break;
+            ecs.submit(() -> {
+               if (!taskContext.isStopped())
+                  task.processEntry(marshalledEntryFactory.newMarshalledEntry(key, (Object) null, null), taskContext);
+               return null;
+            });
+         }
+      } else {
+         Connection conn = null;
+         try {
+            conn = connectionFactory.getConnection();
+            List<String> keyStrs = new ArrayList<>(keys.keySet());
+            int batchSize = tableManager.getBatchSize();
+            for (int i = 0; i < keyStrs.size() && !taskContext.isStopped(); i += batchSize) {
+               List<String> batch = keyStrs.subList(i, Math.min(i + batchSize, keyStrs.size()));
+               try (PreparedStatement ps = conn.prepareStatement(tableManager.getSelectMultipleRowSql(batch.size()))) {
+                  for (int j = 0; j < batch.size(); j++) {
+                     ps.setString(j + 1, batch.get(j));
+                  }
+                  try (ResultSet rs = ps.executeQuery()) {
+                     while (rs.next() && !taskContext.isStopped()) {
+                        Object key = keys.get(rs.getString(1));
+                        KeyValuePair<ByteBuffer, ByteBuffer> kvp = unmarshall(rs.getBinaryStream(2));
+                        MarshalledEntry entry = marshalledEntryFactory.newMarshalledEntry(
+                              key, fetchValue ? kvp.getKey() : null, fetchMetadata ? kvp.getValue() : null);
+                        ecs.submit(() -> {
+                           if (!taskContext.isStopped())
+                              task.processEntry(entry, taskContext);
+                           return null;
+                        });
+                     }
+                  }
+               }
+            }
+         } catch (SQLException e) {
+            log.sqlFailureFetchingAllStoredEntries(e);
+            throw new PersistenceException("SQL error while fetching all StoredEntries", e);
+         } finally {
+            connectionFactory.releaseConnection(conn);
+         }
+      }
+      ecs.waitUntilAllCompleted();
+      if (ecs.isExceptionThrown()) {
+         throw new PersistenceException("Execution exception!", ecs.getFirstException());
+      }
+   }
+
+   @Override
+   public int size(Set segments) {
+      return loadKeys(segments, null, false).size();
+   }
+
+   @Override
+   public void clear(Set segments) {
+      // The expired rows of the segments have to go too
+      Map<String, Object> keys = loadKeys(segments, null, true);
+      if (keys.isEmpty())
+         return;
+
+      Connection conn = null;
+      try {
+         conn = connectionFactory.getConnection();
+         try (PreparedStatement batchDelete = conn.prepareStatement(tableManager.getDeleteRowSql())) {
+            int batchSize = tableManager.getBatchSize();
+            int pending = 0;
+            for (String keyStr : keys.keySet()) {
+               batchDelete.setString(1, keyStr);
+               batchDelete.addBatch();
+               if (++pending == batchSize) {
+                  batchDelete.executeBatch();
+                  pending = 0;
+               }
+            }
+            if (pending > 0)
+               batchDelete.executeBatch();
+         }
+         if (trace) {
+            log.tracef("Successfully removed %d rows from segments %s.", keys.size(), segments);
+         }
+      } catch (SQLException ex) {
+         log.failedClearingJdbcCacheStore(ex);
+         throw new PersistenceException("Failed clearing cache store", ex);
+      } finally {
+         connectionFactory.releaseConnection(conn);
+      }
+   }
+
+   /**
+    * Returns the keys mapping to one of the given segments and accepted by the filter, indexed by their stored string
+    * form. Only the id column is read from the database.
+    *
+    * @param includeExpired whether the keys of the expired rows are returned too
+    */
+   private Map<String, Object> loadKeys(Set<Integer> segments, KeyFilter filter, boolean includeExpired) {
+      KeyPartitioner keyPartitioner = ctx.getKeyPartitioner();
+      Map<String, Object> keys = new HashMap<>();
+      Connection conn = null;
+      PreparedStatement ps = null;
+      ResultSet rs = null;
+      try {
+         String sql = includeExpired ? tableManager.getLoadAllKeysSql() : tableManager.getLoadNonExpiredAllKeysSql();
+         if (trace) {
+            log.tracef("Running sql %s", sql);
+         }
+         conn = connectionFactory.getConnection();
+         ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+         if (!includeExpired) {
+            ps.setLong(1, timeService.wallClockTime());
+         }
+         ps.setFetchSize(tableManager.getFetchSize());
+         rs = ps.executeQuery();
+         while (rs.next()) {
+            String keyStr = rs.getString(1);
+            Object key = ((TwoWayKey2StringMapper) key2StringMapper).getKeyMapping(keyStr);
+            if (segments.contains(keyPartitioner.getSegment(key)) && (filter == null || filter.accept(key)))
+               keys.put(keyStr, key);
+         }
+         return keys;
+      } catch (SQLException e) {
+         log.sqlFailureFetchingAllStoredEntries(e);
+         throw new PersistenceException("SQL error while fetching all StoredEntries", e);
+      } finally {
+         JdbcUtil.safeClose(rs);
+         JdbcUtil.safeClose(ps);
+         connectionFactory.releaseConnection(conn);
+      }
+   }
+
    @Override
    public void prepareWithModifications(Transaction transaction, BatchModification batchModification) throws PersistenceException {
       try {
@@ -473,7 +694,7 @@ public void prepareWithModifications(Transaction transaction, BatchModification
                upsertBatch.executeBatch();
 
             if (!batchModification.getKeysToRemove().isEmpty())
-               deleteBatch.executeUpdate();
+               deleteBatch.executeBatch();
          }
          // We do not call connection.close() in the event of an exception, as close() on active Tx behaviour is implementation
          // dependent. See https://docs.oracle.com/javase/8/docs/api/java/sql/Connection.html#close--
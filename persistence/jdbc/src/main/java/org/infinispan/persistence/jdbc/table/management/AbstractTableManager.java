@@ -38,6 +38,8 @@ public abstract class AbstractTableManager implements TableManager {
    protected String loadAllRowsSql;
    protected String countRowsSql;
    protected String loadAllNonExpiredRowsSql;
+   protected String loadAllNonExpiredKeysSql;
+   protected String loadAllKeysSql;
    protected String deleteAllRows;
    protected String selectExpiredRowsSql;
    protected String deleteExpiredRowsSql;
@@ -301,6 +303,23 @@ public String getLoadNonExpiredAllRowsSql() {
       return loadAllNonExpiredRowsSql;
    }
 
+   @Override
+   public String getLoadNonExpiredAllKeysSql() {
+      if (loadAllNonExpiredKeysSql == null) {
+         loadAllNonExpiredKeysSql = String.format("SELECT %1$s FROM %2$s WHERE %3$s > ? OR %3$s < 0",
+                                                  config.idColumnName(), getTableName(), config.timestampColumnName());
+      }
+      return loadAllNonExpiredKeysSql;
+   }
+
+   @Override
+   public String getLoadAllKeysSql() {
+      if (loadAllKeysSql == null) {
+         loadAllKeysSql = String.format("SELECT %s FROM %s", config.idColumnName(), getTableName());
+      }
+      return loadAllKeysSql;
+   }
+
    @Override
    public String getLoadAllRowsSql() {
       if (loadAllRowsSql == null) {
@@ -53,6 +53,10 @@ public interface TableManager {
 
    String getLoadNonExpiredAllRowsSql();
 
+   String getLoadNonExpiredAllKeysSql();
+
+   String getLoadAllKeysSql();
+
    String getLoadAllRowsSql();
 
    String getDeleteAllRowsSql();
@@ -1,5 +1,11 @@
 package org.infinispan.persistence.remote;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -189,21 +195,37 @@ public void write(MarshalledEntry entry) throws PersistenceException {
       InternalMetadata metadata = entry.getMetadata();
       long lifespan = metadata != null ? metadata.lifespan() : -1;
       long maxIdle = metadata != null ? metadata.maxIdle() : -1;
-      Object key = entry.getKey();
-      if (key instanceof WrappedByteArray) {
-         key = ((WrappedByteArray) key).getBytes();
+      remoteCache.put(unwrap(entry.getKey()), getValue(entry), toSeconds(lifespan, entry.getKey(), LIFESPAN), TimeUnit.SECONDS,
+            toSeconds(maxIdle, entry.getKey(), MAXIDLE), TimeUnit.SECONDS);
+   }
+
+   @Override
+   public void bulkUpdate(Iterable entries) throws PersistenceException {
+      // putAll applies the same expiration to all the entries, so group them by lifespan and max idle first
+      Map<Long, Map<Long, Map<Object, Object>>> groups = new HashMap<>();
+      for (Object o : entries) {
+         MarshalledEntry entry = (MarshalledEntry) o;
+         InternalMetadata metadata = entry.getMetadata();
+         long lifespan = toSeconds(metadata != null ? metadata.lifespan() : -1, entry.getKey(), LIFESPAN);
+         long maxIdle = toSeconds(metadata != null ? metadata.maxIdle() : -1, entry.getKey(), MAXIDLE);
+         groups.computeIfAbsent(lifespan, l -> new HashMap<>())
+               .computeIfAbsent(maxIdle, m -> new HashMap<>())
+               .put(unwrap(entry.getKey()), getValue(entry));
       }
-      Object value;
-      if (configuration.rawValues()) {
-         value = entry.getValue();
-         if (value instanceof WrappedByteArray) {
-            value = ((WrappedByteArray) value).getBytes();
+      groups.forEach((lifespan, byMaxIdle) -> byMaxIdle.forEach((maxIdle, map) -> {
+         if (trace) {
+            log.tracef("Adding %d entries with lifespan %d and max idle %d", map.size(), lifespan, maxIdle);
          }
-      } else {
-         value = entry;
-      }
-      remoteCache.put(key, value, toSeconds(lifespan, entry.getKey(), LIFESPAN), TimeUnit.SECONDS,
-            toSeconds(maxIdle, entry.getKey(), MAXIDLE), TimeUnit.SECONDS);
+         remoteCache.putAll(map, lifespan, TimeUnit.SECONDS, maxIdle, TimeUnit.SECONDS);
+      }));
+   }
+
+   private Object unwrap(Object key) {
+      return key instanceof WrappedByteArray ? ((WrappedByteArray) key).getBytes() : key;
+   }
+
+   private Object getValue(MarshalledEntry entry) {
+      return configuration.rawValues() ? unwrap(entry.getValue()) : entry;
    }
 
    @Override
@@ -222,6 +244,20 @@ public boolean delete(Object key) throws PersistenceException {
       return remoteCache.withFlags(Flag.FORCE_RETURN_VALUE).remove(key) != null;
    }
 
+   @Override
+   public void deleteBatch(Iterable keys) throws PersistenceException {
+      // there is no bulk remove operation in Hot Rod, but the removals can be pipelined
+      List<CompletableFuture<?>> futures = new ArrayList<>();
+      for (Object key : keys) {
+         futures.add(remoteCache.removeAsync(unwrap(key)));
+      }
+      try {
+         CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
+      } catch (CompletionException e) {
+         throw new PersistenceException(e.getCause());
+      }
+   }
+
    private long toSeconds(long millis, Object key, String desc) {
       if (millis > 0 && millis < 1000) {
          if (trace) {
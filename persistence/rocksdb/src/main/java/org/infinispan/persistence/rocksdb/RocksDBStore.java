@@ -5,6 +5,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.Executor;
@@ -15,6 +16,7 @@
 import org.infinispan.commons.configuration.ConfiguredBy;
 import org.infinispan.commons.persistence.Store;
 import org.infinispan.commons.util.Util;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.executors.ExecutorAllCompletionService;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
@@ -23,9 +25,9 @@
 import org.infinispan.persistence.TaskContextImpl;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration;
 import org.infinispan.persistence.rocksdb.logging.Log;
-import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.util.logging.LogFactory;
 import org.rocksdb.CompressionType;
 import org.rocksdb.Options;
@@ -33,10 +35,12 @@
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 
 @Store
 @ConfiguredBy(RocksDBStoreConfiguration.class)
-public class RocksDBStore implements AdvancedLoadWriteStore {
+public class RocksDBStore implements SegmentedAdvancedLoadWriteStore {
     private static final Log log = LogFactory.getLog(RocksDBStore.class, Log.class);
     private RocksDBStoreConfiguration configuration;
     private BlockingQueue<ExpiryEntry> expiryEntryQueue;
@@ -209,9 +213,47 @@ public boolean contains(Object key) {
         }
     }
 
-    @SuppressWarnings("unchecked")
+    @Override
+    public int size(Set segments) {
+        return PersistenceUtil.count(this, segments, ctx.getKeyPartitioner());
+    }
+
+    @Override
+    public void clear(Set segments) {
+        KeyPartitioner keyPartitioner = ctx.getKeyPartitioner();
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            throw new PersistenceException("Cannot acquire semaphore", e);
+        }
+        try {
+            if (stopped) {
+                throw new PersistenceException("RocksDB is stopped");
+            }
+            try (RocksIterator it = wrapIterator(this.db).get()) {
+                for (it.seekToFirst(); it.isValid(); it.next()) {
+                    byte[] keyBytes = it.key();
+                    if (segments.contains(keyPartitioner.getSegment(unmarshall(keyBytes)))) {
+                        db.remove(keyBytes);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            throw new PersistenceException(e);
+        } finally {
+            semaphore.release();
+        }
+    }
+
     @Override
     public void process(KeyFilter keyFilter, CacheLoaderTask cacheLoaderTask, Executor executor, boolean loadValues, boolean loadMetadata) {
+        process(null, keyFilter, cacheLoaderTask, executor, loadValues, loadMetadata);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void process(Set segments, KeyFilter keyFilter, CacheLoaderTask cacheLoaderTask, Executor executor, boolean loadValues, boolean loadMetadata) {
+        KeyPartitioner keyPartitioner = segments != null ? ctx.getKeyPartitioner() : null;
         int batchSize = 100;
         ExecutorAllCompletionService eacs = new ExecutorAllCompletionService(executor);
         final TaskContext taskContext = new TaskContextImpl();
@@ -230,7 +272,16 @@ public void process(KeyFilter keyFilter, CacheLoaderTask cacheLoaderTask, Execut
             if (optionalIterator.isPresent()) {
                 try (RocksIterator it = optionalIterator.get()) {
                     for (it.seekToFirst(); it.isValid(); it.next()) {
-                        Entry entry = new Entry(it.key(), it.value());
+                        byte[] keyBytes = it.key();
+                        Object key = null;
+                        if (segments != null) {
+                            // Check the segment before copying the value, most of the entries are usually skipped
+                            key = unmarshall(keyBytes);
+                            if (!segments.contains(keyPartitioner.getSegment(key))) {
+                                continue;
+                            }
+                        }
+                        Entry entry = new Entry(keyBytes, key, loadValues || loadMetadata ? it.value() : null);
                         entries.add(entry);
                         if (entries.size() == batchSize) {
                             final List<Entry> batch = entries;
@@ -266,7 +317,7 @@ private void submitProcessTask(final CacheLoaderTask cacheLoaderTask, final KeyF
                     if (taskContext.isStopped()) {
                         break;
                     }
-                    Object key = unmarshall(pair.key);
+                    Object key = pair.unmarshalledKey != null ? pair.unmarshalledKey : unmarshall(pair.key);
                     if (filter == null || filter.accept(key)) {
                         MarshalledEntry entry = loadValues || loadMetadata ? (MarshalledEntry) unmarshall(pair.value) : null;
                         boolean isExpired = entry != null && entry.getMetadata() != null && entry.getMetadata().isExpired(now);
@@ -309,6 +360,55 @@ public boolean delete(Object key) {
         }
     }
 
+    @Override
+    public void bulkUpdate(Iterable entries) {
+        try (WriteBatch batch = new WriteBatch(); WriteOptions writeOptions = new WriteOptions()) {
+            List<MarshalledEntry> expiring = new ArrayList<>();
+            for (Object o : entries) {
+                MarshalledEntry me = (MarshalledEntry) o;
+                batch.put(marshall(me.getKey()), marshall(me));
+                InternalMetadata meta = me.getMetadata();
+                if (meta != null && meta.expiryTime() > -1) {
+                    expiring.add(me);
+                }
+            }
+            semaphore.acquire();
+            try {
+                if (stopped) {
+                    throw new PersistenceException("RocksDB is stopped");
+                }
+                db.write(writeOptions, batch);
+            } finally {
+                semaphore.release();
+            }
+            for (MarshalledEntry me : expiring) {
+                addNewExpiry(me);
+            }
+        } catch (Exception e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    @Override
+    public void deleteBatch(Iterable keys) {
+        try (WriteBatch batch = new WriteBatch(); WriteOptions writeOptions = new WriteOptions()) {
+            for (Object key : keys) {
+                batch.remove(marshall(key));
+            }
+            semaphore.acquire();
+            try {
+                if (stopped) {
+                    throw new PersistenceException("RocksDB is stopped");
+                }
+                db.write(writeOptions, batch);
+            } finally {
+                semaphore.release();
+            }
+        } catch (Exception e) {
+            throw new PersistenceException(e);
+        }
+    }
+
     @Override
     public void write(MarshalledEntry me) {
         try {
@@ -519,10 +619,12 @@ public boolean equals(Object obj) {
 
     private static final class Entry {
         final byte[] key;
+        final Object unmarshalledKey;
         final byte[] value;
 
-        Entry(byte[] key, byte[] value) {
+        Entry(byte[] key, Object unmarshalledKey, byte[] value) {
             this.key = key;
+            this.unmarshalledKey = unmarshalledKey;
             this.value = value;
         }
     }
@@ -34,6 +34,7 @@ class Compactor extends Thread {
    private final TimeService timeService;
    private final int maxFileSize;
    private final double compactionThreshold;
+   private final int compactionRateLimit;
 
    private Index index;
    // as processing single scheduled compaction takes a lot of time, we don't use the queue to signalize
@@ -41,12 +42,16 @@ class Compactor extends Thread {
    private volatile boolean terminateSignal = false;
    private volatile CountDownLatch compactorResume;
    private volatile CountDownLatch compactorStop;
+   // bytes read and written since throttleStart, used only by the compactor thread
+   private long throttledBytes;
+   private long throttleStart;
 
 
    public Compactor(FileProvider fileProvider,
                     TemporaryTable temporaryTable,
                     BlockingQueue<IndexRequest> indexQueue,
-                    Marshaller marshaller, TimeService timeService, int maxFileSize, double compactionThreshold) {
+                    Marshaller marshaller, TimeService timeService, int maxFileSize, double compactionThreshold,
+                    int compactionRateLimit) {
       super("BCS-Compactor");
       this.fileProvider = fileProvider;
       this.temporaryTable = temporaryTable;
@@ -55,6 +60,7 @@ public Compactor(FileProvider fileProvider,
       this.timeService = timeService;
       this.maxFileSize = maxFileSize;
       this.compactionThreshold = compactionThreshold;
+      this.compactionRateLimit = compactionRateLimit;
       this.start();
    }
 
@@ -156,6 +162,8 @@ public void run() {
 
             log.debugf("Compacting file %d", scheduledFile);
             int scheduledOffset = 0;
+            throttledBytes = 0;
+            throttleStart = timeService.time();
             FileProvider.Handle handle = fileProvider.getFile(scheduledFile);
             if (handle == null) {
                throw new IllegalStateException("Compactor should not get deleted file for compaction!");
@@ -284,8 +292,10 @@ public void run() {
                            scheduledFile, indexedOffset));
 
                      currentOffset += writtenLength;
+                     throttle(writtenLength);
                   }
                   scheduledOffset += header.totalLength();
+                  throttle(header.totalLength());
                }
             } finally {
                handle.close();
@@ -310,6 +320,24 @@ public void run() {
       }
    }
 
+   /**
+    * Keeps the bandwidth used by the compaction below {@code compactionRateLimit} bytes per second, so that compacting
+    * a large file does not starve the log appender and the readers of I/O.
+    */
+   private void throttle(int bytes) throws InterruptedException {
+      if (compactionRateLimit <= 0) {
+         return;
+      }
+      throttledBytes += bytes;
+      long expectedNanos = TimeUnit.SECONDS.toNanos(throttledBytes) / compactionRateLimit;
+      long waitNanos;
+      while (!clearSignal && !terminateSignal
+            && (waitNanos = expectedNanos - timeService.timeDuration(throttleStart, TimeUnit.NANOSECONDS)) > 0) {
+         // sleep in short steps not to delay the response to clear or stop
+         TimeUnit.NANOSECONDS.sleep(Math.min(waitNanos, TimeUnit.MILLISECONDS.toNanos(100)));
+      }
+   }
+
    private void pauseCompactor(FileProvider.Log logFile) throws IOException, InterruptedException {
       if (logFile != null) {
          logFile.close();
@@ -1,15 +1,19 @@
 package org.infinispan.persistence.sifs;
 
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 import org.infinispan.commons.equivalence.Equivalence;
 import org.infinispan.commons.io.ByteBuffer;
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.persistence.Store;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
@@ -17,9 +21,9 @@
 import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.TaskContextImpl;
 import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration;
-import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.util.TimeService;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -99,7 +103,7 @@
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
 @Store
-public class SoftIndexFileStore implements AdvancedLoadWriteStore {
+public class SoftIndexFileStore implements SegmentedAdvancedLoadWriteStore {
 
    private static final Log log = LogFactory.getLog(SoftIndexFileStore.class);
    private static final boolean trace = log.isTraceEnabled();
@@ -119,9 +123,11 @@ public class SoftIndexFileStore implements AdvancedLoadWriteStore {
    private TimeService timeService;
    private Equivalence<Object> keyEquivalence;
    private int maxKeyLength;
+   private InitializationContext ctx;
 
    @Override
    public void init(InitializationContext ctx) {
+      this.ctx = ctx;
       configuration = ctx.getConfiguration();
       marshaller = ctx.getMarshaller();
       marshalledEntryFactory = ctx.getMarshalledEntryFactory();
@@ -141,7 +147,8 @@ public void start() {
       storeQueue = new SyncProcessingQueue<LogRequest>();
       indexQueue = new IndexQueue(configuration.indexSegments(), configuration.indexQueueLength(), keyEquivalence);
       fileProvider = new FileProvider(configuration.dataLocation(), configuration.openFilesLimit());
-      compactor = new Compactor(fileProvider, temporaryTable, indexQueue, marshaller, timeService, configuration.maxFileSize(), configuration.compactionThreshold());
+      compactor = new Compactor(fileProvider, temporaryTable, indexQueue, marshaller, timeService, configuration.maxFileSize(), configuration.compactionThreshold(),
+            configuration.compactionRateLimit());
       logAppender = new LogAppender(storeQueue, indexQueue, temporaryTable, compactor, fileProvider, configuration.syncWrites(), configuration.maxFileSize());
       try {
          index = new Index(fileProvider, configuration.indexLocation(), configuration.indexSegments(),
@@ -454,6 +461,15 @@ private interface FileFunctor {
    }
 
    private void forEachOnDisk(boolean readMetadata, boolean readValues, EntryFunctor functor, FileFunctor fileFunctor) throws PersistenceException {
+      forEachOnDisk(readMetadata, readValues, null, functor, fileFunctor);
+   }
+
+   /**
+    * @param serializedKeyFilter if not null, entries whose serialized key is not accepted are skipped without reading
+    *                            their metadata and value
+    */
+   private void forEachOnDisk(boolean readMetadata, boolean readValues, Predicate<byte[]> serializedKeyFilter,
+                              EntryFunctor functor, FileFunctor fileFunctor) throws PersistenceException {
       try {
          Iterator<Integer> iterator = fileProvider.getFileIterator();
          while (iterator.hasNext()) {
@@ -478,6 +494,9 @@ private void forEachOnDisk(boolean readMetadata, boolean readValues, EntryFuncto
                         break; // we have read the file concurrently with writing there
                         //throw new CacheLoaderException("File " + file + " appears corrupt when reading key from " + offset + ": header is " + header);
                      }
+                     if (serializedKeyFilter != null && !serializedKeyFilter.test(serializedKey)) {
+                        continue;
+                     }
                      byte[] serializedMetadata = null;
                      if (readMetadata && header.metadataLength() > 0) {
                         serializedMetadata = EntryRecord.readMetadata(handle, header, offset);
@@ -510,13 +529,52 @@ private void forEachOnDisk(boolean readMetadata, boolean readValues, EntryFuncto
       }
    }
 
+   @Override
+   public int size(Set segments) {
+      return PersistenceUtil.count(this, segments, ctx.getKeyPartitioner());
+   }
+
+   @Override
+   public void clear(Set segments) {
+      KeyPartitioner keyPartitioner = ctx.getKeyPartitioner();
+      Set<Object> keys = new HashSet<>();
+      // Unlike process, the expired entries are collected too
+      forEachOnDisk(false, false, (file, offset, size, serializedKey, serializedMetadata, serializedValue, seqId, expiration) -> {
+         Object key = marshaller.objectFromByteBuffer(serializedKey);
+         if (segments.contains(keyPartitioner.getSegment(key)) && !isSeqIdOld(seqId, key, serializedKey)
+               && (offset >= 0 || (expiration >= 0 && expiration <= timeService.wallClockTime()))) {
+            keys.add(key);
+         }
+         return true;
+      }, file -> {});
+      for (Object key : keys) {
+         delete(key);
+      }
+   }
+
    @Override
    public void process(KeyFilter filter, final CacheLoaderTask task, final Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
+      process(null, filter, task, executor, fetchValue, fetchMetadata);
+   }
+
+   @Override
+   public void process(Set segments, KeyFilter filter, final CacheLoaderTask task, final Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
       final TaskContext context = new TaskContextImpl();
       final KeyFilter notNullFilter = PersistenceUtil.notNull(filter);
       final AtomicLong tasksSubmitted = new AtomicLong();
       final AtomicLong tasksFinished = new AtomicLong();
-      forEachOnDisk(fetchMetadata, fetchValue, new EntryFunctor() {
+      Predicate<byte[]> segmentFilter = null;
+      if (segments != null) {
+         KeyPartitioner keyPartitioner = ctx.getKeyPartitioner();
+         segmentFilter = serializedKey -> {
+            try {
+               return segments.contains(keyPartitioner.getSegment(marshaller.objectFromByteBuffer(serializedKey)));
+            } catch (IOException | ClassNotFoundException e) {
+               throw new PersistenceException(e);
+            }
+         };
+      }
+      forEachOnDisk(fetchMetadata, fetchValue, segmentFilter, new EntryFunctor() {
          @Override
          public boolean apply(int file, int offset, int size,
                               final byte[] serializedKey, final byte[] serializedMetadata, final byte[] serializedValue,
@@ -531,7 +589,8 @@ public boolean apply(int file, int offset, int size,
             if (isSeqIdOld(seqId, key, serializedKey)) {
                return true;
             }
-            if (serializedValue != null && (expiration < 0 || expiration > timeService.wallClockTime())) {
+            // negative offset marks removed or expired entries
+            if (offset >= 0 && (expiration < 0 || expiration > timeService.wallClockTime())) {
                executor.execute(new Runnable() {
                   @Override
                   public void run() {
@@ -11,6 +11,7 @@
 public enum Attribute {
    // must be first
    UNKNOWN(null),
+   COMPACTION_RATE_LIMIT("compaction-rate-limit"),
    COMPACTION_THRESHOLD("compaction-threshold"),
    PATH("path"),
    INDEX_QUEUE_LENGTH("max-queue-length"),
@@ -1,5 +1,6 @@
 package org.infinispan.persistence.sifs.configuration;
 
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_RATE_LIMIT;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_THRESHOLD;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.DATA_LOCATION;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.INDEX_LOCATION;
@@ -73,6 +74,15 @@ public SoftIndexFileStoreConfigurationBuilder compactionThreshold(double compact
       return this;
    }
 
+   /**
+    * Limits the bandwidth used by the compaction of data files to the given number of bytes per second (counting both
+    * the reads of the compacted file and the writes of the live entries). Non-positive values disable the limit.
+    */
+   public SoftIndexFileStoreConfigurationBuilder compactionRateLimit(int bytesPerSecond) {
+      attributes.attribute(COMPACTION_RATE_LIMIT).set(bytesPerSecond);
+      return this;
+   }
+
    @Override
    public SoftIndexFileStoreConfiguration create() {
       return new SoftIndexFileStoreConfiguration(attributes.protect(),
@@ -74,6 +74,9 @@ private void parseSoftIndexFileStore(XMLExtendedStreamReader reader, SoftIndexFi
             case COMPACTION_THRESHOLD:
                builder.compactionThreshold(Double.parseDouble(value));
                break;
+            case COMPACTION_RATE_LIMIT:
+               builder.compactionRateLimit(Integer.parseInt(value));
+               break;
             default:
                Parser.parseStoreAttribute(reader, i, builder);
                break;
@@ -0,0 +1,142 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.util.Util;
+import org.infinispan.marshall.TestObjectStreamMarshaller;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.util.DefaultTimeService;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the bandwidth limit of the compaction.
+ *
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "persistence.sifs.CompactorTest")
+public class CompactorTest extends AbstractInfinispanTest {
+   private static final int ENTRIES = 100;
+   private static final int VALUE_SIZE = 200;
+   private static final int OTHER_FILE = Integer.MAX_VALUE;
+
+   private String tmpDirectory;
+   private TestObjectStreamMarshaller marshaller;
+   private FileProvider fileProvider;
+   private TemporaryTable temporaryTable;
+   private BlockingQueue<IndexRequest> indexQueue;
+   private Compactor compactor;
+   private int movedRecords;
+
+   @BeforeMethod(alwaysRun = true)
+   public void setUp() {
+      tmpDirectory = TestingUtil.tmpDirectory(this.getClass());
+      Util.recursiveFileRemove(tmpDirectory);
+      marshaller = new TestObjectStreamMarshaller();
+      fileProvider = new FileProvider(tmpDirectory, 10);
+      temporaryTable = new TemporaryTable(ENTRIES);
+      indexQueue = new LinkedBlockingQueue<>();
+      movedRecords = 0;
+   }
+
+   @AfterMethod(alwaysRun = true)
+   public void tearDown() throws InterruptedException {
+      if (compactor != null && compactor.isAlive()) {
+         compactor.stopOperations();
+      }
+      fileProvider.stop();
+      marshaller.stop();
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   public void testCompactionRateLimit() throws Exception {
+      int file = writeFile();
+      int fileSize = (int) fileProvider.getFileSize(file);
+      // The compaction reads the whole file, so it can't take less than 2 seconds
+      compactor = createCompactor(fileSize / 2);
+
+      long start = System.nanoTime();
+      scheduleCompaction(file, fileSize);
+      awaitRequest(IndexRequest.Type.DELETE_FILE, 30);
+      long elapsed = System.nanoTime() - start;
+      assertEquals(ENTRIES, movedRecords);
+      assertTrue("Compaction took " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms",
+            elapsed >= TimeUnit.SECONDS.toNanos(2));
+   }
+
+   public void testClearInterruptsThrottledCompaction() throws Exception {
+      int file = writeFile();
+      int fileSize = (int) fileProvider.getFileSize(file);
+      // The compaction would take about a minute
+      compactor = createCompactor(fileSize / 60);
+      scheduleCompaction(file, fileSize);
+      awaitRequest(IndexRequest.Type.MOVED, 10);
+
+      long start = System.nanoTime();
+      compactor.clearAndPause();
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+      compactor.resumeAfterPause();
+   }
+
+   public void testStopInterruptsThrottledCompaction() throws Exception {
+      int file = writeFile();
+      int fileSize = (int) fileProvider.getFileSize(file);
+      compactor = createCompactor(fileSize / 60);
+      scheduleCompaction(file, fileSize);
+      awaitRequest(IndexRequest.Type.MOVED, 10);
+
+      long start = System.nanoTime();
+      compactor.stopOperations();
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+   }
+
+   private Compactor createCompactor(int compactionRateLimit) {
+      return new Compactor(fileProvider, temporaryTable, indexQueue, marshaller, new DefaultTimeService(),
+            1024 * 1024, 0.5, compactionRateLimit);
+   }
+
+   /**
+    * Writes a file whose keys are all recorded in another file by the temporary table, so that the compaction moves
+    * each of its records without looking up the index.
+    */
+   private int writeFile() throws Exception {
+      FileProvider.Log logFile = fileProvider.getFileForLog();
+      try {
+         for (int i = 0; i < ENTRIES; i++) {
+            String key = "key" + i;
+            EntryRecord.writeEntry(logFile.fileChannel, marshaller.objectToByteBuffer(key), null, new byte[VALUE_SIZE], i, -1);
+            temporaryTable.set(key, OTHER_FILE, 0);
+         }
+      } finally {
+         logFile.close();
+      }
+      return logFile.fileId;
+   }
+
+   private void scheduleCompaction(int file, int fileSize) {
+      compactor.free(file, fileSize);
+      compactor.completeFile(file);
+   }
+
+   private void awaitRequest(IndexRequest.Type type, int timeoutSeconds) throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+      for (;;) {
+         IndexRequest request = indexQueue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+         assertNotNull("No " + type + " request received", request);
+         if (request.getType() == IndexRequest.Type.MOVED) {
+            movedRecords++;
+         }
+         if (request.getType() == type) {
+            return;
+         }
+      }
+   }
+}
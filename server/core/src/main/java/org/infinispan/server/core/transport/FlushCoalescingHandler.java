@@ -0,0 +1,94 @@
+package org.infinispan.server.core.transport;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Coalesces the flushes of the responses written to a channel, so that pipelining clients receive several responses
+ * per write system call instead of one each.
+ * <p>
+ * The flushes requested while the channel is reading are delayed until the end of the read batch, when all the
+ * requests it contained have been dispatched.  The other flushes, e.g. of the responses written by the worker threads,
+ * are delayed until the event loop runs the tasks already queued, which likely write more responses.  A flush is
+ * never delayed more than {@code maxPendingFlushes} times in a row.
+ *
+ * @since 9.0
+ */
+public class FlushCoalescingHandler extends ChannelDuplexHandler {
+   public static final int DEFAULT_MAX_PENDING_FLUSHES = 256;
+
+   private final int maxPendingFlushes;
+   private final Runnable flushTask = this::flushPending;
+   private ChannelHandlerContext ctx;
+   private boolean reading;
+   private boolean flushScheduled;
+   private int pendingFlushes;
+
+   public FlushCoalescingHandler() {
+      this(DEFAULT_MAX_PENDING_FLUSHES);
+   }
+
+   public FlushCoalescingHandler(int maxPendingFlushes) {
+      if (maxPendingFlushes <= 0) {
+         throw new IllegalArgumentException("maxPendingFlushes must be positive: " + maxPendingFlushes);
+      }
+      this.maxPendingFlushes = maxPendingFlushes;
+   }
+
+   @Override
+   public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+      this.ctx = ctx;
+   }
+
+   @Override
+   public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+      reading = true;
+      super.channelRead(ctx, msg);
+   }
+
+   @Override
+   public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+      reading = false;
+      flushPending();
+      super.channelReadComplete(ctx);
+   }
+
+   @Override
+   public void flush(ChannelHandlerContext ctx) throws Exception {
+      if (++pendingFlushes >= maxPendingFlushes) {
+         flushPending();
+      } else if (!reading && !flushScheduled) {
+         // Outbound operations always run in the event loop, so the task runs after the writes already queued
+         flushScheduled = true;
+         ctx.channel().eventLoop().execute(flushTask);
+      }
+   }
+
+   @Override
+   public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+      // Don't hold back the data of a channel which stopped accepting more
+      if (!ctx.channel().isWritable()) {
+         flushPending();
+      }
+      super.channelWritabilityChanged(ctx);
+   }
+
+   @Override
+   public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+      flushPending();
+      super.channelInactive(ctx);
+   }
+
+   @Override
+   public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+      flushPending();
+   }
+
+   private void flushPending() {
+      flushScheduled = false;
+      if (pendingFlushes > 0) {
+         pendingFlushes = 0;
+         ctx.flush();
+      }
+   }
+}
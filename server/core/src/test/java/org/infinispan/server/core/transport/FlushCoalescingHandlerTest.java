@@ -0,0 +1,67 @@
+package org.infinispan.server.core.transport;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import org.testng.annotations.Test;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Tests the coalescing of the flushes by {@link FlushCoalescingHandler}.
+ *
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "server.core.transport.FlushCoalescingHandlerTest")
+public class FlushCoalescingHandlerTest {
+
+   private static EmbeddedChannel echoChannel(FlushCoalescingHandler handler) {
+      return new EmbeddedChannel(handler, new ChannelInboundHandlerAdapter() {
+         @Override
+         public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            ctx.writeAndFlush(msg);
+         }
+      });
+   }
+
+   public void testFlushAtEndOfRead() {
+      EmbeddedChannel channel = echoChannel(new FlushCoalescingHandler());
+      channel.pipeline().fireChannelRead("r1");
+      channel.pipeline().fireChannelRead("r2");
+      assertNull(channel.readOutbound());
+
+      channel.pipeline().fireChannelReadComplete();
+      assertEquals("r1", channel.readOutbound());
+      assertEquals("r2", channel.readOutbound());
+      channel.finish();
+   }
+
+   public void testFlushOutsideRead() {
+      EmbeddedChannel channel = echoChannel(new FlushCoalescingHandler());
+      channel.writeAndFlush("w1");
+      channel.writeAndFlush("w2");
+      assertNull(channel.readOutbound());
+
+      channel.runPendingTasks();
+      assertEquals("w1", channel.readOutbound());
+      assertEquals("w2", channel.readOutbound());
+      channel.finish();
+   }
+
+   public void testMaxPendingFlushes() {
+      EmbeddedChannel channel = echoChannel(new FlushCoalescingHandler(2));
+      channel.pipeline().fireChannelRead("r1");
+      assertNull(channel.readOutbound());
+      channel.pipeline().fireChannelRead("r2");
+      assertEquals("r1", channel.readOutbound());
+      assertEquals("r2", channel.readOutbound());
+
+      channel.pipeline().fireChannelRead("r3");
+      assertNull(channel.readOutbound());
+      channel.pipeline().fireChannelReadComplete();
+      assertEquals("r3", channel.readOutbound());
+      channel.finish();
+   }
+}
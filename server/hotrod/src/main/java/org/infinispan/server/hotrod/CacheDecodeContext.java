@@ -1,10 +1,17 @@
 package org.infinispan.server.hotrod;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import javax.security.auth.Subject;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
+import org.infinispan.commons.io.ValueCompression;
 import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.metadata.MetadataImmortalCacheEntry;
 import org.infinispan.container.versioning.EntryVersion;
 import org.infinispan.container.versioning.NumericVersion;
 import org.infinispan.container.versioning.NumericVersionGenerator;
@@ -17,6 +24,8 @@
 import org.infinispan.registry.InternalCacheRegistry;
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.server.core.ServerConstants;
+import org.infinispan.server.hotrod.configuration.CompressionMode;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfiguration;
 import org.infinispan.server.hotrod.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -41,6 +50,10 @@ public final class CacheDecodeContext {
    byte[] key;
    RequestParameters params;
    Object operationDecodeContext;
+   // Whether the cache stores compressed values, see CompressionMode.STORAGE
+   boolean storeCompressed;
+   // Whether the simple key operations can be invoked asynchronously, see HotRodServerConfiguration.asyncExecution
+   boolean executeAsync;
 
    public HotRodHeader getHeader() {
       return header;
@@ -89,7 +102,7 @@ Response replace() {
       byte[] prev = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).get(key);
       if (prev != null) {
          // Generate new version only if key present
-         prev = cache.replace(key, (byte[]) operationDecodeContext, buildMetadata());
+         prev = cache.replace(key, toStoredValue((byte[]) operationDecodeContext), buildMetadata());
       }
       if (prev != null)
          return successResp(prev);
@@ -128,6 +141,65 @@ void obtainCache(EmbeddedCacheManager cacheManager, boolean loopback) throws Req
          }
       }
       this.cache = decoder.getOptimizedCache(header, cache, server.getCacheConfiguration(cacheName));
+      this.storeCompressed = server.isStoringCompressedValues(cacheName);
+      this.executeAsync = server.isExecutingAsync(cacheName);
+   }
+
+   /**
+    * @return whether the client exchanges compressed values, i.e. whether the values it sends have to be decompressed
+    * and the values it receives may be compressed
+    */
+   boolean exchangesCompressedValues() {
+      return Constants.isVersionPost26(header.version)
+            && (header.flag & ProtocolFlag.CompressedValues.getValue()) == ProtocolFlag.CompressedValues.getValue();
+   }
+
+   /**
+    * @return the value to store for a value sent by the client
+    */
+   byte[] toStoredValue(byte[] value) {
+      if (exchangesCompressedValues()) {
+         return storeCompressed ? value : ValueCompression.decompress(value);
+      } else {
+         return storeCompressed ? ValueCompression.compress(value, compressionThreshold()) : value;
+      }
+   }
+
+   Map<byte[], byte[]> toStoredValues(Map<byte[], byte[]> entries) {
+      if (!storeCompressed && !exchangesCompressedValues()) {
+         return entries;
+      }
+      Map<byte[], byte[]> stored = new HashMap<>(entries.size());
+      entries.forEach((k, v) -> stored.put(k, toStoredValue(v)));
+      return stored;
+   }
+
+   /**
+    * @return the value to send to the client for a stored value
+    */
+   byte[] toResponseValue(byte[] value) {
+      if (value == null) {
+         return null;
+      } else if (exchangesCompressedValues()) {
+         return storeCompressed ? value : ValueCompression.compress(value, compressionThreshold());
+      } else {
+         return storeCompressed ? ValueCompression.decompress(value) : value;
+      }
+   }
+
+   Map<byte[], byte[]> toResponseValues(Map<byte[], byte[]> entries) {
+      if (!storeCompressed && !exchangesCompressedValues()) {
+         return entries;
+      }
+      Map<byte[], byte[]> values = new HashMap<>(entries.size());
+      entries.forEach((k, v) -> values.put(k, toResponseValue(v)));
+      return values;
+   }
+
+   private int compressionThreshold() {
+      HotRodServerConfiguration configuration = server.getConfiguration();
+      // Negative thresholds disable the compression
+      return configuration.compression() == CompressionMode.NONE ? -1 : configuration.compressionThreshold();
    }
 
    Metadata buildMetadata() {
@@ -143,14 +215,26 @@ Metadata buildMetadata() {
    }
 
    Response get() {
-      return createGetResponse(cache.getCacheEntry(key));
+      CacheEntry<byte[], byte[]> entry = cache.getCacheEntry(key);
+      if (entry != null && (storeCompressed || exchangesCompressedValues())) {
+         entry = new MetadataImmortalCacheEntry(key, toResponseValue(entry.getValue()), entry.getMetadata());
+      }
+      return createGetResponse(entry);
+   }
+
+   /**
+    * Asynchronous variant of {@link #get()}, only for {@link HotRodOperation#GET} whose response needs the value alone.
+    */
+   CompletableFuture<Response> getAsync() {
+      return cache.getAsync(key).thenApply(value ->
+            createGetResponse(value == null ? null : new ImmortalCacheEntry(key, toResponseValue(value))));
    }
 
    Response getKeyMetadata() {
       CacheEntry<byte[], byte[]> ce = cache.getCacheEntry(key);
       if (ce != null) {
          NumericVersion entryVersion = (NumericVersion) ce.getMetadata().version();
-         byte[] v = ce.getValue();
+         byte[] v = toResponseValue(ce.getValue());
          int lifespan = ce.getLifespan() < 0 ? -1 : (int) ce.getLifespan() / 1000;
          int maxIdle = ce.getMaxIdle() < 0 ? -1 : (int) ce.getMaxIdle() / 1000;
          long version = entryVersion != null ? entryVersion.getVersion() : 0;
@@ -189,7 +273,7 @@ Response replaceIfUnmodified() {
          NumericVersion streamVersion = new NumericVersion(params.streamVersion);
          if (entry.getMetadata().version().equals(streamVersion)) {
             // Generate new version only if key present and version has not changed, otherwise it's wasteful
-            boolean replaced = cache.replace(key, prev, (byte[]) operationDecodeContext, buildMetadata());
+            boolean replaced = cache.replace(key, prev, toStoredValue((byte[]) operationDecodeContext), buildMetadata());
             if (replaced)
                return successResp(prev);
             else
@@ -204,7 +288,7 @@ Response putIfAbsent() {
       byte[] prev = cache.get(key);
       if (prev == null) {
          // Generate new version only if key not present
-         prev = cache.putIfAbsent(key, (byte[]) operationDecodeContext, buildMetadata());
+         prev = cache.putIfAbsent(key, toStoredValue((byte[]) operationDecodeContext), buildMetadata());
       }
       if (prev == null)
          return successResp(prev);
@@ -214,10 +298,15 @@ Response putIfAbsent() {
 
    Response put() {
       // Get an optimised cache in case we can make the operation more efficient
-      byte[] prev = cache.put(key, (byte[]) operationDecodeContext, buildMetadata());
+      byte[] prev = cache.put(key, toStoredValue((byte[]) operationDecodeContext), buildMetadata());
       return successResp(prev);
    }
 
+   CompletableFuture<Response> putAsync() {
+      return cache.putAsync(key, toStoredValue((byte[]) operationDecodeContext), buildMetadata())
+            .thenApply(this::successResp);
+   }
+
    EntryVersion generateVersion(ComponentRegistry registry, Cache<byte[], byte[]> cache) {
       VersionGenerator cacheVersionGenerator = registry.getVersionGenerator();
       if (cacheVersionGenerator == null) {
@@ -241,6 +330,10 @@ Response remove() {
          return notExistResp();
    }
 
+   CompletableFuture<Response> removeAsync() {
+      return cache.removeAsync(key).thenApply(prev -> prev != null ? successResp(prev) : notExistResp());
+   }
+
    Response removeIfUnmodified() {
       CacheEntry<byte[], byte[]> entry = cache.getCacheEntry(key);
       if (entry != null) {
@@ -266,11 +359,19 @@ Response clear() {
    }
 
    Response successResp(byte[] prev) {
-      return decoder.createSuccessResponse(header, prev);
+      return decoder.createSuccessResponse(header, toPreviousValue(prev));
    }
 
    Response notExecutedResp(byte[] prev) {
-      return decoder.createNotExecutedResponse(header, prev);
+      return decoder.createNotExecutedResponse(header, toPreviousValue(prev));
+   }
+
+   private byte[] toPreviousValue(byte[] prev) {
+      // The previous value is only sent with the flag, don't decompress it otherwise
+      if ((header.flag & ProtocolFlag.ForceReturnPreviousValue.getValue()) == 0) {
+         return prev;
+      }
+      return toResponseValue(prev);
    }
 
    Response notExistResp() {
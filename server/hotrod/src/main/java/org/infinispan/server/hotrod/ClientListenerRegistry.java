@@ -34,7 +34,9 @@
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.marshall.jboss.GenericJBossMarshaller;
+import org.infinispan.commons.util.BloomFilter;
 import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.CompatibilityModeConfiguration;
 import org.infinispan.container.versioning.EntryVersion;
 import org.infinispan.container.versioning.NumericVersion;
@@ -273,6 +275,26 @@ private List<? extends Object> unmarshallParams(List<byte[]> binaryParams, Marsh
       } else return binaryParams;
    }
 
+   /**
+    * Only sends the events of the keys in the bloom filter to the client from now on, so that a near cache is not
+    * notified about keys it doesn't hold.
+    *
+    * @return {@code false} if the listener is not registered on this server
+    */
+   boolean updateBloomFilter(byte[] listenerId, byte[] bloomFilter) {
+      Object sender = eventSenders.get(new WrappedByteArray(listenerId));
+      if (sender instanceof BaseCompatibilityClientEventSender) {
+         sender = ((BaseCompatibilityClientEventSender) sender).delegate;
+      }
+      if (sender instanceof BaseClientEventSender) {
+         BloomFilter filter = BloomFilter.fromBytes(bloomFilter);
+         if (isTrace) log.tracef("Listener %s now filters events with %s", Util.printArray(listenerId), filter);
+         ((BaseClientEventSender) sender).keyFilter = filter;
+         return true;
+      }
+      return false;
+   }
+
    boolean removeClientListener(byte[] listenerId, Cache cache) {
       Object sender = eventSenders.get(new WrappedByteArray(listenerId));
       if (sender != null) {
@@ -325,6 +347,9 @@ private abstract class BaseClientEventSender {
 
       BlockingQueue<Object> eventQueue = new LinkedBlockingQueue<>(100);
 
+      // The keys held by a near cache, null to send the events of all the keys
+      volatile BloomFilter keyFilter;
+
       private final Runnable writeEventsIfPossible = this::writeEventsIfPossible;
 
       protected BaseClientEventSender(Channel ch, byte[] listenerId, byte version, ClientEventType targetEventType) {
@@ -394,6 +419,11 @@ boolean isChannelDisconnected() {
       }
 
       void sendEvent(byte[] key, byte[] value, long dataVersion, CacheEntryEvent event) {
+         BloomFilter filter = keyFilter;
+         if (filter != null && !filter.mightContain(key)) {
+            if (isTrace) log.tracef("Skip event for key %s, not in the bloom filter", Util.printArray(key));
+            return;
+         }
          Object remoteEvent = createRemoteEvent(key, value, dataVersion, event);
          if (isTrace)
             log.tracef("Queue event %s, before queuing event queue size is %d", remoteEvent, eventQueue.size());
@@ -5,9 +5,14 @@
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 
 import javax.security.auth.Subject;
@@ -23,14 +28,22 @@
 import org.infinispan.tasks.TaskContext;
 import org.infinispan.tasks.TaskManager;
 import org.infinispan.util.KeyValuePair;
+import org.infinispan.util.concurrent.CompletableFutures;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 
 /**
  * Handler that performs actual cache operations.  Note this handler should be on a separate executor group than the
  * decoder.
+ * <p>
+ * With {@link org.infinispan.server.hotrod.configuration.HotRodServerConfiguration#asyncExecution()}, the simple key
+ * operations are invoked through the asynchronous cache API instead, and their responses are written by a worker
+ * thread once they complete, so that no worker thread waits for them.  The asynchronous cache API runs the rejected
+ * operations in the calling thread, so it is never invoked from the transport thread.
  *
  * @author wburns
  * @since 9.0
@@ -50,21 +63,90 @@ public ContextHandler(HotRodServer server, NettyTransport transport, Executor ex
 
    @Override
    protected void channelRead0(ChannelHandlerContext ctx, CacheDecodeContext msg) throws Exception {
-      executor.execute(() -> {
-         try {
-            Subject subject = msg.subject;
-            if (subject == null)
-               realRead(ctx, msg);
-            else Security.doAs(subject, (PrivilegedExceptionAction<Void>) () -> {
-               realRead(ctx, msg);
-               return null;
-            });
-         } catch (PrivilegedActionException e) {
-            ctx.fireExceptionCaught(e.getCause());
-         } catch (Exception e) {
-            ctx.fireExceptionCaught(e);
+      if (msg.executeAsync && isAsyncOperation(msg.header.op)) {
+         executor.execute(() -> asyncRead(ctx, msg));
+      } else {
+         executor.execute(() -> read(ctx, msg));
+      }
+   }
+
+   private static boolean isAsyncOperation(HotRodOperation op) {
+      switch (op) {
+         case GET:
+         case PUT:
+         case REMOVE:
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   private void read(ChannelHandlerContext ctx, CacheDecodeContext msg) {
+      execute(ctx, msg, () -> realRead(ctx, msg));
+   }
+
+   /**
+    * Invokes the operation through the asynchronous cache API, and writes the response from a worker thread once the
+    * operation completes instead of blocking the calling worker thread until then.
+    */
+   private void asyncRead(ChannelHandlerContext ctx, CacheDecodeContext msg) {
+      CompletableFuture<Response> future;
+      try {
+         Subject subject = msg.subject;
+         if (subject == null)
+            future = startAsync(msg);
+         else
+            future = Security.doAs(subject, (PrivilegedExceptionAction<CompletableFuture<Response>>) () -> startAsync(msg));
+      } catch (PrivilegedActionException e) {
+         future = CompletableFutures.completedExceptionFuture(e.getCause());
+      } catch (Throwable t) {
+         future = CompletableFutures.completedExceptionFuture(t);
+      }
+      // The operation may complete in a thread of the asynchronous operations executor, so the response is written
+      // from a worker thread instead of holding one of its few threads
+      future.whenCompleteAsync((response, throwable) -> {
+         if (throwable == null) {
+            writeResponse(msg, ctx.channel(), response);
+         } else {
+            // The decoder may be decoding another request by now, so the error is written for this request here
+            // instead of going through the exception handler
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                  throwable.getCause() : throwable;
+            writeResponse(msg, ctx.channel(), msg.createExceptionResponse(cause));
          }
-      });
+      }, executor);
+   }
+
+   private CompletableFuture<Response> startAsync(CacheDecodeContext msg) {
+      switch (msg.header.op) {
+         case GET:
+            return msg.getAsync();
+         case PUT:
+            return msg.putAsync();
+         case REMOVE:
+            return msg.removeAsync();
+         default:
+            throw new IllegalArgumentException("Unsupported asynchronous operation invoked: " + msg.header.op);
+      }
+   }
+
+   /**
+    * Runs the operation as the subject of the request, and hands its failure over to the exception handler.
+    */
+   private void execute(ChannelHandlerContext ctx, CacheDecodeContext msg, Operation operation) {
+      try {
+         Subject subject = msg.subject;
+         if (subject == null)
+            operation.run();
+         else Security.doAs(subject, (PrivilegedExceptionAction<Void>) () -> {
+            operation.run();
+            return null;
+         });
+      } catch (PrivilegedActionException e) {
+         ctx.fireExceptionCaught(e.getCause());
+      } catch (Exception e) {
+         ctx.fireExceptionCaught(e);
+      }
    }
 
    protected void realRead(ChannelHandlerContext ctx, CacheDecodeContext msg) throws Exception {
@@ -163,6 +245,14 @@ protected void realRead(ChannelHandlerContext ctx, CacheDecodeContext msg) throw
                writeResponse(msg, ctx.channel(), msg.decoder.createNotExecutedResponse(h, null));
             }
             break;
+         case UPDATE_BLOOM_FILTER:
+            KeyValuePair<byte[], byte[]> bloomFilter = (KeyValuePair<byte[], byte[]>) msg.operationDecodeContext;
+            if (server.getClientListenerRegistry().updateBloomFilter(bloomFilter.getKey(), bloomFilter.getValue())) {
+               writeResponse(msg, ctx.channel(), msg.decoder.createSuccessResponse(h, null));
+            } else {
+               writeResponse(msg, ctx.channel(), msg.decoder.createNotExecutedResponse(h, null));
+            }
+            break;
          case ITERATION_START:
             IterationStartRequest iterationStart = (IterationStartRequest) msg.operationDecodeContext;
 
@@ -191,14 +281,18 @@ protected void realRead(ChannelHandlerContext ctx, CacheDecodeContext msg) throw
                   removed ? OperationStatus.Success : OperationStatus.InvalidIteration, h.topologyId));
             break;
          case PUT_ALL:
-            msg.cache.putAll((Map<byte[], byte[]>) msg.operationDecodeContext, msg.buildMetadata());
+            msg.cache.putAll(msg.toStoredValues((Map<byte[], byte[]>) msg.operationDecodeContext), msg.buildMetadata());
             writeResponse(msg, ctx.channel(), msg.decoder.createSuccessResponse(h, null));
             break;
          case GET_ALL:
-            Map<byte[], byte[]> map = msg.cache.getAll((Set<byte[]>) msg.operationDecodeContext);
+            Map<byte[], byte[]> map = msg.toResponseValues(msg.cache.getAll((Set<byte[]>) msg.operationDecodeContext));
             writeResponse(msg, ctx.channel(), new GetAllResponse(h.version, h.messageId, h.cacheName,
                   h.clientIntel, h.topologyId, map));
             break;
+         case GET_ALL_STREAM:
+            KeyValuePair<Set<byte[]>, Integer> getAllStream = (KeyValuePair<Set<byte[]>, Integer>) msg.operationDecodeContext;
+            streamAll(ctx, msg, getAllStream.getKey().iterator(), Math.max(getAllStream.getValue(), 1));
+            break;
          case PUT_STREAM:
             ByteBuf buf = (ByteBuf) msg.operationDecodeContext;
             try {
@@ -241,4 +335,53 @@ public boolean acceptInboundMessage(Object msg) throws Exception {
       // Faster than netty matcher
       return msg.getClass() == CacheDecodeContext.class;
    }
+
+   /**
+    * Writes the entries of the keys as a sequence of responses of at most {@code batchSize} entries, terminated by an
+    * empty response.  The next entries are only read from the cache once the previous response has been written, so
+    * neither the server nor the client hold more than a batch of values at a time.  No thread waits for the writes:
+    * the next batch is read by a worker thread once the previous write completes, so a client that stops reading
+    * does not hold up a worker thread.
+    */
+   private void streamAll(ChannelHandlerContext ctx, CacheDecodeContext msg, Iterator<byte[]> it, int batchSize) {
+      HotRodHeader h = msg.header;
+      Channel channel = ctx.channel();
+      while (it.hasNext()) {
+         Set<byte[]> batch = new HashSet<>();
+         while (it.hasNext() && batch.size() < batchSize) {
+            batch.add(it.next());
+         }
+         Map<byte[], byte[]> entries = msg.toResponseValues(msg.cache.getAll(batch));
+         if (entries.isEmpty()) {
+            continue;
+         }
+         if (CacheDecodeContext.isTrace) {
+            log.tracef("Write %d streamed entries", entries.size());
+         }
+         channel.writeAndFlush(new GetAllResponse(h.version, h.messageId, h.cacheName, h.clientIntel,
+               HotRodOperation.GET_ALL_STREAM, h.topologyId, entries)).addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+               executor.execute(() -> execute(ctx, msg, () -> {
+                  try {
+                     streamAll(ctx, msg, it, batchSize);
+                  } catch (Throwable t) {
+                     // The decoder may be decoding another request by now, so the error is written for this request
+                     // here instead of going through the exception handler
+                     writeResponse(msg, channel, msg.createExceptionResponse(t));
+                  }
+               }));
+            } else if (CacheDecodeContext.isTrace) {
+               // The client closed the connection, e.g. because it stopped iterating
+               log.tracef(future.cause(), "Stop streaming entries");
+            }
+         });
+         return;
+      }
+      writeResponse(msg, channel, new GetAllResponse(h.version, h.messageId, h.cacheName, h.clientIntel,
+            HotRodOperation.GET_ALL_STREAM, h.topologyId, Collections.emptyMap()));
+   }
+
+   private interface Operation {
+      void run() throws Exception;
+   }
 }
@@ -110,6 +110,7 @@ public CacheDecodeContext.RequestParameters readParameters(HotRodHeader header,
          case REPLACE_IF_UNMODIFIED:
             return readParameters(buffer, header, true, true, true);
          case GET_ALL:
+         case GET_ALL_STREAM:
             return readParameters(buffer, header, false, true, false);
          case PUT_STREAM:
             return readParameters(buffer, header, true, false, true);
@@ -430,6 +431,14 @@ public void customReadKey(HotRodHeader header, ByteBuf buffer, CacheDecodeContex
                out.add(hrCtx);
             });
             break;
+         case UPDATE_BLOOM_FILTER:
+            ExtendedByteBuf.readMaybeRangedBytes(buffer).flatMap(listenerId ->
+                  ExtendedByteBuf.readMaybeRangedBytes(buffer).map(bloomFilter -> {
+                     hrCtx.operationDecodeContext = new KeyValuePair<>(listenerId, bloomFilter);
+                     buffer.markReaderIndex();
+                     return out.add(hrCtx);
+                  }));
+            break;
          case ITERATION_START:
             ExtendedByteBuf.readMaybeOptRangedBytes(buffer).flatMap(segments ->
                   ExtendedByteBuf.readMaybeOptString(buffer).map(name -> {
@@ -544,6 +553,7 @@ public void customReadValue(HotRodHeader header, ByteBuf buffer, CacheDecodeCont
             }
             break;
          case GET_ALL:
+         case GET_ALL_STREAM:
             maxLength = hrCtx.params.valueLength;
             Set<byte[]> set;
             if (hrCtx.operationDecodeContext == null) {
@@ -564,7 +574,17 @@ public void customReadValue(HotRodHeader header, ByteBuf buffer, CacheDecodeCont
                }
             }
             if (readAll) {
-               out.add(hrCtx);
+               if (header.op == HotRodOperation.GET_ALL_STREAM) {
+                  // The number of entries per response follows the keys
+                  Set<byte[]> keys = set;
+                  ExtendedByteBuf.readMaybeVInt(buffer).ifPresent(batchSize -> {
+                     hrCtx.operationDecodeContext = new KeyValuePair<>(keys, batchSize);
+                     buffer.markReaderIndex();
+                     out.add(hrCtx);
+                  });
+               } else {
+                  out.add(hrCtx);
+               }
             }
             break;
          case PUT_STREAM:
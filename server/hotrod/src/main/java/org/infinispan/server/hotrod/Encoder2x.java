@@ -299,6 +299,7 @@ public void writeResponse(Response response, ByteBuf buf, EmbeddedCacheManager c
          case ITERATION_END:
          case ADD_CLIENT_LISTENER:
          case REMOVE_CLIENT_LISTENER:
+         case UPDATE_BLOOM_FILTER:
             // Empty response
             break;
          case SIZE: {
@@ -413,7 +414,8 @@ public void writeResponse(Response response, ByteBuf buf, EmbeddedCacheManager c
             });
             break;
          }
-         case GET_ALL: {
+         case GET_ALL:
+         case GET_ALL_STREAM: {
             GetAllResponse r = (GetAllResponse) response;
             if (r.status == OperationStatus.Success) {
                ExtendedByteBuf.writeUnsignedInt(r.entries.size(), buf);
@@ -56,6 +56,7 @@
 import org.infinispan.server.core.QueryFacade;
 import org.infinispan.server.core.security.SaslUtils;
 import org.infinispan.server.core.transport.NettyInitializers;
+import org.infinispan.server.hotrod.configuration.CompressionMode;
 import org.infinispan.server.hotrod.configuration.HotRodServerConfiguration;
 import org.infinispan.server.hotrod.event.KeyValueWithPreviousEventConverterFactory;
 import org.infinispan.server.hotrod.iteration.DefaultIterationManager;
@@ -340,6 +341,33 @@ Configuration getCacheConfiguration(String cacheName) {
       return knownCacheConfigurations.get(cacheName);
    }
 
+   /**
+    * @return whether the values of the cache are stored compressed, see {@link CompressionMode#STORAGE}
+    */
+   boolean isStoringCompressedValues(String cacheName) {
+      if (configuration.compression() != CompressionMode.STORAGE) {
+         return false;
+      }
+      Configuration cacheConfiguration = knownCacheConfigurations.get(cacheName);
+      InternalCacheRegistry icr = cacheManager.getGlobalComponentRegistry().getComponent(InternalCacheRegistry.class);
+      return !cacheConfiguration.compatibility().enabled() && !cacheConfiguration.indexing().index().isEnabled()
+            && !icr.isInternalCache(cacheName.isEmpty() ? configuration.defaultCacheName() : cacheName);
+   }
+
+   /**
+    * @return whether the simple key operations on the cache can be invoked asynchronously, see
+    * {@link HotRodServerConfiguration#asyncExecution()}
+    */
+   boolean isExecutingAsync(String cacheName) {
+      if (!configuration.asyncExecution()) {
+         return false;
+      }
+      // Transactions and stores block the invoking thread even through the asynchronous API
+      Configuration cacheConfiguration = knownCacheConfigurations.get(cacheName);
+      return !cacheConfiguration.transaction().transactionMode().isTransactional()
+            && !cacheConfiguration.persistence().usingStores() && !cacheConfiguration.compatibility().enabled();
+   }
+
    ComponentRegistry getCacheRegistry(String cacheName) {
       return knownCacheRegistries.get(cacheName);
    }
@@ -184,7 +184,12 @@ class GetAllResponse extends Response {
 
    GetAllResponse(byte version, long messageId, String cacheName, short clientIntel, int topologyId,
                   Map<byte[], byte[]> entries) {
-      super(version, messageId, cacheName, clientIntel, HotRodOperation.GET_ALL, OperationStatus.Success, topologyId);
+      this(version, messageId, cacheName, clientIntel, HotRodOperation.GET_ALL, topologyId, entries);
+   }
+
+   GetAllResponse(byte version, long messageId, String cacheName, short clientIntel, HotRodOperation operation,
+                  int topologyId, Map<byte[], byte[]> entries) {
+      super(version, messageId, cacheName, clientIntel, operation, OperationStatus.Success, topologyId);
       this.entries = entries;
    }
 
@@ -48,4 +48,19 @@ public HotRodServerChildConfigurationBuilder topologyStateTransfer(boolean topol
       return builder.topologyStateTransfer(topologyStateTransfer);
    }
 
+   @Override
+   public HotRodServerChildConfigurationBuilder compression(CompressionMode compression) {
+      return builder.compression(compression);
+   }
+
+   @Override
+   public HotRodServerChildConfigurationBuilder compressionThreshold(int compressionThreshold) {
+      return builder.compressionThreshold(compressionThreshold);
+   }
+
+   @Override
+   public HotRodServerChildConfigurationBuilder asyncExecution(boolean asyncExecution) {
+      return builder.asyncExecution(asyncExecution);
+   }
+
 }
@@ -0,0 +1,29 @@
+package org.infinispan.server.hotrod.configuration;
+
+/**
+ * Compression of the values exchanged with the clients which support it, i.e. the clients of protocol version 2.7 or
+ * later which enabled it.  The other clients always exchange uncompressed values.
+ *
+ * @since 9.0
+ */
+public enum CompressionMode {
+   /**
+    * The values sent to the clients are not compressed, but the clients may still send compressed values.
+    */
+   NONE,
+   /**
+    * The values are only compressed on the wire: they are stored uncompressed, and compressed when sent to the clients.
+    */
+   WIRE,
+   /**
+    * The values are stored compressed, and sent as they are to the clients which support compression.  The other
+    * clients get them uncompressed.  Caches with compatibility mode or indexing enabled, and the internal caches, store
+    * their values uncompressed.
+    * <p>
+    * Only the operations on keys, including getAll, uncompress the values: the entries iterated, the bulk operations,
+    * the scripts and the client listener filters and converters see the compressed values.  The values should not be
+    * accessed other than through Hot Rod either.  Hence this mode suits caches accessed by key only, and must not be
+    * enabled on caches holding values stored in another mode.
+    */
+   STORAGE
+}
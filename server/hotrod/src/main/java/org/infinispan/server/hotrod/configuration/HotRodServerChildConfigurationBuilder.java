@@ -49,4 +49,22 @@ public interface HotRodServerChildConfigurationBuilder {
     */
    HotRodServerChildConfigurationBuilder topologyStateTransfer(boolean topologyStateTransfer);
 
+   /**
+    * Configures the compression of the values exchanged with the clients which support it. Defaults to
+    * {@link CompressionMode#NONE}
+    */
+   HotRodServerChildConfigurationBuilder compression(CompressionMode compression);
+
+   /**
+    * Configures the minimum size of the values to compress, in bytes. Defaults to 1024
+    */
+   HotRodServerChildConfigurationBuilder compressionThreshold(int compressionThreshold);
+
+   /**
+    * Configures whether the simple key operations on non-transactional caches without stores are invoked through the
+    * asynchronous cache API, instead of blocking a worker thread until they complete. Their responses are written by
+    * the worker threads. Defaults to false
+    */
+   HotRodServerChildConfigurationBuilder asyncExecution(boolean asyncExecution);
+
 }
@@ -16,9 +16,12 @@ public class HotRodServerConfiguration extends ProtocolServerConfiguration {
    private final long topologyReplTimeout;
    private final boolean topologyAwaitInitialTransfer;
    private final boolean topologyStateTransfer;
+   private final CompressionMode compression;
+   private final int compressionThreshold;
+   private final boolean asyncExecution;
    private final AuthenticationConfiguration authentication;
 
-   HotRodServerConfiguration(String defaultCacheName, String proxyHost, int proxyPort, long topologyLockTimeout, long topologyReplTimeout, boolean topologyAwaitInitialTransfer, boolean topologyStateTransfer,
+   HotRodServerConfiguration(String defaultCacheName, String proxyHost, int proxyPort, long topologyLockTimeout, long topologyReplTimeout, boolean topologyAwaitInitialTransfer, boolean topologyStateTransfer, CompressionMode compression, int compressionThreshold, boolean asyncExecution,
          String name, String host, int port, int idleTimeout, int recvBufSize, int sendBufSize, SslConfiguration ssl, boolean tcpNoDelay, int workerThreads, AuthenticationConfiguration authentication, Set<String> ignoredCaches, boolean startTransport) {
       super(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize, ssl, tcpNoDelay, workerThreads, ignoredCaches, startTransport);
       this.proxyHost = proxyHost;
@@ -28,6 +31,9 @@ public class HotRodServerConfiguration extends ProtocolServerConfiguration {
       this.topologyReplTimeout = topologyReplTimeout;
       this.topologyStateTransfer = topologyStateTransfer;
       this.topologyAwaitInitialTransfer = topologyAwaitInitialTransfer;
+      this.compression = compression;
+      this.compressionThreshold = compressionThreshold;
+      this.asyncExecution = asyncExecution;
       this.authentication = authentication;
    }
 
@@ -59,6 +65,18 @@ public boolean topologyStateTransfer() {
       return topologyStateTransfer;
    }
 
+   public CompressionMode compression() {
+      return compression;
+   }
+
+   public int compressionThreshold() {
+      return compressionThreshold;
+   }
+
+   public boolean asyncExecution() {
+      return asyncExecution;
+   }
+
    public AuthenticationConfiguration authentication() {
       return authentication;
    }
@@ -68,7 +86,9 @@ public String toString() {
       return "HotRodServerConfiguration [proxyHost=" + proxyHost + ", proxyPort=" + proxyPort + ", topologyCacheName="
             + topologyCacheName + ", topologyLockTimeout=" + topologyLockTimeout + ", topologyReplTimeout="
             + topologyReplTimeout + ", topologyAwaitInitialTransfer=" + topologyAwaitInitialTransfer
-            + ", topologyStateTransfer=" + topologyStateTransfer + ", authentication=" + authentication
+            + ", topologyStateTransfer=" + topologyStateTransfer + ", compression=" + compression
+            + ", compressionThreshold=" + compressionThreshold + ", asyncExecution=" + asyncExecution
+            + ", authentication=" + authentication
             + ", ignoredCaches=" + ignoredCaches() + ", " + super.toString() + "]";
    }
 }
@@ -1,10 +1,12 @@
 package org.infinispan.server.hotrod.configuration;
 
 import org.infinispan.commons.configuration.Builder;
+import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.configuration.cache.LockingConfigurationBuilder;
 import org.infinispan.configuration.cache.StateTransferConfigurationBuilder;
 import org.infinispan.configuration.cache.SyncConfigurationBuilder;
 import org.infinispan.server.core.configuration.ProtocolServerConfigurationBuilder;
+import org.infinispan.server.hotrod.logging.Log;
 
 /**
  * HotRodServerConfigurationBuilder.
@@ -14,6 +16,7 @@
  */
 public class HotRodServerConfigurationBuilder extends ProtocolServerConfigurationBuilder<HotRodServerConfiguration, HotRodServerConfigurationBuilder> implements
       Builder<HotRodServerConfiguration>, HotRodServerChildConfigurationBuilder {
+   private static final Log log = LogFactory.getLog(HotRodServerConfigurationBuilder.class, Log.class);
    private final AuthenticationConfigurationBuilder authentication = new AuthenticationConfigurationBuilder(this);
    private String proxyHost;
    private int proxyPort = -1;
@@ -21,6 +24,9 @@ public class HotRodServerConfigurationBuilder extends ProtocolServerConfiguratio
    private long topologyReplTimeout = 10000L;
    private boolean topologyAwaitInitialTransfer = true;
    private boolean topologyStateTransfer = true;
+   private CompressionMode compression = CompressionMode.NONE;
+   private int compressionThreshold = 1024;
+   private boolean asyncExecution = false;
 
    public HotRodServerConfigurationBuilder() {
       super(11222);
@@ -95,9 +101,39 @@ public HotRodServerConfigurationBuilder topologyStateTransfer(boolean topologySt
       return this;
    }
 
+   /**
+    * Configures the compression of the values exchanged with the clients which support it. Defaults to
+    * {@link CompressionMode#NONE}
+    */
+   @Override
+   public HotRodServerConfigurationBuilder compression(CompressionMode compression) {
+      this.compression = compression;
+      return this;
+   }
+
+   /**
+    * Configures the minimum size of the values to compress, in bytes. Defaults to 1024
+    */
+   @Override
+   public HotRodServerConfigurationBuilder compressionThreshold(int compressionThreshold) {
+      this.compressionThreshold = compressionThreshold;
+      return this;
+   }
+
+   /**
+    * Configures whether the simple key operations on non-transactional caches without stores are invoked through the
+    * asynchronous cache API, instead of blocking a worker thread until they complete. Their responses are written by
+    * the worker threads. Defaults to false
+    */
+   @Override
+   public HotRodServerConfigurationBuilder asyncExecution(boolean asyncExecution) {
+      this.asyncExecution = asyncExecution;
+      return this;
+   }
+
    @Override
    public HotRodServerConfiguration create() {
-      return new HotRodServerConfiguration(defaultCacheName, proxyHost == null ? host : proxyHost, proxyPort < 0 ? port : proxyPort, topologyLockTimeout, topologyReplTimeout, topologyAwaitInitialTransfer, topologyStateTransfer, name, host, port, idleTimeout,
+      return new HotRodServerConfiguration(defaultCacheName, proxyHost == null ? host : proxyHost, proxyPort < 0 ? port : proxyPort, topologyLockTimeout, topologyReplTimeout, topologyAwaitInitialTransfer, topologyStateTransfer, compression, compressionThreshold, asyncExecution, name, host, port, idleTimeout,
             recvBufSize, sendBufSize, ssl.create(), tcpNoDelay, workerThreads, authentication.create(), ignoredCaches, startTransport);
    }
 
@@ -110,6 +146,9 @@ public HotRodServerConfigurationBuilder read(HotRodServerConfiguration template)
       this.topologyReplTimeout = template.topologyReplTimeout();
       this.topologyAwaitInitialTransfer = template.topologyAwaitInitialTransfer();
       this.topologyStateTransfer = template.topologyStateTransfer();
+      this.compression = template.compression();
+      this.compressionThreshold = template.compressionThreshold();
+      this.asyncExecution = template.asyncExecution();
       return this;
    }
 
@@ -117,6 +156,9 @@ public HotRodServerConfigurationBuilder read(HotRodServerConfiguration template)
    public void validate() {
       super.validate();
       authentication.validate();
+      if (compressionThreshold < 0) {
+         throw log.invalidCompressionThreshold(compressionThreshold);
+      }
    }
 
    public HotRodServerConfiguration build(boolean validate) {
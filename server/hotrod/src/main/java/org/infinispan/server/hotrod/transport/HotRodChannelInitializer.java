@@ -3,6 +3,7 @@
 import java.util.concurrent.ExecutorService;
 
 import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.server.core.transport.FlushCoalescingHandler;
 import org.infinispan.server.core.transport.NettyChannelInitializer;
 import org.infinispan.server.core.transport.NettyTransport;
 import org.infinispan.server.hotrod.AuthenticationHandler;
@@ -39,6 +40,8 @@ public HotRodChannelInitializer(HotRodServer hotRodServer, NettyTransport transp
    @Override
    public void initializeChannel(Channel ch) throws Exception {
       super.initializeChannel(ch);
+      // Write the responses to pipelined requests together
+      ch.pipeline().addBefore("decoder", "flush", new FlushCoalescingHandler());
 
       AuthenticationHandler authHandler = hotRodServer.getConfiguration().authentication().enabled() ?
             new AuthenticationHandler(hotRodServer) : null;
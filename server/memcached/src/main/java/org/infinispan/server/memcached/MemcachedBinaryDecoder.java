@@ -0,0 +1,567 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.server.core.transport.ExtendedByteBuf.buffer;
+import static org.infinispan.server.core.transport.ExtendedByteBuf.wrappedBuffer;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.ADD;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.ADDQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.APPEND;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.APPENDQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.DECREMENT;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.DECREMENTQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.DELETE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.DELETEQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.FLUSH;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.FLUSHQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.GET;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.GETK;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.GETKQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.GETQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.HEADER_LENGTH;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.INCREMENT;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.INCREMENTQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.INTERNAL_ERROR;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.INVALID_ARGUMENTS;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.ITEM_NOT_STORED;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.KEY_EXISTS;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.KEY_NOT_FOUND;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.MAGIC_REQUEST;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.MAGIC_RESPONSE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.MAX_KEY_LENGTH;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.NON_NUMERIC_VALUE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.NOOP;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.NO_ERROR;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.NO_INITIAL_VALUE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.PREPEND;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.PREPENDQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.QUIT;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.QUITQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.REPLACE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.REPLACEQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.SET;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.SETQ;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.STAT;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.UNKNOWN_COMMAND;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.VALUE_TOO_LARGE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.VERSION;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.isQuiet;
+import static org.infinispan.server.memcached.MemcachedDecoder.generateVersion;
+import static org.infinispan.server.memcached.MemcachedDecoder.toMillis;
+import static org.infinispan.server.memcached.TextProtocolUtil.CHARSET;
+import static org.infinispan.server.memcached.TextProtocolUtil.MAX_UNSIGNED_LONG;
+import static org.infinispan.server.memcached.TextProtocolUtil.MIN_UNSIGNED;
+import static org.infinispan.server.memcached.TextProtocolUtil.concat;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Version;
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.versioning.EntryVersion;
+import org.infinispan.container.versioning.NumericVersion;
+import org.infinispan.context.Flag;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.server.core.transport.NettyTransport;
+import org.infinispan.server.memcached.logging.JavaLog;
+import org.infinispan.stats.Stats;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * A Memcached binary protocol decoder.  The requests are length prefixed, so they are only decoded once they have been
+ * completely received, and their numeric fields are read as they are instead of being parsed from text.
+ * <p>
+ * The responses are written as soon as their requests are decoded, but they are only flushed at the end of each read.
+ * A batch of quiet requests terminated by a {@code noop}, like the pipelined multi-gets of the clients, is therefore
+ * answered with a single write.
+ *
+ * @since 9.0
+ */
+public class MemcachedBinaryDecoder extends ByteToMessageDecoder {
+   private final static JavaLog log = LogFactory.getLog(MemcachedBinaryDecoder.class, JavaLog.class);
+   private final static boolean isTrace = log.isTraceEnabled();
+
+   private static final byte[] EMPTY = new byte[0];
+   private static final byte[] NOT_FOUND_MESSAGE = "Not found".getBytes(CHARSET);
+   private static final byte[] EXISTS_MESSAGE = "Data exists for key".getBytes(CHARSET);
+   private static final byte[] NOT_STORED_MESSAGE = "Not stored".getBytes(CHARSET);
+   private static final byte[] INVALID_ARGUMENTS_MESSAGE = "Invalid arguments".getBytes(CHARSET);
+   private static final byte[] NON_NUMERIC_MESSAGE = "Non-numeric server-side value for incr or decr".getBytes(CHARSET);
+   private static final byte[] UNKNOWN_COMMAND_MESSAGE = "Unknown command".getBytes(CHARSET);
+   private static final byte[] VALUE_TOO_LARGE_MESSAGE = "Too large".getBytes(CHARSET);
+
+   private final AdvancedCache<String, byte[]> cache;
+   private final ScheduledExecutorService scheduler;
+   protected final NettyTransport transport;
+   protected final Predicate<? super String> ignoreCache;
+   private final boolean isStatsEnabled;
+   private final int maxValueSize;
+   private final AtomicLong incrMisses = new AtomicLong();
+   private final AtomicLong incrHits = new AtomicLong();
+   private final AtomicLong decrMisses = new AtomicLong();
+   private final AtomicLong decrHits = new AtomicLong();
+   private final AtomicLong replaceIfUnmodifiedMisses = new AtomicLong();
+   private final AtomicLong replaceIfUnmodifiedHits = new AtomicLong();
+   private final AtomicLong replaceIfUnmodifiedBadval = new AtomicLong();
+   private boolean closing;
+
+   public MemcachedBinaryDecoder(AdvancedCache<String, byte[]> memcachedCache, ScheduledExecutorService scheduler,
+                                 NettyTransport transport, Predicate<? super String> ignoreCache, int maxValueSize) {
+      cache = memcachedCache.getCacheConfiguration().compatibility().enabled() ?
+            memcachedCache.withFlags(Flag.OPERATION_MEMCACHED) : memcachedCache;
+      this.scheduler = scheduler;
+      this.transport = transport;
+      this.ignoreCache = ignoreCache;
+      this.maxValueSize = maxValueSize;
+      isStatsEnabled = cache.getCacheConfiguration().jmxStatistics().enabled();
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+      if (closing) {
+         in.skipBytes(in.readableBytes());
+         return;
+      }
+      if (in.readableBytes() < HEADER_LENGTH) {
+         return;
+      }
+      int start = in.readerIndex();
+      short magic = in.getUnsignedByte(start);
+      long bodyLength = in.getUnsignedInt(start + 8);
+      if (magic != MAGIC_REQUEST || bodyLength > Integer.MAX_VALUE - HEADER_LENGTH) {
+         // The request boundaries are lost, so the connection can't be used any more
+         log.debugf("Invalid binary request header, magic=%#x, body length=%d", magic, bodyLength);
+         closing = true;
+         in.skipBytes(in.readableBytes());
+         ctx.close();
+         return;
+      }
+      int keyLength = in.getUnsignedShort(start + 2);
+      int extrasLength = in.getUnsignedByte(start + 4);
+      if (bodyLength - extrasLength - keyLength > maxValueSize) {
+         // Rejected before the body is buffered, and as it won't be read the connection can't be used any more
+         Request request = new Request(in.getByte(start + 1), in.getInt(start + 12), in.getLong(start + 16));
+         log.debugf("Value of binary request too large, body length=%d", bodyLength);
+         closing = true;
+         in.skipBytes(in.readableBytes());
+         writeResponse(ctx, request, VALUE_TOO_LARGE, 0, EMPTY, EMPTY, VALUE_TOO_LARGE_MESSAGE);
+         ctx.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+         return;
+      }
+      if (in.readableBytes() < HEADER_LENGTH + bodyLength) {
+         return;
+      }
+      Request request = new Request(in.getByte(start + 1), in.getInt(start + 12), in.getLong(start + 16));
+      int valueLength = (int) bodyLength - extrasLength - keyLength;
+      in.skipBytes(HEADER_LENGTH);
+      if (valueLength < 0 || keyLength > MAX_KEY_LENGTH) {
+         in.skipBytes((int) bodyLength);
+         writeResponse(ctx, request, INVALID_ARGUMENTS, 0, EMPTY, EMPTY, INVALID_ARGUMENTS_MESSAGE);
+         return;
+      }
+      request.extras = in.readSlice(extrasLength);
+      request.keyBytes = new byte[keyLength];
+      in.readBytes(request.keyBytes);
+      request.key = new String(request.keyBytes, CHARSET);
+      request.value = new byte[valueLength];
+      in.readBytes(request.value);
+      if (isTrace) log.tracef("Binary request %s", request);
+      try {
+         String cacheName = cache.getName();
+         if (ignoreCache.test(cacheName)) throw new CacheUnavailableException(cacheName);
+         dispatch(ctx, request);
+      } catch (Exception e) {
+         log.exceptionReported(e);
+         writeResponse(ctx, request, INTERNAL_ERROR, 0, EMPTY, EMPTY, String.valueOf(e).getBytes(CHARSET));
+      }
+   }
+
+   @Override
+   public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+      ctx.flush();
+      super.channelReadComplete(ctx);
+   }
+
+   @Override
+   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+      log.debug("Exception caught", cause);
+      ctx.close();
+   }
+
+   private void dispatch(ChannelHandlerContext ctx, Request request) {
+      switch (request.opcode) {
+         case GET:
+         case GETQ:
+         case GETK:
+         case GETKQ:
+            if (isValid(ctx, request, 0, true, false))
+               get(ctx, request);
+            break;
+         case SET:
+         case SETQ:
+         case ADD:
+         case ADDQ:
+         case REPLACE:
+         case REPLACEQ:
+            if (isValid(ctx, request, 8, true, true))
+               store(ctx, request);
+            break;
+         case APPEND:
+         case APPENDQ:
+         case PREPEND:
+         case PREPENDQ:
+            if (isValid(ctx, request, 0, true, true))
+               concatenate(ctx, request);
+            break;
+         case DELETE:
+         case DELETEQ:
+            if (isValid(ctx, request, 0, true, false))
+               delete(ctx, request);
+            break;
+         case INCREMENT:
+         case INCREMENTQ:
+         case DECREMENT:
+         case DECREMENTQ:
+            if (isValid(ctx, request, 20, true, false))
+               incrDecr(ctx, request);
+            break;
+         case FLUSH:
+         case FLUSHQ:
+            if (isValid(ctx, request, request.extras.readableBytes() == 0 ? 0 : 4, false, false))
+               flush(ctx, request);
+            break;
+         case NOOP:
+            writeResponse(ctx, request, NO_ERROR, 0, EMPTY, EMPTY, EMPTY);
+            break;
+         case VERSION:
+            writeResponse(ctx, request, NO_ERROR, 0, EMPTY, EMPTY, Version.getVersion().getBytes(CHARSET));
+            break;
+         case STAT:
+            stats(ctx, request);
+            break;
+         case QUIT:
+         case QUITQ:
+            writeResponse(ctx, request, NO_ERROR, 0, EMPTY, EMPTY, EMPTY);
+            closing = true;
+            ctx.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+            break;
+         default:
+            writeResponse(ctx, request, UNKNOWN_COMMAND, 0, EMPTY, EMPTY, UNKNOWN_COMMAND_MESSAGE);
+      }
+   }
+
+   private boolean isValid(ChannelHandlerContext ctx, Request request, int extrasLength, boolean hasKey,
+                           boolean hasValue) {
+      if (request.extras.readableBytes() == extrasLength && request.key.isEmpty() != hasKey
+            && (hasValue || request.value.length == 0)) {
+         return true;
+      }
+      writeResponse(ctx, request, INVALID_ARGUMENTS, 0, EMPTY, EMPTY, INVALID_ARGUMENTS_MESSAGE);
+      return false;
+   }
+
+   private void get(ChannelHandlerContext ctx, Request request) {
+      byte[] key = request.opcode == GETK || request.opcode == GETKQ ? request.keyBytes : EMPTY;
+      CacheEntry<String, byte[]> entry = cache.getCacheEntry(request.key);
+      if (entry == null) {
+         writeResponse(ctx, request, KEY_NOT_FOUND, 0, EMPTY, key, NOT_FOUND_MESSAGE);
+      } else {
+         Metadata metadata = entry.getMetadata();
+         long flags = metadata instanceof MemcachedMetadata ? ((MemcachedMetadata) metadata).flags : 0;
+         byte[] extras = ByteBuffer.allocate(4).putInt((int) flags).array();
+         writeResponse(ctx, request, NO_ERROR, version(metadata), extras, key, entry.getValue());
+      }
+   }
+
+   private void store(ChannelHandlerContext ctx, Request request) {
+      Metadata metadata = buildMetadata(request.extras.getUnsignedInt(0), request.extras.getInt(4));
+      short status;
+      switch (request.opcode) {
+         case SET:
+         case SETQ:
+            if (request.cas != 0) {
+               status = replaceIfUnmodified(request, metadata);
+            } else {
+               cache.put(request.key, request.value, metadata);
+               status = NO_ERROR;
+            }
+            break;
+         case ADD:
+         case ADDQ:
+            status = cache.putIfAbsent(request.key, request.value, metadata) == null ? NO_ERROR : KEY_EXISTS;
+            break;
+         default:
+            if (request.cas != 0) {
+               status = replaceIfUnmodified(request, metadata);
+            } else {
+               status = cache.replace(request.key, request.value, metadata) != null ? NO_ERROR : KEY_NOT_FOUND;
+            }
+      }
+      writeStatus(ctx, request, status, metadata);
+   }
+
+   private short replaceIfUnmodified(Request request, Metadata metadata) {
+      CacheEntry<String, byte[]> entry = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(request.key);
+      short status;
+      if (entry == null) {
+         status = KEY_NOT_FOUND;
+      } else if (version(entry.getMetadata()) != request.cas) {
+         status = KEY_EXISTS;
+      } else {
+         status = cache.replace(request.key, entry.getValue(), request.value, metadata) ? NO_ERROR : KEY_EXISTS;
+      }
+      if (isStatsEnabled) {
+         switch (status) {
+            case NO_ERROR:
+               replaceIfUnmodifiedHits.incrementAndGet();
+               break;
+            case KEY_NOT_FOUND:
+               replaceIfUnmodifiedMisses.incrementAndGet();
+               break;
+            default:
+               replaceIfUnmodifiedBadval.incrementAndGet();
+         }
+      }
+      return status;
+   }
+
+   private void concatenate(ChannelHandlerContext ctx, Request request) {
+      CacheEntry<String, byte[]> entry = cache.getCacheEntry(request.key);
+      if (entry == null) {
+         writeStatus(ctx, request, ITEM_NOT_STORED, null);
+      } else if (request.cas != 0 && version(entry.getMetadata()) != request.cas) {
+         writeStatus(ctx, request, KEY_EXISTS, null);
+      } else {
+         byte[] prev = entry.getValue();
+         byte[] concatenated = request.opcode == APPEND || request.opcode == APPENDQ ?
+               concat(prev, request.value) : concat(request.value, prev);
+         // Appending and prepending keep the flags and the expiration of the entry
+         Metadata metadata = withNewVersion(entry.getMetadata());
+         boolean replaced = cache.replace(request.key, prev, concatenated, metadata);
+         writeStatus(ctx, request, replaced ? NO_ERROR : ITEM_NOT_STORED, metadata);
+      }
+   }
+
+   private void delete(ChannelHandlerContext ctx, Request request) {
+      short status;
+      if (request.cas != 0) {
+         CacheEntry<String, byte[]> entry = cache.getCacheEntry(request.key);
+         if (entry == null) {
+            status = KEY_NOT_FOUND;
+         } else if (version(entry.getMetadata()) != request.cas) {
+            status = KEY_EXISTS;
+         } else {
+            status = cache.remove(request.key, entry.getValue()) ? NO_ERROR : KEY_EXISTS;
+         }
+      } else {
+         status = cache.remove(request.key) != null ? NO_ERROR : KEY_NOT_FOUND;
+      }
+      writeStatus(ctx, request, status, null);
+   }
+
+   private void incrDecr(ChannelHandlerContext ctx, Request request) {
+      boolean increment = request.opcode == INCREMENT || request.opcode == INCREMENTQ;
+      BigInteger delta = new BigInteger(Long.toUnsignedString(request.extras.getLong(0)));
+      long initial = request.extras.getLong(8);
+      long expiration = request.extras.getUnsignedInt(16);
+      CacheEntry<String, byte[]> entry = cache.getCacheEntry(request.key);
+      if (entry == null) {
+         if (isStatsEnabled) {
+            (increment ? incrMisses : decrMisses).incrementAndGet();
+         }
+         if (expiration == NO_INITIAL_VALUE) {
+            writeStatus(ctx, request, KEY_NOT_FOUND, null);
+            return;
+         }
+         Metadata metadata = buildMetadata(0, (int) expiration);
+         if (cache.putIfAbsent(request.key, Long.toUnsignedString(initial).getBytes(CHARSET), metadata) != null) {
+            // Like for the text protocol, a concurrent modification is treated as exceptional
+            throw new CacheException("Value created since we checked the cache");
+         }
+         writeCounter(ctx, request, initial, metadata);
+         return;
+      }
+      if (request.cas != 0 && version(entry.getMetadata()) != request.cas) {
+         writeStatus(ctx, request, KEY_EXISTS, null);
+         return;
+      }
+      byte[] prev = entry.getValue();
+      BigInteger prevCounter;
+      try {
+         prevCounter = new BigInteger(new String(prev, CHARSET));
+      } catch (NumberFormatException e) {
+         prevCounter = null;
+      }
+      if (prevCounter == null || prevCounter.compareTo(MIN_UNSIGNED) < 0
+            || prevCounter.compareTo(MAX_UNSIGNED_LONG) > 0) {
+         writeResponse(ctx, request, NON_NUMERIC_VALUE, 0, EMPTY, EMPTY, NON_NUMERIC_MESSAGE);
+         return;
+      }
+      // Incrementing wraps around at 64 bits, decrementing stops at 0
+      BigInteger counter = increment ?
+            prevCounter.add(delta).and(MAX_UNSIGNED_LONG) : prevCounter.subtract(delta).max(MIN_UNSIGNED);
+      Metadata metadata = withNewVersion(entry.getMetadata());
+      if (cache.replace(request.key, prev, counter.toString().getBytes(CHARSET), metadata)) {
+         if (isStatsEnabled) {
+            (increment ? incrHits : decrHits).incrementAndGet();
+         }
+         writeCounter(ctx, request, counter.longValue(), metadata);
+      } else {
+         // Like for the text protocol, a concurrent modification is treated as exceptional
+         throw new CacheException("Value modified since we retrieved from the cache, old value was " + prevCounter);
+      }
+   }
+
+   private void flush(ChannelHandlerContext ctx, Request request) {
+      int flushDelay = request.extras.readableBytes() == 4 ? request.extras.getInt(0) : 0;
+      if (flushDelay <= 0)
+         cache.clear();
+      else
+         scheduler.schedule(cache::clear, toMillis(flushDelay), TimeUnit.MILLISECONDS);
+      writeStatus(ctx, request, NO_ERROR, null);
+   }
+
+   private void stats(ChannelHandlerContext ctx, Request request) {
+      // Only the general statistics are supported, the other groups just return the terminating response
+      if (request.key.isEmpty()) {
+         Stats stats = cache.getStats();
+         Map<String, Object> values = new LinkedHashMap<>();
+         values.put("pid", 0);
+         values.put("uptime", stats.getTimeSinceStart());
+         values.put("time", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+         values.put("version", cache.getVersion());
+         values.put("curr_items", stats.getCurrentNumberOfEntries());
+         values.put("total_items", stats.getTotalNumberOfEntries());
+         values.put("cmd_get", stats.getRetrievals());
+         values.put("cmd_set", stats.getStores());
+         values.put("get_hits", stats.getHits());
+         values.put("get_misses", stats.getMisses());
+         values.put("delete_misses", stats.getRemoveMisses());
+         values.put("delete_hits", stats.getRemoveHits());
+         values.put("incr_misses", incrMisses);
+         values.put("incr_hits", incrHits);
+         values.put("decr_misses", decrMisses);
+         values.put("decr_hits", decrHits);
+         values.put("cas_misses", replaceIfUnmodifiedMisses);
+         values.put("cas_hits", replaceIfUnmodifiedHits);
+         values.put("cas_badval", replaceIfUnmodifiedBadval);
+         values.put("evictions", stats.getEvictions());
+         values.put("bytes_read", transport.getTotalBytesRead());
+         values.put("bytes_written", transport.getTotalBytesWritten());
+         values.forEach((name, value) -> writeResponse(ctx, request, NO_ERROR, 0, EMPTY, name.getBytes(CHARSET),
+               String.valueOf(value).getBytes(CHARSET)));
+      }
+      writeResponse(ctx, request, NO_ERROR, 0, EMPTY, EMPTY, EMPTY);
+   }
+
+   private Metadata buildMetadata(long flags, int expiration) {
+      MemcachedMetadataBuilder metadata = new MemcachedMetadataBuilder();
+      metadata.version(generateVersion(cache));
+      metadata.flags(flags);
+      if (expiration > 0)
+         metadata.lifespan(toMillis(expiration));
+      return metadata.build();
+   }
+
+   private Metadata withNewVersion(Metadata metadata) {
+      Metadata.Builder builder = metadata != null ? metadata.builder() : new MemcachedMetadataBuilder();
+      return builder.version(generateVersion(cache)).build();
+   }
+
+   private static long version(Metadata metadata) {
+      EntryVersion version = metadata != null ? metadata.version() : null;
+      return version instanceof NumericVersion ? ((NumericVersion) version).getVersion() : 0;
+   }
+
+   private void writeStatus(ChannelHandlerContext ctx, Request request, short status, Metadata metadata) {
+      switch (status) {
+         case NO_ERROR:
+            writeResponse(ctx, request, status, version(metadata), EMPTY, EMPTY, EMPTY);
+            break;
+         case KEY_NOT_FOUND:
+            writeResponse(ctx, request, status, 0, EMPTY, EMPTY, NOT_FOUND_MESSAGE);
+            break;
+         case KEY_EXISTS:
+            writeResponse(ctx, request, status, 0, EMPTY, EMPTY, EXISTS_MESSAGE);
+            break;
+         default:
+            writeResponse(ctx, request, status, 0, EMPTY, EMPTY, NOT_STORED_MESSAGE);
+      }
+   }
+
+   private void writeCounter(ChannelHandlerContext ctx, Request request, long counter, Metadata metadata) {
+      byte[] value = ByteBuffer.allocate(8).putLong(counter).array();
+      writeResponse(ctx, request, NO_ERROR, version(metadata), EMPTY, EMPTY, value);
+   }
+
+   private void writeResponse(ChannelHandlerContext ctx, Request request, short status, long cas, byte[] extras,
+                              byte[] key, byte[] value) {
+      if (isQuiet(request.opcode)) {
+         // The quiet gets omit the misses, the other quiet operations omit the successes
+         boolean get = request.opcode == GETQ || request.opcode == GETKQ;
+         if (status == (get ? KEY_NOT_FOUND : NO_ERROR)) {
+            return;
+         }
+      }
+      int bodyLength = extras.length + key.length + value.length;
+      ByteBuf header = buffer(HEADER_LENGTH + extras.length + key.length);
+      header.writeByte(MAGIC_RESPONSE);
+      header.writeByte(request.opcode);
+      header.writeShort(key.length);
+      header.writeByte(extras.length);
+      header.writeByte(0); // Raw bytes data type
+      header.writeShort(status);
+      header.writeInt(bodyLength);
+      header.writeInt(request.opaque);
+      header.writeLong(cas);
+      header.writeBytes(extras);
+      header.writeBytes(key);
+      if (isTrace)
+         log.tracef("Write response, opcode=%#x, status=%#x, body length=%d", request.opcode, status, bodyLength);
+      ctx.write(header, ctx.voidPromise());
+      if (value.length > 0) {
+         // The values are never modified, so they can be sent without copying them
+         ctx.write(wrappedBuffer(value), ctx.voidPromise());
+      }
+   }
+
+   private static final class Request {
+      final byte opcode;
+      final int opaque;
+      final long cas;
+      ByteBuf extras;
+      byte[] keyBytes;
+      String key;
+      byte[] value;
+
+      Request(byte opcode, int opaque, long cas) {
+         this.opcode = opcode;
+         this.opaque = opaque;
+         this.cas = cas;
+      }
+
+      @Override
+      public String toString() {
+         return "Request{" +
+               "opcode=" + opcode +
+               ", opaque=" + opaque +
+               ", cas=" + cas +
+               ", key='" + key + '\'' +
+               ", valueLength=" + (value != null ? value.length : -1) +
+               '}';
+      }
+   }
+}
@@ -469,8 +469,8 @@ private MemcachedParameters readStorageParameters(List<String> args, ByteBuf b)
       return new MemcachedParameters(length, lifespan, -1, streamVersion, noReply, flags, "", 0);
    }
 
-   private EntryVersion generateVersion(Cache<String, byte[]> cache) {
-      ComponentRegistry registry = getCacheRegistry();
+   static EntryVersion generateVersion(AdvancedCache<?, ?> cache) {
+      ComponentRegistry registry = cache.getComponentRegistry();
       VersionGenerator cacheVersionGenerator = registry.getComponent(VersionGenerator.class);
       if (cacheVersionGenerator == null) {
          // It could be null, for example when not running in compatibility mode.
@@ -545,10 +545,6 @@ private Configuration getCacheConfiguration() {
       return cache.getCacheConfiguration();
    }
 
-   private ComponentRegistry getCacheRegistry() {
-      return cache.getComponentRegistry();
-   }
-
    private void customDecodeHeader(ChannelHandlerContext ctx, ByteBuf buffer) throws IOException {
       Channel ch = ctx.channel();
       switch (header.operation) {
@@ -848,7 +844,7 @@ private StringBuilder logAndCreateErrorMessage(StringBuilder sb, MemcachedExcept
     * Otherwise it's just considered number of seconds from
     * now and it's returned in milliseconds unit.
     */
-   private long toMillis(int lifespan) {
+   static long toMillis(int lifespan) {
       if (lifespan > SecondsInAMonth) {
          long unixTimeExpiry = TimeUnit.SECONDS.toMillis(lifespan) - System.currentTimeMillis();
          return unixTimeExpiry < 0 ? 0 : unixTimeExpiry;
@@ -0,0 +1,38 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.server.memcached.BinaryProtocolUtil.MAGIC_REQUEST;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * Detects whether a connection uses the text or the binary Memcached protocol from its first byte, which is the magic
+ * byte for the binary requests and a letter of the command for the text ones, and replaces itself with the matching
+ * decoder.  The bytes received so far are passed on to the new decoder.
+ *
+ * @since 9.0
+ */
+public class MemcachedProtocolDetector extends ByteToMessageDecoder {
+   private final Supplier<? extends ChannelHandler> textDecoder;
+   private final Supplier<? extends ChannelHandler> binaryDecoder;
+
+   public MemcachedProtocolDetector(Supplier<? extends ChannelHandler> textDecoder,
+                                    Supplier<? extends ChannelHandler> binaryDecoder) {
+      this.textDecoder = textDecoder;
+      this.binaryDecoder = binaryDecoder;
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+      if (!in.isReadable()) {
+         return;
+      }
+      boolean binary = in.getUnsignedByte(in.readerIndex()) == MAGIC_REQUEST;
+      ctx.pipeline().replace(this, ctx.name(), binary ? binaryDecoder.get() : textDecoder.get());
+   }
+}
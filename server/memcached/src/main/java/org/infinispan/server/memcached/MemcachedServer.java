@@ -57,9 +57,15 @@ public ChannelOutboundHandler getEncoder() {
       return null;
    }
 
+   /**
+    * The connections can use the text or the binary protocol, the decoder of each one is chosen from its first byte.
+    */
    @Override
    public ChannelInboundHandler getDecoder() {
-      return new MemcachedDecoder(memcachedCache, scheduler, transport, this::isCacheIgnored);
+      return new MemcachedProtocolDetector(
+            () -> new MemcachedDecoder(memcachedCache, scheduler, transport, this::isCacheIgnored),
+            () -> new MemcachedBinaryDecoder(memcachedCache, scheduler, transport, this::isCacheIgnored,
+                  configuration.maxValueSize()));
    }
 
    @Override
@@ -17,13 +17,21 @@ public class MemcachedServerConfiguration extends ProtocolServerConfiguration {
 
    public static final int DEFAULT_MEMCACHED_PORT = 11211;
    public static final String DEFAULT_MEMCACHED_CACHE = "memcachedCache";
+   public static final int DEFAULT_MAX_VALUE_SIZE = 1024 * 1024;
 
-   MemcachedServerConfiguration(String defaultCacheName, String name, String host, int port, int idleTimeout, int recvBufSize, int sendBufSize, SslConfiguration ssl, boolean tcpNoDelay, int workerThreads, Set<String> ignoredCaches, boolean startTransport) {
+   private final int maxValueSize;
+
+   MemcachedServerConfiguration(String defaultCacheName, String name, String host, int port, int idleTimeout, int recvBufSize, int sendBufSize, SslConfiguration ssl, boolean tcpNoDelay, int workerThreads, Set<String> ignoredCaches, boolean startTransport, int maxValueSize) {
       super(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize, ssl, tcpNoDelay, workerThreads, ignoredCaches, startTransport);
+      this.maxValueSize = maxValueSize;
+   }
+
+   public int maxValueSize() {
+      return maxValueSize;
    }
 
    @Override
    public String toString() {
-      return "MemcachedServerConfiguration [" + super.toString() + "]";
+      return "MemcachedServerConfiguration [maxValueSize=" + maxValueSize + ", " + super.toString() + "]";
    }
 }
@@ -1,7 +1,9 @@
 package org.infinispan.server.memcached.configuration;
 
 import org.infinispan.commons.configuration.Builder;
+import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.server.core.configuration.ProtocolServerConfigurationBuilder;
+import org.infinispan.server.memcached.logging.JavaLog;
 
 /**
  * MemcachedServerConfigurationBuilder.
@@ -11,6 +13,8 @@
  */
 public class MemcachedServerConfigurationBuilder extends ProtocolServerConfigurationBuilder<MemcachedServerConfiguration, MemcachedServerConfigurationBuilder> implements
       Builder<MemcachedServerConfiguration> {
+   private static final JavaLog log = LogFactory.getLog(MemcachedServerConfigurationBuilder.class, JavaLog.class);
+   private int maxValueSize = MemcachedServerConfiguration.DEFAULT_MAX_VALUE_SIZE;
 
    public MemcachedServerConfigurationBuilder() {
       super(MemcachedServerConfiguration.DEFAULT_MEMCACHED_PORT);
@@ -31,9 +35,26 @@ public MemcachedServerConfigurationBuilder cache(String cache) {
       return this;
    }
 
+   /**
+    * Configures the maximum size of the values sent with the binary protocol, in bytes. The connections sending
+    * larger requests are closed without reading them. Defaults to 1 MB
+    */
+   public MemcachedServerConfigurationBuilder maxValueSize(int maxValueSize) {
+      this.maxValueSize = maxValueSize;
+      return this;
+   }
+
+   @Override
+   public void validate() {
+      super.validate();
+      if (maxValueSize < 0) {
+         throw log.invalidMaxValueSize(maxValueSize);
+      }
+   }
+
    @Override
    public MemcachedServerConfiguration create() {
-      return new MemcachedServerConfiguration(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize, ssl.create(), tcpNoDelay, workerThreads, ignoredCaches, startTransport);
+      return new MemcachedServerConfiguration(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize, ssl.create(), tcpNoDelay, workerThreads, ignoredCaches, startTransport, maxValueSize);
    }
 
    public MemcachedServerConfiguration build(boolean validate) {
@@ -51,6 +72,7 @@ public MemcachedServerConfiguration build() {
    @Override
    public Builder<?> read(MemcachedServerConfiguration template) {
       super.read(template);
+      this.maxValueSize = template.maxValueSize();
       return this;
    }
 }
@@ -16,4 +16,7 @@
 public interface JavaLog extends Log {
    @Message(value = "Cache '%s' has expiration enabled which violates the Memcached protocol", id = 11001)
    CacheConfigurationException invalidExpiration(String cacheName);
+
+   @Message(value = "Invalid maximum value size: %d, it must be greater or equal than zero", id = 11002)
+   CacheConfigurationException invalidMaxValueSize(int maxValueSize);
 }
@@ -0,0 +1,199 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.server.memcached.test.MemcachedTestingUtil.createMemcachedBinaryClient;
+import static org.infinispan.test.TestingUtil.k;
+import static org.infinispan.test.TestingUtil.v;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Version;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.memcached.configuration.MemcachedServerConfiguration;
+import org.testng.annotations.Test;
+
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CASValue;
+import net.spy.memcached.MemcachedClient;
+
+/**
+ * Tests the binary Memcached protocol against the Infinispan Memcached server.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "server.memcached.MemcachedBinaryFunctionalTest")
+public class MemcachedBinaryFunctionalTest extends MemcachedSingleNodeTest {
+   private MemcachedClient binaryClient;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      EmbeddedCacheManager cm = super.createCacheManager();
+      binaryClient = createMemcachedBinaryClient(60000, server.getPort());
+      return cm;
+   }
+
+   @Override
+   protected void shutdownClient() {
+      super.shutdownClient();
+      binaryClient.shutdown();
+   }
+
+   public void testSetGet(Method m) throws Exception {
+      assertTrue(binaryClient.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m), binaryClient.get(k(m)));
+      // The text protocol clients share the same entries
+      assertEquals(v(m), client.get(k(m)));
+      assertNull(binaryClient.get(k(m, "missing-")));
+   }
+
+   public void testGetBulk(Method m) throws Exception {
+      for (int i = 0; i < 3; i++) {
+         assertTrue(binaryClient.set(k(m, i + "-"), 0, v(m, i + "-")).get(timeout, TimeUnit.SECONDS));
+      }
+      Map<String, Object> values = binaryClient.getBulk(k(m, "0-"), k(m, "1-"), k(m, "missing-"), k(m, "2-"));
+      assertEquals(3, values.size());
+      for (int i = 0; i < 3; i++) {
+         assertEquals(v(m, i + "-"), values.get(k(m, i + "-")));
+      }
+   }
+
+   public void testAddReplaceDelete(Method m) throws Exception {
+      assertFalse(binaryClient.replace(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(binaryClient.add(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertFalse(binaryClient.add(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+      assertTrue(binaryClient.replace(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m, "v1-"), binaryClient.get(k(m)));
+      assertTrue(binaryClient.delete(k(m)).get(timeout, TimeUnit.SECONDS));
+      assertFalse(binaryClient.delete(k(m)).get(timeout, TimeUnit.SECONDS));
+   }
+
+   public void testCas(Method m) throws Exception {
+      assertTrue(binaryClient.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      CASValue<Object> value = binaryClient.gets(k(m));
+      assertEquals(CASResponse.OK, binaryClient.cas(k(m), value.getCas(), v(m, "v1-")));
+      assertEquals(CASResponse.EXISTS, binaryClient.cas(k(m), value.getCas(), v(m, "v2-")));
+      assertEquals(CASResponse.NOT_FOUND, binaryClient.cas(k(m, "missing-"), value.getCas(), v(m, "v2-")));
+      assertEquals(v(m, "v1-"), binaryClient.get(k(m)));
+   }
+
+   public void testIncrDecr(Method m) throws Exception {
+      assertEquals(-1, binaryClient.incr(k(m), 1));
+      assertEquals(5, binaryClient.incr(k(m), 1, 5, 0));
+      assertEquals(7, binaryClient.incr(k(m), 2));
+      assertEquals(0, binaryClient.decr(k(m), 10));
+      // The counters are stored as text, so the text protocol clients can read them
+      assertEquals("0", client.get(k(m)));
+   }
+
+   public void testAppendPrepend(Method m) throws Exception {
+      assertFalse(binaryClient.append(0, k(m), "c").get(timeout, TimeUnit.SECONDS));
+      assertTrue(binaryClient.set(k(m), 0, "b").get(timeout, TimeUnit.SECONDS));
+      assertTrue(binaryClient.append(0, k(m), "c").get(timeout, TimeUnit.SECONDS));
+      assertTrue(binaryClient.prepend(0, k(m), "a").get(timeout, TimeUnit.SECONDS));
+      assertEquals("abc", binaryClient.get(k(m)));
+   }
+
+   public void testVersion() {
+      Map<?, String> versions = binaryClient.getVersions();
+      assertEquals(Version.getVersion(), versions.values().iterator().next());
+   }
+
+   public void testQuietBatch(Method m) throws Exception {
+      assertTrue(binaryClient.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      byte[] key = k(m).getBytes(TextProtocolUtil.CHARSET);
+      try (Socket socket = new Socket(server.getHost(), server.getPort())) {
+         DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+         writeRequest(out, BinaryProtocolUtil.GETQ, 1, k(m, "missing-").getBytes(TextProtocolUtil.CHARSET));
+         writeRequest(out, BinaryProtocolUtil.GETKQ, 2, key);
+         writeRequest(out, BinaryProtocolUtil.SETQ, 3, key, new byte[8], v(m, "v1-").getBytes(TextProtocolUtil.CHARSET));
+         writeRequest(out, BinaryProtocolUtil.NOOP, 4, new byte[0]);
+         out.flush();
+
+         // Only the hit and the noop are answered
+         DataInputStream in = new DataInputStream(socket.getInputStream());
+         byte[] body = readResponse(in, BinaryProtocolUtil.GETKQ, 2);
+         assertEquals(4 + key.length + v(m).length(), body.length);
+         assertTrue(Arrays.equals(key, Arrays.copyOfRange(body, 4, 4 + key.length)));
+         assertEquals(v(m), new String(body, 4 + key.length, v(m).length(), TextProtocolUtil.CHARSET));
+         assertEquals(0, readResponse(in, BinaryProtocolUtil.NOOP, 4).length);
+      }
+      assertEquals(v(m, "v1-"), binaryClient.get(k(m)));
+   }
+
+   public void testValueTooLarge(Method m) throws Exception {
+      byte[] key = k(m).getBytes(TextProtocolUtil.CHARSET);
+      try (Socket socket = new Socket(server.getHost(), server.getPort())) {
+         DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+         // Only the header is sent, the server must answer without waiting for the body
+         out.writeByte(BinaryProtocolUtil.MAGIC_REQUEST);
+         out.writeByte(BinaryProtocolUtil.SET);
+         out.writeShort(key.length);
+         out.writeByte(8);
+         out.writeByte(0);
+         out.writeShort(0);
+         out.writeInt(8 + key.length + MemcachedServerConfiguration.DEFAULT_MAX_VALUE_SIZE + 1);
+         out.writeInt(1);
+         out.writeLong(0);
+         out.flush();
+
+         DataInputStream in = new DataInputStream(socket.getInputStream());
+         assertEquals(BinaryProtocolUtil.MAGIC_RESPONSE, in.readUnsignedByte());
+         assertEquals(BinaryProtocolUtil.SET, in.readByte());
+         in.readShort(); // Key length
+         in.readByte(); // Extras length
+         in.readByte(); // Data type
+         assertEquals(BinaryProtocolUtil.VALUE_TOO_LARGE, in.readShort());
+         byte[] body = new byte[in.readInt()];
+         assertEquals(1, in.readInt());
+         in.readLong(); // CAS
+         in.readFully(body);
+         // The connection is closed
+         assertEquals(-1, in.read());
+      }
+      assertNull(binaryClient.get(k(m)));
+   }
+
+   private void writeRequest(DataOutputStream out, byte opcode, int opaque, byte[] key) throws IOException {
+      writeRequest(out, opcode, opaque, key, new byte[0], new byte[0]);
+   }
+
+   private void writeRequest(DataOutputStream out, byte opcode, int opaque, byte[] key, byte[] extras, byte[] value)
+         throws IOException {
+      out.writeByte(BinaryProtocolUtil.MAGIC_REQUEST);
+      out.writeByte(opcode);
+      out.writeShort(key.length);
+      out.writeByte(extras.length);
+      out.writeByte(0);
+      out.writeShort(0);
+      out.writeInt(extras.length + key.length + value.length);
+      out.writeInt(opaque);
+      out.writeLong(0);
+      out.write(extras);
+      out.write(key);
+      out.write(value);
+   }
+
+   private byte[] readResponse(DataInputStream in, byte opcode, int opaque) throws IOException {
+      assertEquals(BinaryProtocolUtil.MAGIC_RESPONSE, in.readUnsignedByte());
+      assertEquals(opcode, in.readByte());
+      in.readShort(); // Key length
+      in.readByte(); // Extras length
+      in.readByte(); // Data type
+      assertEquals(BinaryProtocolUtil.NO_ERROR, in.readShort());
+      byte[] body = new byte[in.readInt()];
+      assertEquals(opaque, in.readInt());
+      in.readLong(); // CAS
+      in.readFully(body);
+      return body;
+   }
+}
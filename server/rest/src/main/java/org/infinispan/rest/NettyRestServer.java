@@ -19,6 +19,16 @@
 import org.jboss.resteasy.plugins.server.netty.SniConfiguration;
 import org.jboss.resteasy.spi.ResteasyDeployment;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutorGroup;
+
 public final class NettyRestServer extends AbstractCacheIgnoreAware implements Lifecycle {
    private final static Log log = LogFactory.getLog(NettyRestServer.class, Log.class);
 
@@ -27,6 +37,11 @@ public final class NettyRestServer extends AbstractCacheIgnoreAware implements L
    private final EmbeddedCacheManager cacheManager;
    private final RestServerConfiguration configuration;
    private NettyJaxrsServer netty;
+   private Channel nativeChannel;
+   private EventLoopGroup masterGroup;
+   private EventLoopGroup workerGroup;
+   private EventExecutorGroup handlerGroup;
+   private ChannelInitializer<Channel> initializer;
    private Server server;
 
    public static NettyRestServer createServer(RestServerConfiguration configuration, EmbeddedCacheManager manager) {
@@ -75,7 +90,9 @@ public void start() {
       RestCacheManager restCacheManager = new RestCacheManager(cacheManager, this::isCacheIgnored);
       server = new Server(configuration, restCacheManager);
 
-      if(configuration.startTransport()) {
+      if (configuration.nativeHttp()) {
+         startNativeHttp(restCacheManager);
+      } else if(configuration.startTransport()) {
          NettyJaxrsServer nettyServer = createNetty();
          addEncryption(configuration, nettyServer);
          nettyServer.start();
@@ -102,15 +119,60 @@ private NettyJaxrsServer createNetty() {
       return netty;
    }
 
+   private void startNativeHttp(RestCacheManager restCacheManager) {
+      // Start caches first, if not started
+      startCaches(cacheManager);
+
+      // The cache operations block, so they run outside of the event loops
+      handlerGroup = new DefaultEventExecutorGroup(Runtime.getRuntime().availableProcessors() * 2,
+            new DefaultThreadFactory("RestServerHandler"));
+      // Each connection gets its own handler, which holds the request being received
+      initializer = new RestChannelInitializer(configuration,
+            () -> new RestRequestHandler(configuration, restCacheManager), handlerGroup);
+      if (configuration.startTransport()) {
+         masterGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("RestServerMaster"));
+         workerGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("RestServerWorker"));
+         // Not to be confused with the servlet context listener of this package
+         io.netty.bootstrap.ServerBootstrap bootstrap = new io.netty.bootstrap.ServerBootstrap();
+         bootstrap.group(masterGroup, workerGroup)
+               .channel(NioServerSocketChannel.class)
+               .childHandler(initializer)
+               .childOption(ChannelOption.TCP_NODELAY, true);
+         nativeChannel = bootstrap.bind(configuration.host(), configuration.port()).syncUninterruptibly().channel();
+         log.startRestServer(configuration.host(), configuration.port());
+      }
+   }
+
    @Override
    public void stop() {
       if(netty != null) {
          netty.stop();
       }
+      if (nativeChannel != null) {
+         nativeChannel.close().awaitUninterruptibly();
+         masterGroup.shutdownGracefully();
+         workerGroup.shutdownGracefully();
+      }
+      if (handlerGroup != null) {
+         handlerGroup.shutdownGracefully().awaitUninterruptibly();
+      }
       netty = null;
+      nativeChannel = null;
+      handlerGroup = null;
+      initializer = null;
       server = null;
    }
 
+   /**
+    * Returns the pipeline initializer of the native HTTP transport, which can be used to serve the REST API from the
+    * channels accepted elsewhere, e.g. by a router.  The transport doesn't need to be started for this.
+    *
+    * @return the initializer, or {@code null} if the server is stopped or doesn't use the native HTTP transport
+    */
+   public ChannelInitializer<Channel> getInitializer() {
+      return initializer;
+   }
+
    public Server getServer() {
       return server;
    }
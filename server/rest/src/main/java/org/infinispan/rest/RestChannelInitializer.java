@@ -0,0 +1,87 @@
+package org.infinispan.rest;
+
+import java.util.function.Supplier;
+
+import org.infinispan.rest.configuration.RestServerConfiguration;
+import org.infinispan.server.core.configuration.SslConfiguration;
+import org.infinispan.server.core.utils.SslUtils;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.DefaultHttp2Connection;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.HttpToHttp2ConnectionHandler;
+import io.netty.handler.codec.http2.HttpToHttp2ConnectionHandlerBuilder;
+import io.netty.handler.codec.http2.InboundHttp2ToHttpAdapter;
+import io.netty.handler.codec.http2.InboundHttp2ToHttpAdapterBuilder;
+import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.SniHandler;
+import io.netty.util.AsciiString;
+import io.netty.util.DomainMappingBuilder;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+/**
+ * Pipeline of the native HTTP transport of the REST server.  The connections without SSL can be upgraded to HTTP/2
+ * (h2c), or start with the HTTP/2 preface when the client has prior knowledge of the support.  The HTTP/2 streams
+ * are translated to and from HTTP/1.1 messages so that {@link RestRequestHandler} serves both protocols.  The requests
+ * are not aggregated, {@link RestRequestHandler} receives their content as it arrives.
+ *
+ * @since 9.0
+ */
+class RestChannelInitializer extends ChannelInitializer<Channel> {
+   private final RestServerConfiguration configuration;
+   private final Supplier<RestRequestHandler> handlerFactory;
+   private final EventExecutorGroup handlerGroup;
+
+   RestChannelInitializer(RestServerConfiguration configuration, Supplier<RestRequestHandler> handlerFactory,
+                          EventExecutorGroup handlerGroup) {
+      this.configuration = configuration;
+      this.handlerFactory = handlerFactory;
+      this.handlerGroup = handlerGroup;
+   }
+
+   @Override
+   protected void initChannel(Channel ch) throws Exception {
+      ChannelPipeline pipeline = ch.pipeline();
+      SslConfiguration ssl = configuration.ssl();
+      int maxContentLength = configuration.maxContentLength();
+      HttpServerCodec codec = new HttpServerCodec();
+      if (ssl.enabled()) {
+         //add default domain mapping
+         JdkSslContext defaultNettySslContext = SslUtils.createNettySslContext(ssl, ssl.sniDomainsConfiguration().get("*"));
+         DomainMappingBuilder<JdkSslContext> domainMappingBuilder = new DomainMappingBuilder<>(defaultNettySslContext);
+
+         //and the rest
+         ssl.sniDomainsConfiguration().forEach((k, v) -> {
+            if (!"*".equals(k)) {
+               domainMappingBuilder.add(k, SslUtils.createNettySslContext(ssl, v));
+            }
+         });
+
+         pipeline.addLast("sni", new SniHandler(domainMappingBuilder.build()));
+         pipeline.addLast("codec", codec);
+      } else {
+         HttpServerUpgradeHandler upgradeHandler = new HttpServerUpgradeHandler(codec, protocol ->
+               AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol) ?
+                     new Http2ServerUpgradeCodec(http2Handler(maxContentLength)) : null, maxContentLength);
+         // Installs the codec and the upgrade handler, unless the connection starts with the HTTP/2 preface
+         pipeline.addLast("cleartext", new CleartextHttp2ServerUpgradeHandler(codec, upgradeHandler,
+               http2Handler(maxContentLength)));
+      }
+      // The HTTP/2 streams are translated to full requests, whose content is limited by the adapter
+      pipeline.addLast(handlerGroup, "handler", handlerFactory.get());
+   }
+
+   private static HttpToHttp2ConnectionHandler http2Handler(int maxContentLength) {
+      Http2Connection connection = new DefaultHttp2Connection(true);
+      InboundHttp2ToHttpAdapter listener = new InboundHttp2ToHttpAdapterBuilder(connection)
+            .maxContentLength(maxContentLength).propagateSettings(false).validateHttpHeaders(false).build();
+      return new HttpToHttp2ConnectionHandlerBuilder().frameListener(listener).connection(connection).build();
+   }
+}
@@ -0,0 +1,576 @@
+package org.infinispan.rest;
+
+import static org.infinispan.rest.RestSupport.APPLICATION_JSON;
+import static org.infinispan.rest.RestSupport.APPLICATION_OCTET_STREAM;
+import static org.infinispan.rest.RestSupport.APPLICATION_XML;
+import static org.infinispan.rest.RestSupport.APPLICATION_X_JAVA_SERIALIZED_OBJECT;
+import static org.infinispan.rest.RestSupport.MAX_IDLE_TIME_HEADER;
+import static org.infinispan.rest.RestSupport.TEXT_HTML;
+import static org.infinispan.rest.RestSupport.TEXT_PLAIN;
+import static org.infinispan.rest.RestSupport.TEXT_PLAIN_UTF8;
+import static org.infinispan.rest.RestSupport.TIME_TO_LIVE_HEADER;
+import static org.infinispan.rest.RestSupport.calcETag;
+import static org.infinispan.rest.RestSupport.calcFreshness;
+import static org.infinispan.rest.RestSupport.canSerialize;
+import static org.infinispan.rest.RestSupport.createMetadata;
+import static org.infinispan.rest.RestSupport.entryFreshEnough;
+import static org.infinispan.rest.RestSupport.expires;
+import static org.infinispan.rest.RestSupport.formatDate;
+import static org.infinispan.rest.RestSupport.lastModified;
+import static org.infinispan.rest.RestSupport.minFresh;
+import static org.infinispan.rest.RestSupport.printKeys;
+import static org.infinispan.rest.RestSupport.serialize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.rest.configuration.RestServerConfiguration;
+import org.infinispan.rest.logging.Log;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler.UpgradeEvent;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http2.HttpConversionUtil.ExtensionHeaderNames;
+
+/**
+ * Serves the REST API of {@link Server} directly from the requests decoded by Netty's HTTP codec, without the JAX-RS
+ * dispatching and the aggregation of the responses of RESTEasy.
+ * <p>
+ * The requests are not aggregated: the bodies of PUT and POST are copied from the received content straight into the
+ * array stored in the cache, and the bodies of the other requests are dropped as they arrive.  The {@code byte[]}
+ * values are written in the responses without being copied.  The requests upgraded to HTTP/2 carry their stream id in
+ * the {@link ExtensionHeaderNames#STREAM_ID} header, which is copied to their responses.
+ * <p>
+ * The handler holds the request being received, so each connection has its own.  It has to run in an executor of its
+ * own, since the cache operations block.
+ *
+ * @since 9.0
+ */
+class RestRequestHandler extends SimpleChannelInboundHandler<HttpObject> {
+   private final static Log log = LogFactory.getLog(RestRequestHandler.class, Log.class);
+
+   static final String REST_PATH = "/rest/";
+   // The initial size of the bodies received without a content length
+   private static final int INITIAL_BODY_SIZE = 8 * 1024;
+
+   private static final List<String> COLLECTION_MEDIA_TYPES =
+         Arrays.asList(TEXT_HTML, APPLICATION_XML, APPLICATION_JSON, TEXT_PLAIN, TEXT_PLAIN_UTF8);
+   private static final List<String> OBJECT_MEDIA_TYPES =
+         Arrays.asList(APPLICATION_XML, APPLICATION_X_JAVA_SERIALIZED_OBJECT, APPLICATION_JSON);
+
+   private static final String PERFORM_ASYNC_HEADER = "performAsync";
+
+   private final RestServerConfiguration configuration;
+   private final RestCacheManager manager;
+
+   // The request whose content is being received, and its body if the request needs it
+   private HttpRequest request;
+   private byte[] body;
+   private int bodyLength;
+
+   RestRequestHandler(RestServerConfiguration configuration, RestCacheManager manager) {
+      this.configuration = configuration;
+      this.manager = manager;
+   }
+
+   @Override
+   protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) throws Exception {
+      if (msg instanceof HttpRequest) {
+         startRequest(ctx, (HttpRequest) msg);
+      }
+      if (msg instanceof HttpContent && request != null) {
+         if (!appendContent(ctx, ((HttpContent) msg).content())) {
+            return;
+         }
+         if (msg instanceof LastHttpContent) {
+            HttpRequest completed = request;
+            byte[] data = body == null || bodyLength == body.length ? body : Arrays.copyOf(body, bodyLength);
+            request = null;
+            body = null;
+            write(ctx, completed, handle(completed, data));
+         }
+      }
+   }
+
+   private void startRequest(ChannelHandlerContext ctx, HttpRequest request) {
+      long contentLength = HttpUtil.getContentLength(request, -1L);
+      if (contentLength > configuration.maxContentLength()) {
+         reject(ctx);
+         return;
+      }
+      // The HTTP/2 requests are received whole
+      boolean http2 = request.headers().contains(ExtensionHeaderNames.STREAM_ID.text());
+      if (HttpUtil.is100ContinueExpected(request) && !http2) {
+         ctx.writeAndFlush(response(HttpResponseStatus.CONTINUE));
+      }
+      this.request = request;
+      boolean keepsBody = HttpMethod.PUT.equals(request.method()) || HttpMethod.POST.equals(request.method());
+      body = !keepsBody ? null : new byte[contentLength < 0 ? INITIAL_BODY_SIZE : (int) contentLength];
+      bodyLength = 0;
+   }
+
+   /**
+    * Copies the content into the body of the request, if the request needs it.
+    *
+    * @return whether the request goes on, {@code false} if it was rejected for being too large
+    */
+   private boolean appendContent(ChannelHandlerContext ctx, ByteBuf content) {
+      int readable = content.readableBytes();
+      if (body == null || readable == 0) {
+         return true;
+      }
+      int length = bodyLength + readable;
+      if (length < 0 || length > configuration.maxContentLength()) {
+         reject(ctx);
+         return false;
+      }
+      if (length > body.length) {
+         // Only the bodies without a content length grow
+         body = Arrays.copyOf(body, Math.min(Math.max(body.length * 2, length), configuration.maxContentLength()));
+      }
+      content.readBytes(body, bodyLength, readable);
+      bodyLength = length;
+      return true;
+   }
+
+   /**
+    * Answers a request whose body is too large, and closes the connection instead of reading the rest of the body.
+    */
+   private void reject(ChannelHandlerContext ctx) {
+      request = null;
+      body = null;
+      FullHttpResponse response = response(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE);
+      HttpUtil.setContentLength(response, 0);
+      ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+   }
+
+   @Override
+   public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+      if (evt instanceof UpgradeEvent) {
+         // The request which upgraded the connection to HTTP/2 is answered on the first stream
+         UpgradeEvent upgrade = (UpgradeEvent) evt;
+         try {
+            FullHttpRequest request = upgrade.upgradeRequest();
+            request.headers().setInt(ExtensionHeaderNames.STREAM_ID.text(), 1);
+            write(ctx, request, handle(request, ByteBufUtil.getBytes(request.content())));
+         } finally {
+            upgrade.release();
+         }
+      } else {
+         super.userEventTriggered(ctx, evt);
+      }
+   }
+
+   @Override
+   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+      log.tracef(cause, "Closing channel %s", ctx.channel());
+      ctx.close();
+   }
+
+   private FullHttpResponse handle(HttpRequest request, byte[] body) {
+      if (!request.decoderResult().isSuccess()) {
+         return response(HttpResponseStatus.BAD_REQUEST);
+      }
+      List<String> path = pathSegments(request.uri());
+      if (path == null) {
+         return response(HttpResponseStatus.NOT_FOUND);
+      }
+      String cacheName = path.get(0);
+      String key = path.size() > 1 ? path.get(1) : null;
+      HttpMethod method = request.method();
+      try {
+         if (HttpMethod.GET.equals(method)) {
+            return key == null ? getKeys(request, cacheName) : getEntry(request, cacheName, key, false);
+         } else if (HttpMethod.HEAD.equals(method) && key != null) {
+            return getEntry(request, cacheName, key, true);
+         } else if ((HttpMethod.PUT.equals(method) || HttpMethod.POST.equals(method)) && key != null) {
+            return putEntry(request, cacheName, key, body);
+         } else if (HttpMethod.DELETE.equals(method)) {
+            return key == null ? clearCache(request, cacheName) : removeEntry(request, cacheName, key);
+         } else {
+            return response(HttpResponseStatus.METHOD_NOT_ALLOWED);
+         }
+      } catch (CacheNotFoundException e) {
+         return response(HttpResponseStatus.NOT_FOUND);
+      } catch (CacheUnavailableException e) {
+         return response(HttpResponseStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+      } catch (NumberFormatException e) {
+         return response(HttpResponseStatus.BAD_REQUEST, e.getMessage());
+      } catch (Exception e) {
+         log.errorHandlingRequest(e, method.name(), request.uri());
+         return response(HttpResponseStatus.INTERNAL_SERVER_ERROR, e.toString());
+      }
+   }
+
+   /**
+    * @return the decoded cache name and key of the path, or {@code null} if the path is not a REST resource
+    */
+   static List<String> pathSegments(String uri) {
+      int queryStart = uri.indexOf('?');
+      String path = queryStart < 0 ? uri : uri.substring(0, queryStart);
+      if (!path.startsWith(REST_PATH)) {
+         return null;
+      }
+      // Split before decoding, the keys may contain encoded slashes
+      String[] segments = path.substring(REST_PATH.length()).split("/", -1);
+      if (segments.length > 2 || segments[0].isEmpty() || (segments.length == 2 && segments[1].isEmpty())) {
+         return null;
+      }
+      List<String> decoded = new ArrayList<>(segments.length);
+      for (String segment : segments) {
+         decoded.add(QueryStringDecoder.decodeComponent(segment));
+      }
+      return decoded;
+   }
+
+   private FullHttpResponse getKeys(HttpRequest request, String cacheName) {
+      AdvancedCache<String, byte[]> cache = manager.getCache(cacheName);
+      Set<String> keys = cache.keySet();
+      String mediaType = selectMediaType(request.headers().get(HttpHeaderNames.ACCEPT), COLLECTION_MEDIA_TYPES);
+      if (mediaType == null) {
+         return response(HttpResponseStatus.NOT_ACCEPTABLE);
+      }
+      StringWriter sw = new StringWriter();
+      PrintWriter pw = new PrintWriter(sw);
+      printKeys(cacheName, keys, mediaType, pw);
+      pw.flush();
+      FullHttpResponse response = response(HttpResponseStatus.OK, sw.toString());
+      response.headers().set(HttpHeaderNames.CONTENT_TYPE, mediaType);
+      return response;
+   }
+
+   private FullHttpResponse getEntry(HttpRequest request, String cacheName, String key, boolean head)
+         throws IOException {
+      CacheEntry<String, Object> entry = manager.getInternalEntry(cacheName, key);
+      if (!(entry instanceof InternalCacheEntry)) {
+         return response(HttpResponseStatus.NOT_FOUND);
+      }
+      InternalCacheEntry<String, Object> ice = (InternalCacheEntry<String, Object>) entry;
+      Date lastMod = lastModified(ice);
+      Date expires = expires(ice);
+      if (!entryFreshEnough(expires, minFresh(request.headers().get(HttpHeaderNames.CACHE_CONTROL)))) {
+         return response(HttpResponseStatus.NOT_FOUND);
+      }
+      Metadata meta = ice.getMetadata();
+      Object value = ice.getValue();
+      FullHttpResponse response;
+      if (meta instanceof MimeMetadata) {
+         MimeMetadata mime = (MimeMetadata) meta;
+         String etag = calcETag(ice, mime);
+         FullHttpResponse notMet = evaluatePreconditions(request, lastMod, etag);
+         if (notMet != null) {
+            return notMet;
+         }
+         response = head ? response(HttpResponseStatus.OK) : response(toBytes(value));
+         setHeader(response, HttpHeaderNames.CONTENT_TYPE, mime.contentType);
+         response.headers().set(HttpHeaderNames.ETAG, quote(etag));
+         extended(request, response, cacheName, key);
+      } else if (head) {
+         response = response(HttpResponseStatus.OK);
+         extended(request, response, cacheName, key);
+      } else if (value instanceof String) {
+         response = response(HttpResponseStatus.OK, (String) value);
+         response.headers().set(HttpHeaderNames.CONTENT_TYPE, TEXT_PLAIN);
+      } else if (value instanceof byte[]) {
+         response = response((byte[]) value);
+         response.headers().set(HttpHeaderNames.CONTENT_TYPE, APPLICATION_OCTET_STREAM);
+         extended(request, response, cacheName, key);
+      } else {
+         // For objects other than String or byte arrays, accept only JSON, XML and X_JAVA_SERIALIZABLE_OBJECT
+         String mediaType = selectMediaType(request.headers().get(HttpHeaderNames.ACCEPT), OBJECT_MEDIA_TYPES);
+         if (!canSerialize(value, mediaType)) {
+            return response(HttpResponseStatus.NOT_ACCEPTABLE);
+         }
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         serialize(value, mediaType, out);
+         response = response(out.toByteArray());
+         response.headers().set(HttpHeaderNames.CONTENT_TYPE, mediaType);
+         extended(request, response, cacheName, key);
+      }
+      HttpHeaders headers = response.headers();
+      headers.set(HttpHeaderNames.LAST_MODIFIED, formatDate(lastMod));
+      if (expires != null) {
+         headers.set(HttpHeaderNames.EXPIRES, formatDate(expires));
+         int maxAgeSeconds = calcFreshness(expires);
+         headers.set(HttpHeaderNames.CACHE_CONTROL, maxAgeSeconds > 0 ? "no-transform, max-age=" + maxAgeSeconds :
+               "no-cache, no-transform");
+      }
+      if (meta.lifespan() > -1)
+         headers.set(TIME_TO_LIVE_HEADER, TimeUnit.MILLISECONDS.toSeconds(meta.lifespan()));
+      if (meta.maxIdle() > -1)
+         headers.set(MAX_IDLE_TIME_HEADER, TimeUnit.MILLISECONDS.toSeconds(meta.maxIdle()));
+      return response;
+   }
+
+   private static byte[] toBytes(Object value) {
+      return value instanceof byte[] ? (byte[]) value : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+   }
+
+   private FullHttpResponse putEntry(HttpRequest request, String cacheName, String key, byte[] data) {
+      AdvancedCache<String, byte[]> cache = manager.getCache(cacheName);
+      if (HttpMethod.POST.equals(request.method()) && cache.containsKey(key)) {
+         return response(HttpResponseStatus.CONFLICT);
+      }
+      HttpHeaders headers = request.headers();
+      boolean useAsync = Boolean.parseBoolean(headers.get(PERFORM_ASYNC_HEADER));
+      long ttl = Long.parseLong(headers.get(TIME_TO_LIVE_HEADER, "-1"));
+      long idleTime = Long.parseLong(headers.get(MAX_IDLE_TIME_HEADER, "-1"));
+      Metadata metadata = createMetadata(cache.getCacheConfiguration(), headers.get(HttpHeaderNames.CONTENT_TYPE),
+            ttl, idleTime);
+
+      byte[] prev = null;
+      CacheEntry<String, Object> entry = manager.getInternalEntry(cacheName, key, true);
+      if (entry instanceof InternalCacheEntry && entry.getMetadata() instanceof MimeMetadata) {
+         // The item already exists in the cache, evaluate preconditions based on its attributes and the headers
+         InternalCacheEntry<String, Object> ice = (InternalCacheEntry<String, Object>) entry;
+         FullHttpResponse notMet = evaluatePreconditions(request, lastModified(ice),
+               calcETag(ice, (MimeMetadata) ice.getMetadata()));
+         if (notMet != null) {
+            return notMet;
+         }
+         prev = (byte[]) ice.getValue();
+      }
+      if (useAsync) {
+         cache.putAsync(key, data, metadata);
+      } else if (prev != null) {
+         // If not replaced, simply send back that the precondition failed
+         if (!cache.replace(key, prev, data, metadata)) {
+            return response(HttpResponseStatus.PRECONDITION_FAILED);
+         }
+      } else {
+         cache.put(key, data, metadata);
+      }
+      return response(HttpResponseStatus.OK);
+   }
+
+   private FullHttpResponse removeEntry(HttpRequest request, String cacheName, String key) {
+      CacheEntry<String, Object> entry = manager.getInternalEntry(cacheName, key);
+      if (entry == null) {
+         return response(HttpResponseStatus.NOT_FOUND);
+      } else if (!(entry instanceof InternalCacheEntry)) {
+         throw new IllegalArgumentException("Unsupported entry implementation: " + entry);
+      }
+      InternalCacheEntry<String, Object> ice = (InternalCacheEntry<String, Object>) entry;
+      if (ice.getMetadata() instanceof MimeMetadata) {
+         // The item exists in the cache, evaluate preconditions based on its attributes and the headers
+         FullHttpResponse notMet = evaluatePreconditions(request, lastModified(ice),
+               calcETag(ice, (MimeMetadata) ice.getMetadata()));
+         if (notMet != null) {
+            return notMet;
+         }
+      }
+      if (Boolean.parseBoolean(request.headers().get(PERFORM_ASYNC_HEADER))) {
+         manager.getCache(cacheName).removeAsync(key);
+      } else {
+         manager.getCache(cacheName).remove(key);
+      }
+      return response(HttpResponseStatus.OK);
+   }
+
+   private FullHttpResponse clearCache(HttpRequest request, String cacheName) {
+      HttpHeaders headers = request.headers();
+      if (headers.contains(HttpHeaderNames.IF_MATCH) || headers.contains(HttpHeaderNames.IF_NONE_MATCH)
+            || headers.contains(HttpHeaderNames.IF_MODIFIED_SINCE) || headers.contains(HttpHeaderNames.IF_UNMODIFIED_SINCE)) {
+         return response(HttpResponseStatus.NOT_IMPLEMENTED,
+               "Preconditions were not implemented yet for PUT, POST, and DELETE methods.");
+      }
+      manager.getCache(cacheName).clear();
+      return response(HttpResponseStatus.OK);
+   }
+
+   /**
+    * @return the response to send if a precondition is not met, {@code null} otherwise
+    */
+   private FullHttpResponse evaluatePreconditions(HttpRequest request, Date lastModified, String etag) {
+      HttpHeaders headers = request.headers();
+      boolean read = HttpMethod.GET.equals(request.method()) || HttpMethod.HEAD.equals(request.method());
+      int status = RestSupport.evaluatePreconditions(read, headers.get(HttpHeaderNames.IF_MATCH),
+            headers.get(HttpHeaderNames.IF_NONE_MATCH), headers.get(HttpHeaderNames.IF_MODIFIED_SINCE),
+            headers.get(HttpHeaderNames.IF_UNMODIFIED_SINCE), lastModified, etag);
+      if (status == 0) {
+         return null;
+      }
+      FullHttpResponse response = response(HttpResponseStatus.valueOf(status));
+      response.headers().set(HttpHeaderNames.ETAG, quote(etag));
+      return response;
+   }
+
+   private static String quote(String etag) {
+      return "\"" + etag + "\"";
+   }
+
+   private void extended(HttpRequest request, FullHttpResponse response, String cacheName, String key) {
+      if (wantExtendedHeaders(request)) {
+         setHeader(response, "Cluster-Primary-Owner", manager.getPrimaryOwner(cacheName, key));
+         setHeader(response, "Cluster-Node-Name", manager.getNodeName());
+         setHeader(response, "Cluster-Server-Address", manager.getServerAddress());
+      }
+   }
+
+   private boolean wantExtendedHeaders(HttpRequest request) {
+      switch (configuration.extendedHeaders()) {
+         case NEVER:
+            return false;
+         case ON_DEMAND:
+            return new QueryStringDecoder(request.uri()).parameters().containsKey("extended");
+         default:
+            throw new IllegalArgumentException("Unsupported header:" + configuration.extendedHeaders());
+      }
+   }
+
+   private static void setHeader(HttpResponse response, CharSequence name, Object value) {
+      if (value != null) {
+         response.headers().set(name, value);
+      }
+   }
+
+   /**
+    * Selects the first of the media types with the highest quality in the {@code Accept} header.
+    *
+    * @return the selected media type, or {@code null} if none is acceptable
+    */
+   static String selectMediaType(String accept, List<String> mediaTypes) {
+      if (accept == null || accept.trim().isEmpty()) {
+         return mediaTypes.get(0);
+      }
+      List<AcceptedType> accepted = new ArrayList<>();
+      for (String range : accept.split(",")) {
+         AcceptedType type = AcceptedType.parse(range);
+         if (type != null && type.quality > 0) {
+            accepted.add(type);
+         }
+      }
+      // The sort is stable, so the types of the same quality stay in the order of the header
+      Collections.sort(accepted, Comparator.comparingDouble((AcceptedType type) -> type.quality).reversed());
+      for (AcceptedType type : accepted) {
+         for (String mediaType : mediaTypes) {
+            if (type.matches(mediaType)) {
+               return mediaType;
+            }
+         }
+      }
+      return null;
+   }
+
+   private static FullHttpResponse response(HttpResponseStatus status) {
+      return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.EMPTY_BUFFER);
+   }
+
+   private static FullHttpResponse response(HttpResponseStatus status, String body) {
+      return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.copiedBuffer(body, StandardCharsets.UTF_8));
+   }
+
+   private static FullHttpResponse response(byte[] body) {
+      // The cache values are never modified, so they can be sent without copying them
+      return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer(body));
+   }
+
+   private void write(ChannelHandlerContext ctx, HttpRequest request, FullHttpResponse response) {
+      String streamId = request.headers().get(ExtensionHeaderNames.STREAM_ID.text());
+      if (streamId != null) {
+         // HTTP/2 splits the content in frames, and the connection stays open
+         response.headers().set(ExtensionHeaderNames.STREAM_ID.text(), streamId);
+         HttpUtil.setContentLength(response, response.content().readableBytes());
+         ctx.writeAndFlush(response);
+         return;
+      }
+      boolean keepAlive = HttpUtil.isKeepAlive(request);
+      if (!HttpMethod.HEAD.equals(request.method())) {
+         HttpUtil.setContentLength(response, response.content().readableBytes());
+      }
+      HttpUtil.setKeepAlive(response, keepAlive);
+      ChannelFuture future = ctx.writeAndFlush(response);
+      if (!keepAlive) {
+         future.addListener(ChannelFutureListener.CLOSE);
+      }
+   }
+
+   private static final class AcceptedType {
+      final String type;
+      final String subtype;
+      final String parameters;
+      final double quality;
+
+      private AcceptedType(String type, String subtype, String parameters, double quality) {
+         this.type = type;
+         this.subtype = subtype;
+         this.parameters = parameters;
+         this.quality = quality;
+      }
+
+      static AcceptedType parse(String range) {
+         String[] parts = range.trim().split(";");
+         String[] types = parts[0].trim().toLowerCase(Locale.ENGLISH).split("/");
+         if (types.length != 2) {
+            return null;
+         }
+         double quality = 1;
+         StringBuilder parameters = new StringBuilder();
+         for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim().toLowerCase(Locale.ENGLISH).replace(" ", "");
+            if (parameter.startsWith("q=")) {
+               try {
+                  quality = Double.parseDouble(parameter.substring(2));
+               } catch (NumberFormatException e) {
+                  return null;
+               }
+            } else if (!parameter.isEmpty()) {
+               parameters.append(';').append(parameter);
+            }
+         }
+         return new AcceptedType(types[0], types[1], parameters.toString(), quality);
+      }
+
+      boolean matches(String mediaType) {
+         String normalized = mediaType.toLowerCase(Locale.ENGLISH);
+         int parametersStart = normalized.indexOf(';');
+         String base = parametersStart < 0 ? normalized : normalized.substring(0, parametersStart);
+         String mediaParameters = parametersStart < 0 ? "" : normalized.substring(parametersStart);
+         int slash = base.indexOf('/');
+         if (!type.equals("*") && !type.equals(base.substring(0, slash))) {
+            return false;
+         }
+         if (!subtype.equals("*") && !subtype.equals(base.substring(slash + 1))) {
+            return false;
+         }
+         return parameters.isEmpty() || parameters.equals(mediaParameters);
+      }
+   }
+}
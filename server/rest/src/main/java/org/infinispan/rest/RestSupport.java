@@ -0,0 +1,236 @@
+package org.infinispan.rest;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.metadata.Metadata;
+
+import com.thoughtworks.xstream.XStream;
+
+/**
+ * The parts of the REST API which don't depend on the transport, shared by the JAX-RS resource {@link Server} and by
+ * the native {@link RestRequestHandler}.
+ *
+ * @since 9.0
+ */
+final class RestSupport {
+   static final String TEXT_PLAIN = "text/plain";
+   static final String TEXT_PLAIN_UTF8 = "text/plain;charset=UTF-8";
+   static final String TEXT_HTML = "text/html";
+   static final String APPLICATION_XML = "application/xml";
+   static final String APPLICATION_JSON = "application/json";
+   static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+   static final String APPLICATION_X_JAVA_SERIALIZED_OBJECT = "application/x-java-serialized-object";
+
+   static final String TIME_TO_LIVE_HEADER = "timeToLiveSeconds";
+   static final String MAX_IDLE_TIME_HEADER = "maxIdleTimeSeconds";
+
+   static final int HTTP_NOT_MODIFIED = 304;
+   static final int HTTP_PRECONDITION_FAILED = 412;
+
+   private static final MurmurHash3 hashFunc = MurmurHash3.getInstance();
+   private static final DateTimeFormatter DATE_FORMAT =
+         DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US).withZone(ZoneId.of("GMT"));
+
+   private static class JsonMapperHolder {
+      static final ObjectMapper jsonMapper = new ObjectMapper();
+   }
+
+   private static class XStreamHolder {
+      static final XStream XStream = new XStream();
+   }
+
+   private RestSupport() {
+   }
+
+   static Date lastModified(InternalCacheEntry<?, ?> ice) {
+      return new Date(ice.getCreated() / 1000 * 1000);
+   }
+
+   static Date expires(InternalCacheEntry<?, ?> ice) {
+      return ice.canExpire() ? new Date(ice.getExpiryTime()) : null;
+   }
+
+   /**
+    * @return the opaque tag of the entity, without the quotes
+    */
+   static String calcETag(InternalCacheEntry<?, ?> entry, MimeMetadata meta) {
+      return meta.contentType + hashFunc.hash(entry.getValue());
+   }
+
+   static String formatDate(Date date) {
+      return date == null ? null : DATE_FORMAT.format(date.toInstant());
+   }
+
+   static Date parseDate(String date) {
+      if (date == null || date.isEmpty()) {
+         return null;
+      }
+      try {
+         return Date.from(ZonedDateTime.parse(date, DATE_FORMAT).toInstant());
+      } catch (DateTimeParseException e) {
+         // Ignore the header like an unparseable date in JAX-RS
+         return null;
+      }
+   }
+
+   static OptionalInt minFresh(String cacheControl) {
+      if (cacheControl != null) {
+         for (String directive : cacheControl.split(",")) {
+            if (directive.contains("min-fresh")) {
+               String[] equals = directive.split("=");
+               return OptionalInt.of(Integer.parseInt(equals[equals.length - 1].trim()));
+            }
+         }
+      }
+      return OptionalInt.empty();
+   }
+
+   static boolean entryFreshEnough(Date entryExpires, OptionalInt minFresh) {
+      return !minFresh.isPresent() || minFresh.getAsInt() < calcFreshness(entryExpires);
+   }
+
+   /**
+    * @return the seconds until the entry expires, {@link Integer#MAX_VALUE} for the entries which don't expire
+    */
+   static int calcFreshness(Date expires) {
+      if (expires == null) {
+         return Integer.MAX_VALUE;
+      } else {
+         long seconds = TimeUnit.MILLISECONDS.toSeconds(expires.getTime() - System.currentTimeMillis());
+         return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, seconds));
+      }
+   }
+
+   /**
+    * Evaluates the conditional headers in the same order as {@code javax.ws.rs.core.Request.evaluatePreconditions}.
+    *
+    * @param read whether the request is a GET or a HEAD
+    * @param etag the tag of the entry, as returned by {@link #calcETag(InternalCacheEntry, MimeMetadata)}
+    * @return the status to answer with if a precondition is not met, {@code 0} otherwise
+    */
+   static int evaluatePreconditions(boolean read, String ifMatch, String ifNoneMatch, String ifModifiedSince,
+                                    String ifUnmodifiedSince, Date lastModified, String etag) {
+      String quotedETag = "\"" + etag + "\"";
+      Date modifiedSince = parseDate(ifModifiedSince);
+      Date unmodifiedSince = parseDate(ifUnmodifiedSince);
+      if (ifMatch != null && !ifMatch.isEmpty() && !matchesETag(ifMatch, quotedETag)) {
+         return HTTP_PRECONDITION_FAILED;
+      } else if (ifNoneMatch != null && !ifNoneMatch.isEmpty() && matchesETag(ifNoneMatch, quotedETag)) {
+         return read ? HTTP_NOT_MODIFIED : HTTP_PRECONDITION_FAILED;
+      } else if (modifiedSince != null && !lastModified.after(modifiedSince)) {
+         return HTTP_NOT_MODIFIED;
+      } else if (unmodifiedSince != null && lastModified.after(unmodifiedSince)) {
+         return HTTP_PRECONDITION_FAILED;
+      }
+      return 0;
+   }
+
+   private static boolean matchesETag(String header, String quotedETag) {
+      for (String tag : header.split(",")) {
+         tag = tag.trim();
+         if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+         }
+         if (tag.equals("*") || tag.equals(quotedETag)) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Prints the keys of a cache with one of the media types of the key listings.
+    */
+   static void printKeys(String cacheName, Iterable<String> keys, String mediaType, PrintWriter pw) {
+      switch (mediaType) {
+         case TEXT_HTML:
+            pw.print("<html><body>");
+            keys.forEach(key -> {
+               String hkey = Escaper.escapeHtml(key);
+               pw.printf("<a href=\"%s/%s\">%s</a><br/>", cacheName, hkey, hkey);
+            });
+            pw.print("</body></html>");
+            break;
+         case APPLICATION_XML:
+            pw.print("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + System.lineSeparator() + System.lineSeparator() + "<keys>");
+            keys.forEach(key -> pw.printf("<key>%s</key>", Escaper.escapeXml(key)));
+            pw.print("</keys>");
+            break;
+         case APPLICATION_JSON:
+            pw.print("keys=[");
+            Iterator<String> it = keys.iterator();
+            while (it.hasNext()) {
+               pw.printf("\"%s\"", Escaper.escapeJson(it.next()));
+               if (it.hasNext()) pw.print(",");
+            }
+            pw.print("]");
+            break;
+         default:
+            keys.forEach(key -> {
+               pw.print(key);
+               pw.print(System.lineSeparator());
+            });
+            break;
+      }
+   }
+
+   /**
+    * @return whether a value other than a String or a byte array can be written with the media type
+    */
+   static boolean canSerialize(Object value, String mediaType) {
+      return APPLICATION_JSON.equals(mediaType) || APPLICATION_XML.equals(mediaType)
+            || (APPLICATION_X_JAVA_SERIALIZED_OBJECT.equals(mediaType) && value instanceof Serializable);
+   }
+
+   /**
+    * Writes a value for which {@link #canSerialize(Object, String)} holds.
+    */
+   static void serialize(Object value, String mediaType, OutputStream out) throws IOException {
+      switch (mediaType) {
+         case APPLICATION_JSON:
+            JsonMapperHolder.jsonMapper.writeValue(out, value);
+            break;
+         case APPLICATION_XML:
+            XStreamHolder.XStream.toXML(value, out);
+            break;
+         default:
+            ObjectOutputStream oos = new ObjectOutputStream(out);
+            oos.writeObject(value);
+            oos.flush();
+            break;
+      }
+   }
+
+   static Metadata createMetadata(Configuration cfg, String dataType, long ttl, long idleTime) {
+      MimeMetadataBuilder metadata = new MimeMetadataBuilder();
+      metadata.contentType(dataType);
+      if (ttl == 0) {
+         metadata.lifespan(cfg.expiration().lifespan(), TimeUnit.MILLISECONDS);
+      } else {
+         metadata.lifespan(ttl, TimeUnit.SECONDS);
+      }
+      if (idleTime == 0) {
+         metadata.maxIdle(cfg.expiration().maxIdle(), TimeUnit.MILLISECONDS);
+      } else {
+         metadata.maxIdle(idleTime, TimeUnit.SECONDS);
+      }
+      return metadata.build();
+   }
+}
@@ -1,22 +1,28 @@
 package org.infinispan.rest;
 
+import static org.infinispan.rest.RestSupport.MAX_IDLE_TIME_HEADER;
+import static org.infinispan.rest.RestSupport.TIME_TO_LIVE_HEADER;
+import static org.infinispan.rest.RestSupport.calcETag;
+import static org.infinispan.rest.RestSupport.calcFreshness;
+import static org.infinispan.rest.RestSupport.canSerialize;
+import static org.infinispan.rest.RestSupport.createMetadata;
+import static org.infinispan.rest.RestSupport.entryFreshEnough;
+import static org.infinispan.rest.RestSupport.expires;
+import static org.infinispan.rest.RestSupport.formatDate;
+import static org.infinispan.rest.RestSupport.lastModified;
+import static org.infinispan.rest.RestSupport.minFresh;
+import static org.infinispan.rest.RestSupport.printKeys;
+import static org.infinispan.rest.RestSupport.serialize;
+
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
-import java.io.Serializable;
 import java.io.Writer;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 import java.util.OptionalInt;
-import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -27,6 +33,7 @@
 import javax.ws.rs.GET;
 import javax.ws.rs.HEAD;
 import javax.ws.rs.HeaderParam;
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -36,26 +43,22 @@
 import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.Variant;
 
-import org.codehaus.jackson.map.ObjectMapper;
 import org.infinispan.AdvancedCache;
 import org.infinispan.CacheSet;
 import org.infinispan.commons.CacheException;
-import org.infinispan.commons.hash.MurmurHash3;
-import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.rest.configuration.RestServerConfiguration;
 import org.jboss.resteasy.util.HttpHeaderNames;
 
-import com.thoughtworks.xstream.XStream;
-
 /**
  * Integration server linking REST requests with Infinispan calls.
  *
@@ -68,14 +71,9 @@ public class Server {
    private final RestServerConfiguration configuration;
    private final RestCacheManager manager;
 
-   private final MurmurHash3 hashFunc = MurmurHash3.getInstance();
-
    private final static MediaType TextPlainUtf8Type = new MediaType("text", "plain", "UTF-8");
    private final static String TextPlainUtf8 = TextPlainUtf8Type.toString();
    private final static MediaType ApplicationXJavaSerializedObjectType = new MediaType("application", "x-java-serialized-object");
-   private final static String ApplicationXJavaSerializedObject = ApplicationXJavaSerializedObjectType.toString();
-   private final static String TimeToLiveHeader = "timeToLiveSeconds";
-   private final static String MaxIdleTimeHeader = "maxIdleTimeSeconds";
 
    /**
     * For dealing with binary entries in the cache
@@ -95,20 +93,6 @@ private static class CollectionVariantListHelper {
       ).build();
    }
 
-   private static class JsonMapperHolder {
-      public static final ObjectMapper jsonMapper = new ObjectMapper();
-   }
-
-   private static class XStreamholder {
-      public static final XStream XStream = new XStream();
-   }
-
-   private static final DateFormat DatePatternRfc1123LocaleUS = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
-
-   static {
-      DatePatternRfc1123LocaleUS.setTimeZone(TimeZone.getTimeZone("GMT"));
-   }
-
    public Server(RestServerConfiguration configuration, RestCacheManager manager) {
       this.configuration = configuration;
       this.manager = manager;
@@ -122,55 +106,25 @@ public Response getKeys(@Context Request request, @HeaderParam("performAsync") b
          AdvancedCache<String, ?> cache = manager.getCache(cacheName);
          CacheSet<String> keys = cache.keySet();
          Variant variant = request.selectVariant(CollectionVariantListHelper.collectionVariantList);
-         String selectedMediaType = variant != null ? variant.getMediaType().toString() : null;
-         if (MediaType.TEXT_HTML.equals(selectedMediaType)) {
-            return Response.ok().type(MediaType.TEXT_HTML).entity(printIt(pw -> {
-               pw.print("<html><body>");
-               keys.forEach(key -> {
-                  String hkey = Escaper.escapeHtml(key);
-                  pw.printf("<a href=\"%s/%s\">%s</a><br/>", cacheName, hkey, hkey);
-               });
-               pw.print("</body></html>");
-            })).build();
-         } else if (MediaType.APPLICATION_XML.equals(selectedMediaType)) {
-            return Response.ok().type(MediaType.APPLICATION_XML).entity(printIt(pw -> {
-               pw.print("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + System.lineSeparator() + System.lineSeparator() + "<keys>");
-               keys.forEach(key -> pw.printf("<key>%s</key>", Escaper.escapeXml(key)));
-               pw.print("</keys>");
-            })).build();
-         } else if (MediaType.APPLICATION_JSON.equals(selectedMediaType)) {
-            return Response.ok().type(MediaType.APPLICATION_JSON).entity(printIt(pw -> {
-               pw.print("keys=[");
-               Iterator<String> it = keys.iterator();
-               while (it.hasNext()) {
-                  pw.printf("\"%s\"", Escaper.escapeJson(it.next()));
-                  if (it.hasNext()) pw.print(",");
-
-               }
-               pw.print("]");
-            })).build();
-         } else if (MediaType.TEXT_PLAIN.equals(selectedMediaType)) {
-            return Response.ok().type(MediaType.TEXT_PLAIN).entity(printIt(pw -> keys.forEach(pw::println))).build();
-         } else if (Server.TextPlainUtf8.equals(selectedMediaType)) {
-            return Response.ok().type(Server.TextPlainUtf8Type).entity(printItUTF8(writer -> {
-               keys.forEach(key -> {
-                  try {
-                     writer.write(key);
-                     writer.write(System.lineSeparator());
-                  } catch (IOException e) {
-                     throw new CacheException(e);
-                  }
-               });
-            })).build();
-         } else {
+         if (variant == null) {
             return Response.notAcceptable(CollectionVariantListHelper.collectionVariantList).build();
          }
+         String selectedMediaType = variant.getMediaType().toString();
+         StreamingOutput entity = TextPlainUtf8.equals(selectedMediaType) ?
+               printItUTF8(writer -> {
+                  PrintWriter pw = new PrintWriter(writer);
+                  printKeys(cacheName, keys, selectedMediaType, pw);
+                  pw.flush();
+               }) :
+               printIt(pw -> printKeys(cacheName, keys, selectedMediaType, pw));
+         return Response.ok().type(variant.getMediaType()).entity(entity).build();
       });
    }
 
    @GET
    @Path("/{cacheName}/{cacheKey}")
-   public <V> Response getEntry(@Context Request request, @HeaderParam("performAsync") boolean useAsync,
+   public <V> Response getEntry(@Context Request request, @Context HttpHeaders headers,
+                                @HeaderParam("performAsync") boolean useAsync,
                                 @PathParam("cacheName") String cacheName, @PathParam("cacheKey") String key,
                                 @QueryParam("extended") String extended,
                                 @DefaultValue("") @HeaderParam("Cache-Control") String cacheControl) {
@@ -179,12 +133,12 @@ public <V> Response getEntry(@Context Request request, @HeaderParam("performAsyn
          if (entry instanceof InternalCacheEntry) {
             InternalCacheEntry<String, V> ice = (InternalCacheEntry<String, V>) entry;
             Date lastMod = lastModified(ice);
-            Date expires = ice.canExpire() ? new Date(ice.getExpiryTime()) : null;
+            Date expires = expires(ice);
             OptionalInt minFreshSeconds = minFresh(cacheControl);
             return ensureFreshEnoughEntry(expires, minFreshSeconds, () -> {
                Metadata meta = ice.getMetadata();
                if (meta instanceof MimeMetadata) {
-                  return getMimeEntry(request, ice, (MimeMetadata) meta, lastMod, expires, cacheName, extended);
+                  return getMimeEntry(request, headers, ice, (MimeMetadata) meta, lastMod, expires, cacheName, extended);
                } else {
                   return getAnyEntry(request, ice, meta, lastMod, expires, cacheName, extended);
                }
@@ -203,37 +157,17 @@ private Response ensureFreshEnoughEntry(Date expires, OptionalInt minFreshSecond
       }
    }
 
-   private OptionalInt minFresh(String cacheControl) {
-      Optional<String> minFreshDirective = Arrays.stream(cacheControl.split(",")).filter(s -> s.contains("min-fresh")).findFirst();
-      return minFreshDirective.map(s -> {
-         String[] equals = s.split("=");
-         return OptionalInt.of(Integer.parseInt(equals[equals.length - 1].trim()));
-      }).orElse(OptionalInt.empty());
-   }
-
-   private boolean entryFreshEnough(Date entryExpires, OptionalInt minFresh) {
-      return !minFresh.isPresent() || minFresh.getAsInt() < calcFreshness(entryExpires);
-   }
-
-   private int calcFreshness(Date expires) {
-      if (expires == null) {
-         return Integer.MAX_VALUE;
-      } else {
-         return ((int) (expires.getTime() - new Date().getTime()) / 1000);
-      }
-   }
-
-   private <V> Response getMimeEntry(Request request, InternalCacheEntry<String, V> ice, MimeMetadata meta,
-                                     Date lastMod, Date expires, String cacheName, String extended) {
+   private <V> Response getMimeEntry(Request request, HttpHeaders headers, InternalCacheEntry<String, V> ice,
+                                     MimeMetadata meta, Date lastMod, Date expires, String cacheName, String extended) {
       String key = ice.getKey();
-      Response.ResponseBuilder bldr = request.evaluatePreconditions(lastMod, calcETAG(ice, meta));
+      Response.ResponseBuilder bldr = evaluatePreconditions(request, headers, lastMod, calcETag(ice, meta));
       if (bldr == null) {
          bldr = extended(mortality(Response.ok(ice.getValue(), meta.contentType)
                      .header(HttpHeaderNames.LAST_MODIFIED, formatDate(lastMod))
                      //workaround for https://issues.jboss.org/browse/RESTEASY-887
                      .header(HttpHeaderNames.EXPIRES, formatDate(expires))
                      .cacheControl(calcCacheControl(expires)),
-               meta).tag(calcETAG(ice, meta)),
+               meta).tag(calcETag(ice, meta)),
                cacheName, key, wantExtendedHeaders(extended));
       }
       return bldr.build();
@@ -269,7 +203,7 @@ private <V> Response getAnyEntry(Request request, InternalCacheEntry<String, V>
          String selectedMediaType = variant != null ? variant.getMediaType().toString() : null;
 
          // For objects other than String or byte arrays, accept only JSON, XML and X_JAVA_SERIALIZABLE_OBJECT
-         if (MediaType.APPLICATION_JSON.equals(selectedMediaType)) {
+         if (canSerialize(value, selectedMediaType)) {
             return extended(mortality(Response.ok()
                         .type(selectedMediaType)
                         .header(HttpHeaderNames.LAST_MODIFIED, formatDate(lastMod))
@@ -278,50 +212,17 @@ private <V> Response getAnyEntry(Request request, InternalCacheEntry<String, V>
                   meta), cacheName, key, wantExtendedHeaders(extended))
                   .entity(streamIt(b -> {
                      try {
-                        JsonMapperHolder.jsonMapper.writeValue(b, value);
+                        serialize(value, selectedMediaType, b);
                      } catch (IOException e) {
                         throw new CacheException(e);
                      }
                   }))
                   .build();
-         } else if (MediaType.APPLICATION_XML.equals(selectedMediaType)) {
-            return extended(mortality(Response.ok()
-                        .type(selectedMediaType)
-                        .header(HttpHeaderNames.LAST_MODIFIED, formatDate(lastMod))
-                        .header(HttpHeaderNames.EXPIRES, formatDate(expires))
-                        .cacheControl(calcCacheControl(expires)),
-                  meta), cacheName, key, wantExtendedHeaders(extended))
-                  .entity(streamIt(b -> XStreamholder.XStream.toXML(value, b)))
-                  .build();
-         } else if (Server.ApplicationXJavaSerializedObject.equals(selectedMediaType)) {
-            if (value instanceof Serializable) {
-               return extended(mortality(Response.ok()
-                           .type(selectedMediaType)
-                           .header(HttpHeaderNames.LAST_MODIFIED, formatDate(lastMod))
-                           .header(HttpHeaderNames.EXPIRES, formatDate(expires))
-                           .cacheControl(calcCacheControl(expires)),
-                     meta), cacheName, key, wantExtendedHeaders(extended))
-                     .entity(streamIt(b -> {
-                        try {
-                           new ObjectOutputStream(b).writeObject(value);
-                        } catch (IOException e) {
-                           throw new CacheException(e);
-                        }
-                     }))
-                     .build();
-            }
          }
          return Response.notAcceptable(VariantListHelper.variantList).build();
       }
    }
 
-   private String formatDate(Date date) {
-      if (date == null)
-         return null;
-      else
-         return Server.DatePatternRfc1123LocaleUS.format(date);
-   }
-
    private CacheControl calcCacheControl(Date expires) {
       if (expires == null) {
          return null;
@@ -338,9 +239,9 @@ private CacheControl calcCacheControl(Date expires) {
 
    static Response.ResponseBuilder mortality(Response.ResponseBuilder bld, Metadata meta) {
       if (meta.lifespan() > -1)
-         bld.header(Server.TimeToLiveHeader, TimeUnit.MILLISECONDS.toSeconds(meta.lifespan()));
+         bld.header(TIME_TO_LIVE_HEADER, TimeUnit.MILLISECONDS.toSeconds(meta.lifespan()));
       if (meta.maxIdle() > -1)
-         bld.header(Server.MaxIdleTimeHeader, TimeUnit.MILLISECONDS.toSeconds(meta.maxIdle()));
+         bld.header(MAX_IDLE_TIME_HEADER, TimeUnit.MILLISECONDS.toSeconds(meta.maxIdle()));
       return bld;
    }
 
@@ -351,7 +252,6 @@ Response.ResponseBuilder extended(Response.ResponseBuilder bld, String cacheName
             .header("Cluster-Server-Address", manager.getServerAddress()) : bld;
    }
 
-
    private boolean wantExtendedHeaders(String extended) {
       switch (configuration.extendedHeaders()) {
          case NEVER:
@@ -405,7 +305,8 @@ public void write(OutputStream outputStream) throws IOException, WebApplicationE
 
    @HEAD
    @Path("/{cacheName}/{cacheKey}")
-   public <V> Response headEntry(@Context Request request, @HeaderParam("performAsync") boolean useAsync,
+   public <V> Response headEntry(@Context Request request, @Context HttpHeaders headers,
+                                 @HeaderParam("performAsync") boolean useAsync,
                                  @PathParam("cacheName") String cacheName, @PathParam("cacheKey") String key,
                                  @QueryParam("extended") String extended,
                                  @DefaultValue("") @HeaderParam("Cache-Control") String cacheControl) {
@@ -414,13 +315,13 @@ public <V> Response headEntry(@Context Request request, @HeaderParam("performAsy
          if (entry instanceof InternalCacheEntry) {
             InternalCacheEntry<String, V> ice = (InternalCacheEntry<String, V>) entry;
             Date lastMod = lastModified(ice);
-            Date expires = ice.canExpire() ? new Date(ice.getExpiryTime()) : null;
+            Date expires = expires(ice);
             OptionalInt minFreshSeconds = minFresh(cacheControl);
             return ensureFreshEnoughEntry(expires, minFreshSeconds, () -> {
                Metadata meta = ice.getMetadata();
                if (meta instanceof MimeMetadata) {
                   MimeMetadata mime = (MimeMetadata) meta;
-                  Response.ResponseBuilder bldr = request.evaluatePreconditions(lastMod, calcETAG(ice, mime));
+                  Response.ResponseBuilder bldr = evaluatePreconditions(request, headers, lastMod, calcETag(ice, mime));
                   if (bldr == null) {
                      return extended(mortality(Response.ok()
                                  .type(mime.contentType)
@@ -428,7 +329,7 @@ public <V> Response headEntry(@Context Request request, @HeaderParam("performAsy
                                  .header(HttpHeaderNames.EXPIRES, formatDate(expires))
                                  .cacheControl(calcCacheControl(expires)),
                            mime)
-                                 .tag(calcETAG(ice, mime)),
+                                 .tag(calcETag(ice, mime)),
                            cacheName, key, wantExtendedHeaders(extended))
                            .build();
                   } else {
@@ -452,7 +353,8 @@ cacheName, key, wantExtendedHeaders(extended))
    @PUT
    @POST
    @Path("/{cacheName}/{cacheKey}")
-   public <V> Response putEntry(@Context Request request, @HeaderParam("performAsync") boolean useAsync,
+   public <V> Response putEntry(@Context Request request, @Context HttpHeaders headers,
+                                @HeaderParam("performAsync") boolean useAsync,
                                 @PathParam("cacheName") String cacheName, @PathParam("cacheKey") String key,
                                 @HeaderParam("Content-Type") String mediaType, byte[] data,
                                 @DefaultValue("-1") @HeaderParam("timeToLiveSeconds") long ttl,
@@ -469,8 +371,8 @@ public <V> Response putEntry(@Context Request request, @HeaderParam("performAsyn
                Metadata meta = ice.getMetadata();
                if (meta instanceof MimeMetadata) {
                   // The item already exists in the cache, evaluate preconditions based on its attributes and the headers
-                  EntityTag etag = calcETAG(ice, (MimeMetadata) meta);
-                  Response.ResponseBuilder bldr = request.evaluatePreconditions(lastMod, etag);
+                  String etag = calcETag(ice, (MimeMetadata) meta);
+                  Response.ResponseBuilder bldr = evaluatePreconditions(request, headers, lastMod, etag);
                   if (bldr == null) {
                      // Preconditions passed
                      return putInCache(useAsync, cache, key, data, mediaType, ttl, idleTime,
@@ -504,22 +406,6 @@ Response asyncPutInCache(AdvancedCache<String, byte[]> cache,
       return Response.ok().build();
    }
 
-   Metadata createMetadata(Configuration cfg, String dataType, long ttl, long idleTime) {
-      MimeMetadataBuilder metadata = new MimeMetadataBuilder();
-      metadata.contentType(dataType);
-      if (ttl == 0) {
-         metadata.lifespan(cfg.expiration().lifespan(), TimeUnit.MILLISECONDS);
-      } else {
-         metadata.lifespan(ttl, TimeUnit.SECONDS);
-      }
-      if (idleTime == 0) {
-         metadata.maxIdle(cfg.expiration().maxIdle(), TimeUnit.MILLISECONDS);
-      } else {
-         metadata.maxIdle(idleTime, TimeUnit.SECONDS);
-      }
-      return metadata.build();
-   }
-
    private Response putOrReplace(AdvancedCache<String, byte[]> cache,
                                  String key, byte[] data, String dataType,
                                  long ttl, long idleTime,
@@ -541,7 +427,8 @@ private Response putOrReplace(AdvancedCache<String, byte[]> cache,
 
    @DELETE
    @Path("/{cacheName}/{cacheKey}")
-   public <V> Response removeEntry(@Context Request request, @HeaderParam("performAsync") boolean useAsync,
+   public <V> Response removeEntry(@Context Request request, @Context HttpHeaders headers,
+                                   @HeaderParam("performAsync") boolean useAsync,
                                    @PathParam("cacheName") String cacheName, @PathParam("cacheKey") String key) {
       return protectCacheNotFound(() -> {
          CacheEntry<String, V> entry = manager.getInternalEntry(cacheName, key);
@@ -551,8 +438,8 @@ public <V> Response removeEntry(@Context Request request, @HeaderParam("performA
             Metadata meta = entry.getMetadata();
             if (meta instanceof MimeMetadata) {
                // The item exists in the cache, evaluate preconditions based on its attributes and the headers
-               EntityTag etag = calcETAG(ice, (MimeMetadata) meta);
-               Response.ResponseBuilder bldr = request.evaluatePreconditions(lastMod, etag);
+               String etag = calcETag(ice, (MimeMetadata) meta);
+               Response.ResponseBuilder bldr = evaluatePreconditions(request, headers, lastMod, etag);
                if (bldr == null) {
                   // Preconditions passed
                   if (useAsync) {
@@ -601,12 +488,14 @@ private Response preconditionNotImplementedResponse() {
             "Preconditions were not implemented yet for PUT, POST, and DELETE methods.").build();
    }
 
-   private <K, V> EntityTag calcETAG(InternalCacheEntry<K, V> entry, MimeMetadata meta) {
-      return new EntityTag(meta.contentType + hashFunc.hash(entry.getValue()));
-   }
-
-   private <K, V> Date lastModified(InternalCacheEntry<K, V> ice) {
-      return new Date(ice.getCreated() / 1000 * 1000);
+   private Response.ResponseBuilder evaluatePreconditions(Request request, HttpHeaders headers, Date lastMod,
+                                                          String etag) {
+      boolean read = HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod());
+      int status = RestSupport.evaluatePreconditions(read, headers.getHeaderString(HttpHeaderNames.IF_MATCH),
+            headers.getHeaderString(HttpHeaderNames.IF_NONE_MATCH),
+            headers.getHeaderString(HttpHeaderNames.IF_MODIFIED_SINCE),
+            headers.getHeaderString(HttpHeaderNames.IF_UNMODIFIED_SINCE), lastMod, etag);
+      return status == 0 ? null : Response.status(status).tag(new EntityTag(etag));
    }
 
    private Response protectCacheNotFound(Supplier<Response> op) {
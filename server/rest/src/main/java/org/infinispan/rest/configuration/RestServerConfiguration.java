@@ -10,11 +10,16 @@
 public class RestServerConfiguration extends ProtocolServerConfiguration {
    private final ExtendedHeaders extendedHeaders;
    private final boolean startTransport;
+   private final boolean nativeHttp;
+   private final int maxContentLength;
 
-   RestServerConfiguration(ExtendedHeaders extendedHeaders, String host, int port, Set<String> ignoredCaches, SslConfiguration ssl, boolean startTransport) {
+   RestServerConfiguration(ExtendedHeaders extendedHeaders, String host, int port, Set<String> ignoredCaches, SslConfiguration ssl, boolean startTransport,
+                           boolean nativeHttp, int maxContentLength) {
       super(null, null, host, port, -1, -1, -1, ssl, false, -1, ignoredCaches, startTransport);
       this.extendedHeaders = extendedHeaders;
       this.startTransport = startTransport;
+      this.nativeHttp = nativeHttp;
+      this.maxContentLength = maxContentLength;
    }
 
    public ExtendedHeaders extendedHeaders() {
@@ -32,4 +37,12 @@ public Set<String> getIgnoredCaches() {
    public boolean startTransport() {
       return startTransport;
    }
+
+   public boolean nativeHttp() {
+      return nativeHttp;
+   }
+
+   public int maxContentLength() {
+      return maxContentLength;
+   }
 }
@@ -20,6 +20,8 @@ public class RestServerConfigurationBuilder extends ProtocolServerConfigurationB
    private static final int DEFAULT_PORT = 8080;
 
    private ExtendedHeaders extendedHeaders = ExtendedHeaders.ON_DEMAND;
+   private boolean nativeHttp = false;
+   private int maxContentLength = 10 * 1024 * 1024;
 
    public RestServerConfigurationBuilder() {
       super(DEFAULT_PORT);
@@ -35,19 +37,42 @@ public RestServerConfigurationBuilder startTransport(boolean startTransport) {
       return this;
    }
 
+   /**
+    * Serves the REST API directly with Netty's HTTP codec instead of RESTEasy. This also enables the upgrade to
+    * HTTP/2 of the connections without SSL. Defaults to false
+    */
+   public RestServerConfigurationBuilder nativeHttp(boolean nativeHttp) {
+      this.nativeHttp = nativeHttp;
+      return this;
+   }
+
+   /**
+    * Configures the maximum size of the request bodies accepted by the native HTTP transport, in bytes. Defaults to
+    * 10 MiB
+    */
+   public RestServerConfigurationBuilder maxContentLength(int maxContentLength) {
+      this.maxContentLength = maxContentLength;
+      return this;
+   }
+
    @Override
    public void validate() {
-      // Nothing to do
+      if (maxContentLength <= 0) {
+         throw logger.invalidMaxContentLength(maxContentLength);
+      }
    }
 
    @Override
    public RestServerConfiguration create() {
-      return new RestServerConfiguration(extendedHeaders, host, port, ignoredCaches, ssl.create(), startTransport);
+      return new RestServerConfiguration(extendedHeaders, host, port, ignoredCaches, ssl.create(), startTransport,
+            nativeHttp, maxContentLength);
    }
 
    @Override
    public Builder<?> read(RestServerConfiguration template) {
       this.extendedHeaders = template.extendedHeaders();
+      this.nativeHttp = template.nativeHttp();
+      this.maxContentLength = template.maxContentLength();
       this.host = template.host();
       this.port = template.port();
       return this;
@@ -2,7 +2,9 @@
 
 import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
+import static org.jboss.logging.Logger.Level.WARN;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
@@ -33,4 +35,11 @@ public interface Log extends org.infinispan.util.logging.Log {
    @Message(value = "Unsupported configuration option", id = 12004)
    UnsupportedOperationException unsupportedConfigurationOption();
 
+   @Message(value = "Invalid maximum content length: %d, it must be greater than zero", id = 12005)
+   CacheConfigurationException invalidMaxContentLength(int maxContentLength);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Error handling REST request %s %s", id = 12006)
+   void errorHandlingRequest(@Cause Throwable t, String method, String uri);
+
 }
@@ -0,0 +1,184 @@
+package org.infinispan.rest;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.httpclient.HttpMethodBase;
+import org.apache.commons.httpclient.HttpStatus;
+import org.apache.commons.httpclient.methods.ByteArrayRequestEntity;
+import org.apache.commons.httpclient.methods.DeleteMethod;
+import org.apache.commons.httpclient.methods.GetMethod;
+import org.apache.commons.httpclient.methods.HeadMethod;
+import org.apache.commons.httpclient.methods.InputStreamRequestEntity;
+import org.apache.commons.httpclient.methods.PostMethod;
+import org.apache.commons.httpclient.methods.PutMethod;
+import org.apache.commons.httpclient.methods.StringRequestEntity;
+import org.apache.commons.httpclient.params.HttpMethodParams;
+import org.infinispan.commons.api.BasicCacheContainer;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.rest.configuration.RestServerConfigurationBuilder;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the REST API served by the native HTTP transport.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "rest.NativeHttpTest")
+public class NativeHttpTest extends RestServerTestBase {
+
+   private EmbeddedCacheManager cacheManager;
+   private String fullPath;
+
+   @BeforeClass(alwaysRun = true)
+   void setUp() throws Exception {
+      cacheManager = TestCacheManagerFactory.createCacheManager();
+      int port = RestTestingUtil.UniquePortThreadLocal.get();
+      addServer("native", cacheManager, new RestServerConfigurationBuilder().port(port).nativeHttp(true).build());
+      startServers();
+      createClient();
+      fullPath = "http://localhost:" + port + "/rest/" + BasicCacheContainer.DEFAULT_CACHE_NAME;
+   }
+
+   @AfterClass(alwaysRun = true)
+   void tearDown() throws Exception {
+      destroyClient();
+      stopServers();
+      TestingUtil.killCacheManagers(cacheManager);
+   }
+
+   public void testOperations() throws Exception {
+      String path = fullPath + "/k1";
+      PutMethod put = new PutMethod(path);
+      put.setRequestEntity(new StringRequestEntity("v1", "text/plain", "UTF-8"));
+      assertEquals(HttpStatus.SC_OK, call(put).getStatusCode());
+
+      HttpMethodBase get = call(new GetMethod(path));
+      assertEquals(HttpStatus.SC_OK, get.getStatusCode());
+      assertEquals("v1", get.getResponseBodyAsString());
+      assertTrue(get.getResponseHeader("Content-Type").getValue().startsWith("text/plain"));
+      assertNotNull(get.getResponseHeader("ETag"));
+      assertNotNull(get.getResponseHeader("Last-Modified"));
+
+      HttpMethodBase head = call(new HeadMethod(path));
+      assertEquals(HttpStatus.SC_OK, head.getStatusCode());
+      assertEquals(get.getResponseHeader("ETag").getValue(), head.getResponseHeader("ETag").getValue());
+
+      PostMethod post = new PostMethod(path);
+      post.setRequestEntity(new StringRequestEntity("v2", "text/plain", "UTF-8"));
+      assertEquals(HttpStatus.SC_CONFLICT, call(post).getStatusCode());
+
+      assertEquals(HttpStatus.SC_OK, call(new DeleteMethod(path)).getStatusCode());
+      assertEquals(HttpStatus.SC_NOT_FOUND, call(new GetMethod(path)).getStatusCode());
+      assertEquals(HttpStatus.SC_NOT_FOUND, call(new DeleteMethod(path)).getStatusCode());
+      assertEquals(HttpStatus.SC_NOT_FOUND, call(new GetMethod("http://localhost:" +
+            RestTestingUtil.UniquePortThreadLocal.get() + "/rest/nonexistent/k1")).getStatusCode());
+   }
+
+   public void testPreconditions() throws Exception {
+      String path = fullPath + "/conditional";
+      PutMethod put = new PutMethod(path);
+      put.setRequestEntity(new StringRequestEntity("v1", "text/plain", "UTF-8"));
+      call(put);
+      String etag = call(new GetMethod(path)).getResponseHeader("ETag").getValue();
+
+      GetMethod ifNoneMatch = new GetMethod(path);
+      ifNoneMatch.setRequestHeader("If-None-Match", etag);
+      assertEquals(HttpStatus.SC_NOT_MODIFIED, call(ifNoneMatch).getStatusCode());
+
+      PutMethod ifMatch = new PutMethod(path);
+      ifMatch.setRequestHeader("If-Match", "\"other\"");
+      ifMatch.setRequestEntity(new StringRequestEntity("v2", "text/plain", "UTF-8"));
+      assertEquals(HttpStatus.SC_PRECONDITION_FAILED, call(ifMatch).getStatusCode());
+
+      ifMatch.setRequestHeader("If-Match", etag);
+      assertEquals(HttpStatus.SC_OK, call(ifMatch).getStatusCode());
+      assertEquals("v2", call(new GetMethod(path)).getResponseBodyAsString());
+   }
+
+   public void testLargeValue() throws Exception {
+      String path = fullPath + "/large";
+      byte[] value = largeValue();
+      PutMethod put = new PutMethod(path);
+      put.setRequestEntity(new ByteArrayRequestEntity(value, "application/octet-stream"));
+      assertEquals(HttpStatus.SC_OK, call(put).getStatusCode());
+
+      HttpMethodBase get = call(new GetMethod(path));
+      assertEquals(HttpStatus.SC_OK, get.getStatusCode());
+      assertEquals(String.valueOf(value.length), get.getResponseHeader("Content-Length").getValue());
+      assertTrue(Arrays.equals(value, get.getResponseBody()));
+   }
+
+   public void testChunkedValue() throws Exception {
+      String path = fullPath + "/chunked";
+      byte[] value = largeValue();
+      // Without a content length, the body grows as its chunks are received
+      PutMethod put = new PutMethod(path);
+      put.getParams().setBooleanParameter(HttpMethodParams.USE_EXPECT_CONTINUE, true);
+      put.setRequestEntity(new InputStreamRequestEntity(new ByteArrayInputStream(value),
+            -1, "application/octet-stream"));
+      assertEquals(HttpStatus.SC_OK, call(put).getStatusCode());
+
+      HttpMethodBase get = call(new GetMethod(path));
+      assertEquals(HttpStatus.SC_OK, get.getStatusCode());
+      assertTrue(Arrays.equals(value, get.getResponseBody()));
+   }
+
+   private static byte[] largeValue() {
+      byte[] value = new byte[200 * 1024 + 17];
+      for (int i = 0; i < value.length; i++) {
+         value[i] = (byte) i;
+      }
+      return value;
+   }
+
+   public void testKeys() throws Exception {
+      PutMethod put = new PutMethod(fullPath + "/listed");
+      put.setRequestEntity(new StringRequestEntity("v", "text/plain", "UTF-8"));
+      call(put);
+
+      GetMethod get = new GetMethod(fullPath);
+      get.setRequestHeader("Accept", "text/plain;charset=UTF-8");
+      call(get);
+      assertEquals(HttpStatus.SC_OK, get.getStatusCode());
+      assertEquals("text/plain;charset=UTF-8", get.getResponseHeader("Content-Type").getValue());
+      assertTrue(get.getResponseBodyAsString().contains("listed" + System.lineSeparator()));
+   }
+
+   public void testPathSegments() {
+      assertEquals(Arrays.asList("cache", "a/b"), RestRequestHandler.pathSegments("/rest/cache/a%2Fb?extended"));
+      assertEquals(Arrays.asList("cache"), RestRequestHandler.pathSegments("/rest/cache"));
+      assertNull(RestRequestHandler.pathSegments("/other/cache/key"));
+      assertNull(RestRequestHandler.pathSegments("/rest/cache/key/more"));
+   }
+
+   public void testFreshness() {
+      // The seconds until expiration used to overflow after 24 days
+      Date expires = new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(30));
+      assertTrue(RestSupport.calcFreshness(expires) > TimeUnit.DAYS.toSeconds(29));
+      assertEquals(Integer.MAX_VALUE, RestSupport.calcFreshness(new Date(Long.MAX_VALUE)));
+      assertEquals(Integer.MAX_VALUE, RestSupport.calcFreshness(null));
+   }
+
+   public void testSelectMediaType() {
+      List<String> mediaTypes = Arrays.asList("text/html", "application/json", "text/plain", "text/plain;charset=UTF-8");
+      assertEquals("text/html", RestRequestHandler.selectMediaType(null, mediaTypes));
+      assertEquals("application/json", RestRequestHandler.selectMediaType("application/*", mediaTypes));
+      assertEquals("text/plain", RestRequestHandler.selectMediaType("text/html;q=0.5, text/plain", mediaTypes));
+      assertEquals("text/plain;charset=UTF-8",
+            RestRequestHandler.selectMediaType("text/plain; charset=utf-8", mediaTypes));
+      assertNull(RestRequestHandler.selectMediaType("image/png", mediaTypes));
+   }
+}
@@ -11,6 +11,7 @@
 import org.infinispan.server.router.router.Router;
 import org.infinispan.server.router.router.impl.hotrod.HotRodRouter;
 import org.infinispan.server.router.router.impl.rest.RestRouter;
+import org.infinispan.server.router.router.impl.singleport.SinglePortRouter;
 
 /**
  * The main entry point for the router.
@@ -37,6 +38,9 @@ public MultiTenantRouter(MultiTenantRouterConfiguration routerConfiguration) {
         if(routerConfiguration.getRestRouterConfiguration() != null) {
             routers.add(new RestRouter(routerConfiguration.getRestRouterConfiguration()));
         }
+        if(routerConfiguration.getSinglePortRouterConfiguration() != null) {
+            routers.add(new SinglePortRouter(routerConfiguration.getSinglePortRouterConfiguration()));
+        }
     }
 
     /**
@@ -10,6 +10,7 @@ public class MultiTenantRouterConfiguration {
     private final RoutingTable routingTable;
     private final HotRodRouterConfiguration hotRodRouterConfiguration;
     private final RestRouterConfiguration restRouterConfiguration;
+    private final SinglePortRouterConfiguration singlePortRouterConfiguration;
 
     /**
      * Creates new configuration based on protocol configurations and the {@link RoutingTable}.
@@ -19,9 +20,23 @@ public class MultiTenantRouterConfiguration {
      * @param restRouterConfiguration   REST Configuration.
      */
     public MultiTenantRouterConfiguration(RoutingTable routingTable, HotRodRouterConfiguration hotRodRouterConfiguration, RestRouterConfiguration restRouterConfiguration) {
+        this(routingTable, hotRodRouterConfiguration, restRouterConfiguration, null);
+    }
+
+    /**
+     * Creates new configuration based on protocol configurations and the {@link RoutingTable}.
+     *
+     * @param routingTable                  The {@link RoutingTable} for supplying {@link org.infinispan.server.router.routes.Route}s.
+     * @param hotRodRouterConfiguration     Hot Rod Configuration.
+     * @param restRouterConfiguration       REST Configuration.
+     * @param singlePortRouterConfiguration Single port Configuration.
+     */
+    public MultiTenantRouterConfiguration(RoutingTable routingTable, HotRodRouterConfiguration hotRodRouterConfiguration,
+                                          RestRouterConfiguration restRouterConfiguration, SinglePortRouterConfiguration singlePortRouterConfiguration) {
         this.routingTable = routingTable;
         this.hotRodRouterConfiguration = hotRodRouterConfiguration;
         this.restRouterConfiguration = restRouterConfiguration;
+        this.singlePortRouterConfiguration = singlePortRouterConfiguration;
     }
 
     /**
@@ -44,4 +59,11 @@ public HotRodRouterConfiguration getHotRodRouterConfiguration() {
     public RestRouterConfiguration getRestRouterConfiguration() {
         return restRouterConfiguration;
     }
+
+    /**
+     * Gets single port Configuration.
+     */
+    public SinglePortRouterConfiguration getSinglePortRouterConfiguration() {
+        return singlePortRouterConfiguration;
+    }
 }
@@ -59,4 +59,9 @@ public HotRodRouterBuilder hotrod() {
     public RestRouterBuilder rest() {
         return parent.rest();
     }
+
+    @Override
+    public SinglePortRouterBuilder singlePort() {
+        return parent.singlePort();
+    }
 }
@@ -21,4 +21,9 @@ public interface MultiTenantConfigurationBuilderParent {
      * Returns builder for REST.
      */
     RestRouterBuilder rest();
+
+    /**
+     * Returns builder for the single port router.
+     */
+    SinglePortRouterBuilder singlePort();
 }
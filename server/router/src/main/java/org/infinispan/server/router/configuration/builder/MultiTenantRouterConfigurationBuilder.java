@@ -12,6 +12,7 @@ public class MultiTenantRouterConfigurationBuilder implements MultiTenantConfigu
     private RoutingBuilder routingBuilder = new RoutingBuilder(this);
     private HotRodRouterBuilder hotRodRouterBuilder = new HotRodRouterBuilder(this);
     private RestRouterBuilder restRouterBuilder = new RestRouterBuilder(this);
+    private SinglePortRouterBuilder singlePortRouterBuilder = new SinglePortRouterBuilder(this);
 
     @Override
     public RoutingBuilder routing() {
@@ -30,10 +31,17 @@ public RestRouterBuilder rest() {
         return restRouterBuilder;
     }
 
+    @Override
+    public SinglePortRouterBuilder singlePort() {
+        singlePortRouterBuilder.enabled(true);
+        return singlePortRouterBuilder;
+    }
+
     /**
      * Returns assembled configuration.
      */
     public MultiTenantRouterConfiguration build() {
-        return new MultiTenantRouterConfiguration(routingBuilder.build(), hotRodRouterBuilder.build(), restRouterBuilder.build());
+        return new MultiTenantRouterConfiguration(routingBuilder.build(), hotRodRouterBuilder.build(), restRouterBuilder.build(),
+                singlePortRouterBuilder.build());
     }
 }
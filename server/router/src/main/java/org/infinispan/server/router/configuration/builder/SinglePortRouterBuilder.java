@@ -0,0 +1,87 @@
+package org.infinispan.server.router.configuration.builder;
+
+import org.infinispan.server.router.configuration.SinglePortRouterConfiguration;
+
+/**
+ * Configuration builder for the single port router.
+ *
+ * @since 9.0
+ */
+public class SinglePortRouterBuilder extends AbstractRouterBuilder {
+
+    private int sendBufferSize = 0;
+    private int receiveBufferSize = 0;
+    private boolean keepAlive = false;
+    private boolean tcpNoDelay = true;
+
+    /**
+     * Creates new {@link SinglePortRouterBuilder}.
+     *
+     * @param parent Parent {@link MultiTenantConfigurationBuilderParent}
+     */
+    public SinglePortRouterBuilder(MultiTenantConfigurationBuilderParent parent) {
+        super(parent);
+    }
+
+    /**
+     * Builds {@link SinglePortRouterConfiguration}.
+     */
+    public SinglePortRouterConfiguration build() {
+        if (this.enabled) {
+            try {
+                validate();
+            } catch (Exception e) {
+                throw logger.configurationValidationError(e);
+            }
+            return new SinglePortRouterConfiguration(ip, port, sendBufferSize, receiveBufferSize, keepAlive, tcpNoDelay);
+        }
+        return null;
+    }
+
+    /**
+     * Sets TCP No Delay.
+     */
+    public SinglePortRouterBuilder tcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+        return this;
+    }
+
+    /**
+     * Sets TCP Keep Alive
+     */
+    public SinglePortRouterBuilder keepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    /**
+     * Sets Send buffer size
+     *
+     * @param sendBufferSize Send buffer size, must be greater than 0.
+     */
+    public SinglePortRouterBuilder sendBufferSize(int sendBufferSize) {
+        this.sendBufferSize = sendBufferSize;
+        return this;
+    }
+
+    /**
+     * Sets Receive buffer size.
+     *
+     * @param receiveBufferSize Receive buffer size, must be greater than 0.
+     */
+    public SinglePortRouterBuilder receiveBufferSize(int receiveBufferSize) {
+        this.receiveBufferSize = receiveBufferSize;
+        return this;
+    }
+
+    @Override
+    protected void validate() {
+        super.validate();
+        if (receiveBufferSize < 0) {
+            throw new IllegalArgumentException("Receive buffer size can not be negative");
+        }
+        if (sendBufferSize < 0) {
+            throw new IllegalArgumentException("Send buffer size can not be negative");
+        }
+    }
+}
@@ -55,4 +55,11 @@ public interface RouterLogger extends org.infinispan.util.logging.Log {
     @LogMessage(level = ERROR)
     @Message(value = "Error while shutting down the router", id = 14010)
     void errorWhileShuttingDown(@Cause Exception e);
+
+    @LogMessage(level = DEBUG)
+    @Message(value = "Single port Router listening on %s", id = 14011)
+    void singlePortRouterStarted(String address);
+
+    @Message(value = "Unable to start single port router", id = 14012)
+    IllegalStateException singlePortRouterStartFailed(@Cause Exception e);
 }
@@ -16,7 +16,7 @@ public interface Router {
      * The protocol the router implements.
      */
     enum Protocol {
-        HOT_ROD, REST
+        HOT_ROD, REST, SINGLE_PORT
     }
 
     /**
@@ -1,6 +1,7 @@
 package org.infinispan.server.router.router.impl.hotrod.handlers;
 
 import java.lang.invoke.MethodHandles;
+import java.util.Map;
 import java.util.Optional;
 
 import org.infinispan.commons.logging.LogFactory;
@@ -9,6 +10,7 @@
 import org.infinispan.server.router.router.impl.hotrod.handlers.util.SslUtils;
 import org.infinispan.server.router.routes.RouteDestination;
 import org.infinispan.server.router.routes.SniRouteSource;
+import org.infinispan.server.router.routes.hotrod.NettyHandlerRouteDestination;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
@@ -17,7 +19,8 @@
 import io.netty.util.DomainNameMapping;
 
 /**
- * Initializer for SNI Handlers.
+ * Initializer for SNI Handlers. The SSL contexts and the destinations of the routes are resolved once, when the
+ * initializer is created, rather than for each connection.
  *
  * @author Sebastian Łaskawiec
  */
@@ -25,7 +28,8 @@ public class SniHandlerInitializer extends ChannelInitializer<Channel> {
 
     private static final RouterLogger logger = LogFactory.getLog(MethodHandles.lookup().lookupClass(), RouterLogger.class);
 
-    private final RoutingTable routingTable;
+    private final DomainNameMapping<SslContext> domainNameMapping;
+    private final Map<String, NettyHandlerRouteDestination> destinations;
 
     /**
      * Creates new {@link SniHandlerInitializer} based on the routing table.
@@ -33,11 +37,6 @@ public class SniHandlerInitializer extends ChannelInitializer<Channel> {
      * @param routingTable {@link RoutingTable} for supplying the {@link org.infinispan.server.router.routes.Route}s.
      */
     public SniHandlerInitializer(RoutingTable routingTable) {
-        this.routingTable = routingTable;
-    }
-
-    @Override
-    protected void initChannel(Channel channel) throws Exception {
         SslContext defaultContext = SslUtils.INSTANCE.toNettySslContext(Optional.empty());
         DomainMappingBuilder<SslContext> domainMappingBuilder = new DomainMappingBuilder<>(defaultContext);
 
@@ -45,10 +44,28 @@ protected void initChannel(Channel channel) throws Exception {
                 .map(r -> r.getRouteSource())
                 .forEach(r -> domainMappingBuilder.add(r.getSniHostName(), SslUtils.INSTANCE.toNettySslContext(Optional.of(r.getSslContext()))));
 
-        DomainNameMapping<SslContext> domainNameMapping = domainMappingBuilder.build();
+        domainNameMapping = domainMappingBuilder.build();
+        destinations = SniRouteHandler.destinations(routingTable);
 
         logger.initializedSni(domainNameMapping);
+    }
 
-        channel.pipeline().addLast(new SniRouteHandler(domainNameMapping, routingTable));
+    /**
+     * Returns <code>true</code> if the routing table contains SNI routes.
+     */
+    public static boolean hasSniRoutes(RoutingTable routingTable) {
+        return routingTable.streamRoutes(SniRouteSource.class, RouteDestination.class).findAny().isPresent();
+    }
+
+    /**
+     * Creates a new {@link SniRouteHandler} for a connection.
+     */
+    public SniRouteHandler newSniRouteHandler() {
+        return new SniRouteHandler(domainNameMapping, destinations);
+    }
+
+    @Override
+    protected void initChannel(Channel channel) throws Exception {
+        channel.pipeline().addLast(newSniRouteHandler());
     }
 }
@@ -2,7 +2,9 @@
 
 import java.lang.invoke.MethodHandles;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.server.router.RoutingTable;
@@ -28,7 +30,7 @@ public class SniRouteHandler extends SniHandler {
 
     private static final RouterLogger logger = LogFactory.getLog(MethodHandles.lookup().lookupClass(), RouterLogger.class);
 
-    private final RoutingTable routingTable;
+    private final Map<String, NettyHandlerRouteDestination> destinations;
 
     /**
      * Creates new {@link SniRouteHandler} based on SNI Domain mapping and the {@link RoutingTable}.
@@ -37,8 +39,26 @@ public class SniRouteHandler extends SniHandler {
      * @param routingTable The {@link RoutingTable} for supplying the {@link Route}s.
      */
     public SniRouteHandler(DomainNameMapping<? extends SslContext> mapping, RoutingTable routingTable) {
+        this(mapping, destinations(routingTable));
+    }
+
+    /**
+     * Creates new {@link SniRouteHandler} based on SNI Domain mapping and the route destinations.
+     *
+     * @param mapping      SNI Host Name mapping.
+     * @param destinations The destinations of the {@link Route}s, by SNI Host Name.
+     */
+    public SniRouteHandler(DomainNameMapping<? extends SslContext> mapping, Map<String, NettyHandlerRouteDestination> destinations) {
         super(mapping);
-        this.routingTable = routingTable;
+        this.destinations = destinations;
+    }
+
+    /**
+     * Returns the destinations of the SNI {@link Route}s, by SNI Host Name.
+     */
+    static Map<String, NettyHandlerRouteDestination> destinations(RoutingTable routingTable) {
+        return routingTable.streamRoutes(SniRouteSource.class, NettyHandlerRouteDestination.class)
+                .collect(Collectors.toMap(r -> r.getRouteSource().getSniHostName(), Route::getRouteDesitnation, (d1, d2) -> d1));
     }
 
     @Override
@@ -49,11 +69,8 @@ protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) t
             // At this point Netty has replaced SNIHandler (formally this) with SSLHandler in the pipeline.
             // Now we need to add other handlers at the tail of the queue
             logger.debugf("Handshaked with hostname %s", hostname());
-            Optional<Route<SniRouteSource, NettyHandlerRouteDestination>> route = routingTable.streamRoutes(SniRouteSource.class, NettyHandlerRouteDestination.class)
-                    .filter(r -> r.getRouteSource().getSniHostName().equals(this.hostname()))
-                    .findAny();
-
-            NettyHandlerRouteDestination routeDestination = route.orElseThrow(() -> logger.noRouteFound()).getRouteDesitnation();
+            NettyHandlerRouteDestination routeDestination = Optional.ofNullable(destinations.get(this.hostname()))
+                    .orElseThrow(() -> logger.noRouteFound());
             ChannelInitializer<Channel> channelInitializer = routeDestination.getChannelInitializer();
 
             ctx.pipeline().addLast(channelInitializer);
@@ -0,0 +1,113 @@
+package org.infinispan.server.router.router.impl.singleport.handlers;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.server.router.logging.RouterLogger;
+import org.infinispan.server.router.router.impl.hotrod.handlers.SniRouteHandler;
+import org.infinispan.server.router.routes.hotrod.NettyHandlerRouteDestination;
+import org.infinispan.server.router.routes.singleport.SinglePortRouteSource.Protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.CharsetUtil;
+
+/**
+ * Handler detecting the protocol of a connection from its first bytes. Once detected, the handlers of the route
+ * destination are installed in the pipeline of the connection itself, which then serves the protocol without any
+ * proxying, and this handler removes itself passing the bytes received so far to them.
+ * <p>
+ * The TLS connections are passed to a {@link SniRouteHandler}, which routes them based on SNI Host Name.
+ *
+ * @since 9.0
+ */
+public class ProtocolDetectionHandler extends ByteToMessageDecoder {
+
+    private static final RouterLogger logger = LogFactory.getLog(MethodHandles.lookup().lookupClass(), RouterLogger.class);
+
+    private static final short TLS_HANDSHAKE = 0x16;
+    private static final short HOT_ROD_MAGIC = 0xA0;
+    private static final short MEMCACHED_BINARY_MAGIC = 0x80;
+    private static final String HTTP_2_PREFACE_METHOD = "PRI";
+    private static final Set<String> HTTP_METHODS = new HashSet<>(Arrays.asList(
+            "GET", "HEAD", "POST", "PUT", "DELETE", "OPTIONS", "PATCH", "TRACE", "CONNECT"));
+    // The longest methods, OPTIONS and CONNECT, followed by a space
+    private static final int MAX_METHOD_LENGTH = 8;
+
+    private final Map<Protocol, NettyHandlerRouteDestination> destinations;
+    private final Supplier<SniRouteHandler> sniRouteHandlers;
+
+    /**
+     * Creates new {@link ProtocolDetectionHandler}.
+     *
+     * @param destinations     The route destinations by detected {@link Protocol}.
+     * @param sniRouteHandlers Supplier of the handlers for the TLS connections, or <code>null</code> if there are no
+     *                         SNI routes.
+     */
+    public ProtocolDetectionHandler(Map<Protocol, NettyHandlerRouteDestination> destinations, Supplier<SniRouteHandler> sniRouteHandlers) {
+        this.destinations = destinations;
+        this.sniRouteHandlers = sniRouteHandlers;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        if (!in.isReadable()) {
+            return;
+        }
+        short firstByte = in.getUnsignedByte(in.readerIndex());
+        if (firstByte == TLS_HANDSHAKE) {
+            if (sniRouteHandlers != null) {
+                ctx.pipeline().replace(this, null, sniRouteHandlers.get());
+            } else {
+                reject(ctx, in, "TLS");
+            }
+            return;
+        }
+        Protocol protocol;
+        if (firstByte == HOT_ROD_MAGIC) {
+            protocol = Protocol.HOT_ROD;
+        } else if (firstByte == MEMCACHED_BINARY_MAGIC || (firstByte >= 'a' && firstByte <= 'z')) {
+            protocol = Protocol.MEMCACHED;
+        } else if (firstByte >= 'A' && firstByte <= 'Z') {
+            int end = in.readerIndex() + Math.min(in.readableBytes(), MAX_METHOD_LENGTH);
+            int space = in.indexOf(in.readerIndex(), end, (byte) ' ');
+            if (space < 0) {
+                if (in.readableBytes() < MAX_METHOD_LENGTH) {
+                    // Wait for the rest of the method
+                    return;
+                }
+                protocol = null;
+            } else {
+                String method = in.toString(in.readerIndex(), space - in.readerIndex(), CharsetUtil.US_ASCII);
+                protocol = HTTP_2_PREFACE_METHOD.equals(method) ? Protocol.HTTP_2 :
+                        HTTP_METHODS.contains(method) ? Protocol.HTTP : null;
+            }
+        } else {
+            protocol = null;
+        }
+
+        NettyHandlerRouteDestination destination = protocol != null ? destinations.get(protocol) : null;
+        if (destination == null) {
+            reject(ctx, in, protocol != null ? protocol.toString() : "unknown");
+            return;
+        }
+        logger.debugf("Routing %s connection %s to %s", protocol, ctx.channel(), destination);
+        ChannelPipeline pipeline = ctx.pipeline();
+        pipeline.addLast(destination.getChannelInitializer());
+        pipeline.remove(this);
+    }
+
+    private void reject(ChannelHandlerContext ctx, ByteBuf in, String protocol) {
+        logger.debugf("No route found for %s connection %s, closing it", protocol, ctx.channel());
+        in.skipBytes(in.readableBytes());
+        ctx.close();
+    }
+}
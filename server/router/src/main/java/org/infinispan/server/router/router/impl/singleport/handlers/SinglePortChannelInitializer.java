@@ -0,0 +1,44 @@
+package org.infinispan.server.router.router.impl.singleport.handlers;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.infinispan.server.router.RoutingTable;
+import org.infinispan.server.router.router.impl.hotrod.handlers.SniHandlerInitializer;
+import org.infinispan.server.router.router.impl.hotrod.handlers.SniRouteHandler;
+import org.infinispan.server.router.routes.hotrod.NettyHandlerRouteDestination;
+import org.infinispan.server.router.routes.singleport.SinglePortRouteSource;
+import org.infinispan.server.router.routes.singleport.SinglePortRouteSource.Protocol;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+
+/**
+ * Initializer for the connections of the single port router. The routes are resolved once, when the initializer is
+ * created, so each connection only gets a new {@link ProtocolDetectionHandler}.
+ *
+ * @since 9.0
+ */
+public class SinglePortChannelInitializer extends ChannelInitializer<Channel> {
+
+    private final Map<Protocol, NettyHandlerRouteDestination> destinations = new EnumMap<>(Protocol.class);
+    private final Supplier<SniRouteHandler> sniRouteHandlers;
+
+    /**
+     * Creates new {@link SinglePortChannelInitializer} based on the routing table.
+     *
+     * @param routingTable {@link RoutingTable} for supplying the {@link org.infinispan.server.router.routes.Route}s.
+     */
+    public SinglePortChannelInitializer(RoutingTable routingTable) {
+        routingTable.streamRoutes(SinglePortRouteSource.class, NettyHandlerRouteDestination.class)
+                .forEach(r -> destinations.putIfAbsent(r.getRouteSource().getProtocol(), r.getRouteDesitnation()));
+        sniRouteHandlers = SniHandlerInitializer.hasSniRoutes(routingTable) ?
+                new SniHandlerInitializer(routingTable)::newSniRouteHandler : null;
+    }
+
+    @Override
+    protected void initChannel(Channel channel) throws Exception {
+        channel.pipeline().addLast(new ProtocolDetectionHandler(destinations, sniRouteHandlers));
+    }
+}
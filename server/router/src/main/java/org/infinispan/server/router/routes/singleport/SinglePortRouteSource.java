@@ -0,0 +1,73 @@
+package org.infinispan.server.router.routes.singleport;
+
+import org.infinispan.server.router.routes.RouteSource;
+
+/**
+ * Source of the routes of the single port router, which detects the protocol of each connection from its first bytes.
+ *
+ * @since 9.0
+ */
+public class SinglePortRouteSource implements RouteSource {
+
+    /**
+     * The protocols detected by the single port router.
+     */
+    public enum Protocol {
+        /**
+         * Hot Rod, detected from its request magic byte.
+         */
+        HOT_ROD,
+        /**
+         * HTTP/1.x, detected from the request method. The connections upgraded to HTTP/2 (h2c) stay with their HTTP
+         * destination.
+         */
+        HTTP,
+        /**
+         * HTTP/2 with prior knowledge, detected from the connection preface.
+         */
+        HTTP_2,
+        /**
+         * Memcached, detected from the binary request magic byte or from the lower case text commands.
+         */
+        MEMCACHED
+    }
+
+    private final Protocol protocol;
+
+    public SinglePortRouteSource(Protocol protocol) {
+        this.protocol = protocol;
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        SinglePortRouteSource that = (SinglePortRouteSource) o;
+
+        return protocol == that.protocol;
+    }
+
+    @Override
+    public int hashCode() {
+        return protocol != null ? protocol.hashCode() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SinglePortRouteSource{" +
+                "protocol=" + protocol +
+                '}';
+    }
+
+    @Override
+    public void validate() {
+        if (protocol == null) {
+            throw new IllegalArgumentException("Protocol can not be null");
+        }
+    }
+}
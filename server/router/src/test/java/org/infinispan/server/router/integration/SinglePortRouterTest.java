@@ -0,0 +1,164 @@
+package org.infinispan.server.router.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.rest.NettyRestServer;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.server.hotrod.test.HotRodTestingUtil;
+import org.infinispan.server.memcached.MemcachedServer;
+import org.infinispan.server.router.MultiTenantRouter;
+import org.infinispan.server.router.configuration.builder.MultiTenantRouterConfigurationBuilder;
+import org.infinispan.server.router.router.Router;
+import org.infinispan.server.router.routes.Route;
+import org.infinispan.server.router.routes.hotrod.NettyHandlerRouteDestination;
+import org.infinispan.server.router.routes.singleport.SinglePortRouteSource;
+import org.infinispan.server.router.utils.CacheManagerTestingUtil;
+import org.infinispan.server.router.utils.HotRodClientTestingUtil;
+import org.infinispan.server.router.utils.Http2Client;
+import org.infinispan.server.router.utils.MemcachedTestingUtil;
+import org.infinispan.server.router.utils.RestClient;
+import org.infinispan.server.router.utils.RestTestingUtil;
+import org.junit.Test;
+
+import net.spy.memcached.MemcachedClient;
+
+public class SinglePortRouterTest {
+
+    /**
+     * In this scenario we create a HotRod, a REST and a Memcached server, none of them listening on its own port. All
+     * the clients connect to the same router port.
+     * <p>
+     * The router should detect the protocol of each connection and serve it with the proper server.
+     */
+    @Test
+    public void shouldRouteToProperServerBasedOnProtocol() throws Exception {
+        //given
+        HotRodServer hotrodServer = HotRodTestingUtil.startHotRodServerWithoutTransport();
+        EmbeddedCacheManager restCacheManager = new DefaultCacheManager(CacheManagerTestingUtil.createDefaultGlobalConfiguration().build(),
+                CacheManagerTestingUtil.createDefaultCacheConfiguration().build());
+        NettyRestServer restServer = NettyRestServer.createServer(
+                RestTestingUtil.createDefaultRestConfiguration().nativeHttp(true).build(), restCacheManager);
+        EmbeddedCacheManager memcachedCacheManager = new DefaultCacheManager(CacheManagerTestingUtil.createDefaultGlobalConfiguration().build());
+        MemcachedServer memcachedServer = null;
+        MultiTenantRouter router = null;
+        try {
+            restServer.start();
+            memcachedServer = MemcachedTestingUtil.startMemcachedServer(memcachedCacheManager);
+
+            NettyHandlerRouteDestination hotrodDestination = new NettyHandlerRouteDestination("HotRod", hotrodServer.getInitializer());
+            SinglePortRouteSource hotrodSource = new SinglePortRouteSource(SinglePortRouteSource.Protocol.HOT_ROD);
+            Route<SinglePortRouteSource, NettyHandlerRouteDestination> routeToHotrod = new Route<>(hotrodSource, hotrodDestination);
+
+            NettyHandlerRouteDestination restDestination = new NettyHandlerRouteDestination("REST", restServer.getInitializer());
+            SinglePortRouteSource restSource = new SinglePortRouteSource(SinglePortRouteSource.Protocol.HTTP);
+            Route<SinglePortRouteSource, NettyHandlerRouteDestination> routeToRest = new Route<>(restSource, restDestination);
+
+            NettyHandlerRouteDestination memcachedDestination = new NettyHandlerRouteDestination("Memcached", memcachedServer.getInitializer());
+            SinglePortRouteSource memcachedSource = new SinglePortRouteSource(SinglePortRouteSource.Protocol.MEMCACHED);
+            Route<SinglePortRouteSource, NettyHandlerRouteDestination> routeToMemcached = new Route<>(memcachedSource, memcachedDestination);
+
+            MultiTenantRouterConfigurationBuilder routerConfigurationBuilder = new MultiTenantRouterConfigurationBuilder();
+            routerConfigurationBuilder
+                    .singlePort()
+                    //use random port
+                    .port(0)
+                    .ip(InetAddress.getLoopbackAddress())
+                    .routing()
+                    .add(routeToHotrod)
+                    .add(routeToRest)
+                    .add(routeToMemcached);
+
+            router = new MultiTenantRouter(routerConfigurationBuilder.build());
+            router.start();
+
+            InetAddress routerIp = router.getRouter(Router.Protocol.SINGLE_PORT).get().getIp().get();
+            int routerPort = router.getRouter(Router.Protocol.SINGLE_PORT).get().getPort().get();
+
+            //when
+            RemoteCacheManager hotrodClient = HotRodClientTestingUtil.createNoAuth(routerIp, routerPort);
+            RestClient restClient = new RestClient("http://" + routerIp.getHostAddress() + ":" + routerPort + "/rest");
+            MemcachedClient memcachedClient = MemcachedTestingUtil.createClient(routerIp, routerPort);
+            try {
+                hotrodClient.getCache().put("test", "hotrod");
+                restClient.put("test", "rest");
+                memcachedClient.set("test", 0, "memcached").get(10, TimeUnit.SECONDS);
+
+                //then
+                assertThat(hotrodServer.getCacheManager().getCache().get("test")).isEqualTo("hotrod");
+                assertThat(restClient.get("test")).isEqualTo("rest");
+                assertThat(memcachedClient.get("test")).isEqualTo("memcached");
+            } finally {
+                hotrodClient.stop();
+                memcachedClient.shutdown();
+            }
+        } finally {
+            if (router != null) {
+                router.stop();
+            }
+            if (memcachedServer != null) {
+                memcachedServer.stop();
+            }
+            memcachedCacheManager.stop();
+            restServer.stop();
+            restCacheManager.stop();
+            hotrodServer.stop();
+            hotrodServer.getCacheManager().stop();
+        }
+    }
+
+    /**
+     * In this scenario the client knows that the REST server supports HTTP/2, and starts the connection with the
+     * HTTP/2 preface instead of upgrading it.
+     * <p>
+     * The router should route the connection to the REST server, which should serve it over HTTP/2.
+     */
+    @Test
+    public void shouldServeHttp2WithPriorKnowledge() throws Exception {
+        //given
+        EmbeddedCacheManager cacheManager = new DefaultCacheManager(CacheManagerTestingUtil.createDefaultGlobalConfiguration().build(),
+                CacheManagerTestingUtil.createDefaultCacheConfiguration().build());
+        NettyRestServer restServer = NettyRestServer.createServer(
+                RestTestingUtil.createDefaultRestConfiguration().nativeHttp(true).build(), cacheManager);
+        MultiTenantRouter router = null;
+        try {
+            restServer.start();
+            NettyHandlerRouteDestination restDestination = new NettyHandlerRouteDestination("REST", restServer.getInitializer());
+            SinglePortRouteSource http2Source = new SinglePortRouteSource(SinglePortRouteSource.Protocol.HTTP_2);
+
+            MultiTenantRouterConfigurationBuilder routerConfigurationBuilder = new MultiTenantRouterConfigurationBuilder();
+            routerConfigurationBuilder
+                    .singlePort()
+                    //use random port
+                    .port(0)
+                    .ip(InetAddress.getLoopbackAddress())
+                    .routing()
+                    .add(new Route<>(http2Source, restDestination));
+
+            router = new MultiTenantRouter(routerConfigurationBuilder.build());
+            router.start();
+
+            InetAddress routerIp = router.getRouter(Router.Protocol.SINGLE_PORT).get().getIp().get();
+            int routerPort = router.getRouter(Router.Protocol.SINGLE_PORT).get().getPort().get();
+
+            //when
+            try (Http2Client http2Client = new Http2Client(routerIp, routerPort)) {
+                http2Client.put("test", "http2");
+
+                //then
+                assertThat(http2Client.get("test")).isEqualTo("http2");
+            }
+        } finally {
+            if (router != null) {
+                router.stop();
+            }
+            restServer.stop();
+            cacheManager.stop();
+        }
+    }
+}
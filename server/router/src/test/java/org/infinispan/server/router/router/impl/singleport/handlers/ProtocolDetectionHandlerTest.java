@@ -0,0 +1,139 @@
+package org.infinispan.server.router.router.impl.singleport.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.infinispan.server.router.routes.hotrod.NettyHandlerRouteDestination;
+import org.infinispan.server.router.routes.singleport.SinglePortRouteSource.Protocol;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.AttributeKey;
+
+public class ProtocolDetectionHandlerTest {
+
+    // Set by the initializers of the destinations
+    private static final AttributeKey<Protocol> PROTOCOL = AttributeKey.valueOf("protocol");
+
+    private final Map<Protocol, NettyHandlerRouteDestination> destinations = new EnumMap<>(Protocol.class);
+
+    @Before
+    public void setUp() {
+        for (Protocol protocol : Protocol.values()) {
+            destinations.put(protocol, new NettyHandlerRouteDestination(protocol.name(), new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel channel) throws Exception {
+                    channel.attr(PROTOCOL).set(protocol);
+                }
+            }));
+        }
+    }
+
+    @Test
+    public void shouldDetectHotRod() throws Exception {
+        assertDetected(Protocol.HOT_ROD, new byte[]{(byte) 0xA0, 0x01, 0x19});
+    }
+
+    @Test
+    public void shouldDetectMemcached() throws Exception {
+        assertDetected(Protocol.MEMCACHED, "get key\r\n".getBytes(StandardCharsets.US_ASCII));
+        assertDetected(Protocol.MEMCACHED, new byte[]{(byte) 0x80, 0x00, 0x00, 0x03});
+    }
+
+    @Test
+    public void shouldDetectHttp() throws Exception {
+        assertDetected(Protocol.HTTP, "GET /rest/cache/key HTTP/1.1\r\n".getBytes(StandardCharsets.US_ASCII));
+        assertDetected(Protocol.HTTP, "OPTIONS * HTTP/1.1\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void shouldDetectHttp2Preface() throws Exception {
+        assertDetected(Protocol.HTTP_2, "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void shouldWaitForTheWholeMethod() throws Exception {
+        //given
+        EmbeddedChannel channel = new EmbeddedChannel(new ProtocolDetectionHandler(destinations, null));
+
+        //when
+        channel.writeInbound(Unpooled.copiedBuffer("DEL", StandardCharsets.US_ASCII));
+
+        //then
+        assertThat(channel.attr(PROTOCOL).get()).isNull();
+        assertThat(channel.isOpen()).isTrue();
+
+        //when
+        channel.writeInbound(Unpooled.copiedBuffer("ETE /rest/cache/key HTTP/1.1\r\n", StandardCharsets.US_ASCII));
+
+        //then
+        assertThat(channel.attr(PROTOCOL).get()).isEqualTo(Protocol.HTTP);
+        ByteBuf forwarded = channel.readInbound();
+        assertThat(forwarded.toString(StandardCharsets.US_ASCII)).isEqualTo("DELETE /rest/cache/key HTTP/1.1\r\n");
+        forwarded.release();
+    }
+
+    @Test
+    public void shouldCloseUnknownProtocol() throws Exception {
+        //given
+        EmbeddedChannel channel = new EmbeddedChannel(new ProtocolDetectionHandler(destinations, null));
+
+        //when
+        channel.writeInbound(Unpooled.copiedBuffer("UNKNOWN_METHOD / HTTP/1.1\r\n", StandardCharsets.US_ASCII));
+
+        //then
+        assertThat(channel.isOpen()).isFalse();
+        assertThat(channel.attr(PROTOCOL).get()).isNull();
+    }
+
+    @Test
+    public void shouldCloseProtocolWithoutRoute() throws Exception {
+        //given
+        destinations.remove(Protocol.MEMCACHED);
+        EmbeddedChannel channel = new EmbeddedChannel(new ProtocolDetectionHandler(destinations, null));
+
+        //when
+        channel.writeInbound(Unpooled.copiedBuffer("get key\r\n", StandardCharsets.US_ASCII));
+
+        //then
+        assertThat(channel.isOpen()).isFalse();
+    }
+
+    @Test
+    public void shouldCloseTlsWithoutSniRoutes() throws Exception {
+        //given
+        EmbeddedChannel channel = new EmbeddedChannel(new ProtocolDetectionHandler(destinations, null));
+
+        //when
+        channel.writeInbound(Unpooled.wrappedBuffer(new byte[]{0x16, 0x03, 0x01}));
+
+        //then
+        assertThat(channel.isOpen()).isFalse();
+    }
+
+    private void assertDetected(Protocol protocol, byte[] request) {
+        //given
+        EmbeddedChannel channel = new EmbeddedChannel(new ProtocolDetectionHandler(destinations, null));
+
+        //when
+        channel.writeInbound(Unpooled.wrappedBuffer(request));
+
+        //then
+        assertThat(channel.attr(PROTOCOL).get()).isEqualTo(protocol);
+        assertThat(channel.pipeline().get(ProtocolDetectionHandler.class)).isNull();
+        // The bytes read during the detection are passed to the handlers of the destination
+        ByteBuf forwarded = channel.readInbound();
+        byte[] forwardedBytes = new byte[forwarded.readableBytes()];
+        forwarded.readBytes(forwardedBytes);
+        forwarded.release();
+        assertThat(forwardedBytes).isEqualTo(request);
+    }
+}
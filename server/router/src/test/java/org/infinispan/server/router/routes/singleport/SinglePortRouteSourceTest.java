@@ -0,0 +1,16 @@
+package org.infinispan.server.router.routes.singleport;
+
+import org.junit.Test;
+
+public class SinglePortRouteSourceTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldValidateProtocol() throws Exception {
+        new SinglePortRouteSource(null).validate();
+    }
+
+    @Test
+    public void shouldPassOnCorrectProtocol() throws Exception {
+        new SinglePortRouteSource(SinglePortRouteSource.Protocol.HOT_ROD).validate();
+    }
+}
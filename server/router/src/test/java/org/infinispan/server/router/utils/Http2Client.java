@@ -0,0 +1,127 @@
+package org.infinispan.server.router.utils;
+
+import java.net.InetAddress;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpScheme;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.DefaultHttp2Connection;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.HttpConversionUtil.ExtensionHeaderNames;
+import io.netty.handler.codec.http2.HttpToHttp2ConnectionHandlerBuilder;
+import io.netty.handler.codec.http2.InboundHttp2ToHttpAdapterBuilder;
+import io.netty.util.CharsetUtil;
+
+/**
+ * HTTP/2 client with prior knowledge, which starts the connection with the HTTP/2 preface instead of upgrading it.
+ */
+public class Http2Client implements AutoCloseable {
+
+    private static final int MAX_CONTENT_LENGTH = 1024 * 1024;
+
+    private final EventLoopGroup group = new NioEventLoopGroup(1);
+    private final BlockingQueue<FullHttpResponse> responses = new LinkedBlockingQueue<>();
+    private final Channel channel;
+    private final String authority;
+    private int nextStreamId = 1;
+    private String cache = "___defaultcache";
+
+    public Http2Client(InetAddress ip, int port) {
+        authority = ip.getHostAddress() + ":" + port;
+        channel = new Bootstrap().group(group).channel(NioSocketChannel.class)
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) throws Exception {
+                        Http2Connection connection = new DefaultHttp2Connection(false);
+                        ch.pipeline().addLast(new HttpToHttp2ConnectionHandlerBuilder()
+                                .frameListener(new InboundHttp2ToHttpAdapterBuilder(connection)
+                                        .maxContentLength(MAX_CONTENT_LENGTH).propagateSettings(false).build())
+                                .connection(connection).build());
+                        ch.pipeline().addLast(new SimpleChannelInboundHandler<FullHttpResponse>() {
+                            @Override
+                            protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse msg) {
+                                responses.add(msg.retain());
+                            }
+                        });
+                    }
+                }).connect(ip, port).syncUninterruptibly().channel();
+    }
+
+    public Http2Client cache(String cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    public String get(String key) {
+        FullHttpResponse response = execute(HttpMethod.GET, key, null);
+        try {
+            assertOk(response);
+            return response.content().toString(CharsetUtil.UTF_8);
+        } finally {
+            response.release();
+        }
+    }
+
+    public void put(String key, String value) {
+        FullHttpResponse response = execute(HttpMethod.PUT, key, value);
+        try {
+            assertOk(response);
+        } finally {
+            response.release();
+        }
+    }
+
+    private synchronized FullHttpResponse execute(HttpMethod method, String key, String value) {
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method, "/rest/" + cache + "/" + key,
+                value == null ? Unpooled.EMPTY_BUFFER : Unpooled.copiedBuffer(value, CharsetUtil.UTF_8));
+        request.headers().set(HttpHeaderNames.HOST, authority);
+        request.headers().set(ExtensionHeaderNames.SCHEME.text(), HttpScheme.HTTP.name());
+        // The streams opened by the client have odd ids
+        request.headers().setInt(ExtensionHeaderNames.STREAM_ID.text(), nextStreamId);
+        nextStreamId += 2;
+        if (value != null) {
+            request.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/plain");
+        }
+        channel.writeAndFlush(request).syncUninterruptibly();
+        try {
+            FullHttpResponse response = responses.poll(10, TimeUnit.SECONDS);
+            if (response == null) {
+                throw new AssertionError("No response received for " + method + " " + key);
+            }
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void assertOk(FullHttpResponse response) {
+        if (!HttpResponseStatus.OK.equals(response.status())) {
+            throw new AssertionError("Unexpected status " + response.status());
+        }
+    }
+
+    @Override
+    public void close() {
+        channel.close().syncUninterruptibly();
+        group.shutdownGracefully();
+    }
+}
@@ -0,0 +1,32 @@
+package org.infinispan.server.router.utils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.memcached.MemcachedServer;
+import org.infinispan.server.memcached.configuration.MemcachedServerConfigurationBuilder;
+
+import net.spy.memcached.DefaultConnectionFactory;
+import net.spy.memcached.MemcachedClient;
+
+public class MemcachedTestingUtil {
+
+    public static MemcachedServerConfigurationBuilder createDefaultMemcachedConfiguration() {
+        MemcachedServerConfigurationBuilder builder = new MemcachedServerConfigurationBuilder();
+        builder.startTransport(false);
+        return builder;
+    }
+
+    public static MemcachedServer startMemcachedServer(EmbeddedCacheManager cacheManager) {
+        MemcachedServer memcachedServer = new MemcachedServer();
+        memcachedServer.start(createDefaultMemcachedConfiguration().build(), cacheManager);
+        return memcachedServer;
+    }
+
+    public static MemcachedClient createClient(InetAddress ip, int port) throws IOException {
+        return new MemcachedClient(new DefaultConnectionFactory(), Collections.singletonList(new InetSocketAddress(ip, port)));
+    }
+}